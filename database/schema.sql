@@ -34,6 +34,7 @@ DROP TABLE IF EXISTS `articles`;
 DROP TABLE IF EXISTS `categories`;
 DROP TABLE IF EXISTS `visit_statistics`;
 DROP TABLE IF EXISTS `website_access_log`;
+DROP TABLE IF EXISTS `access_log_hourly_rollup`;
 DROP TABLE IF EXISTS `system_config`;
 DROP TABLE IF EXISTS `users`;
 
@@ -114,6 +115,7 @@ CREATE TABLE `articles` (
   KEY `idx_category_status_publish` (`category_id`, `status`, `publish_time` DESC),
   KEY `idx_author_status_publish` (`author_id`, `status`, `publish_time` DESC),
   KEY `idx_status_top_recommend_publish` (`status`, `is_top`, `is_recommend`, `publish_time` DESC),
+  KEY `idx_update_time_id` (`update_time`, `id`),
   CONSTRAINT `fk_articles_author` FOREIGN KEY (`author_id`) REFERENCES `users` (`id`),
   CONSTRAINT `fk_articles_category` FOREIGN KEY (`category_id`) REFERENCES `categories` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章表';
@@ -367,6 +369,20 @@ CREATE TABLE `website_access_log` (
   KEY `idx_session_access_time` (`session_id`, `access_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='网站访问日志表';
 
+CREATE TABLE `access_log_hourly_rollup` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '汇总ID',
+  `bucket_hour` datetime NOT NULL COMMENT '统计小时（整点）',
+  `dimension` varchar(20) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '维度：total/page/device/browser/os/referer/status',
+  `dim_value` varchar(500) COLLATE utf8mb4_unicode_ci NOT NULL DEFAULT '' COMMENT '维度取值',
+  `page_views` int NOT NULL DEFAULT '0' COMMENT '访问量',
+  `unique_visitors` int NOT NULL DEFAULT '0' COMMENT '小时内独立访客数（IP去重）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_bucket_dimension_value` (`bucket_hour`, `dimension`, `dim_value`),
+  KEY `idx_dimension_bucket` (`dimension`, `bucket_hour`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='访问日志小时汇总表';
+
 -- auto-generated definition
 create table sensitive_words
 (
@@ -13,10 +13,20 @@ import org.springframework.context.annotation.Configuration;
 public class AccessLogBufferProperties {
 
     /**
-     * 缓冲队列容量
+     * 缓冲队列容量（环形缓冲区按不小于该值的 2 的幂分配）
      */
     private int queueCapacity = 10000;
 
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * BLOCK 策略下请求线程等待空位的最长时间（毫秒），超时后丢弃新日志
+     */
+    private long blockTimeoutMs = 5L;
+
     /**
      * 单次批量写入数量
      */
@@ -31,4 +41,27 @@ public class AccessLogBufferProperties {
      * 单次调度最多处理的批次数
      */
     private int maxBatchesPerFlush = 5;
+
+    /**
+     * User-Agent 解析结果缓存的最大条目数
+     */
+    private int userAgentCacheSize = 10000;
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃最旧的日志，保留最新的访问记录
+         */
+        DROP_OLDEST,
+        /**
+         * 丢弃新日志，入队开销最小
+         */
+        DROP_NEWEST,
+        /**
+         * 短暂等待刷盘腾出空位，超时后丢弃新日志
+         */
+        BLOCK
+    }
 }
@@ -9,10 +9,17 @@ import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * 应用启动时异步初始化文章排行榜
  * 使用异步执行避免阻塞应用启动
  * 确保所有已发布的文章都被初始化到 Redis ZSet 中
+ * 初始化结束（成功或失败）后完成 initialized，缓存预热据此等待榜单就绪后再缓存热门文章
  */
 @Component
 @Order(100) // 确保在其他组件初始化之后执行
@@ -22,6 +29,8 @@ public class ArticleRankInitializer implements ApplicationRunner {
     @Autowired
     private ArticleRankService articleRankService;
 
+    private final CompletableFuture<Void> initialized = new CompletableFuture<>();
+
     @Override
     @Async("notificationTaskExecutor") // 使用配置的线程池异步执行
     public void run(ApplicationArguments args) {
@@ -31,6 +40,23 @@ public class ArticleRankInitializer implements ApplicationRunner {
             log.info("文章排行榜初始化完成");
         } catch (Exception e) {
             log.error("文章排行榜初始化失败", e);
+        } finally {
+            initialized.complete(null);
+        }
+    }
+
+    /**
+     * 等待启动初始化结束，超时返回 false
+     */
+    public boolean awaitInitialized(Duration timeout) {
+        try {
+            initialized.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
         }
     }
 }
@@ -0,0 +1,132 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 文章热度排行配置
+ *
+ * 开启滑动窗口后行为分数写入按小时分桶的 ZSet，定时任务用 ZUNIONSTORE 将窗口内的小时桶合并为
+ * 日榜（最近 24 小时）与周榜（最近 7 天）的物化榜单；开启衰减时每个小时桶按 2^(-桶龄 / halfLife) 加权，
+ * 桶龄按距当前时刻的时长连续计算，榜单分数即当前的衰减热度，既没有零点清榜的断崖，也不需要全量重算分数。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rank")
+@Data
+public class ArticleRankProperties {
+
+    /**
+     * 是否启用小时分桶滑动窗口榜单（关闭后回退到按自然日/自然周分桶累加并定时清榜）
+     */
+    private boolean windowEnabled = true;
+
+    /**
+     * 合并窗口时是否按半衰期对小时桶加权，关闭后窗口内所有行为等权
+     */
+    private boolean decayEnabled = true;
+
+    /**
+     * 物化榜单的刷新间隔（毫秒），由 RankResetSchedule 按该间隔执行 ZUNIONSTORE
+     */
+    private long refreshIntervalMs = 60000;
+
+    /**
+     * 已移除文章的同步间隔（毫秒）：各实例按该间隔读取共享的已移除集合，出现新成员时重建本地快照并清理本地结果缓存
+     */
+    private long removalSyncIntervalMs = 5000;
+
+    /**
+     * 是否在本实例内缓冲分数增量后批量写入小时桶（关闭后每次行为直接写 Redis）
+     */
+    private boolean bufferEnabled = true;
+
+    /**
+     * 分数缓冲的刷新间隔（毫秒），由 ArticleRankScoreBuffer 按该间隔批量 ZINCRBY
+     */
+    private long bufferFlushIntervalMs = 1000;
+
+    /**
+     * 物化榜单的过期时间；刷新任务停止后榜单会在该时间后失效，避免长期返回过期数据
+     */
+    private Duration boardTtl = Duration.ofHours(1);
+
+    /**
+     * 每个分类榜单保留的文章数，合并时只保留分数最高的前 N 篇
+     */
+    private int scopeBoardSize = 100;
+
+    /**
+     * 本地缓存的文章所属分类数量上限：写入小时桶时按文章ID读取，避免每次刷新缓冲都查询数据库
+     */
+    private int scopeCacheSize = 10000;
+
+    /**
+     * 文章所属分类的本地缓存有效期：本实例的文章变更会立即失效，该有效期兜底其他实例的修改
+     */
+    private Duration scopeCacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * 热门文章快照保留的文章数：刷新榜单时预先组装前 N 篇已发布文章的摘要，读取时不再访问数据库
+     */
+    private int snapshotSize = 200;
+
+    /**
+     * 启动初始化时每批从数据库读取并写入 Redis 的文章数
+     */
+    private int initBatchSize = 1000;
+
+    /**
+     * 启动初始化结果的有效期：有效期内重启且榜单非空时跳过初始化
+     */
+    private Duration initFreshness = Duration.ofHours(6);
+
+    /**
+     * 日榜窗口参数
+     */
+    private Board day = new Board(Duration.ofHours(24), Duration.ofHours(8));
+
+    /**
+     * 周榜窗口参数
+     */
+    private Board week = new Board(Duration.ofDays(7), Duration.ofDays(2));
+
+    @Data
+    public static class Board {
+
+        /**
+         * 窗口长度，按小时取整，决定合并多少个小时桶
+         */
+        private Duration window;
+
+        /**
+         * 半衰期：热度每经过一个半衰期减半
+         */
+        private Duration halfLife;
+
+        public Board() {
+        }
+
+        public Board(Duration window, Duration halfLife) {
+            this.window = window;
+            this.halfLife = halfLife;
+        }
+    }
+
+    /**
+     * 获取指定榜单的窗口参数，未知周期按日榜处理
+     */
+    public Board board(String period) {
+        return "week".equalsIgnoreCase(period) ? week : day;
+    }
+
+    /**
+     * 小时桶的过期时间：覆盖最长的窗口再多保留 1 小时，过期即自动裁剪窗口外的旧数据
+     */
+    public Duration bucketTtl() {
+        Duration longest = day.getWindow().compareTo(week.getWindow()) >= 0 ? day.getWindow() : week.getWindow();
+        return longest.plusHours(1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Redis 缓存值编码配置
+ *
+ * 控制 RedisTemplate 与 L2 Redis 缓存使用的值编码格式。
+ * 关闭后写入回退为原有 JSON 格式；读取始终兼容带版本头的二进制载荷与旧 JSON 载荷，便于滚动发布。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.codec")
+@Data
+public class CacheCodecProperties {
+
+    /**
+     * 是否启用紧凑二进制编码写入（false 时仍以 JSON 写入）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 载荷超过该字节数时进行压缩，小于等于 0 表示不压缩
+     */
+    private int compressionThreshold = 1024;
+
+    /**
+     * 压缩级别（1-9，越大压缩率越高、CPU 开销越大）
+     */
+    private int compressionLevel = 6;
+}
@@ -37,7 +37,7 @@ import java.util.concurrent.TimeUnit;
  * 缓存查询顺序：Caffeine -> Redis -> MySQL
  *
  * L1 Caffeine：本地内存缓存，30秒 TTL，快速响应热点请求
- * L2 Redis：分布式缓存，2-5分钟 TTL，保证数据一致性
+ * L2 Redis：分布式缓存，2-5分钟 TTL，保证数据一致性，值使用 Smile 紧凑编码（见 CompactRedisSerializer）
  *
  * 一致性策略：短 TTL 过期，适用于双实例部署场景
  */
@@ -48,6 +48,7 @@ import java.util.concurrent.TimeUnit;
 public class CacheConfig {
 
     private final CaffeineCacheConfig caffeineCacheConfig;
+    private final CacheCodecProperties cacheCodecProperties;
 
     /**
      * 配置多级缓存管理器
@@ -119,13 +120,15 @@ public class CacheConfig {
 
         GenericJackson2JsonRedisSerializer jsonSerializer =
                 new GenericJackson2JsonRedisSerializer(mapper);
+        CompactRedisSerializer valueSerializer =
+                new CompactRedisSerializer(mapper, jsonSerializer, cacheCodecProperties);
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
                 .disableCachingNullValues();
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
@@ -51,4 +51,19 @@ public class CacheConsistencyConfig {
      * 验证抽样数量
      */
     private int verificationSampleSize = 100;
+
+    /**
+     * 延迟失效队列单次领取的最大事件数
+     */
+    private int invalidationBatchSize = 200;
+
+    /**
+     * 延迟失效事件处理租约（毫秒），超时未确认的事件会被其他实例重新领取
+     */
+    private long invalidationLeaseMs = 30000;
+
+    /**
+     * 队列为空时轮询退避的上限（毫秒），退避从 100ms 开始逐次翻倍
+     */
+    private long invalidationMaxBackoffMs = 1600;
 }
@@ -0,0 +1,50 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 启动缓存预热配置
+ *
+ * 预热参数应与前端首屏请求的默认参数保持一致，否则预热的缓存键不会被命中。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.warmup")
+@Data
+public class CacheWarmupProperties {
+
+    /**
+     * 是否启用启动预热
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预热最长等待时间，超时后不再阻塞就绪，未完成的任务在后台继续执行
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 热门文章榜单预热的周期
+     */
+    private List<String> hotPeriods = new ArrayList<>(List.of("day", "week"));
+
+    /**
+     * 热门文章/推荐文章/作者榜预热的数量（与接口默认 limit 一致）
+     */
+    private int listLimit = 10;
+
+    /**
+     * 首页文章列表预热的页数
+     */
+    private int feedPages = 1;
+
+    /**
+     * 首页文章列表每页数量
+     */
+    private int feedPageSize = 10;
+}
@@ -0,0 +1,140 @@
+package com.blog.config;
+
+import com.blog.common.Result;
+import com.blog.service.ArticleRankService;
+import com.blog.service.ArticleService;
+import com.blog.service.CategoryService;
+import com.blog.service.SystemConfigService;
+import com.blog.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 启动缓存预热
+ *
+ * 在 ApplicationRunner 阶段同步执行：Spring Boot 在所有 Runner 执行完毕后才将就绪状态切换为
+ * ACCEPTING_TRAFFIC，因此预热期间 /api/health/ready 返回 503，负载均衡不会把流量转发到冷实例。
+ * 各预热任务在 cacheTaskExecutor 中并行执行，整体最多等待 cache.warmup.timeout。
+ *
+ * 只有返回 Result.isSuccess() 的任务计为成功。热门榜单任务先等待排行榜初始化（异步执行）结束，
+ * 避免首次启动时把空榜单写入缓存；热门榜单与推荐文章会直接写入 Caffeine/Redis 缓存；分类、作者榜、网站配置与首页列表没有结果缓存，
+ * 预热这些接口主要用于建立数据库连接、填充 MySQL 缓冲池并触发 JIT。
+ */
+@Component
+@Order(200) // 在排行榜初始化（@Order(100)）之后执行
+@Slf4j
+public class CacheWarmupRunner implements ApplicationRunner {
+
+    @Autowired
+    private CacheWarmupProperties properties;
+
+    @Autowired
+    private ArticleRankService articleRankService;
+
+    @Autowired
+    private ArticleRankInitializer articleRankInitializer;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @Autowired
+    @Qualifier("cacheTaskExecutor")
+    private Executor cacheTaskExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            log.info("启动缓存预热已关闭");
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * 执行预热，返回成功的任务数
+     */
+    int warmUp() {
+        long start = System.currentTimeMillis();
+        Map<String, Supplier<Result<?>>> tasks = buildTasks();
+        AtomicInteger succeeded = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        tasks.forEach((name, task) -> futures.add(CompletableFuture.runAsync(() -> {
+            try {
+                Result<?> result = task.get();
+                if (result != null && result.isSuccess()) {
+                    succeeded.incrementAndGet();
+                    log.debug("缓存预热完成: {}", name);
+                } else {
+                    log.warn("缓存预热失败: {}, 错误: {}", name, result != null ? result.getMessage() : "无返回结果");
+                }
+            } catch (Exception e) {
+                log.warn("缓存预热失败: {}, 错误: {}", name, e.getMessage());
+            }
+        }, cacheTaskExecutor)));
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("缓存预热超时（{}），剩余任务在后台继续执行", properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("缓存预热被中断");
+        } catch (Exception e) {
+            log.warn("缓存预热异常: {}", e.getMessage());
+        }
+
+        log.info("启动缓存预热结束: 成功 {}/{}，耗时 {}ms",
+                succeeded.get(), tasks.size(), System.currentTimeMillis() - start);
+        return succeeded.get();
+    }
+
+    private Map<String, Supplier<Result<?>>> buildTasks() {
+        int limit = properties.getListLimit();
+        Map<String, Supplier<Result<?>>> tasks = new LinkedHashMap<>();
+        for (String period : properties.getHotPeriods()) {
+            tasks.put("hotArticles:" + period, () -> {
+                if (!articleRankInitializer.awaitInitialized(properties.getTimeout())) {
+                    return Result.error("排行榜尚未初始化完成，跳过热门榜单预热");
+                }
+                return articleRankService.getHotArticles(limit, period);
+            });
+        }
+        tasks.put("recommendedArticles", () -> articleService.getRecommendedArticles(limit));
+        tasks.put("categories", categoryService::getCategoryList);
+        tasks.put("topAuthors", () -> userService.getTopAuthors(limit));
+        tasks.put("websiteConfig", systemConfigService::getWebsiteConfig);
+        for (int page = 1; page <= properties.getFeedPages(); page++) {
+            int current = page;
+            tasks.put("feed:" + page, () -> articleService.getArticleList(
+                    current, properties.getFeedPageSize(), null, null, null, null, null, "latest"));
+        }
+        return tasks;
+    }
+}
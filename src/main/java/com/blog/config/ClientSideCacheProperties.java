@@ -0,0 +1,48 @@
+package com.blog.config;
+
+import com.blog.utils.RedisCacheUtils;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis 服务端辅助客户端缓存配置（RESP3 CLIENT TRACKING 广播模式）
+ *
+ * 仅对读多写少的键前缀开启，服务端在键被修改时主动推送失效消息，本地副本随之删除。
+ * 浏览量等高频写入的键不适合加入前缀列表。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cache.client-tracking")
+@Data
+public class ClientSideCacheProperties {
+
+    /**
+     * 是否启用客户端缓存（默认关闭，需要 Redis 6+）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 广播模式跟踪的键前缀，只包含实际经本地副本读取的缓存键；
+     * 对应的分布式锁使用 article:lock:、comment:lock: 前缀，加锁/解锁不会触发失效广播
+     */
+    private List<String> prefixes = new ArrayList<>(List.of(
+            RedisCacheUtils.SENSITIVE_WORDS_KEY,
+            RedisCacheUtils.ARTICLE_LIKE_KEY_PREFIX,
+            RedisCacheUtils.ARTICLE_FAVORITE_KEY_PREFIX,
+            RedisCacheUtils.COMMENT_LIKE_KEY_PREFIX
+    ));
+
+    /**
+     * 本地副本最大条目数
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 本地副本兜底过期时间，防止失效消息丢失时长期读到旧值
+     */
+    private Duration localTtl = Duration.ofMinutes(5);
+}
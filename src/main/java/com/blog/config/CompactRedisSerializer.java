@@ -0,0 +1,150 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 紧凑二进制 Redis 值序列化器
+ *
+ * 载荷格式：[魔数 0xBC][版本][标志位][Smile 编码体]，标志位 bit0 表示编码体已 Deflate 压缩。
+ * 使用与 JSON 相同的 ObjectMapper 配置（含默认类型信息），仅将底层格式替换为 Smile，
+ * 并开启共享字符串值，重复出现的类名只写一次。
+ *
+ * 读取时若首字节不是魔数，则交给旧的 JSON 序列化器处理，保证滚动发布期间新旧实例可以互读。
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xBC;
+    static final byte VERSION_1 = 1;
+    static final int FLAG_DEFLATE = 0x01;
+    static final int HEADER_LENGTH = 3;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ObjectMapper binaryMapper;
+    private final RedisSerializer<Object> legacySerializer;
+    private final CacheCodecProperties properties;
+
+    /**
+     * @param jsonMapper       已配置好的 JSON ObjectMapper，二进制编码复用其全部配置
+     * @param legacySerializer 旧 JSON 序列化器，用于读取旧载荷以及关闭二进制编码时写入
+     * @param properties       编码配置
+     */
+    public CompactRedisSerializer(ObjectMapper jsonMapper, RedisSerializer<Object> legacySerializer,
+                                  CacheCodecProperties properties) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.binaryMapper = jsonMapper.copyWith(smileFactory);
+        this.legacySerializer = legacySerializer;
+        this.properties = properties;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        if (!properties.isEnabled()) {
+            return legacySerializer.serialize(value);
+        }
+
+        byte[] body;
+        try {
+            body = binaryMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("缓存值二进制编码失败: " + e.getMessage(), e);
+        }
+
+        int flags = 0;
+        int threshold = properties.getCompressionThreshold();
+        if (threshold > 0 && body.length > threshold) {
+            byte[] compressed = deflate(body, properties.getCompressionLevel());
+            // 压缩无收益时保留原始编码体
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] payload = new byte[HEADER_LENGTH + body.length];
+        payload[0] = MAGIC;
+        payload[1] = VERSION_1;
+        payload[2] = (byte) flags;
+        System.arraycopy(body, 0, payload, HEADER_LENGTH, body.length);
+        return payload;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("缓存载荷头不完整");
+        }
+        if (bytes[1] != VERSION_1) {
+            throw new SerializationException("不支持的缓存编码版本: " + bytes[1]);
+        }
+
+        byte[] body = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        if ((bytes[2] & FLAG_DEFLATE) != 0) {
+            body = inflate(body);
+        }
+        try {
+            return binaryMapper.readValue(body, Object.class);
+        } catch (Exception e) {
+            throw new SerializationException("缓存值二进制解码失败: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("缓存载荷压缩数据不完整");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("缓存载荷解压失败: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
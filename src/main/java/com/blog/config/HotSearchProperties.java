@@ -0,0 +1,59 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 热门搜索词配置
+ *
+ * 每个实例在内存中用 Count-Min Sketch + Space-Saving 统计搜索词，定时把高频词的计数刷入 Redis 小时桶，
+ * 再用 ZUNIONSTORE 合并窗口内的小时桶得到跨实例的热门搜索词榜单。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.hot")
+@Data
+public class HotSearchProperties {
+
+    /**
+     * 是否统计搜索词（关闭后热门搜索回退到按浏览量排列的文章标题）
+     */
+    private boolean enabled = true;
+
+    /**
+     * Space-Saving 计数器个数，即每个刷新周期内最多上报的不同搜索词数
+     */
+    private int capacity = 256;
+
+    /**
+     * Count-Min Sketch 每行的计数器个数
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * Count-Min Sketch 行数
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * 本地统计刷入 Redis 小时桶的间隔（毫秒）
+     */
+    private long flushIntervalMs = 60000;
+
+    /**
+     * 热门搜索统计窗口
+     */
+    private Duration window = Duration.ofHours(24);
+
+    /**
+     * 合并窗口榜单并刷新本地缓存的间隔（毫秒）
+     */
+    private long refreshIntervalMs = 60000;
+
+    /**
+     * 本地缓存的热门搜索词数量
+     */
+    private int topN = 50;
+}
@@ -47,7 +47,8 @@ public class RedisConfig {
      */
     @Bean
     @Primary
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory,
+                                                       CacheCodecProperties codecProperties) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(factory);
         
@@ -70,12 +71,15 @@ public class RedisConfig {
         mapper.setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL);
         
         serializer.setObjectMapper(mapper);
+
+        // 紧凑二进制编码，兼容读取旧 JSON 值
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(mapper, serializer, codecProperties);
         
         // Set serializers
-        template.setValueSerializer(serializer);
+        template.setValueSerializer(valueSerializer);
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(serializer);
+        template.setHashValueSerializer(valueSerializer);
         template.afterPropertiesSet();
         
         return template;
@@ -0,0 +1,62 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 相关文章配置
+ *
+ * 相关文章列表由全文索引中的文章离线计算：标题与正文的 TF-IDF 词向量余弦相似度，加上共同标签与同分类的加分，
+ * 每篇文章只保存得分最高的若干篇，文章详情按文章ID直接读取，不在请求路径上计算。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.related")
+@Data
+public class RelatedArticleProperties {
+
+    /**
+     * 是否启用相关文章
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每篇文章保存的相关文章数
+     */
+    private int topK = 6;
+
+    /**
+     * 每篇文章词向量保留的最高权重词项数
+     */
+    private int maxTerms = 32;
+
+    /**
+     * 标题词频的权重倍数
+     */
+    private double titleBoost = 2.0;
+
+    /**
+     * 文档频率超过文章总数该比例的词项不参与候选召回（常见词对相似度贡献很小，召回代价却最高）
+     */
+    private double maxDocFrequencyRatio = 0.2;
+
+    /**
+     * 共同标签（Jaccard 系数）的权重
+     */
+    private double tagWeight = 0.3;
+
+    /**
+     * 同分类的加分（只对词项或标签有重合的候选生效）
+     */
+    private double categoryWeight = 0.05;
+
+    /**
+     * 最低相关得分，低于该值的候选不保存
+     */
+    private double minScore = 0.05;
+
+    /**
+     * 全量重建间隔（毫秒），刷新增量更新累积的文档频率偏差并补齐因删除缺位的列表
+     */
+    private long rebuildIntervalMs = 3600000;
+}
@@ -0,0 +1,39 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 搜索结果缓存配置
+ *
+ * 以规范化的查询、过滤条件和排序为键缓存排序后的结果与总数，文章变更或索引更新后旧条目不再命中，
+ * 过期时间只用于回收内存以及兜底 Redis 浏览量等不触发失效的变化。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.cache")
+@Data
+public class SearchCacheProperties {
+
+    /**
+     * 是否启用搜索结果缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存条目数
+     */
+    private long maxSize = 2000;
+
+    /**
+     * 缓存过期时间
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 全文索引查询一次缓存的前若干条结果，翻页在此范围内直接从缓存切片
+     */
+    private int windowSize = 100;
+}
@@ -0,0 +1,37 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章筛选位图索引配置
+ *
+ * 按标签、分类、作者、状态保存文章ID位图，文章列表的组合筛选在内存中求值后按ID批量查询，
+ * 关闭或未构建完成时回退到 MySQL 子查询（只支持单个标签）。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.filter")
+@Data
+public class SearchFilterProperties {
+
+    /**
+     * 是否启用位图筛选
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量重建时每批读取的文章数
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * 全量重建间隔（毫秒），兜底修复遗漏的增量更新和物理删除
+     */
+    private long rebuildIntervalMs = 600000;
+
+    /**
+     * 变更轮询间隔（毫秒）：按 (update_time, id) 索引读取其他实例发布、下线、编辑的文章，计数更新不推进 update_time
+     */
+    private long pollIntervalMs = 5000;
+}
@@ -0,0 +1,56 @@
+package com.blog.config;
+
+import com.blog.search.RelatedArticleIndex;
+import com.blog.search.SearchIndexPersistence;
+import com.blog.search.SearchSuggester;
+import com.blog.service.ArticleSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * 应用启动时异步构建文章全文索引
+ * 优先从本地持久化的段文件恢复，没有可用提交点时从数据库全量构建并立即提交；
+ * 构建完成前搜索回退到 MySQL，不阻塞应用启动
+ */
+@Component
+@Order(100)
+@Slf4j
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
+    @Autowired
+    private SearchIndexPersistence searchIndexPersistence;
+
+    @Autowired
+    private SearchSuggester searchSuggester;
+
+    @Autowired
+    private RelatedArticleIndex relatedArticleIndex;
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    @Override
+    @Async("notificationTaskExecutor")
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            log.info("全文索引未启用，搜索使用 MySQL 查询");
+            return;
+        }
+        if (searchIndexPersistence.restore()) {
+            searchSuggester.rebuild();
+            relatedArticleIndex.rebuild();
+            return;
+        }
+        log.info("开始异步构建文章全文索引...");
+        articleSearchService.rebuildSearchIndex();
+        searchIndexPersistence.checkpoint();
+    }
+}
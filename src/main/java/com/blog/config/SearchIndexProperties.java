@@ -0,0 +1,95 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 文章全文索引配置
+ *
+ * 索引常驻本实例内存，并定期以不可变段文件持久化到本地磁盘；启动时优先从最近一次提交点加载，
+ * 没有可用的提交点时才从数据库全量构建，未构建完成前搜索回退到 MySQL 查询。
+ * 之后由文章变更事件增量更新，并由一致性检查任务按 update_time 兜底修复遗漏。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.index")
+@Data
+public class SearchIndexProperties {
+
+    /**
+     * 是否启用进程内全文索引（关闭后搜索全部走 MySQL）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 全量重建时每批从数据库读取的文章数
+     */
+    private int rebuildBatchSize = 500;
+
+    /**
+     * BM25 词频饱和参数
+     */
+    private double k1 = 1.2;
+
+    /**
+     * BM25 文档长度归一化参数
+     */
+    private double b = 0.75;
+
+    /**
+     * 标题命中的权重，正文命中权重为 1
+     */
+    private double titleBoost = 2.0;
+
+    /**
+     * 搜索结果内容片段的最大字符数；MySQL 回退查询最多读取关键词附近 400 个字符
+     */
+    private int snippetLength = 160;
+
+    /**
+     * 搜索统计中每个分面（分类、标签、作者、月份）最多返回的取值数
+     */
+    private int facetSize = 20;
+
+    /**
+     * 增量更新队列的检查间隔（毫秒）
+     */
+    private long updateIntervalMs = 500;
+
+    /**
+     * 防抖时间：同一篇文章在该时间内的多次变更合并为一次索引更新
+     */
+    private Duration debounce = Duration.ofMillis(300);
+
+    /**
+     * 最大延迟目标：文章持续变更时，距首次变更超过该时间也会立即更新索引
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * 一致性检查间隔（毫秒），比对索引中的文章版本与 articles.update_time
+     */
+    private long checkIntervalMs = 600000;
+
+    /**
+     * 是否将索引持久化为本地段文件，关闭后每次启动都从数据库全量构建
+     */
+    private boolean persistEnabled = true;
+
+    /**
+     * 段文件与提交点所在目录
+     */
+    private String dataDir = "data/search-index";
+
+    /**
+     * 检查点间隔（毫秒），有变更时把变更写成新的增量段并提交
+     */
+    private long checkpointIntervalMs = 60000;
+
+    /**
+     * 段数上限：达到后下一次检查点把全部段合并为一个全量段
+     */
+    private int maxSegments = 8;
+}
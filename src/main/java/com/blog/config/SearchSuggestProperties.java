@@ -0,0 +1,52 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 搜索建议配置
+ *
+ * 建议词来自文章标题（按浏览量加权）、分类名称（按文章数加权）和有结果的搜索词（按搜索次数加权），
+ * 常驻内存的前缀树回答补全请求，未构建完成前回退到 MySQL 前缀查询。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "search.suggest")
+@Data
+public class SearchSuggestProperties {
+
+    /**
+     * 是否启用内存补全（关闭后搜索建议走 MySQL）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每个前缀预先保留的最高权重建议数，也是单次返回数量上限
+     */
+    private int topK = 10;
+
+    /**
+     * 参与匹配的最大前缀长度，超出部分不进入前缀树
+     */
+    private int maxKeyLength = 32;
+
+    /**
+     * 全量重建间隔（毫秒），用于刷新浏览量等不触发文章变更事件的权重
+     */
+    private long rebuildIntervalMs = 300000;
+
+    /**
+     * 分类名称的权重系数（乘以分类文章数）
+     */
+    private long categoryWeight = 10;
+
+    /**
+     * 搜索词的权重系数（乘以搜索次数）
+     */
+    private long queryWeight = 20;
+
+    /**
+     * 最多保留的搜索词数，超出后新搜索词不再加入
+     */
+    private int maxQueries = 5000;
+}
@@ -62,7 +62,8 @@ public class SecurityConfig {
                     "/api/user/public/**",
                     "/api/captcha/**",
                     "/api/user/auth/github/callback",
-                    "/api/user/auth/github/state"
+                    "/api/user/auth/github/state",
+                    "/api/health/**"
                 ).permitAll()
                 // 公开API - 网站配置（首页需要获取网站名称、favicon等）
                 .requestMatchers(HttpMethod.GET, "/api/system/config/website").permitAll()
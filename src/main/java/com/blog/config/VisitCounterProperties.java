@@ -0,0 +1,35 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 实时 PV/UV 计数配置
+ *
+ * 访问日志批量写库后按天、按小时累加 PV 计数器（INCRBY）并把访客 IP 写入 UV HyperLogLog（PFADD），
+ * 仪表盘的当日/昨日/区间 PV、UV 直接读取计数器，不再对 website_access_log 做 COUNT / COUNT(DISTINCT)；
+ * 计数器未覆盖的日期（启用前、已过期或 Redis 不可用）回退到数据库查询。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "visit.counter")
+@Data
+public class VisitCounterProperties {
+
+    /**
+     * 是否启用实时计数
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按天计数器与 HyperLogLog 的过期时间，决定区间统计最多能回看多少天
+     */
+    private Duration dayTtl = Duration.ofDays(40);
+
+    /**
+     * 按小时计数器与 HyperLogLog 的过期时间
+     */
+    private Duration hourTtl = Duration.ofDays(3);
+}
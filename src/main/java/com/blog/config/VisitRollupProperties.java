@@ -0,0 +1,42 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 访问日志小时汇总配置
+ *
+ * 定时把 website_access_log 按小时、按维度（页面、设备、浏览器、操作系统、来源、状态码）汇总到
+ * access_log_hourly_rollup，后台分析查询读取汇总表，不再对原始日志做 GROUP BY。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "visit.rollup")
+@Data
+public class VisitRollupProperties {
+
+    /**
+     * 是否启用定时增量汇总（关闭后仍可手动回填）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 增量汇总间隔（毫秒），也是后台分析数据相对原始日志的最大延迟
+     */
+    private long intervalMs = 300000L;
+
+    /**
+     * 汇总表为空时，首次增量汇总向前回看的小时数
+     */
+    private int initialBackfillHours = 720;
+
+    /**
+     * 单次增量汇总最多处理的小时数，积压时分多轮追上
+     */
+    private int maxHoursPerRun = 168;
+
+    /**
+     * 手动回填一次最多覆盖的天数
+     */
+    private int maxBackfillDays = 400;
+}
@@ -6,6 +6,7 @@ import com.blog.dto.ArticleDTO;
 import com.blog.dto.CommentDTO;
 import com.blog.dto.UserDTO;
 import com.blog.entity.ArticleModerationSubmission;
+import com.blog.service.AccessLogRollupService;
 import com.blog.service.AdminService;
 import com.blog.service.ArticleModerationSubmissionService;
 import com.blog.utils.AuthUtils;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -35,6 +37,9 @@ public class AdminController {
     @Autowired
     private ArticleModerationSubmissionService moderationSubmissionService;
 
+    @Autowired
+    private AccessLogRollupService accessLogRollupService;
+
     @GetMapping("/moderation/submissions")
     @Operation(summary = "获取文章审核队列")
     public Result<List<ArticleModerationSubmission>> getModerationSubmissions(
@@ -163,6 +168,14 @@ public class AdminController {
         return adminService.getVisitStatistics(startDate, endDate);
     }
 
+    @PostMapping("/visit-statistics/rollup")
+    @Operation(summary = "回填访问日志小时汇总", description = "按原始访问日志重新汇总指定日期范围，可重复执行")
+    public Result<Integer> backfillVisitRollup(
+            @Parameter(description = "开始日期") @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @Parameter(description = "结束日期") @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        return Result.success(accessLogRollupService.backfill(startDate, endDate));
+    }
+
     // 系统配置
     @GetMapping("/config")
     @Operation(summary = "获取系统配置")
@@ -84,10 +84,11 @@ public class ArticleController {
             @Parameter(description = "搜索关键词") @RequestParam(required = false) String keyword,
             @Parameter(description = "分类ID") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "标签ID") @RequestParam(required = false) Long tagId,
+            @Parameter(description = "标签组合表达式：& 与、| 或、! 非，可加括号，逗号等同于 &，如 1&(2|3)&!4") @RequestParam(required = false) String tags,
             @Parameter(description = "文章状态：1-草稿，2-已发布，3-已下线") @RequestParam(required = false) Integer status,
             @Parameter(description = "作者ID") @RequestParam(required = false) Long authorId,
             @Parameter(description = "排序方式：popular-按热度，latest-按最新") @RequestParam(required = false, defaultValue = "latest") String sortBy) {
-        return articleService.getArticleList(page, size, keyword, categoryId, tagId, status, authorId, sortBy);
+        return articleService.getArticleList(page, size, keyword, categoryId, tagId, tags, status, authorId, sortBy);
     }
 
     @GetMapping("/{articleId:[0-9]+}")
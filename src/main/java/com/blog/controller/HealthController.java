@@ -0,0 +1,38 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 健康检查控制器
+ *
+ * 供负载均衡探测实例是否可以接收流量：启动预热完成前返回 503。
+ */
+@RestController
+@RequestMapping("/api/health")
+@Tag(name = "健康检查接口")
+public class HealthController {
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @GetMapping("/ready")
+    @Operation(summary = "就绪检查")
+    public ResponseEntity<Result<String>> ready() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        if (state == ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.ok(Result.success(state.name()));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Result.error(HttpStatus.SERVICE_UNAVAILABLE.value(), state.name()));
+    }
+}
@@ -86,6 +86,9 @@ public class ArticleDTO {
     @Schema(description = "热度分数（排行榜用）")
     private Double hotScore;
 
+    @Schema(description = "相关文章（仅文章详情返回，按相关度降序）")
+    private List<ArticleSummaryDTO> relatedArticles;
+
     // 手动添加缺失的setter方法以确保编译通过
     public void setId(Long id) {
         this.id = id;
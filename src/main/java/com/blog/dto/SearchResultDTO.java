@@ -4,6 +4,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * 搜索结果DTO
  */
@@ -20,9 +22,15 @@ public class SearchResultDTO {
     @Schema(description = "文章摘要")
     private String summary;
 
-    @Schema(description = "文章内容（包含高亮标签）")
+    @Schema(description = "内容片段：正文中与关键词最相关的一段，不返回全文")
     private String content;
 
+    @Schema(description = "内容片段中的高亮区间，每项为 [起始, 结束) 字符偏移")
+    private List<int[]> highlights;
+
+    @Schema(description = "标题中的高亮区间，每项为 [起始, 结束) 字符偏移")
+    private List<int[]> titleHighlights;
+
     @Schema(description = "文章封面图片URL")
     private String coverImage;
 
@@ -26,7 +26,10 @@ public class SearchStatisticsDTO {
     @Schema(description = "相关标签统计")
     private TagCountDTO[] tagCounts;
 
-    @Schema(description = "时间分布统计")
+    @Schema(description = "相关作者统计")
+    private AuthorCountDTO[] authorCounts;
+
+    @Schema(description = "时间分布统计（按发布月份）")
     private TimeCountDTO[] timeCounts;
 
     /**
@@ -59,6 +62,21 @@ public class SearchStatisticsDTO {
         private Long count;
     }
 
+    /**
+     * 作者统计DTO
+     */
+    @Data
+    public static class AuthorCountDTO {
+        @Schema(description = "作者ID")
+        private Long authorId;
+
+        @Schema(description = "作者昵称")
+        private String authorName;
+
+        @Schema(description = "匹配数量")
+        private Long count;
+    }
+
     /**
      * 时间统计DTO
      */
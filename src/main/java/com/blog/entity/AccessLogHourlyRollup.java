@@ -0,0 +1,52 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("access_log_hourly_rollup")
+@Schema(description = "访问日志小时汇总实体（按维度预聚合）")
+public class AccessLogHourlyRollup extends BaseEntity {
+
+    public static final String DIMENSION_TOTAL = "total";
+    public static final String DIMENSION_PAGE = "page";
+    public static final String DIMENSION_DEVICE = "device";
+    public static final String DIMENSION_BROWSER = "browser";
+    public static final String DIMENSION_OS = "os";
+    public static final String DIMENSION_REFERER = "referer";
+    public static final String DIMENSION_STATUS = "status";
+
+    @TableId(value = "id", type = IdType.AUTO)
+    @Schema(description = "汇总ID")
+    private Long id;
+
+    @TableField("bucket_hour")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    @Schema(description = "统计小时（整点）")
+    private LocalDateTime bucketHour;
+
+    @TableField("dimension")
+    @Schema(description = "维度：total/page/device/browser/os/referer/status")
+    private String dimension;
+
+    @TableField("dim_value")
+    @Schema(description = "维度取值（total 为空串，referer 为空串表示直接访问）")
+    private String dimValue;
+
+    @TableField("page_views")
+    @Schema(description = "访问量")
+    private Integer pageViews;
+
+    @TableField("unique_visitors")
+    @Schema(description = "小时内独立访客数（IP去重）")
+    private Integer uniqueVisitors;
+}
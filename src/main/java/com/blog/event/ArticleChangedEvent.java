@@ -0,0 +1,25 @@
+package com.blog.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 文章内容或状态变化事件（创建、编辑、发布、下线、删除）
+ */
+@Getter
+public class ArticleChangedEvent extends ApplicationEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, PUBLISHED, UNPUBLISHED, DELETED
+    }
+
+    private final Long articleId;
+
+    private final ChangeType changeType;
+
+    public ArticleChangedEvent(Object source, Long articleId, ChangeType changeType) {
+        super(source);
+        this.articleId = articleId;
+        this.changeType = changeType;
+    }
+}
@@ -1,13 +1,21 @@
 package com.blog.event;
 
+import com.blog.search.ArticleFilterIndex;
+import com.blog.search.SearchIndexUpdateQueue;
+import com.blog.search.SearchResultCache;
+import com.blog.service.ArticleRankService;
 import com.blog.utils.HotArticleCacheEvictionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
 
 /**
- * 文章事件监听器，用于处理文章相关事件并清理热门文章结果缓存。
+ * 文章事件监听器，用于处理文章相关事件并清理热门文章结果缓存、登记全文索引增量更新、刷新筛选位图、使搜索结果缓存与文章分类缓存失效。
  */
 @Component
 @Slf4j
@@ -16,6 +24,18 @@ public class ArticleEventListener {
     @Autowired
     private HotArticleCacheEvictionService hotArticleCacheEvictionService;
 
+    @Autowired
+    private SearchIndexUpdateQueue searchIndexUpdateQueue;
+
+    @Autowired
+    private ArticleFilterIndex articleFilterIndex;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ArticleRankService articleRankService;
+
     /**
      * 监听文章浏览量变化事件
      */
@@ -36,6 +56,23 @@ public class ArticleEventListener {
         clearHotArticlesCache();
     }
 
+    /**
+     * 监听文章内容/状态变化事件，事务提交后登记全文索引增量更新并刷新筛选位图（非事务内发布时立即处理）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleArticleChanged(ArticleChangedEvent event) {
+        log.debug("文章变化（{}），登记全文索引更新，文章ID：{}", event.getChangeType(), event.getArticleId());
+        searchIndexUpdateQueue.enqueue(event.getArticleId());
+        // 数据库查询路径的缓存随文章变更失效，全文索引路径另由索引版本号在索引更新后失效
+        searchResultCache.invalidate();
+        // 列表筛选要求变更后立即可见，位图只需按ID读取一行，直接同步刷新
+        if (event.getArticleId() != null) {
+            articleFilterIndex.refresh(List.of(event.getArticleId()));
+            // 分类可能已修改，下次写入热度分数时重新查询所属分类
+            articleRankService.evictArticleScopes(event.getArticleId());
+        }
+    }
+
     /**
      * 清除热门文章缓存
      * 注意：只清除查询结果缓存，不清除 ZSet 排行榜数据
@@ -2,25 +2,74 @@ package com.blog.event;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 延迟缓存失效队列管理
+ *
+ * 待执行事件保存在 {@value #QUEUE_KEY} 中，score 为执行时间。
+ * 多实例通过 Lua 脚本原子地批量领取到期事件：领取的事件从待执行队列移入
+ * {@value #PROCESSING_KEY}，score 为租约到期时间，因此同一事件同一时刻只会被一个实例处理。
+ * 处理完成后按原始字节确认删除；实例宕机导致租约过期的事件会在下次领取时回到待执行队列。
+ */
 @Slf4j
 @Component
 public class CacheInvalidationQueueManager {
 
     private static final String QUEUE_KEY = "cache:invalidation:queue";
+    private static final String PROCESSING_KEY = "cache:invalidation:processing";
     private static final long QUEUE_EXPIRE_DAYS = 1;
 
+    /**
+     * 领取脚本：先回收租约过期的事件，再批量领取到期事件并登记租约
+     * KEYS[1] 待执行队列，KEYS[2] 处理中集合；ARGV[1] 当前时间，ARGV[2] 批量大小，ARGV[3] 租约到期时间
+     */
+    private static final String CLAIM_SCRIPT =
+            "local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]); "
+            + "for _, m in ipairs(expired) do "
+            + "redis.call('ZREM', KEYS[2], m); redis.call('ZADD', KEYS[1], ARGV[1], m) end; "
+            + "local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]); "
+            + "for _, m in ipairs(items) do "
+            + "redis.call('ZREM', KEYS[1], m); redis.call('ZADD', KEYS[2], ARGV[3], m) end; "
+            + "return items";
+
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_REDIS_SCRIPT = new DefaultRedisScript<>(CLAIM_SCRIPT, List.class);
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 本实例最近一次入队时间，调度器据此提前结束空闲退避
+     */
+    private volatile long lastEnqueueTime;
+
+    /**
+     * 已领取的事件
+     *
+     * @param member 队列中的原始成员字节，用于确认删除（不依赖重新序列化结果一致）
+     * @param event  解码后的事件，无法解码时为 null
+     */
+    public record ClaimedEvent(byte[] member, CacheInvalidationEventDTO event) {
+    }
+
     public void addToQueue(CacheInvalidationEventDTO eventDTO) {
         try {
             redisTemplate.opsForZSet().add(QUEUE_KEY, eventDTO, eventDTO.getExecuteTime());
+            lastEnqueueTime = System.currentTimeMillis();
             log.debug("缓存失效事件已添加到Redis队列: {}", eventDTO);
         } catch (Exception e) {
             log.error("添加缓存失效事件到Redis队列失败: {}", eventDTO, e);
@@ -28,25 +77,74 @@ public class CacheInvalidationQueueManager {
         }
     }
 
-    public Set<Object> getReadyEvents(long currentTime) {
+    /**
+     * 原子批量领取到期事件
+     *
+     * @param currentTime 当前时间戳
+     * @param batchSize   单次最多领取数量
+     * @param leaseMs     处理租约时长，超时未确认的事件会被重新投递
+     * @return 领取到的事件，失败时返回空列表
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<ClaimedEvent> claimReadyEvents(long currentTime, int batchSize, long leaseMs) {
         try {
-            return redisTemplate.opsForZSet().rangeByScore(QUEUE_KEY, 0, currentTime);
+            List<Object> members = redisTemplate.execute(
+                    CLAIM_REDIS_SCRIPT,
+                    RedisSerializer.string(),
+                    (RedisSerializer) RedisSerializer.byteArray(),
+                    Arrays.asList(QUEUE_KEY, PROCESSING_KEY),
+                    Long.toString(currentTime),
+                    Integer.toString(batchSize),
+                    Long.toString(currentTime + leaseMs));
+            if (members == null || members.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+            List<ClaimedEvent> claimed = new ArrayList<>(members.size());
+            for (Object member : members) {
+                byte[] raw = (byte[]) member;
+                CacheInvalidationEventDTO dto = null;
+                try {
+                    Object decoded = valueSerializer.deserialize(raw);
+                    if (decoded instanceof CacheInvalidationEventDTO) {
+                        dto = (CacheInvalidationEventDTO) decoded;
+                    }
+                } catch (Exception e) {
+                    log.warn("缓存失效事件解码失败，将直接丢弃", e);
+                }
+                claimed.add(new ClaimedEvent(raw, dto));
+            }
+            return claimed;
         } catch (Exception e) {
-            log.error("获取待执行缓存失效事件失败", e);
-            return null;
+            log.error("领取待执行缓存失效事件失败", e);
+            return Collections.emptyList();
         }
     }
 
-    public boolean removeFromQueue(Object event) {
+    /**
+     * 确认事件处理完成，从处理中集合批量移除
+     */
+    public long acknowledge(List<ClaimedEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
         try {
-            Long removed = redisTemplate.opsForZSet().remove(QUEUE_KEY, event);
-            return removed != null && removed > 0;
+            byte[][] members = events.stream().map(ClaimedEvent::member).toArray(byte[][]::new);
+            byte[] processingKey = PROCESSING_KEY.getBytes(StandardCharsets.UTF_8);
+            Long removed = redisTemplate.execute((RedisCallback<Long>) (RedisConnection connection) ->
+                    connection.zSetCommands().zRem(processingKey, members));
+            return removed == null ? 0 : removed;
         } catch (Exception e) {
-            log.error("从Redis队列移除缓存失效事件失败: {}", event, e);
-            return false;
+            log.error("确认缓存失效事件失败，数量: {}", events.size(), e);
+            return 0;
         }
     }
 
+    public long getLastEnqueueTime() {
+        return lastEnqueueTime;
+    }
+
     public Long getQueueSize() {
         try {
             return redisTemplate.opsForZSet().size(QUEUE_KEY);
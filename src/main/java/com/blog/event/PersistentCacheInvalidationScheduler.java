@@ -7,13 +7,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 延迟缓存失效队列消费调度器
+ *
+ * 每轮通过 {@link CacheInvalidationQueueManager#claimReadyEvents} 原子批量领取到期事件，
+ * 同批次的删除合并为一条 DEL 命令，处理完成后批量确认。
+ * 队列为空时轮询间隔从 100ms 逐次翻倍直至上限，本实例有新入队或领取到事件时恢复为 100ms。
+ */
 @Slf4j
 @Component
 public class PersistentCacheInvalidationScheduler {
 
+    static final long BASE_POLL_INTERVAL_MS = 100;
+
+    /**
+     * 单轮最多连续领取的批次数，避免积压时长时间占用调度线程
+     */
+    private static final int MAX_BATCHES_PER_ROUND = 10;
+
     @Autowired
     private CacheInvalidationQueueManager queueManager;
 
@@ -23,66 +40,118 @@ public class PersistentCacheInvalidationScheduler {
     @Autowired
     private CacheConsistencyConfig cacheConfig;
 
-    @Scheduled(fixedDelay = 100)
+    private long backoffMs = BASE_POLL_INTERVAL_MS;
+    private long nextPollTime;
+    private long lastSeenEnqueueTime;
+
+    @Scheduled(fixedDelay = BASE_POLL_INTERVAL_MS)
     public void processPendingInvalidations() {
         if (!cacheConfig.isEnabled()) {
             return;
         }
 
         long now = System.currentTimeMillis();
-        Set<Object> readyEvents = queueManager.getReadyEvents(now);
-
-        if (readyEvents == null || readyEvents.isEmpty()) {
+        long lastEnqueueTime = queueManager.getLastEnqueueTime();
+        if (lastEnqueueTime != lastSeenEnqueueTime) {
+            lastSeenEnqueueTime = lastEnqueueTime;
+            resetBackoff();
+        }
+        if (now < nextPollTime) {
             return;
         }
 
-        for (Object eventObj : readyEvents) {
-            if (!(eventObj instanceof CacheInvalidationEventDTO)) {
-                queueManager.removeFromQueue(eventObj);
-                continue;
+        int batchSize = Math.max(1, cacheConfig.getInvalidationBatchSize());
+        int processed = 0;
+        for (int round = 0; round < MAX_BATCHES_PER_ROUND; round++) {
+            List<CacheInvalidationQueueManager.ClaimedEvent> claimed = queueManager.claimReadyEvents(
+                    System.currentTimeMillis(), batchSize, cacheConfig.getInvalidationLeaseMs());
+            if (claimed.isEmpty()) {
+                break;
             }
+            processed += processBatch(claimed);
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
 
-            CacheInvalidationEventDTO eventDTO = (CacheInvalidationEventDTO) eventObj;
+        if (processed > 0) {
+            resetBackoff();
+        } else {
+            backoffMs = Math.min(backoffMs * 2, Math.max(BASE_POLL_INTERVAL_MS, cacheConfig.getInvalidationMaxBackoffMs()));
+            nextPollTime = now + backoffMs;
+        }
+    }
+
+    /**
+     * 处理一批已领取的事件
+     *
+     * 删除失败时不确认，租约到期后由任一实例重新领取；更新失败与原逻辑一致，记录日志后丢弃。
+     *
+     * @return 本批处理的事件数
+     */
+    int processBatch(List<CacheInvalidationQueueManager.ClaimedEvent> claimed) {
+        Set<String> deleteKeys = new LinkedHashSet<>();
+        List<CacheInvalidationQueueManager.ClaimedEvent> deleteEvents = new ArrayList<>();
+        List<CacheInvalidationQueueManager.ClaimedEvent> doneEvents = new ArrayList<>();
+
+        for (CacheInvalidationQueueManager.ClaimedEvent item : claimed) {
+            CacheInvalidationEventDTO eventDTO = item.event();
+            if (eventDTO == null || eventDTO.getOperation() == null) {
+                doneEvents.add(item);
+                continue;
+            }
+            switch (eventDTO.getOperation()) {
+                case DELETE:
+                case DOUBLE_DELETE:
+                    deleteKeys.add(eventDTO.getCacheKey());
+                    deleteEvents.add(item);
+                    break;
+
+                case UPDATE:
+                    executeUpdate(eventDTO);
+                    doneEvents.add(item);
+                    break;
+
+                default:
+                    log.warn("未知的缓存操作类型: {}", eventDTO.getOperation());
+                    doneEvents.add(item);
+            }
+        }
 
+        if (!deleteKeys.isEmpty()) {
             try {
-                executeInvalidation(eventDTO);
-                queueManager.removeFromQueue(eventDTO);
+                long deleted = redisCacheUtils.deleteCaches(deleteKeys);
+                doneEvents.addAll(deleteEvents);
+                log.debug("延迟缓存删除执行成功: keys={}, deleted={}", deleteKeys.size(), deleted);
             } catch (Exception e) {
-                log.error("执行缓存失效失败: {}", eventDTO, e);
-                queueManager.removeFromQueue(eventDTO);
+                log.error("批量删除缓存失败，等待租约到期后重试: keys={}", deleteKeys.size(), e);
             }
         }
+
+        queueManager.acknowledge(doneEvents);
+        return claimed.size();
     }
 
-    private void executeInvalidation(CacheInvalidationEventDTO eventDTO) {
+    private void executeUpdate(CacheInvalidationEventDTO eventDTO) {
         String cacheKey = eventDTO.getCacheKey();
-
-        switch (eventDTO.getOperation()) {
-            case DELETE:
-                redisCacheUtils.deleteCache(cacheKey);
-                log.debug("缓存删除成功: key={}", cacheKey);
-                break;
-
-            case DOUBLE_DELETE:
-                redisCacheUtils.deleteCache(cacheKey);
-                log.debug("延迟双删执行成功: key={}", cacheKey);
-                break;
-
-            case UPDATE:
-                Object value = eventDTO.getValue();
-                if (value != null) {
-                    redisCacheUtils.setCache(cacheKey, value, 7, TimeUnit.DAYS);
-                    log.debug("缓存更新成功: key={}", cacheKey);
-                } else {
-                    log.warn("缓存更新失败，值为空: key={}", cacheKey);
-                }
-                break;
-
-            default:
-                log.warn("未知的缓存操作类型: {}", eventDTO.getOperation());
+        try {
+            Object value = eventDTO.getValue();
+            if (value != null) {
+                redisCacheUtils.setCache(cacheKey, value, 7, TimeUnit.DAYS);
+                log.debug("缓存更新成功: key={}", cacheKey);
+            } else {
+                log.warn("缓存更新失败，值为空: key={}", cacheKey);
+            }
+        } catch (Exception e) {
+            log.error("执行缓存失效失败: {}", eventDTO, e);
         }
     }
 
+    private void resetBackoff() {
+        backoffMs = BASE_POLL_INTERVAL_MS;
+        nextPollTime = 0;
+    }
+
     @Scheduled(cron = "0 0 3 * * ?")
     public void cleanupExpiredEvents() {
         if (!cacheConfig.isEnabled()) {
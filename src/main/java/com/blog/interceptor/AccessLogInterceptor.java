@@ -6,8 +6,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
-import ua_parser.Client;
-import ua_parser.Parser;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -16,7 +14,8 @@ import java.time.LocalDateTime;
 
 /**
  * 访问日志拦截器
- * preHandle 记录请求开始时间，afterCompletion 委托 AccessLogService 异步写入 website_access_log
+ * preHandle 记录请求开始时间，afterCompletion 只采集原始字段并委托 AccessLogService 异步写入 website_access_log，
+ * User-Agent 解析等补全工作在缓冲刷盘阶段由 AccessLogEnricher 完成，不占用请求线程
  */
 @Slf4j
 @Component
@@ -24,8 +23,6 @@ public class AccessLogInterceptor implements HandlerInterceptor {
 
     private static final String START_TIME_ATTR = "accessLogStartTime";
 
-    private final Parser uaParser = new Parser();
-
     @Autowired
     private AccessLogService accessLogService;
 
@@ -72,69 +69,9 @@ public class AccessLogInterceptor implements HandlerInterceptor {
             accessLog.setUserId((Long) userId);
         }
 
-        // 解析 User-Agent → 设备类型 / 浏览器 / 操作系统
-        parseUserAgent(uaString, accessLog);
-
         return accessLog;
     }
 
-    /**
-     * 使用 ua-parser 解析 User-Agent 字符串，填充 deviceType、browser、operatingSystem 字段
-     */
-    private void parseUserAgent(String uaString, WebsiteAccessLog accessLog) {
-        if (uaString == null || uaString.isEmpty()) {
-            return;
-        }
-        try {
-            Client client = uaParser.parse(uaString);
-
-            // 浏览器：取 family（如 Chrome、Firefox、Safari）
-            if (client.userAgent != null && client.userAgent.family != null) {
-                accessLog.setBrowser(client.userAgent.family);
-            }
-
-            // 操作系统：取 family（如 Windows、Mac OS X、Linux、Android、iOS）
-            if (client.os != null && client.os.family != null) {
-                accessLog.setOperatingSystem(client.os.family);
-            }
-
-            // 设备类型：ua-parser 的 device.family 返回具体设备名（如 iPhone、Spider 等），
-            // 需要映射到 desktop / mobile / tablet 三分类
-            accessLog.setDeviceType(inferDeviceType(uaString, client));
-        } catch (Exception e) {
-            log.debug("UA 解析失败，跳过: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * 根据 UA 信息推断设备类型（desktop / mobile / tablet）
-     */
-    private String inferDeviceType(String uaString, Client client) {
-        String ua = uaString.toLowerCase();
-
-        // tablet 特征词优先判定
-        if (ua.contains("ipad") || ua.contains("tablet") || ua.contains("kindle")
-                || ua.contains("silk") || ua.contains("playbook")) {
-            return "tablet";
-        }
-
-        // mobile 特征词
-        if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone")
-                || ua.contains("ipod") || ua.contains("windows phone")
-                || ua.contains("blackberry") || ua.contains("opera mini")
-                || ua.contains("opera mobi")) {
-            // Android 平板通常不含 "Mobile"，但走到这里说明已含 mobile 关键词
-            return "mobile";
-        }
-
-        // 爬虫 / Bot
-        if (client.device != null && "Spider".equalsIgnoreCase(client.device.family)) {
-            return "bot";
-        }
-
-        return "desktop";
-    }
-
     private String getClientIp(HttpServletRequest request) {
         String[] headers = {
             "X-Forwarded-For", "Proxy-Client-IP", "WL-Proxy-Client-IP",
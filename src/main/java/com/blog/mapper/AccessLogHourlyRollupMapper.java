@@ -0,0 +1,68 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.entity.AccessLogHourlyRollup;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访问日志小时汇总 Mapper（对应 access_log_hourly_rollup 表）
+ * 时间范围参数均为左闭右开 [startTime, endTime)，为 null 时不限制该端。
+ * 区间内的 unique_visitor 为各小时去重访客数之和，同一访客跨小时会重复计入。
+ */
+@Mapper
+public interface AccessLogHourlyRollupMapper extends BaseMapper<AccessLogHourlyRollup> {
+
+    // -------------------------------------------------------------------------
+    // 汇总写入（XML 中定义）
+    // -------------------------------------------------------------------------
+
+    /**
+     * 从 website_access_log 重新计算一个小时内各维度的访问量并 upsert，重复执行结果不变
+     */
+    int upsertHour(@Param("bucketHour") LocalDateTime bucketHour,
+                   @Param("bucketEnd") LocalDateTime bucketEnd);
+
+    /**
+     * 已汇总的最新小时，表为空时返回 null
+     */
+    @Select("SELECT MAX(bucket_hour) FROM access_log_hourly_rollup WHERE dimension = 'total'")
+    LocalDateTime selectLatestBucket();
+
+    // -------------------------------------------------------------------------
+    // 后台分析查询（XML 中定义）
+    // -------------------------------------------------------------------------
+
+    /**
+     * 热门页面：[{page_url, visit_count, unique_visitor}, ...]，按访问量倒序分页
+     */
+    List<Map<String, Object>> selectTopPages(@Param("startTime") LocalDateTime startTime,
+                                             @Param("endTime") LocalDateTime endTime,
+                                             @Param("offset") Integer offset,
+                                             @Param("size") Integer size);
+
+    /**
+     * 区间内有访问的不同页面数（用于分页 total）
+     */
+    Integer countDistinctPages(@Param("startTime") LocalDateTime startTime,
+                               @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 访问来源：[{source_type, source_name, visit_count, unique_visitor}, ...]，按访问量倒序
+     */
+    List<Map<String, Object>> selectTrafficSources(@Param("startTime") LocalDateTime startTime,
+                                                   @Param("endTime") LocalDateTime endTime,
+                                                   @Param("limit") Integer limit);
+
+    /**
+     * 指定维度各取值的访问量：[{dim_value, visit_count, unique_visitor}, ...]，按访问量倒序
+     */
+    List<Map<String, Object>> selectDimensionCounts(@Param("dimension") String dimension,
+                                                    @Param("startTime") LocalDateTime startTime,
+                                                    @Param("endTime") LocalDateTime endTime);
+}
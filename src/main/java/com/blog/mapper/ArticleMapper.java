@@ -10,7 +10,9 @@ import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章Mapper接口
@@ -130,12 +132,15 @@ public interface ArticleMapper extends BaseMapper<Article> {
             "</script>"})
     List<Article> selectArticlesByUserId(@Param("userId") Long userId, @Param("status") Integer status);
 
+    // 以下计数更新显式将 update_time 赋为原值：MySQL 的 ON UPDATE CURRENT_TIMESTAMP 在列被显式赋值时不会触发，
+    // update_time 因此只随内容/状态变化，全文索引一致性检查与筛选位图轮询据此判断文章是否需要重新同步
+
     /**
      * 增加文章浏览量
      * @param articleId 文章ID
      * @return 影响行数
      */
-    @Update("UPDATE articles SET view_count = view_count + 1, update_time = NOW() WHERE id = #{articleId}")
+    @Update("UPDATE articles SET view_count = view_count + 1, update_time = update_time WHERE id = #{articleId}")
     int incrementViewCount(@Param("articleId") Long articleId);
 
     /**
@@ -144,7 +149,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param increment 增量
      * @return 影响行数
      */
-    @Update("UPDATE articles SET view_count = view_count + #{increment}, update_time = NOW() WHERE id = #{articleId}")
+    @Update("UPDATE articles SET view_count = view_count + #{increment}, update_time = update_time WHERE id = #{articleId}")
     int incrementViewCountBatch(@Param("articleId") Long articleId, @Param("increment") int increment);
 
     /**
@@ -153,7 +158,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param increment 增量（正数增加，负数减少）
      * @return 影响行数
      */
-    @Update("UPDATE articles SET like_count = like_count + #{increment}, update_time = NOW() WHERE id = #{articleId}")
+    @Update("UPDATE articles SET like_count = like_count + #{increment}, update_time = update_time WHERE id = #{articleId}")
     int updateLikeCount(@Param("articleId") Long articleId, @Param("increment") Integer increment);
 
     /**
@@ -161,7 +166,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param articleId 文章ID
      * @return 影响行数
      */
-    @Update("UPDATE articles SET like_count = GREATEST(0, like_count - 1), update_time = NOW() WHERE id = #{articleId} AND like_count > 0")
+    @Update("UPDATE articles SET like_count = GREATEST(0, like_count - 1), update_time = update_time WHERE id = #{articleId} AND like_count > 0")
     int decrementLikeCountSafely(@Param("articleId") Long articleId);
 
     /**
@@ -170,7 +175,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param increment 增量（正数增加，负数减少）
      * @return 影响行数
      */
-    @Update("UPDATE articles SET comment_count = comment_count + #{increment}, update_time = NOW() WHERE id = #{articleId}")
+    @Update("UPDATE articles SET comment_count = comment_count + #{increment}, update_time = update_time WHERE id = #{articleId}")
     int updateCommentCount(@Param("articleId") Long articleId, @Param("increment") Integer increment);
 
     /**
@@ -178,7 +183,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param articleId 文章ID
      * @return 影响行数
      */
-    @Update("UPDATE articles SET comment_count = GREATEST(0, comment_count - 1), update_time = NOW() WHERE id = #{articleId} AND comment_count > 0")
+    @Update("UPDATE articles SET comment_count = GREATEST(0, comment_count - 1), update_time = update_time WHERE id = #{articleId} AND comment_count > 0")
     int decrementCommentCountSafely(@Param("articleId") Long articleId);
 
     /**
@@ -187,7 +192,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param increment 增量（正数增加，负数减少）
      * @return 影响行数
      */
-    @Update("UPDATE articles SET favorite_count = favorite_count + #{increment}, update_time = NOW() WHERE id = #{articleId}")
+    @Update("UPDATE articles SET favorite_count = favorite_count + #{increment}, update_time = update_time WHERE id = #{articleId}")
     int updateFavoriteCount(@Param("articleId") Long articleId, @Param("increment") Integer increment);
 
     /**
@@ -195,7 +200,7 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param articleId 文章ID
      * @return 影响行数
      */
-    @Update("UPDATE articles SET favorite_count = GREATEST(0, favorite_count - 1), update_time = NOW() WHERE id = #{articleId} AND favorite_count > 0")
+    @Update("UPDATE articles SET favorite_count = GREATEST(0, favorite_count - 1), update_time = update_time WHERE id = #{articleId} AND favorite_count > 0")
     int decrementFavoriteCountSafely(@Param("articleId") Long articleId);
     
     /**
@@ -312,10 +317,20 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param endDate 结束日期
      * @param offset 偏移量
      * @param size 查询数量
-     * @return 文章列表
+     * @return 文章列表（content 只包含关键词附近最多 400 个字符，供生成搜索片段）
      */
     @Select({"<script>",
-            "SELECT a.* FROM articles a ",
+            "SELECT a.id, a.title, a.summary, a.cover_image, a.author_id, a.category_id, a.status, ",
+            "a.view_count, a.like_count, a.comment_count, a.favorite_count, a.publish_time, a.create_time, a.update_time, ",
+            "<choose>",
+            "<when test=\"keyword != null and keyword != ''\">",
+            "SUBSTRING(a.content, GREATEST(1, LOCATE(#{keyword}, a.content) - 100), 400) AS content ",
+            "</when>",
+            "<otherwise>",
+            "SUBSTRING(a.content, 1, 400) AS content ",
+            "</otherwise>",
+            "</choose>",
+            "FROM articles a ",
             "LEFT JOIN article_tags at ON a.id = at.article_id ",
             "WHERE a.status = 2 ",
             "<if test=\"keyword != null and keyword != ''\">",
@@ -451,4 +466,16 @@ public interface ArticleMapper extends BaseMapper<Article> {
     List<Article> selectHotArticlesByRange(@Param("limit") Integer limit,
                                           @Param("start") LocalDateTime start,
                                           @Param("end") LocalDateTime end);
+
+    /**
+     * 批量查询文章的标签关联
+     * @param articleIds 文章ID集合
+     * @return article_id / tag_id 映射行
+     */
+    @Select("<script>" +
+            "SELECT article_id, tag_id FROM article_tags " +
+            "WHERE article_id IN " +
+            "<foreach collection='articleIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Map<String, Object>> selectTagIdsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
 }
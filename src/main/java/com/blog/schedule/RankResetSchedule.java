@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 /**
  * 排行榜定时任务
  * 负责重置日榜和周榜的 Redis ZSet
+ * 开启滑动窗口（rank.window-enabled）后不再清榜，由 refreshWindowRank 周期性合并小时桶（同一周期只有一个实例执行合并）
  */
 @Component
 @Slf4j
@@ -46,4 +47,28 @@ public class RankResetSchedule {
             log.error("周榜重置任务执行失败", e);
         }
     }
+
+    /**
+     * 周期性刷新滑动窗口榜单（最近 24 小时 / 最近 7 天）
+     */
+    @Scheduled(fixedDelayString = "${rank.refresh-interval-ms:60000}")
+    public void refreshWindowRank() {
+        try {
+            articleRankService.refreshWindowBoards();
+        } catch (Exception e) {
+            log.error("滑动窗口榜单刷新失败", e);
+        }
+    }
+
+    /**
+     * 周期性同步其他实例移除的文章，重建本地快照以剔除下线/删除文章
+     */
+    @Scheduled(fixedDelayString = "${rank.removal-sync-interval-ms:5000}")
+    public void syncRemovedArticles() {
+        try {
+            articleRankService.syncRemovedArticles();
+        } catch (Exception e) {
+            log.error("已移除文章同步失败", e);
+        }
+    }
 }
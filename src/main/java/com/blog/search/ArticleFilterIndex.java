@@ -0,0 +1,396 @@
+package com.blog.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.blog.config.SearchFilterProperties;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章筛选位图索引
+ *
+ * 按标签、分类、作者和状态分别保存文章ID的压缩位图（IdBitmap），列表筛选条件与标签组合表达式
+ * 在内存中以位图交并差求值，再按置顶及发布时间（或浏览量）取出当前页的ID，由调用方按ID批量查询文章。
+ * 定时从数据库全量构建，文章变更事件提交后按ID增量刷新；构建完成前调用方回退到数据库查询。
+ * 本地事件只覆盖本实例的写入，另按 (update_time, id) 索引短周期轮询其他实例的内容/状态变更；
+ * 计数更新不推进 update_time，热度排序使用的浏览量随全量构建更新，物理删除的文章由调用方按ID查询时发现后刷新。
+ * 标签关联表不可用时按无标签建立索引，标签筛选结果为空，其余筛选不受影响。
+ */
+@Slf4j
+@Component
+public class ArticleFilterIndex {
+
+    private static final String[] COLUMNS = {"id", "status", "category_id", "author_id", "is_top", "view_count",
+            "publish_time"};
+    private static final String[] POLL_COLUMNS = {"id", "status", "category_id", "author_id", "is_top", "view_count",
+            "publish_time", "update_time"};
+
+    // 轮询起点回退的时长，覆盖晚提交的事务和应用与数据库之间的时钟偏差，重复刷新同一文章没有副作用
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(2);
+
+    @Autowired
+    private SearchFilterProperties properties;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ArticleTagLookup articleTagLookup;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    private volatile boolean ready;
+
+    // 全量构建期间增量刷新过的文章，构建结果替换后需要重新刷新
+    private final Set<Long> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    // 已同步到的 update_time，全量构建取开始时间，之后由轮询推进
+    private volatile LocalDateTime watermark;
+
+    /**
+     * 筛选条件，为 null 的条件不参与筛选
+     *
+     * @param tagExpression 标签组合表达式，见 TagExpression
+     */
+    public record Filter(Integer status, Long categoryId, Long authorId, Long tagId, String tagExpression) {
+    }
+
+    /**
+     * 筛选结果：命中总数与当前页的文章ID（已排序）
+     */
+    public record Matches(long total, List<Long> ids) {
+    }
+
+    private record Doc(long id, int status, Long categoryId, Long authorId, long[] tagIds, boolean top,
+                       int viewCount, LocalDateTime publishTime) {
+    }
+
+    private static final Comparator<Doc> LATEST = Comparator.comparing(Doc::top).reversed()
+            .thenComparing(Doc::publishTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingLong(Doc::id).reversed());
+
+    private static final Comparator<Doc> POPULAR = Comparator.comparing(Doc::top).reversed()
+            .thenComparing(Comparator.comparingInt(Doc::viewCount).reversed())
+            .thenComparing(Comparator.comparingLong(Doc::id).reversed());
+
+    public boolean isReady() {
+        return ready && properties.isEnabled();
+    }
+
+    /**
+     * 筛选并分页，popular 为 true 时按置顶、浏览量排序，否则按置顶、发布时间排序
+     *
+     * @throws IllegalArgumentException 标签表达式语法错误
+     */
+    public Matches query(Filter filter, boolean popular, int offset, int limit) {
+        return query(filter, popular, List.of(), offset, limit);
+    }
+
+    /**
+     * 筛选并分页，leadingIds 中命中筛选条件的文章按给定顺序排在最前，其余命中按排序方式接在后面
+     * 用于分类热门榜单：榜单覆盖的部分按热度，榜单之外的文章仍可翻页访问，总数为全部命中数
+     *
+     * @throws IllegalArgumentException 标签表达式语法错误
+     */
+    public Matches query(Filter filter, boolean popular, List<Long> leadingIds, int offset, int limit) {
+        TagExpression expression = filter.tagExpression() == null || filter.tagExpression().isBlank()
+                ? null : TagExpression.parse(filter.tagExpression());
+        lock.readLock().lock();
+        try {
+            IdBitmap matched = filter.status() == null ? state.all : bitmap(state.byStatus, filter.status().longValue());
+            if (filter.categoryId() != null) {
+                matched = matched.and(bitmap(state.byCategory, filter.categoryId()));
+            }
+            if (filter.authorId() != null) {
+                matched = matched.and(bitmap(state.byAuthor, filter.authorId()));
+            }
+            if (filter.tagId() != null) {
+                matched = matched.and(bitmap(state.byTag, filter.tagId()));
+            }
+            if (expression != null) {
+                matched = expression.evaluate(matched, tagId -> bitmap(state.byTag, tagId));
+            }
+            long total = matched.cardinality();
+            int from = Math.max(0, offset);
+            int size = Math.max(0, limit);
+            IdBitmap leadingSet = new IdBitmap();
+            List<Long> leading = new ArrayList<>();
+            for (Long articleId : leadingIds) {
+                if (articleId != null && matched.contains(articleId) && leadingSet.add(articleId)) {
+                    leading.add(articleId);
+                }
+            }
+            List<Long> ids = new ArrayList<>(leading.subList(Math.min(from, leading.size()),
+                    (int) Math.min(leading.size(), (long) from + size)));
+            IdBitmap rest = leading.isEmpty() ? matched : matched.andNot(leadingSet);
+            ids.addAll(page(rest, popular ? POPULAR : LATEST, Math.max(0, from - leading.size()), size - ids.size()));
+            return new Matches(total, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从数据库全量构建，按主键游标分批读取
+     */
+    @Scheduled(fixedDelayString = "${search.filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilding = true;
+        try {
+            LocalDateTime startTime = LocalDateTime.now();
+            long start = System.currentTimeMillis();
+            int batchSize = Math.max(1, properties.getRebuildBatchSize());
+            State rebuilt = new State();
+            long lastId = 0;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select(COLUMNS);
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + batchSize);
+                List<Article> chunk = articleMapper.selectList(queryWrapper);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<Long>> tagsOf = articleTagLookup.select(chunk.stream().map(Article::getId).toList());
+                for (Article article : chunk) {
+                    rebuilt.put(toDoc(article, tagsOf.get(article.getId())));
+                }
+                long nextId = chunk.get(chunk.size() - 1).getId();
+                if (chunk.size() < batchSize || nextId <= lastId) {
+                    break;
+                }
+                lastId = nextId;
+            }
+            lock.writeLock().lock();
+            try {
+                state = rebuilt;
+                watermark = startTime;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("文章筛选位图构建完成，文章数：{}，耗时：{}ms", rebuilt.docs.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("文章筛选位图构建失败", e);
+        } finally {
+            rebuilding = false;
+        }
+        if (!refreshedDuringRebuild.isEmpty()) {
+            List<Long> articleIds = new ArrayList<>(refreshedDuringRebuild);
+            refreshedDuringRebuild.removeAll(articleIds);
+            refresh(articleIds);
+        }
+    }
+
+    /**
+     * 按 (update_time, id) 游标读取上次同步之后变更的文章并刷新，同步其他实例的发布、下线和编辑
+     */
+    @Scheduled(fixedDelayString = "${search.filter.poll-interval-ms:5000}")
+    public void pollChanges() {
+        LocalDateTime since = watermark;
+        if (!properties.isEnabled() || !ready || rebuilding || since == null) {
+            return;
+        }
+        try {
+            LocalDateTime pollTime = LocalDateTime.now();
+            int batchSize = Math.max(1, properties.getRebuildBatchSize());
+            LocalDateTime lastTime = since.minus(POLL_OVERLAP);
+            long lastId = 0;
+            int changed = 0;
+            while (true) {
+                LocalDateTime cursorTime = lastTime;
+                long cursorId = lastId;
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select(POLL_COLUMNS);
+                queryWrapper.and(w -> w.gt("update_time", cursorTime)
+                        .or(o -> o.eq("update_time", cursorTime).gt("id", cursorId)));
+                queryWrapper.orderByAsc("update_time", "id");
+                queryWrapper.last("LIMIT " + batchSize);
+                List<Article> chunk = articleMapper.selectList(queryWrapper);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, Article> articles = new HashMap<>();
+                for (Article article : chunk) {
+                    articles.put(article.getId(), article);
+                }
+                apply(articles.keySet(), articles, articleTagLookup.select(articles.keySet()));
+                changed += chunk.size();
+                Article last = chunk.get(chunk.size() - 1);
+                if (chunk.size() < batchSize || last.getUpdateTime() == null) {
+                    break;
+                }
+                lastTime = last.getUpdateTime();
+                lastId = last.getId();
+            }
+            // 轮询期间若已开始全量构建，以构建设置的起点为准
+            if (watermark == since) {
+                watermark = pollTime;
+            }
+            if (changed > 0) {
+                log.debug("文章筛选位图同步变更完成，文章数：{}", changed);
+            }
+        } catch (Exception e) {
+            log.warn("文章筛选位图轮询变更失败，等待下次轮询：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按数据库当前状态刷新指定文章，文章不存在时从所有位图中移除；失败时等待下次全量构建修复
+     */
+    public void refresh(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty() || !properties.isEnabled()) {
+            return;
+        }
+        if (rebuilding) {
+            refreshedDuringRebuild.addAll(articleIds);
+        }
+        if (!ready) {
+            return;
+        }
+        try {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select(COLUMNS);
+            queryWrapper.in("id", articleIds);
+            Map<Long, Article> articles = new HashMap<>();
+            for (Article article : articleMapper.selectList(queryWrapper)) {
+                articles.put(article.getId(), article);
+            }
+            apply(articleIds, articles, articleTagLookup.select(articles.keySet()));
+        } catch (Exception e) {
+            log.warn("文章筛选位图增量刷新失败，等待下次全量构建，文章ID：{}，原因：{}", articleIds, e.getMessage());
+        }
+    }
+
+    /**
+     * 以数据库读到的文章替换索引中的条目，articles 中没有的文章ID视为已删除
+     */
+    private void apply(Collection<Long> articleIds, Map<Long, Article> articles, Map<Long, List<Long>> tagsOf) {
+        lock.writeLock().lock();
+        try {
+            for (Long articleId : articleIds) {
+                state.remove(articleId);
+                Article article = articles.get(articleId);
+                if (article != null) {
+                    state.put(toDoc(article, tagsOf.get(articleId)));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 用容量为 offset + limit 的堆取出排序后的前若干篇，不对全部命中排序
+     */
+    private List<Long> page(IdBitmap matched, Comparator<Doc> order, int offset, int limit) {
+        long need = Math.min(matched.cardinality(), (long) offset + limit);
+        if (need <= offset) {
+            return List.of();
+        }
+        PriorityQueue<Doc> heap = new PriorityQueue<>((int) need + 1, order.reversed());
+        matched.forEach(id -> {
+            heap.offer(state.docs.get(id));
+            if (heap.size() > need) {
+                heap.poll();
+            }
+        });
+        List<Doc> top = new ArrayList<>(heap);
+        top.sort(order);
+        List<Long> ids = new ArrayList<>(top.size() - offset);
+        for (int i = offset; i < top.size(); i++) {
+            ids.add(top.get(i).id());
+        }
+        return ids;
+    }
+
+    private static Doc toDoc(Article article, List<Long> tagIds) {
+        return new Doc(article.getId(),
+                article.getStatus() == null ? 0 : article.getStatus(),
+                article.getCategoryId(),
+                article.getAuthorId(),
+                tagIds == null ? new long[0] : tagIds.stream().mapToLong(Long::longValue).toArray(),
+                article.getIsTop() != null && article.getIsTop() == 1,
+                article.getViewCount() == null ? 0 : article.getViewCount(),
+                article.getPublishTime());
+    }
+
+    private static IdBitmap bitmap(Map<Long, IdBitmap> bitmaps, Long key) {
+        IdBitmap bitmap = bitmaps.get(key);
+        return bitmap != null ? bitmap : new IdBitmap();
+    }
+
+    /**
+     * 索引内容，全量构建时整体替换
+     */
+    private static final class State {
+
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final IdBitmap all = new IdBitmap();
+        private final Map<Long, IdBitmap> byStatus = new HashMap<>();
+        private final Map<Long, IdBitmap> byCategory = new HashMap<>();
+        private final Map<Long, IdBitmap> byAuthor = new HashMap<>();
+        private final Map<Long, IdBitmap> byTag = new HashMap<>();
+
+        void put(Doc doc) {
+            docs.put(doc.id(), doc);
+            all.add(doc.id());
+            add(byStatus, (long) doc.status(), doc.id());
+            add(byCategory, doc.categoryId(), doc.id());
+            add(byAuthor, doc.authorId(), doc.id());
+            for (long tagId : doc.tagIds()) {
+                add(byTag, tagId, doc.id());
+            }
+        }
+
+        void remove(Long articleId) {
+            Doc doc = docs.remove(articleId);
+            if (doc == null) {
+                return;
+            }
+            all.remove(articleId);
+            remove(byStatus, (long) doc.status(), articleId);
+            remove(byCategory, doc.categoryId(), articleId);
+            remove(byAuthor, doc.authorId(), articleId);
+            for (long tagId : doc.tagIds()) {
+                remove(byTag, tagId, articleId);
+            }
+        }
+
+        private static void add(Map<Long, IdBitmap> bitmaps, Long key, long articleId) {
+            if (key != null) {
+                bitmaps.computeIfAbsent(key, k -> new IdBitmap()).add(articleId);
+            }
+        }
+
+        private static void remove(Map<Long, IdBitmap> bitmaps, Long key, long articleId) {
+            IdBitmap bitmap = key == null ? null : bitmaps.get(key);
+            if (bitmap != null && bitmap.remove(articleId) && bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内文章倒排索引
+ *
+ * 词项 → 文章ID → [标题词频, 正文词频]，查询时对所有词项取交集（每个词项都必须命中），
+ * 按 BM25 分别计算标题与正文得分后加权求和；分类/标签/作者/日期过滤直接使用索引内保存的文章属性，
+ * 搜索全程不访问数据库。全量重建在锁外构建新索引后整体替换，增量更新在写锁内完成。
+ * 自上次持久化以来变更过的文章ID会被记录下来，供检查点只导出增量段。
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+    public static final String SCOPE_TITLE = "title";
+    public static final String SCOPE_CONTENT = "content";
+
+    public static final String SORT_RELEVANCE = "relevance";
+    public static final String SORT_VIEW = "view";
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    private volatile boolean ready;
+
+    // 内容版本号，只在写锁内递增
+    private volatile long generation;
+
+    // 自上次导出以来变更过的文章ID（只在写锁内添加）；全量重建后需要导出全量段
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullDirty;
+
+    /**
+     * 索引中保存的文章属性（已发布文章），updateTime 作为文档版本供一致性检查比对
+     */
+    public record IndexedArticle(Long id, String title, String summary, String content, String coverImage,
+                                 Long authorId, Long categoryId, Set<Long> tagIds,
+                                 Integer viewCount, Integer likeCount, Integer commentCount, Integer favoriteCount,
+                                 LocalDateTime createTime, LocalDateTime publishTime, LocalDateTime updateTime) {
+
+        public static IndexedArticle of(Article article, Collection<Long> tagIds) {
+            return new IndexedArticle(article.getId(), article.getTitle(), article.getSummary(), article.getContent(),
+                    article.getCoverImage(), article.getAuthorId(), article.getCategoryId(),
+                    tagIds == null ? Set.of() : Set.copyOf(tagIds),
+                    article.getViewCount(), article.getLikeCount(), article.getCommentCount(),
+                    article.getFavoriteCount(), article.getCreateTime(), article.getPublishTime(),
+                    article.getUpdateTime());
+        }
+    }
+
+    /**
+     * 搜索过滤条件，字段为 null 表示不过滤；tagIds 要求文章包含全部标签，日期按创建时间过滤
+     */
+    public record Filter(Long categoryId, Collection<Long> tagIds, Long authorId,
+                         LocalDateTime startTime, LocalDateTime endTime) {
+
+        public static final Filter NONE = new Filter(null, null, null, null, null);
+
+        boolean matches(IndexedArticle article) {
+            if (categoryId != null && !categoryId.equals(article.categoryId())) {
+                return false;
+            }
+            if (authorId != null && !authorId.equals(article.authorId())) {
+                return false;
+            }
+            if (tagIds != null && !tagIds.isEmpty() && !article.tagIds().containsAll(tagIds)) {
+                return false;
+            }
+            LocalDateTime createTime = article.createTime();
+            if (startTime != null && (createTime == null || createTime.isBefore(startTime))) {
+                return false;
+            }
+            return endTime == null || (createTime != null && !createTime.isAfter(endTime));
+        }
+    }
+
+    /**
+     * 索引段：全量段包含全部文章，增量段只包含变更过的文章及已删除的文章ID
+     *
+     * @param lengths  文章ID → [标题词数, 正文词数]
+     * @param postings 词项 → 文章ID → [标题词频, 正文词频]，只包含本段文章
+     */
+    public record Segment(boolean full, List<IndexedArticle> docs, Map<Long, int[]> lengths,
+                          Map<String, Map<Long, int[]>> postings, Set<Long> deletedIds) {
+    }
+
+    /**
+     * 单条命中
+     *
+     * @param matchedField 命中字段：title / content，无关键词时为 null
+     */
+    public record Hit(IndexedArticle article, double score, String matchedField) {
+    }
+
+    /**
+     * 一页命中结果
+     *
+     * @param total  满足条件的命中总数
+     * @param facets 全部命中的分面计数，未请求时为空
+     */
+    public record Hits(long total, List<Hit> hits, Facets facets) {
+
+        static final Hits EMPTY = new Hits(0, List.of());
+
+        public Hits(long total, List<Hit> hits) {
+            this(total, hits, Facets.EMPTY);
+        }
+    }
+
+    /**
+     * 分面计数：按分类、标签、作者、发布月份（yyyy-MM，未发布时取创建时间）统计命中文章数
+     */
+    public record Facets(Map<Long, Long> categories, Map<Long, Long> tags, Map<Long, Long> authors,
+                         Map<String, Long> months) {
+
+        static final Facets EMPTY = new Facets(Map.of(), Map.of(), Map.of(), Map.of());
+    }
+
+    /**
+     * 索引是否已完成首次全量构建，未完成时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 索引版本号，内容每次变化后递增，用于使搜索结果缓存失效
+     */
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 索引中全部文章的快照
+     */
+    public List<IndexedArticle> documents() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(state.docs.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按给定顺序返回索引中的文章，不在索引中的ID跳过
+     */
+    public List<IndexedArticle> get(Collection<Long> articleIds) {
+        lock.readLock().lock();
+        try {
+            List<IndexedArticle> articles = new ArrayList<>(articleIds.size());
+            for (Long articleId : articleIds) {
+                IndexedArticle article = state.docs.get(articleId);
+                if (article != null) {
+                    articles.add(article);
+                }
+            }
+            return articles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 索引中每篇文章的版本（update_time）快照
+     */
+    public Map<Long, LocalDateTime> versions() {
+        lock.readLock().lock();
+        try {
+            Map<Long, LocalDateTime> versions = new HashMap<>(state.docs.size() * 2);
+            state.docs.forEach((id, article) -> versions.put(id, article.updateTime()));
+            return versions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 用给定文章整体替换索引内容（全量重建）
+     */
+    public void replaceAll(Collection<IndexedArticle> articles) {
+        State rebuilt = new State();
+        articles.forEach(rebuilt::add);
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+            dirtyIds.clear();
+            fullDirty = true;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("全文索引重建完成，文章数：{}，词项数：{}", rebuilt.docs.size(), rebuilt.postings.size());
+    }
+
+    /**
+     * 新增或替换单篇文章
+     */
+    public void upsert(IndexedArticle article) {
+        lock.writeLock().lock();
+        try {
+            state.remove(article.id());
+            state.add(article);
+            dirtyIds.add(article.id());
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除单篇文章，文章不在索引中时返回 false
+     */
+    public boolean remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = state.remove(articleId);
+            if (removed) {
+                dirtyIds.add(articleId);
+                generation++;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 导出自上次导出以来的变更并清空变更记录，没有变更时返回 null
+     *
+     * @param forceFull 是否强制导出全量段（用于合并已有的段）
+     */
+    public Segment exportSegment(boolean forceFull) {
+        lock.readLock().lock();
+        try {
+            boolean full = forceFull || fullDirty;
+            if (!full && dirtyIds.isEmpty()) {
+                return null;
+            }
+            Segment segment = full ? exportAll(state) : exportChanged(state, Set.copyOf(dirtyIds));
+            // 写锁内才会修改变更记录，持有读锁期间清空不会丢失并发的变更
+            dirtyIds.clear();
+            fullDirty = false;
+            return segment;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 段持久化失败时恢复变更记录，等待下次检查点重试
+     */
+    public void restoreDirty(Segment segment) {
+        lock.writeLock().lock();
+        try {
+            if (segment.full()) {
+                fullDirty = true;
+            } else {
+                segment.docs().forEach(article -> dirtyIds.add(article.id()));
+                dirtyIds.addAll(segment.deletedIds());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按顺序应用持久化的段（首个为全量段）并整体替换索引内容，加载的数据视为已持久化
+     */
+    public void load(List<Segment> segments) {
+        State loaded = new State();
+        for (Segment segment : segments) {
+            loaded.apply(segment);
+        }
+        lock.writeLock().lock();
+        try {
+            state = loaded;
+            dirtyIds.clear();
+            fullDirty = false;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("全文索引从持久化段加载完成，段数：{}，文章数：{}，词项数：{}",
+                segments.size(), loaded.docs.size(), loaded.postings.size());
+    }
+
+    private static Segment exportAll(State s) {
+        Map<String, Map<Long, int[]>> postings = new HashMap<>(s.postings.size() * 2);
+        s.postings.forEach((term, list) -> postings.put(term, new HashMap<>(list)));
+        return new Segment(true, new ArrayList<>(s.docs.values()), new HashMap<>(s.lengths), postings, Set.of());
+    }
+
+    private static Segment exportChanged(State s, Set<Long> changedIds) {
+        List<IndexedArticle> docs = new ArrayList<>();
+        Map<Long, int[]> lengths = new HashMap<>();
+        Map<String, Map<Long, int[]>> postings = new HashMap<>();
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        for (Long articleId : changedIds) {
+            IndexedArticle article = s.docs.get(articleId);
+            if (article == null) {
+                deletedIds.add(articleId);
+                continue;
+            }
+            docs.add(article);
+            lengths.put(articleId, s.lengths.get(articleId));
+            for (String term : s.termsOf(article)) {
+                int[] tf = s.postings.get(term).get(articleId);
+                postings.computeIfAbsent(term, k -> new HashMap<>()).put(articleId, tf);
+            }
+        }
+        return new Segment(false, docs, lengths, postings, deletedIds);
+    }
+
+    /**
+     * 搜索
+     *
+     * @param keyword 关键词，为空时只按过滤条件筛选
+     * @param scope   搜索范围：title / content / 其他值表示全部
+     * @param filter  过滤条件
+     * @param sortBy  排序：relevance / view / 其他值按创建时间倒序
+     * @param offset  偏移量
+     * @param limit   返回数量，为 0 时只统计总数
+     */
+    public Hits search(String keyword, String scope, Filter filter, String sortBy, int offset, int limit) {
+        return search(keyword, scope, filter, sortBy, offset, limit, false);
+    }
+
+    /**
+     * 搜索，facets 为 true 时在同一次检索中统计全部命中的分面计数
+     */
+    public Hits search(String keyword, String scope, Filter filter, String sortBy, int offset, int limit,
+                       boolean facets) {
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        Set<String> terms = hasKeyword ? new LinkedHashSet<>(SearchTokenizer.tokenize(keyword)) : Set.of();
+        if (hasKeyword && terms.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        Filter effectiveFilter = filter != null ? filter : Filter.NONE;
+
+        List<Hit> matched;
+        lock.readLock().lock();
+        try {
+            matched = hasKeyword ? match(state, terms, scope, effectiveFilter) : browse(state, effectiveFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matched.sort(comparator(hasKeyword && SORT_RELEVANCE.equals(sortBy) ? SORT_RELEVANCE : sortBy));
+        int from = Math.min(Math.max(0, offset), matched.size());
+        int to = Math.min(from + Math.max(0, limit), matched.size());
+        return new Hits(matched.size(), new ArrayList<>(matched.subList(from, to)),
+                facets ? facets(matched) : Facets.EMPTY);
+    }
+
+    private static Facets facets(List<Hit> matched) {
+        Map<Long, Long> categories = new HashMap<>();
+        Map<Long, Long> tags = new HashMap<>();
+        Map<Long, Long> authors = new HashMap<>();
+        Map<String, Long> months = new HashMap<>();
+        for (Hit hit : matched) {
+            IndexedArticle article = hit.article();
+            if (article.categoryId() != null) {
+                categories.merge(article.categoryId(), 1L, Long::sum);
+            }
+            for (Long tagId : article.tagIds()) {
+                tags.merge(tagId, 1L, Long::sum);
+            }
+            if (article.authorId() != null) {
+                authors.merge(article.authorId(), 1L, Long::sum);
+            }
+            LocalDateTime time = article.publishTime() != null ? article.publishTime() : article.createTime();
+            if (time != null) {
+                months.merge(time.format(MONTH_FORMATTER), 1L, Long::sum);
+            }
+        }
+        return new Facets(categories, tags, authors, months);
+    }
+
+    private List<Hit> browse(State s, Filter filter) {
+        List<Hit> hits = new ArrayList<>();
+        for (IndexedArticle article : s.docs.values()) {
+            if (filter.matches(article)) {
+                hits.add(new Hit(article, 0, null));
+            }
+        }
+        return hits;
+    }
+
+    private List<Hit> match(State s, Set<String> terms, String scope, Filter filter) {
+        List<Map<Long, int[]>> lists = new ArrayList<>(terms.size());
+        List<Double> idfs = new ArrayList<>(terms.size());
+        int n = s.docs.size();
+        for (String term : terms) {
+            Map<Long, int[]> list = s.postings.get(term);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+            idfs.add(Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5)));
+        }
+        Map<Long, int[]> smallest = lists.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+
+        boolean useTitle = !SCOPE_CONTENT.equals(scope);
+        boolean useContent = !SCOPE_TITLE.equals(scope);
+        double avgTitle = n == 0 ? 1 : Math.max(1, s.totalTitleLength / (double) n);
+        double avgContent = n == 0 ? 1 : Math.max(1, s.totalContentLength / (double) n);
+        double titleBoost = properties.getTitleBoost();
+
+        List<Hit> hits = new ArrayList<>();
+        candidates:
+        for (Long articleId : smallest.keySet()) {
+            int[] length = s.lengths.get(articleId);
+            double score = 0;
+            boolean titleMatched = false;
+            for (int i = 0; i < lists.size(); i++) {
+                int[] tf = lists.get(i).get(articleId);
+                int titleTf = tf == null || !useTitle ? 0 : tf[0];
+                int contentTf = tf == null || !useContent ? 0 : tf[1];
+                if (titleTf == 0 && contentTf == 0) {
+                    continue candidates;
+                }
+                titleMatched |= titleTf > 0;
+                score += idfs.get(i) * (titleBoost * bm25(titleTf, length[0], avgTitle)
+                        + bm25(contentTf, length[1], avgContent));
+            }
+            IndexedArticle article = s.docs.get(articleId);
+            if (filter.matches(article)) {
+                hits.add(new Hit(article, score, titleMatched ? SCOPE_TITLE : SCOPE_CONTENT));
+            }
+        }
+        return hits;
+    }
+
+    private double bm25(int tf, int length, double avgLength) {
+        if (tf == 0) {
+            return 0;
+        }
+        double k1 = properties.getK1();
+        double norm = k1 * (1 - properties.getB() + properties.getB() * length / avgLength);
+        return tf * (k1 + 1) / (tf + norm);
+    }
+
+    private static Comparator<Hit> comparator(String sortBy) {
+        Comparator<Hit> byTime = Comparator.comparing((Hit hit) -> hit.article().createTime(),
+                Comparator.nullsLast(Comparator.reverseOrder()));
+        byTime = byTime.thenComparing(hit -> hit.article().id(), Comparator.reverseOrder());
+        if (SORT_RELEVANCE.equals(sortBy)) {
+            return Comparator.comparingDouble(Hit::score).reversed().thenComparing(byTime);
+        }
+        if (SORT_VIEW.equals(sortBy)) {
+            return Comparator.comparing((Hit hit) -> hit.article().viewCount(),
+                    Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(byTime);
+        }
+        return byTime;
+    }
+
+    /**
+     * 索引数据：只在写锁内修改，全量重建时整体替换
+     */
+    private static class State {
+
+        private final Map<Long, IndexedArticle> docs = new HashMap<>();
+        private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+        // 文章ID → [标题词数, 正文词数]
+        private final Map<Long, int[]> lengths = new HashMap<>();
+        private long totalTitleLength;
+        private long totalContentLength;
+
+        void add(IndexedArticle article) {
+            List<String> titleTokens = SearchTokenizer.tokenize(article.title());
+            List<String> contentTokens = SearchTokenizer.tokenize(article.content());
+            Map<String, int[]> termFreqs = new HashMap<>();
+            titleTokens.forEach(term -> termFreqs.computeIfAbsent(term, k -> new int[2])[0]++);
+            contentTokens.forEach(term -> termFreqs.computeIfAbsent(term, k -> new int[2])[1]++);
+            termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(article.id(), tf));
+
+            docs.put(article.id(), article);
+            lengths.put(article.id(), new int[]{titleTokens.size(), contentTokens.size()});
+            totalTitleLength += titleTokens.size();
+            totalContentLength += contentTokens.size();
+        }
+
+        /**
+         * 应用一个持久化段：先移除段内涉及的文章，再直接装入段内的词频，无需重新分词
+         */
+        void apply(Segment segment) {
+            segment.deletedIds().forEach(this::remove);
+            for (IndexedArticle article : segment.docs()) {
+                remove(article.id());
+                int[] length = segment.lengths().getOrDefault(article.id(), new int[2]);
+                docs.put(article.id(), article);
+                lengths.put(article.id(), length);
+                totalTitleLength += length[0];
+                totalContentLength += length[1];
+            }
+            segment.postings().forEach((term, list) ->
+                    postings.computeIfAbsent(term, k -> new HashMap<>()).putAll(list));
+        }
+
+        // 重新分词得到文章的词项，避免为每篇文章额外保存词项列表
+        Set<String> termsOf(IndexedArticle article) {
+            Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(article.title()));
+            terms.addAll(SearchTokenizer.tokenize(article.content()));
+            return terms;
+        }
+
+        boolean remove(Long articleId) {
+            IndexedArticle article = docs.remove(articleId);
+            if (article == null) {
+                return false;
+            }
+            for (String term : termsOf(article)) {
+                Map<Long, int[]> list = postings.get(term);
+                if (list != null) {
+                    list.remove(articleId);
+                    if (list.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            int[] length = lengths.remove(articleId);
+            if (length != null) {
+                totalTitleLength -= length[0];
+                totalContentLength -= length[1];
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.search;
+
+import com.blog.mapper.ArticleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章标签批量查询，供全文索引与筛选位图共用
+ *
+ * 标签关联表（article_tags）不存在或查询失败时按无标签处理：首次失败记录一条 WARN，
+ * 之后 RETRY_INTERVAL_MS 内直接返回空结果不再访问数据库，到期后重试，恢复时记录一条 INFO。
+ */
+@Component
+@Slf4j
+public class ArticleTagLookup {
+
+    // 查询失败后暂停访问标签表的时长
+    static final long RETRY_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    // 标签表不可用时下次允许重试的时间（毫秒），0 表示可用
+    private volatile long retryAt;
+
+    /**
+     * 批量查询文章标签
+     *
+     * @return 文章ID → 标签ID列表，没有标签的文章不在结果中；标签表不可用时返回空结果
+     */
+    public Map<Long, List<Long>> select(Collection<Long> articleIds) {
+        Map<Long, List<Long>> tagsOf = new HashMap<>();
+        if (articleIds.isEmpty()) {
+            return tagsOf;
+        }
+        long failedUntil = retryAt;
+        if (failedUntil != 0 && System.currentTimeMillis() < failedUntil) {
+            return tagsOf;
+        }
+        try {
+            for (Map<String, Object> row : articleMapper.selectTagIdsByArticleIds(articleIds)) {
+                Object articleId = row.get("article_id");
+                Object tagId = row.get("tag_id");
+                if (articleId instanceof Number && tagId instanceof Number) {
+                    tagsOf.computeIfAbsent(((Number) articleId).longValue(), k -> new ArrayList<>())
+                            .add(((Number) tagId).longValue());
+                }
+            }
+        } catch (Exception e) {
+            retryAt = System.currentTimeMillis() + RETRY_INTERVAL_MS;
+            if (failedUntil == 0) {
+                log.warn("查询文章标签失败，{} 分钟内按无标签处理：{}",
+                        TimeUnit.MILLISECONDS.toMinutes(RETRY_INTERVAL_MS), e.getMessage());
+            } else {
+                log.debug("文章标签仍不可用：{}", e.getMessage());
+            }
+            return new HashMap<>();
+        }
+        if (failedUntil != 0) {
+            retryAt = 0;
+            log.info("文章标签查询已恢复");
+        }
+        return tagsOf;
+    }
+
+    /**
+     * 标签表当前是否可用（最近一次查询成功或尚未查询）
+     */
+    public boolean isAvailable() {
+        return retryAt == 0;
+    }
+}
@@ -0,0 +1,355 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 带权重的前缀补全树
+ *
+ * 每个建议词以规范化文本（小写、去掉空白与标点）及拼音首字母两种形式作为键插入；
+ * 子节点按字符排序存放在数组中，每个节点预先保存子树内权重最高的 topK 个建议，
+ * 补全只需沿前缀下行后直接返回该节点的结果，耗时与建议词总数无关。
+ * 同一建议词可以有多个来源（如同名的多篇文章、搜索词），权重为各来源之和。
+ * 非线程安全，由调用方加锁。
+ */
+class CompletionTrie {
+
+    /**
+     * 一次权重贡献，weight 不大于 0 表示移除该来源
+     */
+    record Contribution(String text, String source, long weight) {
+    }
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.weight).reversed()
+            .thenComparing(entry -> entry.text);
+
+    private final int topK;
+    private final int maxKeyLength;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    CompletionTrie(int topK, int maxKeyLength) {
+        this.topK = Math.max(1, topK);
+        this.maxKeyLength = Math.max(1, maxKeyLength);
+    }
+
+    /**
+     * 批量构建：先插入全部键，最后自底向上一次性计算各节点的 topK
+     */
+    static CompletionTrie build(int topK, int maxKeyLength, Collection<Contribution> contributions) {
+        CompletionTrie trie = new CompletionTrie(topK, maxKeyLength);
+        for (Contribution contribution : contributions) {
+            if (contribution.weight() <= 0) {
+                continue;
+            }
+            Entry entry = trie.entries.get(contribution.text());
+            if (entry == null) {
+                entry = trie.newEntry(contribution.text());
+                if (entry == null) {
+                    continue;
+                }
+                for (String key : entry.keys) {
+                    Node end = trie.walk(key, true)[key.length()];
+                    end.terminals = append(end.terminals, entry);
+                }
+            }
+            entry.weight += contribution.weight() - entry.weights.getOrDefault(contribution.source(), 0L);
+            entry.weights.put(contribution.source(), contribution.weight());
+        }
+        trie.recomputeAll(trie.root);
+        return trie;
+    }
+
+    /**
+     * 设置某个来源对建议词的权重，weight 不大于 0 时移除该来源，所有来源都移除后删除建议词
+     */
+    void put(String text, String source, long weight) {
+        Entry entry = entries.get(text);
+        if (weight <= 0) {
+            if (entry == null || entry.weights.remove(source) == null) {
+                return;
+            }
+            if (entry.weights.isEmpty()) {
+                entries.remove(text);
+                entry.keys.forEach(key -> unlink(key, entry));
+                return;
+            }
+            entry.weight = entry.weights.values().stream().mapToLong(Long::longValue).sum();
+            entry.keys.forEach(this::recomputePath);
+            return;
+        }
+        if (entry == null) {
+            Entry created = newEntry(text);
+            if (created == null) {
+                return;
+            }
+            created.weights.put(source, weight);
+            created.weight = weight;
+            created.keys.forEach(key -> link(key, created));
+            return;
+        }
+        long previous = entry.weight;
+        entry.weights.put(source, weight);
+        entry.weight = entry.weights.values().stream().mapToLong(Long::longValue).sum();
+        if (entry.weight >= previous) {
+            entry.keys.forEach(key -> raise(key, entry));
+        } else {
+            entry.keys.forEach(this::recomputePath);
+        }
+    }
+
+    /**
+     * 返回以 prefix 开头（按规范化文本或拼音首字母）的建议词，按权重从高到低排列
+     */
+    List<String> complete(String prefix, int limit) {
+        String key = truncate(normalize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        int size = Math.min(limit, node.top.length);
+        List<String> suggestions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            suggestions.add(node.top[i].text);
+        }
+        return suggestions;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 规范化：字母数字（含汉字）转小写保留，空白与标点丢弃
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder();
+        if (text != null) {
+            text.codePoints().filter(Character::isLetterOrDigit)
+                    .forEach(cp -> normalized.appendCodePoint(Character.toLowerCase(cp)));
+        }
+        return normalized.toString();
+    }
+
+    private Entry newEntry(String text) {
+        if (text == null) {
+            return null;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = truncate(normalize(text));
+        if (!normalized.isEmpty()) {
+            keys.add(normalized);
+        }
+        if (text.codePoints().anyMatch(cp -> PinyinInitials.of(cp) != 0)) {
+            String initials = truncate(PinyinInitials.of(text));
+            if (!initials.isEmpty()) {
+                keys.add(initials);
+            }
+        }
+        if (keys.isEmpty()) {
+            return null;
+        }
+        Entry entry = new Entry(text, List.copyOf(keys));
+        entries.put(text, entry);
+        return entry;
+    }
+
+    private String truncate(String key) {
+        return key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+    }
+
+    /**
+     * 沿键下行，返回从根到末端的节点路径；create 为 false 且路径不存在时返回 null
+     */
+    private Node[] walk(String key, boolean create) {
+        Node[] path = new Node[key.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+        return path;
+    }
+
+    private void link(String key, Entry entry) {
+        Node[] path = walk(key, true);
+        Node end = path[key.length()];
+        end.terminals = append(end.terminals, entry);
+        raise(path, entry);
+    }
+
+    private void unlink(String key, Entry entry) {
+        Node[] path = walk(key, false);
+        if (path == null) {
+            return;
+        }
+        Node end = path[key.length()];
+        end.terminals = Arrays.stream(end.terminals).filter(e -> e != entry).toArray(Entry[]::new);
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            if (i > 0 && node.terminals.length == 0 && node.children.length == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else {
+                recompute(node);
+            }
+        }
+    }
+
+    private void raise(String key, Entry entry) {
+        Node[] path = walk(key, false);
+        if (path != null) {
+            raise(path, entry);
+        }
+    }
+
+    /**
+     * 权重增加或新插入时只需在路径上的 topK 中插入/上移该建议，不必重新合并子节点
+     */
+    private void raise(Node[] path, Entry entry) {
+        for (Node node : path) {
+            Entry[] top = node.top;
+            boolean present = false;
+            for (Entry e : top) {
+                if (e == entry) {
+                    present = true;
+                    break;
+                }
+            }
+            if (present) {
+                Arrays.sort(top, ORDER);
+            } else if (top.length < topK || ORDER.compare(entry, top[top.length - 1]) < 0) {
+                Entry[] merged = Arrays.copyOf(top, top.length + 1);
+                merged[top.length] = entry;
+                Arrays.sort(merged, ORDER);
+                node.top = merged.length > topK ? Arrays.copyOf(merged, topK) : merged;
+            }
+        }
+    }
+
+    private void recomputePath(String key) {
+        Node[] path = walk(key, false);
+        if (path == null) {
+            return;
+        }
+        for (int i = path.length - 1; i >= 0; i--) {
+            recompute(path[i]);
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    /**
+     * 合并本节点结束的建议与各子节点的 topK；同一建议可能经两个键出现在同一子树，需要去重
+     */
+    private void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(ORDER);
+        List<Entry> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        for (Entry candidate : candidates) {
+            if (top.size() >= topK) {
+                break;
+            }
+            if (!top.contains(candidate)) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.toArray(NO_ENTRIES);
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] appended = Arrays.copyOf(entries, entries.length + 1);
+        appended[entries.length] = entry;
+        return appended;
+    }
+
+    private static final class Entry {
+
+        private final String text;
+        private final List<String> keys;
+        // 来源 → 权重
+        private final Map<String, Long> weights = new HashMap<>(2);
+        private long weight;
+
+        private Entry(String text, List<String> keys) {
+            this.text = text;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = NO_CHILDREN;
+        private Entry[] terminals = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int insertAt = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            Node child = new Node();
+            newChildren[insertAt] = child;
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.search;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-Min Sketch：固定内存的频次估计
+ *
+ * depth 行、每行 width 个计数器，每个元素在每行按独立哈希累加一个计数器，估计值取各行最小值，
+ * 只会高估不会低估，误差约为 总次数 × e / width。
+ */
+class CountMinSketch {
+
+    private final int width;
+    private final long[][] counts;
+    private final long[] seeds;
+
+    CountMinSketch(int width, int depth) {
+        this.width = Math.max(1, width);
+        int rows = Math.max(1, depth);
+        this.counts = new long[rows][this.width];
+        this.seeds = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            seeds[i] = 0x9E3779B97F4A7C15L * (i + 1);
+        }
+    }
+
+    void add(String item, long count) {
+        long hash = hash(item);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i][index(hash, i)] += count;
+        }
+    }
+
+    long estimate(String item) {
+        long hash = hash(item);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < counts.length; i++) {
+            min = Math.min(min, counts[i][index(hash, i)]);
+        }
+        return min;
+    }
+
+    private int index(long hash, int row) {
+        return (int) Long.remainderUnsigned(mix(hash ^ seeds[row]), width);
+    }
+
+    // FNV-1a 64 位
+    private static long hash(String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 终混，使不同种子得到互相独立的行哈希
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
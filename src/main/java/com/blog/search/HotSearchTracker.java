@@ -0,0 +1,172 @@
+package com.blog.search;
+
+import com.blog.config.HotSearchProperties;
+import com.blog.utils.RedisUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 热门搜索词统计
+ *
+ * 搜索请求只在本实例内存中累加：Space-Saving 以固定个数的计数器找出高频词，Count-Min Sketch 收紧其高估的计数。
+ * 每个刷新周期把高频词计数以一次 Pipeline ZINCRBY 写入当前小时桶后清空本地统计，内存占用与搜索量无关；
+ * 定时用 ZUNIONSTORE 合并窗口内的小时桶得到全部实例的热门搜索词，缓存在本地供接口读取。
+ * 整个过程不写数据库，实例异常退出时最多丢失一个刷新周期的统计。
+ *
+ * Redis Key：
+ * - 小时桶：search:hot:hour:2026012814
+ * - 窗口榜单：search:hot:window
+ */
+@Slf4j
+@Component
+public class HotSearchTracker implements DisposableBean {
+
+    static final String BUCKET_KEY_PREFIX = "search:hot:hour:";
+    static final String WINDOW_KEY = "search:hot:window";
+
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHH");
+
+    // 过长的输入通常不是关键词，不参与统计
+    private static final int MAX_QUERY_LENGTH = 64;
+
+    @Autowired
+    private HotSearchProperties properties;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    // 当前刷新周期的统计，只在 synchronized 内访问
+    private CountMinSketch sketch;
+    private SpaceSavingCounter heavyHitters;
+
+    private volatile List<String> hotKeywords = List.of();
+
+    /**
+     * 记录一次搜索（只操作内存）
+     */
+    public void record(String query) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String normalized = normalize(query);
+        if (normalized == null) {
+            return;
+        }
+        synchronized (this) {
+            ensureCounters();
+            sketch.add(normalized, 1);
+            heavyHitters.add(normalized, 1);
+        }
+    }
+
+    /**
+     * 把本周期的高频词计数刷入当前小时桶并开始新的周期，写入失败时回灌等待下个周期
+     */
+    @Scheduled(fixedDelayString = "${search.hot.flush-interval-ms:60000}")
+    public void flush() {
+        CountMinSketch flushedSketch;
+        SpaceSavingCounter flushedHitters;
+        synchronized (this) {
+            if (heavyHitters == null || heavyHitters.isEmpty()) {
+                return;
+            }
+            flushedSketch = sketch;
+            flushedHitters = heavyHitters;
+            sketch = null;
+            heavyHitters = null;
+        }
+        Map<String, Double> deltas = new HashMap<>();
+        for (SpaceSavingCounter.Counter counter : flushedHitters.counters()) {
+            long count = Math.min(counter.count(), flushedSketch.estimate(counter.item()));
+            if (count > 0) {
+                deltas.put(counter.item(), (double) count);
+            }
+        }
+        String bucketKey = bucketKey(LocalDateTime.now());
+        long ttlSeconds = properties.getWindow().plusHours(1).toSeconds();
+        if (redisUtils.zIncrByBatch(bucketKey, deltas, ttlSeconds)) {
+            log.debug("热门搜索词刷新成功，Key：{}，搜索词数：{}", bucketKey, deltas.size());
+            return;
+        }
+        synchronized (this) {
+            ensureCounters();
+            deltas.forEach((query, count) -> {
+                sketch.add(query, count.longValue());
+                heavyHitters.add(query, count.longValue());
+            });
+        }
+        log.warn("热门搜索词刷新失败，已回灌等待重试，Key：{}，搜索词数：{}", bucketKey, deltas.size());
+    }
+
+    /**
+     * 合并窗口内的小时桶并刷新本地缓存，Redis 不可用时保留上次结果
+     */
+    @Scheduled(fixedDelayString = "${search.hot.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long hours = Math.max(1, properties.getWindow().toHours());
+        List<String> bucketKeys = new ArrayList<>((int) hours);
+        for (int i = 0; i < hours; i++) {
+            bucketKeys.add(bucketKey(now.minusHours(i)));
+        }
+        List<Double> weights = Collections.nCopies(bucketKeys.size(), 1.0);
+        long size = redisUtils.zUnionStoreWeighted(WINDOW_KEY, bucketKeys, weights,
+                properties.getWindow().toSeconds());
+        if (size < 0) {
+            return;
+        }
+        hotKeywords = size == 0 ? List.of() : List.copyOf(
+                redisUtils.zReverseRangeWithScoresAsMap(WINDOW_KEY, 0, Math.max(1, properties.getTopN()) - 1).keySet());
+        log.debug("热门搜索词榜单刷新完成，窗口内搜索词数：{}", size);
+    }
+
+    /**
+     * 当前窗口的热门搜索词，尚无统计时返回空列表
+     */
+    public List<String> getHotKeywords(int limit) {
+        List<String> current = hotKeywords;
+        return current.subList(0, Math.min(Math.max(0, limit), current.size()));
+    }
+
+    /**
+     * 规范化搜索词：去掉首尾空白、合并连续空白并转小写；空白或过长时返回 null
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return null;
+        }
+        String normalized = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH ? null : normalized;
+    }
+
+    static String bucketKey(LocalDateTime time) {
+        return BUCKET_KEY_PREFIX + time.format(HOUR_FORMATTER);
+    }
+
+    private void ensureCounters() {
+        if (sketch == null) {
+            sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+            heavyHitters = new SpaceSavingCounter(properties.getCapacity());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
@@ -0,0 +1,422 @@
+package com.blog.search;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 压缩的 ID 位图（Roaring 结构）
+ *
+ * ID 按高 16 位分块，每块的低 16 位按密度选择容器：不超过 4096 个时用有序 char 数组，
+ * 否则用 1024 个 long 组成的 65536 位位图。稀疏的标签/作者位图只占数组容器，
+ * 密集的状态/大分类位图使用位图容器，交并差运算按两侧容器类型逐块合并。
+ * 只支持 0 到 Integer.MAX_VALUE 的 ID；非线程安全，集合运算返回新实例，不修改参数。
+ */
+public final class IdBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public static IdBitmap of(long... ids) {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 添加 ID，已存在时返回 false
+     */
+    public boolean add(long id) {
+        char high = high(id);
+        int index = indexOf(high);
+        if (index < 0) {
+            insert(-index - 1, high, new Container(new char[4], 0));
+            index = -index - 1;
+        }
+        return containers[index].add((char) id);
+    }
+
+    /**
+     * 移除 ID，不存在时返回 false
+     */
+    public boolean remove(long id) {
+        int index = indexOf(high(id));
+        if (index < 0 || !containers[index].remove((char) id)) {
+            return false;
+        }
+        if (containers[index].cardinality == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    public boolean contains(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            return false;
+        }
+        int index = indexOf(high(id));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 交集
+     */
+    public IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], Container.and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 并集
+     */
+    public IdBitmap or(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], Container.or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 差集：属于本位图但不属于 other 的 ID
+     */
+    public IdBitmap andNot(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], Container.andNot(containers[i], other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按 ID 升序遍历
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach((long) keys[i] << 16, action);
+        }
+    }
+
+    public long[] toArray() {
+        long[] ids = new long[(int) cardinality()];
+        int[] position = {0};
+        forEach(id -> ids[position[0]++] = id);
+        return ids;
+    }
+
+    private static char high(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID 超出位图范围：" + id);
+        }
+        return (char) (id >>> 16);
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insert(int index, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * 按键升序追加运算结果，空容器直接丢弃
+     */
+    private void append(char high, Container container) {
+        if (container != null && container.cardinality > 0) {
+            insert(size, high, container);
+        }
+    }
+
+    /**
+     * 单个分块的容器：bits 为 null 时是有序数组容器（array 前 cardinality 项有效），否则是位图容器
+     */
+    private static final class Container {
+
+        private char[] array;
+        private long[] bits;
+        private int cardinality;
+
+        private Container(char[] array, int cardinality) {
+            this.array = array;
+            this.cardinality = cardinality;
+        }
+
+        private Container(long[] bits, int cardinality) {
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * 位图运算结果：基数不超过数组上限时转回数组容器
+         */
+        private static Container ofBits(long[] bits) {
+            int cardinality = 0;
+            for (long word : bits) {
+                cardinality += Long.bitCount(word);
+            }
+            Container container = new Container(bits, cardinality);
+            if (cardinality <= ARRAY_LIMIT) {
+                container.toArrayContainer();
+            }
+            return container;
+        }
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmapContainer();
+                return add(low);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(array, insertAt, array, insertAt + 1, cardinality - insertAt);
+            array[insertAt] = low;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] &= ~mask;
+                if (--cardinality <= ARRAY_LIMIT) {
+                    toArrayContainer();
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        void forEach(long base, LongConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(base | array[i]);
+                }
+                return;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    action.accept(base | ((long) w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        Container copy() {
+            return bits != null ? new Container(bits.clone(), cardinality)
+                    : new Container(Arrays.copyOf(array, cardinality), cardinality);
+        }
+
+        static Container and(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                long[] bits = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) {
+                    bits[w] = a.bits[w] & b.bits[w];
+                }
+                return ofBits(bits);
+            }
+            if (a.bits != null || b.bits != null) {
+                Container array = a.bits == null ? a : b;
+                Container bitmap = a.bits == null ? b : a;
+                char[] values = new char[array.cardinality];
+                int count = 0;
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (bitmap.contains(array.array[i])) {
+                        values[count++] = array.array[i];
+                    }
+                }
+                return new Container(values, count);
+            }
+            char[] values = new char[Math.min(a.cardinality, b.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                if (a.array[i] < b.array[j]) {
+                    i++;
+                } else if (a.array[i] > b.array[j]) {
+                    j++;
+                } else {
+                    values[count++] = a.array[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Container(values, count);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a.bits == null && b.bits == null && a.cardinality + b.cardinality <= ARRAY_LIMIT) {
+                char[] values = new char[a.cardinality + b.cardinality];
+                int count = 0;
+                int i = 0;
+                int j = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j >= b.cardinality || (i < a.cardinality && a.array[i] < b.array[j])) {
+                        values[count++] = a.array[i++];
+                    } else if (i >= a.cardinality || a.array[i] > b.array[j]) {
+                        values[count++] = b.array[j++];
+                    } else {
+                        values[count++] = a.array[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] bits = new long[WORDS];
+            a.orInto(bits);
+            b.orInto(bits);
+            return ofBits(bits);
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a.bits == null) {
+                char[] values = new char[a.cardinality];
+                int count = 0;
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.array[i])) {
+                        values[count++] = a.array[i];
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] bits = a.bits.clone();
+            if (b.bits != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    bits[w] &= ~b.bits[w];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    bits[b.array[i] >>> 6] &= ~(1L << b.array[i]);
+                }
+            }
+            return ofBits(bits);
+        }
+
+        private void orInto(long[] target) {
+            if (bits != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    target[w] |= bits[w];
+                }
+                return;
+            }
+            for (int i = 0; i < cardinality; i++) {
+                target[array[i] >>> 6] |= 1L << array[i];
+            }
+        }
+
+        private void toBitmapContainer() {
+            long[] converted = new long[WORDS];
+            orInto(converted);
+            bits = converted;
+            array = null;
+        }
+
+        private void toArrayContainer() {
+            char[] converted = new char[cardinality];
+            int count = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    converted[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            array = converted;
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.search;
+
+import java.text.Collator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 汉字拼音首字母
+ *
+ * 不依赖拼音字典：中文排序规则（Collator, Locale.CHINA）按拼音排列 GB2312 汉字，
+ * 与每个声母的第一个汉字比较即可确定首字母。多音字取排序规则使用的读音，生僻字无法确定时返回 0。
+ */
+public final class PinyinInitials {
+
+    // 各声母在拼音序中的第一个汉字，与 LETTERS 一一对应（没有以 i/u/v 开头的拼音）
+    private static final String BOUNDARIES = "啊芭擦搭蛾发噶哈击喀垃妈拿哦啪期然撒塌挖昔压匝";
+    private static final String LETTERS = "abcdefghjklmnopqrstwxyz";
+
+    // 排序规则在 GB2312 之后的位置，超出该字的汉字不在首字母表覆盖范围内
+    private static final String LAST = "座";
+
+    private static final Collator COLLATOR = Collator.getInstance(Locale.CHINA);
+
+    private static final Map<Integer, Character> CACHE = new ConcurrentHashMap<>();
+
+    private PinyinInitials() {
+    }
+
+    /**
+     * 单个汉字的拼音首字母（小写），非汉字或无法确定时返回 0
+     */
+    public static char of(int codePoint) {
+        if (Character.UnicodeScript.of(codePoint) != Character.UnicodeScript.HAN) {
+            return 0;
+        }
+        return CACHE.computeIfAbsent(codePoint, PinyinInitials::lookup);
+    }
+
+    /**
+     * 文本的拼音首字母串：汉字替换为首字母，字母数字转小写保留，其余字符丢弃
+     */
+    public static String of(String text) {
+        StringBuilder initials = new StringBuilder();
+        if (text == null) {
+            return "";
+        }
+        text.codePoints().forEach(cp -> {
+            char initial = of(cp);
+            if (initial != 0) {
+                initials.append(initial);
+            } else if (Character.isLetterOrDigit(cp)) {
+                initials.appendCodePoint(Character.toLowerCase(cp));
+            }
+        });
+        return initials.toString();
+    }
+
+    private static Character lookup(int codePoint) {
+        String value = new String(Character.toChars(codePoint));
+        if (COLLATOR.compare(value, BOUNDARIES.substring(0, 1)) < 0 || COLLATOR.compare(value, LAST) > 0) {
+            return 0;
+        }
+        for (int i = BOUNDARIES.length() - 1; i >= 0; i--) {
+            if (COLLATOR.compare(value, BOUNDARIES.substring(i, i + 1)) >= 0) {
+                return LETTERS.charAt(i);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,422 @@
+package com.blog.search;
+
+import com.blog.config.RelatedArticleProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 相关文章索引（更多类似文章）
+ *
+ * 每篇文章按标题与正文的词频和文档频率计算 TF-IDF 词向量，只保留权重最高的 maxTerms 个词项并归一化；
+ * 相关度 = 词向量余弦相似度 + 标签 Jaccard 系数 × tagWeight + 同分类加分，候选只从有共同词项或共同标签的文章中召回。
+ * 每篇文章的相关列表以按得分降序的 long/float 数组保存，文章详情按文章ID一次查找即可取得，不在请求路径上计算。
+ * 定时从全文索引离线全量构建；文章变更随全文索引增量更新：重新计算该文章的列表，并把它插入得分足够高的候选的列表，
+ * 下线或删除的文章只从其他列表中移除，缺位等待下次全量构建补齐。
+ */
+@Slf4j
+@Component
+public class RelatedArticleIndex {
+
+    // 召回列表不超过该长度时不按文档频率裁剪，小规模数据下常见词也参与召回
+    private static final int MIN_PRUNED_DOC_FREQUENCY = 100;
+
+    @Autowired
+    private RelatedArticleProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State(Map.of(), 0);
+
+    private volatile boolean ready;
+
+    // 全量构建期间变更过的文章，构建结果替换后需要重新应用
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    /**
+     * 文章的词向量：词项按字典序排列，权重已归一化；标签ID升序
+     */
+    private record Vector(String[] terms, float[] weights, long[] tagIds, Long categoryId) {
+    }
+
+    /**
+     * 相关列表，按得分降序
+     */
+    private record Related(long[] ids, float[] scores) {
+
+        static final Related EMPTY = new Related(new long[0], new float[0]);
+    }
+
+    public boolean isReady() {
+        return ready && properties.isEnabled();
+    }
+
+    /**
+     * 返回文章的相关文章（按相关度降序），未构建或文章不在索引中时返回空列表
+     */
+    public List<ArticleSearchIndex.IndexedArticle> related(Long articleId) {
+        if (articleId == null || !isReady()) {
+            return List.of();
+        }
+        Related related;
+        lock.readLock().lock();
+        try {
+            related = state.related.get(articleId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (related == null || related.ids().length == 0) {
+            return List.of();
+        }
+        return searchIndex.get(Arrays.stream(related.ids()).boxed().toList());
+    }
+
+    /**
+     * 从全文索引全量构建，全文索引未就绪时跳过
+     */
+    @Scheduled(fixedDelayString = "${search.related.rebuild-interval-ms:3600000}",
+               initialDelayString = "${search.related.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !searchIndex.isReady()) {
+            return;
+        }
+        rebuilding = true;
+        try {
+            long start = System.currentTimeMillis();
+            List<ArticleSearchIndex.IndexedArticle> articles = searchIndex.documents();
+            // 第一遍统计文档频率，第二遍再分词计算向量，避免同时保存全部文章的词频表
+            Map<String, Integer> documentFrequency = new HashMap<>();
+            for (ArticleSearchIndex.IndexedArticle article : articles) {
+                for (String term : termFrequencies(article).keySet()) {
+                    documentFrequency.merge(term, 1, Integer::sum);
+                }
+            }
+            State rebuilt = new State(documentFrequency, articles.size());
+            for (ArticleSearchIndex.IndexedArticle article : articles) {
+                rebuilt.add(article.id(), vector(rebuilt, article, termFrequencies(article)));
+            }
+            int topK = Math.max(1, properties.getTopK());
+            for (Long articleId : rebuilt.vectors.keySet()) {
+                rebuilt.related.put(articleId, top(score(rebuilt, articleId), topK));
+            }
+            lock.writeLock().lock();
+            try {
+                state = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("相关文章构建完成，文章数：{}，耗时：{}ms", articles.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("相关文章构建失败", e);
+        } finally {
+            rebuilding = false;
+        }
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> articleIds = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(articleIds);
+            Map<Long, ArticleSearchIndex.IndexedArticle> current = new HashMap<>();
+            searchIndex.get(articleIds).forEach(article -> current.put(article.id(), article));
+            for (Long articleId : articleIds) {
+                ArticleSearchIndex.IndexedArticle article = current.get(articleId);
+                if (article != null) {
+                    upsertArticle(article);
+                } else {
+                    removeArticle(articleId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 文章新增或修改后重新计算其相关列表，并把它加入相关度足够高的候选文章的列表
+     */
+    public void upsertArticle(ArticleSearchIndex.IndexedArticle article) {
+        if (article == null || article.id() == null || !properties.isEnabled()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(article.id());
+        }
+        if (!ready) {
+            return;
+        }
+        Map<String, Double> termFrequencies = termFrequencies(article);
+        int topK = Math.max(1, properties.getTopK());
+        lock.writeLock().lock();
+        try {
+            state.remove(article.id());
+            state.add(article.id(), vector(state, article, termFrequencies));
+            Map<Long, Double> scores = score(state, article.id());
+            state.related.put(article.id(), top(scores, topK));
+            // 相关度对称，候选文章的列表只需判断新得分能否挤进前 topK
+            scores.forEach((candidateId, score) -> state.offer(candidateId, article.id(), score, topK));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文章下线或删除后移除其相关列表，并从其他文章的列表中移除
+     */
+    public void removeArticle(Long articleId) {
+        if (articleId == null || !properties.isEnabled()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(articleId);
+        }
+        if (!ready) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            state.remove(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 标题与正文的加权词频
+     */
+    private Map<String, Double> termFrequencies(ArticleSearchIndex.IndexedArticle article) {
+        Map<String, Double> frequencies = new HashMap<>();
+        double titleBoost = properties.getTitleBoost();
+        SearchTokenizer.tokenize(article.title()).forEach(term -> frequencies.merge(term, titleBoost, Double::sum));
+        SearchTokenizer.tokenize(article.content()).forEach(term -> frequencies.merge(term, 1.0, Double::sum));
+        return frequencies;
+    }
+
+    /**
+     * 计算 TF-IDF 词向量，保留权重最高的 maxTerms 个词项后归一化；增量更新沿用全量构建时的文档频率
+     */
+    private Vector vector(State s, ArticleSearchIndex.IndexedArticle article, Map<String, Double> termFrequencies) {
+        int maxTerms = Math.max(1, properties.getMaxTerms());
+        int n = Math.max(1, s.documentCount);
+        List<Map.Entry<String, Double>> weighted = new ArrayList<>(termFrequencies.size());
+        termFrequencies.forEach((term, tf) -> {
+            int df = Math.max(1, s.documentFrequency.getOrDefault(term, 1));
+            weighted.add(Map.entry(term, (1 + Math.log(tf)) * Math.log(1 + (double) n / df)));
+        });
+        weighted.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Map.Entry<String, Double>> kept = new ArrayList<>(weighted.subList(0, Math.min(maxTerms, weighted.size())));
+        kept.sort(Map.Entry.comparingByKey());
+        double norm = 0;
+        for (Map.Entry<String, Double> entry : kept) {
+            norm += entry.getValue() * entry.getValue();
+        }
+        norm = Math.sqrt(norm);
+        String[] terms = new String[kept.size()];
+        float[] weights = new float[kept.size()];
+        for (int i = 0; i < kept.size(); i++) {
+            terms[i] = kept.get(i).getKey();
+            weights[i] = norm == 0 ? 0 : (float) (kept.get(i).getValue() / norm);
+        }
+        long[] tagIds = article.tagIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Vector(terms, weights, tagIds, article.categoryId());
+    }
+
+    /**
+     * 召回与指定文章有共同词项或共同标签的候选并计算相关度，只返回不低于 minScore 的候选
+     */
+    private Map<Long, Double> score(State s, Long articleId) {
+        Vector vector = s.vectors.get(articleId);
+        long maxDf = Math.max(MIN_PRUNED_DOC_FREQUENCY, (long) (properties.getMaxDocFrequencyRatio() * s.vectors.size()));
+        Set<Long> candidates = new HashSet<>();
+        for (String term : vector.terms()) {
+            Set<Long> ids = s.byTerm.get(term);
+            if (ids != null && ids.size() <= maxDf) {
+                candidates.addAll(ids);
+            }
+        }
+        for (long tagId : vector.tagIds()) {
+            Set<Long> ids = s.byTag.get(tagId);
+            if (ids != null && ids.size() <= maxDf) {
+                candidates.addAll(ids);
+            }
+        }
+        candidates.remove(articleId);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long candidateId : candidates) {
+            double score = similarity(vector, s.vectors.get(candidateId));
+            if (score >= properties.getMinScore()) {
+                scores.put(candidateId, score);
+            }
+        }
+        return scores;
+    }
+
+    private double similarity(Vector a, Vector b) {
+        double cosine = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.terms().length && j < b.terms().length) {
+            int cmp = a.terms()[i].compareTo(b.terms()[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                cosine += a.weights()[i++] * b.weights()[j++];
+            }
+        }
+        double jaccard = jaccard(a.tagIds(), b.tagIds());
+        if (cosine <= 0 && jaccard <= 0) {
+            return 0;
+        }
+        double score = cosine + properties.getTagWeight() * jaccard;
+        if (a.categoryId() != null && a.categoryId().equals(b.categoryId())) {
+            score += properties.getCategoryWeight();
+        }
+        return score;
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static Related top(Map<Long, Double> scores, int topK) {
+        List<Map.Entry<Long, Double>> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(topK)
+                .toList();
+        long[] ids = new long[ranked.size()];
+        float[] values = new float[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            ids[i] = ranked.get(i).getKey();
+            values[i] = ranked.get(i).getValue().floatValue();
+        }
+        return new Related(ids, values);
+    }
+
+    /**
+     * 索引数据：全量构建时在锁外构建后整体替换，增量更新在写锁内修改
+     */
+    private static final class State {
+
+        private final Map<String, Integer> documentFrequency;
+        private final int documentCount;
+        private final Map<Long, Vector> vectors = new HashMap<>();
+        // 词项/标签 → 文章ID，只用于召回候选
+        private final Map<String, Set<Long>> byTerm = new HashMap<>();
+        private final Map<Long, Set<Long>> byTag = new HashMap<>();
+        private final Map<Long, Related> related = new HashMap<>();
+
+        State(Map<String, Integer> documentFrequency, int documentCount) {
+            this.documentFrequency = documentFrequency;
+            this.documentCount = documentCount;
+        }
+
+        void add(Long articleId, Vector vector) {
+            vectors.put(articleId, vector);
+            for (String term : vector.terms()) {
+                byTerm.computeIfAbsent(term, k -> new HashSet<>()).add(articleId);
+            }
+            for (long tagId : vector.tagIds()) {
+                byTag.computeIfAbsent(tagId, k -> new HashSet<>()).add(articleId);
+            }
+        }
+
+        void remove(Long articleId) {
+            Vector vector = vectors.remove(articleId);
+            if (vector == null) {
+                return;
+            }
+            for (String term : vector.terms()) {
+                removeFrom(byTerm, term, articleId);
+            }
+            for (long tagId : vector.tagIds()) {
+                removeFrom(byTag, tagId, articleId);
+            }
+            related.remove(articleId);
+            // 不保存反向引用，直接扫描全部列表（每个列表只有 topK 项）
+            related.replaceAll((id, list) -> without(list, articleId));
+        }
+
+        /**
+         * 尝试把文章插入候选文章的相关列表，列表已满且得分不高于末位时忽略
+         */
+        void offer(Long candidateId, long articleId, double score, int topK) {
+            Related list = related.getOrDefault(candidateId, Related.EMPTY);
+            int size = list.ids().length;
+            if (size >= topK && score <= list.scores()[size - 1]) {
+                return;
+            }
+            int position = 0;
+            while (position < size && list.scores()[position] >= score) {
+                position++;
+            }
+            int newSize = Math.min(topK, size + 1);
+            long[] ids = new long[newSize];
+            float[] scores = new float[newSize];
+            System.arraycopy(list.ids(), 0, ids, 0, position);
+            System.arraycopy(list.scores(), 0, scores, 0, position);
+            ids[position] = articleId;
+            scores[position] = (float) score;
+            System.arraycopy(list.ids(), position, ids, position + 1, newSize - position - 1);
+            System.arraycopy(list.scores(), position, scores, position + 1, newSize - position - 1);
+            related.put(candidateId, new Related(ids, scores));
+        }
+
+        private static Related without(Related list, long articleId) {
+            int index = -1;
+            for (int i = 0; i < list.ids().length; i++) {
+                if (list.ids()[i] == articleId) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return list;
+            }
+            long[] ids = new long[list.ids().length - 1];
+            float[] scores = new float[ids.length];
+            System.arraycopy(list.ids(), 0, ids, 0, index);
+            System.arraycopy(list.scores(), 0, scores, 0, index);
+            System.arraycopy(list.ids(), index + 1, ids, index, ids.length - index);
+            System.arraycopy(list.scores(), index + 1, scores, index, ids.length - index);
+            return new Related(ids, scores);
+        }
+
+        private static <K> void removeFrom(Map<K, Set<Long>> postings, K key, Long articleId) {
+            Set<Long> ids = postings.get(key);
+            if (ids != null && ids.remove(articleId) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 全文索引一致性检查
+ *
+ * 定期按主键游标读取已发布文章的 update_time 与索引中的文档版本比对：
+ * 版本不一致或索引缺失的文章、以及索引中已不再是已发布状态的文章都交给增量队列重新同步，
+ * 用于修复事件丢失（如进程在事件处理前退出、重建期间的并发更新）造成的偏差。
+ * 浏览/点赞/评论/收藏计数更新不修改 update_time，热门文章不会因计数变化被判定为过期。
+ */
+@Slf4j
+@Component
+public class SearchIndexConsistencyChecker {
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private SearchIndexUpdateQueue updateQueue;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    /**
+     * 执行一次一致性检查
+     *
+     * @return 需要重新同步的文章数
+     */
+    @Scheduled(fixedDelayString = "${search.index.check-interval-ms:600000}",
+               initialDelayString = "${search.index.check-interval-ms:600000}")
+    public int check() {
+        if (!properties.isEnabled() || !searchIndex.isReady()) {
+            return 0;
+        }
+        try {
+            Map<Long, LocalDateTime> indexed = searchIndex.versions();
+            int batchSize = Math.max(1, properties.getRebuildBatchSize());
+            int scanned = 0;
+            int stale = 0;
+            long lastId = 0;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "update_time");
+                queryWrapper.eq("status", Article.STATUS_PUBLISHED);
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + batchSize);
+                List<Article> chunk = articleMapper.selectList(queryWrapper);
+                for (Article article : chunk) {
+                    boolean present = indexed.containsKey(article.getId());
+                    LocalDateTime version = indexed.remove(article.getId());
+                    if (!present || !Objects.equals(version, article.getUpdateTime())) {
+                        updateQueue.enqueue(article.getId());
+                        stale++;
+                    }
+                }
+                scanned += chunk.size();
+                if (chunk.isEmpty() || chunk.size() < batchSize) {
+                    break;
+                }
+                long nextId = chunk.get(chunk.size() - 1).getId();
+                if (nextId <= lastId) {
+                    break;
+                }
+                lastId = nextId;
+            }
+            // 剩余的是索引中有、数据库中已不是已发布状态的文章
+            indexed.keySet().forEach(updateQueue::enqueue);
+            stale += indexed.size();
+            if (stale > 0) {
+                log.warn("全文索引一致性检查发现 {} 篇文章需要重新同步，已检查 {} 篇", stale, scanned);
+            } else {
+                log.debug("全文索引一致性检查通过，已检查 {} 篇", scanned);
+            }
+            return stale;
+        } catch (Exception e) {
+            log.error("全文索引一致性检查失败", e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 全文索引持久化
+ *
+ * 检查点把自上次提交以来的变更写成新的不可变增量段，段数达到上限时改为写出合并后的全量段，
+ * 写完段文件后原子替换提交点，再清理不再被引用的段文件。
+ * 启动时按提交点依次加载段文件恢复索引，再由一致性检查只重放与数据库版本不一致的文章。
+ */
+@Slf4j
+@Component
+public class SearchIndexPersistence {
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private SearchIndexConsistencyChecker consistencyChecker;
+
+    // 当前生效的提交点，尚未提交过时为 null
+    private SegmentFiles.CommitPoint commitPoint;
+
+    /**
+     * 从最近一次提交点恢复索引
+     *
+     * @return 是否恢复成功，失败时调用方应从数据库全量构建
+     */
+    public synchronized boolean restore() {
+        if (!properties.isPersistEnabled()) {
+            return false;
+        }
+        Path dir = dataDir();
+        try {
+            SegmentFiles.CommitPoint commit = SegmentFiles.readCommit(dir);
+            if (commit == null || commit.segments().isEmpty()) {
+                log.info("未找到全文索引提交点，需要全量构建: {}", dir);
+                return false;
+            }
+            long start = System.currentTimeMillis();
+            List<ArticleSearchIndex.Segment> segments = new ArrayList<>(commit.segments().size());
+            for (String name : commit.segments()) {
+                segments.add(SegmentFiles.readSegment(dir.resolve(name)));
+            }
+            searchIndex.load(segments);
+            commitPoint = commit;
+            log.info("全文索引从提交点恢复完成，代数：{}，提交时间：{}，段数：{}，耗时：{}ms",
+                    commit.generation(), commit.commitTime(), segments.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("全文索引提交点不可用，改为全量构建: {}", dir, e);
+            return false;
+        }
+        // 只重放提交之后变更过的文章：版本不一致、缺失或已下线的文章进入增量队列
+        int replay = consistencyChecker.check();
+        log.info("全文索引提交点之后的变更已加入重放队列，文章数：{}", replay);
+        return true;
+    }
+
+    /**
+     * 执行一次检查点：没有变更时不写文件
+     */
+    @Scheduled(fixedDelayString = "${search.index.checkpoint-interval-ms:60000}",
+               initialDelayString = "${search.index.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        if (!properties.isPersistEnabled() || !searchIndex.isReady()) {
+            return;
+        }
+        List<String> live = commitPoint == null ? List.of() : commitPoint.segments();
+        boolean merge = live.isEmpty() || live.size() >= Math.max(1, properties.getMaxSegments());
+        ArticleSearchIndex.Segment segment = searchIndex.exportSegment(merge);
+        if (segment == null) {
+            return;
+        }
+        Path dir = dataDir();
+        long generation = nextGeneration(dir);
+        String name = SegmentFiles.segmentName(generation);
+        try {
+            long start = System.currentTimeMillis();
+            Files.createDirectories(dir);
+            SegmentFiles.writeSegment(dir.resolve(name), segment);
+            List<String> segments = new ArrayList<>();
+            if (!segment.full()) {
+                segments.addAll(live);
+            }
+            segments.add(name);
+            SegmentFiles.CommitPoint commit = new SegmentFiles.CommitPoint(generation, LocalDateTime.now(), segments);
+            SegmentFiles.writeCommit(dir, commit);
+            commitPoint = commit;
+            log.info("全文索引检查点完成，代数：{}，{}段文章数：{}，删除数：{}，当前段数：{}，耗时：{}ms",
+                    generation, segment.full() ? "全量" : "增量", segment.docs().size(), segment.deletedIds().size(),
+                    segments.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            searchIndex.restoreDirty(segment);
+            log.error("全文索引检查点失败，变更保留到下次检查点: {}", dir, e);
+            return;
+        }
+        deleteUnreferenced(dir);
+    }
+
+    /**
+     * 正常停机前提交最后一批变更，缩短下次启动的重放范围
+     */
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    /**
+     * 新段的代数取提交点与目录中已有段文件的较大者加一，避免覆盖恢复失败时残留的段文件
+     */
+    private long nextGeneration(Path dir) {
+        long generation = commitPoint == null ? 0 : commitPoint.generation();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "segment_*.seg")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    try {
+                        generation = Math.max(generation, Long.parseLong(name.substring(8, name.length() - 4)));
+                    } catch (NumberFormatException ignored) {
+                        // 非本程序生成的文件
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("读取全文索引段目录失败: {}", dir, e);
+            }
+        }
+        return generation + 1;
+    }
+
+    private void deleteUnreferenced(Path dir) {
+        Set<String> referenced = new HashSet<>(commitPoint.segments());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "segment_*.seg")) {
+            for (Path file : files) {
+                if (!referenced.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理旧的全文索引段文件失败: {}", dir, e);
+        }
+    }
+
+    private Path dataDir() {
+        return Paths.get(properties.getDataDir());
+    }
+}
@@ -0,0 +1,93 @@
+package com.blog.search;
+
+import com.blog.common.Result;
+import com.blog.config.SearchIndexProperties;
+import com.blog.service.ArticleSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全文索引增量更新队列
+ *
+ * 按文章ID合并待更新的变更：同一篇文章在防抖时间内的多次变更只触发一次索引更新，
+ * 持续变更的文章最迟在 maxLag 后更新。出队后按数据库当前状态批量同步，失败时重新入队。
+ */
+@Slf4j
+@Component
+public class SearchIndexUpdateQueue {
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    @Lazy
+    private ArticleSearchService articleSearchService;
+
+    // 文章ID → [首次变更时间, 最近变更时间]（毫秒）
+    private final ConcurrentHashMap<Long, long[]> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 登记一篇文章待更新
+     */
+    public void enqueue(Long articleId) {
+        if (articleId == null || !properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pending.compute(articleId, (id, times) -> times == null ? new long[]{now, now} : new long[]{times[0], now});
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.update-interval-ms:500}")
+    public void flush() {
+        // 首次全量构建完成前不做增量更新，构建结果已包含这些变更
+        if (pending.isEmpty() || !searchIndex.isReady()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long debounceMs = properties.getDebounce().toMillis();
+        long maxLagMs = properties.getMaxLag().toMillis();
+        List<Long> due = new ArrayList<>();
+        long maxLag = 0;
+        for (Map.Entry<Long, long[]> entry : pending.entrySet()) {
+            long[] times = entry.getValue();
+            boolean settled = now - times[1] >= debounceMs;
+            boolean overdue = now - times[0] >= maxLagMs;
+            // remove(key, value) 只在期间没有新变更时成功，否则留到下个周期
+            if ((settled || overdue) && pending.remove(entry.getKey(), times)) {
+                due.add(entry.getKey());
+                maxLag = Math.max(maxLag, now - times[0]);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        int batchSize = Math.max(1, properties.getRebuildBatchSize());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            Result<Void> result = articleSearchService.syncArticlesToIndex(batch);
+            if (result == null || !result.isSuccess()) {
+                batch.forEach(this::enqueue);
+                log.warn("全文索引增量更新失败，已重新入队等待重试，文章数：{}", batch.size());
+            }
+        }
+        log.debug("全文索引增量更新完成，文章数：{}，最大延迟：{}ms", due.size(), maxLag);
+    }
+
+    /**
+     * 当前等待更新的文章数
+     */
+    public int pendingSize() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.blog.search;
+
+import com.blog.config.SearchCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 搜索结果缓存
+ *
+ * 缓存键包含全文索引的版本号与文章变更版本号：索引每次更新、文章变更事件提交后版本号递增，
+ * 旧条目不再命中，随过期时间或容量淘汰，失效不需要遍历缓存。
+ * 查询词在作为键之前先规范化（去首尾空白、合并连续空白、转小写），大小写或空白不同的同一查询共用缓存。
+ */
+@Component
+public class SearchResultCache {
+
+    @Autowired
+    private SearchCacheProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    private final AtomicLong changeGeneration = new AtomicLong();
+
+    private Cache<Key, Object> cache;
+
+    private record Key(long indexGeneration, long changeGeneration, String type, List<?> parts) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载并缓存；同一键的并发未命中只加载一次，loader 返回 null 时不缓存
+     *
+     * @param type  查询类型，区分不同查询的键空间
+     * @param parts 查询条件（查询词应先经 normalize 处理），允许为 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String type, List<?> parts, Supplier<T> loader) {
+        if (!properties.isEnabled() || cache == null) {
+            return loader.get();
+        }
+        Key key = new Key(searchIndex.generation(), changeGeneration.get(), type, new ArrayList<>(parts));
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * 文章变更后使已有缓存失效
+     */
+    public void invalidate() {
+        changeGeneration.incrementAndGet();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    /**
+     * 规范化查询词，null 或空白返回空字符串
+     */
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 便于以可变参数构造查询条件（允许 null）
+     */
+    public static List<Object> parts(Object... parts) {
+        return Arrays.asList(parts);
+    }
+}
@@ -0,0 +1,196 @@
+package com.blog.search;
+
+import com.blog.config.SearchSuggestProperties;
+import com.blog.entity.Category;
+import com.blog.mapper.CategoryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 搜索建议（输入框补全）
+ *
+ * 建议词来自全文索引中的文章标题、启用的分类名称以及返回过结果的搜索词，
+ * 由 CompletionTrie 按前缀与拼音首字母回答 topK，补全过程不访问数据库。
+ * 文章变更随全文索引增量更新，浏览量等权重由定时全量重建刷新。
+ */
+@Slf4j
+@Component
+public class SearchSuggester {
+
+    private static final String SOURCE_QUERY = "query";
+
+    // 过长的输入通常不是关键词，不作为建议词
+    private static final int MAX_QUERY_LENGTH = 64;
+
+    @Autowired
+    private SearchSuggestProperties properties;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CompletionTrie trie;
+
+    // 文章ID → 当前建议词，标题修改时用于移除旧标题
+    private Map<Long, String> articleTitles = new HashMap<>();
+
+    // 搜索词 → 搜索次数，跨全量重建保留
+    private final Map<String, Long> queryCounts = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * 补全是否可用，不可用时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready && properties.isEnabled();
+    }
+
+    /**
+     * 按前缀返回建议词
+     */
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie == null ? List.of() : trie.complete(prefix, Math.min(limit, properties.getTopK()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从全文索引与分类表全量重建，全文索引未就绪时跳过
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.rebuild-interval-ms:300000}",
+               initialDelayString = "${search.suggest.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !searchIndex.isReady()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<CompletionTrie.Contribution> contributions = new ArrayList<>();
+            for (Category category : categoryMapper.selectAllActiveCategories()) {
+                long count = category.getArticleCount() == null ? 0 : category.getArticleCount();
+                contributions.add(new CompletionTrie.Contribution(category.getName(), categorySource(category.getId()),
+                        (1 + count) * properties.getCategoryWeight()));
+            }
+            CompletionTrie rebuilt;
+            // 在写锁内读取索引文档，保证期间的增量更新在替换之后应用到新的前缀树上
+            lock.writeLock().lock();
+            try {
+                Map<Long, String> titles = new HashMap<>();
+                for (ArticleSearchIndex.IndexedArticle article : searchIndex.documents()) {
+                    if (article.title() != null && !article.title().isBlank()) {
+                        titles.put(article.id(), article.title());
+                        contributions.add(new CompletionTrie.Contribution(article.title(),
+                                articleSource(article.id()), articleWeight(article.viewCount())));
+                    }
+                }
+                queryCounts.forEach((query, count) -> contributions.add(
+                        new CompletionTrie.Contribution(query, SOURCE_QUERY, count * properties.getQueryWeight())));
+                rebuilt = CompletionTrie.build(properties.getTopK(), properties.getMaxKeyLength(), contributions);
+                trie = rebuilt;
+                articleTitles = titles;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("搜索建议重建完成，建议词数：{}，耗时：{}ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("搜索建议重建失败", e);
+        }
+    }
+
+    /**
+     * 文章新增或修改后更新其标题建议
+     */
+    public void upsertArticle(Long articleId, String title, Integer viewCount) {
+        if (!ready || articleId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String source = articleSource(articleId);
+            String previous = title == null || title.isBlank()
+                    ? articleTitles.remove(articleId) : articleTitles.put(articleId, title);
+            if (previous != null && !previous.equals(title)) {
+                trie.put(previous, source, 0);
+            }
+            if (title != null && !title.isBlank()) {
+                trie.put(title, source, articleWeight(viewCount));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 文章下线或删除后移除其标题建议
+     */
+    public void removeArticle(Long articleId) {
+        if (!ready || articleId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String previous = articleTitles.remove(articleId);
+            if (previous != null) {
+                trie.put(previous, articleSource(articleId), 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 记录一次有结果的搜索，搜索词达到上限后只累计已有搜索词
+     */
+    public void recordQuery(String query) {
+        if (!properties.isEnabled() || query == null) {
+            return;
+        }
+        String text = query.trim().replaceAll("\\s+", " ");
+        if (text.isEmpty() || text.length() > MAX_QUERY_LENGTH) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Long count = queryCounts.get(text);
+            if (count == null && queryCounts.size() >= properties.getMaxQueries()) {
+                return;
+            }
+            long updated = count == null ? 1 : count + 1;
+            queryCounts.put(text, updated);
+            if (trie != null) {
+                trie.put(text, SOURCE_QUERY, updated * properties.getQueryWeight());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String articleSource(Long articleId) {
+        return "article:" + articleId;
+    }
+
+    private static String categorySource(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    private static long articleWeight(Integer viewCount) {
+        return 1L + (viewCount == null ? 0 : Math.max(0, viewCount));
+    }
+}
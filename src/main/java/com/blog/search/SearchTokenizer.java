@@ -0,0 +1,88 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 全文索引分词器
+ *
+ * 中日韩文字按二元组（bigram）切分，单字成词时保留单字；字母数字按连续片段切分并转小写。
+ * 查询与建索引使用同一分词器，二元组可以在不依赖词典的情况下命中任意两字以上的中文词。
+ */
+public final class SearchTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 分词，返回按出现顺序排列的词项（允许重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                cjkRun.add(cp);
+            } else if (Character.isLetterOrDigit(cp)) {
+                flushCjk(cjkRun, tokens);
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.isEmpty()) {
+            return;
+        }
+        String token = word.toString().toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+        word.setLength(0);
+    }
+
+    private static void flushCjk(List<Integer> run, List<String> tokens) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1) {
+            tokens.add(new String(Character.toChars(run.get(0))));
+        } else {
+            for (int j = 0; j + 1 < run.size(); j++) {
+                tokens.add(new StringBuilder()
+                        .appendCodePoint(run.get(j))
+                        .appendCodePoint(run.get(j + 1))
+                        .toString());
+            }
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
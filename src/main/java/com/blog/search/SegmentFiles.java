@@ -0,0 +1,307 @@
+package com.blog.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 全文索引段文件与提交点的读写
+ *
+ * 段文件一经写入不再修改，依次包含：文章属性（doc values）、已删除文章ID、词典及倒排表，末尾为 CRC32 校验和。
+ * 读取是一次带校验的快照加载：内存映射文件只作为顺序读取通道，校验和通过后整段解码为堆内的文档、词典和倒排表，
+ * 之后的查询不再访问文件。
+ * 提交点记录当前生效的段列表，先写临时文件并落盘，再原子替换，崩溃时只会看到旧的或新的完整提交点。
+ */
+public final class SegmentFiles {
+
+    static final String COMMIT_FILE = "commit.point";
+
+    private static final int SEGMENT_MAGIC = 0x42534547;
+    private static final int COMMIT_MAGIC = 0x42434D54;
+    private static final int FORMAT_VERSION = 1;
+
+    private SegmentFiles() {
+    }
+
+    /**
+     * 提交点
+     *
+     * @param generation 提交代数，每次提交递增，新段文件以代数命名
+     * @param segments   按应用顺序排列的段文件名，首个为全量段
+     */
+    public record CommitPoint(long generation, LocalDateTime commitTime, List<String> segments) {
+    }
+
+    static String segmentName(long generation) {
+        return String.format("segment_%012d.seg", generation);
+    }
+
+    /**
+     * 写入段文件并落盘
+     */
+    static void writeSegment(Path file, ArticleSearchIndex.Segment segment) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(file.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     new CheckedOutputStream(fileOut, crc), 64 * 1024))) {
+            out.writeInt(SEGMENT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeBoolean(segment.full());
+
+            out.writeInt(segment.docs().size());
+            for (ArticleSearchIndex.IndexedArticle article : segment.docs()) {
+                int[] length = segment.lengths().getOrDefault(article.id(), new int[2]);
+                writeArticle(out, article, length);
+            }
+
+            out.writeInt(segment.deletedIds().size());
+            for (Long articleId : segment.deletedIds()) {
+                out.writeLong(articleId);
+            }
+
+            out.writeInt(segment.postings().size());
+            for (Map.Entry<String, Map<Long, int[]>> entry : segment.postings().entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Map.Entry<Long, int[]> posting : entry.getValue().entrySet()) {
+                    out.writeLong(posting.getKey());
+                    out.writeInt(posting.getValue()[0]);
+                    out.writeInt(posting.getValue()[1]);
+                }
+            }
+            out.flush();
+            // 校验和本身不计入 CRC，直接写到底层文件
+            fileOut.write(ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).array());
+            fileOut.getFD().sync();
+        }
+    }
+
+    /**
+     * 校验并将段文件完整解码到堆内，格式或校验和不符时抛出 IOException
+     */
+    static ArticleSearchIndex.Segment readSegment(Path file) throws IOException {
+        ByteBuffer buffer = map(file);
+        if (buffer.getInt() != SEGMENT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("段文件格式不支持: " + file);
+        }
+        boolean full = buffer.get() != 0;
+
+        int docCount = buffer.getInt();
+        List<ArticleSearchIndex.IndexedArticle> docs = new ArrayList<>(docCount);
+        Map<Long, int[]> lengths = new HashMap<>(docCount * 2);
+        for (int i = 0; i < docCount; i++) {
+            ArticleSearchIndex.IndexedArticle article = readArticle(buffer, lengths);
+            docs.add(article);
+        }
+
+        int deletedCount = buffer.getInt();
+        Set<Long> deletedIds = new LinkedHashSet<>(deletedCount * 2);
+        for (int i = 0; i < deletedCount; i++) {
+            deletedIds.add(buffer.getLong());
+        }
+
+        int termCount = buffer.getInt();
+        Map<String, Map<Long, int[]>> postings = new HashMap<>(termCount * 2);
+        for (int i = 0; i < termCount; i++) {
+            String term = readString(buffer);
+            int size = buffer.getInt();
+            Map<Long, int[]> list = new HashMap<>(size * 2);
+            for (int j = 0; j < size; j++) {
+                list.put(buffer.getLong(), new int[]{buffer.getInt(), buffer.getInt()});
+            }
+            postings.put(term, list);
+        }
+        return new ArticleSearchIndex.Segment(full, docs, lengths, postings, deletedIds);
+    }
+
+    /**
+     * 原子写入提交点：临时文件落盘后替换旧提交点
+     */
+    static void writeCommit(Path dir, CommitPoint commit) throws IOException {
+        CRC32 crc = new CRC32();
+        Path tmp = dir.resolve(COMMIT_FILE + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(fileOut, crc))) {
+            out.writeInt(COMMIT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(commit.generation());
+            writeTime(out, commit.commitTime());
+            out.writeInt(commit.segments().size());
+            for (String segment : commit.segments()) {
+                writeString(out, segment);
+            }
+            out.flush();
+            fileOut.write(ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).array());
+            fileOut.getFD().sync();
+        }
+        Files.move(tmp, dir.resolve(COMMIT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 读取提交点，不存在时返回 null
+     */
+    static CommitPoint readCommit(Path dir) throws IOException {
+        Path file = dir.resolve(COMMIT_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        verifyChecksum(buffer, file);
+        if (buffer.getInt() != COMMIT_MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("提交点格式不支持: " + file);
+        }
+        long generation = buffer.getLong();
+        LocalDateTime commitTime = readTime(buffer);
+        int count = buffer.getInt();
+        List<String> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(readString(buffer));
+        }
+        return new CommitPoint(generation, commitTime, segments);
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 映射在通道关闭后仍然有效
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            verifyChecksum(mapped, file);
+            return mapped;
+        }
+    }
+
+    /**
+     * 校验末尾的 CRC32，并把 limit 收缩到数据区
+     */
+    private static void verifyChecksum(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            throw new IOException("文件不完整: " + file);
+        }
+        int dataLength = buffer.limit() - Long.BYTES;
+        long expected = buffer.getLong(dataLength);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(dataLength));
+        if (crc.getValue() != expected) {
+            throw new IOException("校验和不匹配: " + file);
+        }
+        buffer.limit(dataLength);
+    }
+
+    private static void writeArticle(DataOutputStream out, ArticleSearchIndex.IndexedArticle article,
+                                     int[] length) throws IOException {
+        out.writeLong(article.id());
+        out.writeInt(length[0]);
+        out.writeInt(length[1]);
+        writeString(out, article.title());
+        writeString(out, article.summary());
+        writeString(out, article.content());
+        writeString(out, article.coverImage());
+        writeLong(out, article.authorId());
+        writeLong(out, article.categoryId());
+        out.writeInt(article.tagIds().size());
+        for (Long tagId : article.tagIds()) {
+            out.writeLong(tagId);
+        }
+        writeInt(out, article.viewCount());
+        writeInt(out, article.likeCount());
+        writeInt(out, article.commentCount());
+        writeInt(out, article.favoriteCount());
+        writeTime(out, article.createTime());
+        writeTime(out, article.publishTime());
+        writeTime(out, article.updateTime());
+    }
+
+    private static ArticleSearchIndex.IndexedArticle readArticle(ByteBuffer in, Map<Long, int[]> lengths) {
+        long id = in.getLong();
+        lengths.put(id, new int[]{in.getInt(), in.getInt()});
+        String title = readString(in);
+        String summary = readString(in);
+        String content = readString(in);
+        String coverImage = readString(in);
+        Long authorId = readLong(in);
+        Long categoryId = readLong(in);
+        int tagCount = in.getInt();
+        Set<Long> tagIds = new HashSet<>(tagCount * 2);
+        for (int i = 0; i < tagCount; i++) {
+            tagIds.add(in.getLong());
+        }
+        return new ArticleSearchIndex.IndexedArticle(id, title, summary, content, coverImage, authorId, categoryId,
+                Set.copyOf(tagIds), readInt(in), readInt(in), readInt(in), readInt(in),
+                readTime(in), readTime(in), readTime(in));
+    }
+
+    // 可空字段：长度或标记为 -1 / 0 表示 null
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInt(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        return in.get() != 0 ? LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC) : null;
+    }
+}
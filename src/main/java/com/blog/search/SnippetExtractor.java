@@ -0,0 +1,153 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 搜索结果片段提取
+ *
+ * 在正文中查找查询词项（与索引使用同一分词器）的所有出现位置，用滑动窗口选出覆盖不同词项最多、
+ * 其次命中次数最多的一段作为片段，并给出片段内的高亮区间；没有命中时返回正文开头。
+ * 连续空白会合并为一个空格，截断处以省略号标记。
+ */
+public final class SnippetExtractor {
+
+    private static final String ELLIPSIS = "…";
+
+    // 单篇文章最多统计的命中次数，避免超长正文拖慢响应
+    private static final int MAX_MATCHES = 1000;
+
+    private SnippetExtractor() {
+    }
+
+    /**
+     * 片段
+     *
+     * @param highlights 高亮区间，每项为 [起始, 结束) 字符偏移，按起始位置升序且互不重叠
+     */
+    public record Snippet(String text, List<int[]> highlights) {
+    }
+
+    /**
+     * 从正文中提取与查询最相关的片段
+     *
+     * @param maxLength 片段最大字符数（不含省略号）
+     */
+    public static Snippet extract(String text, String query, int maxLength) {
+        return extract(text, terms(query), maxLength);
+    }
+
+    static Snippet extract(String text, Collection<String> terms, int maxLength) {
+        if (text == null || text.isEmpty() || maxLength <= 0) {
+            return new Snippet("", List.of());
+        }
+        String clean = text.replaceAll("\\s+", " ").trim();
+        List<Match> matches = find(clean, terms);
+        int length = clean.length();
+        if (matches.isEmpty()) {
+            int end = Math.min(maxLength, length);
+            return new Snippet(clean.substring(0, end) + (end < length ? ELLIPSIS : ""), List.of());
+        }
+
+        // 以每个命中为窗口起点，统计窗口内的不同词项数与命中数
+        int[] termCounts = new int[terms.size()];
+        int distinct = 0;
+        int bestIndex = 0;
+        long bestScore = -1;
+        int j = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            int windowEnd = matches.get(i).start + maxLength;
+            while (j < matches.size() && matches.get(j).end <= windowEnd) {
+                if (termCounts[matches.get(j).term]++ == 0) {
+                    distinct++;
+                }
+                j++;
+            }
+            long score = (long) distinct * MAX_MATCHES + (j - i);
+            if (score > bestScore) {
+                bestScore = score;
+                bestIndex = i;
+            }
+            if (j > i && --termCounts[matches.get(i).term] == 0) {
+                distinct--;
+            }
+            j = Math.max(j, i + 1);
+        }
+
+        // 命中前保留约四分之一窗口的上下文，靠近结尾时向前补足长度
+        int start = Math.max(0, matches.get(bestIndex).start - maxLength / 4);
+        int end = Math.min(length, start + maxLength);
+        start = Math.max(0, end - maxLength);
+        String prefix = start > 0 ? ELLIPSIS : "";
+        List<int[]> highlights = new ArrayList<>();
+        for (int[] range : merge(matches)) {
+            if (range[0] >= start && range[1] <= end) {
+                highlights.add(new int[]{range[0] - start + prefix.length(), range[1] - start + prefix.length()});
+            }
+        }
+        return new Snippet(prefix + clean.substring(start, end) + (end < length ? ELLIPSIS : ""), highlights);
+    }
+
+    /**
+     * 计算文本（如标题）中查询词项的高亮区间，不截断文本
+     */
+    public static List<int[]> highlights(String text, String query) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        return merge(find(text, terms(query)));
+    }
+
+    private static List<String> terms(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+    }
+
+    /**
+     * 按字符逐个转小写后查找，保证偏移与原文一致
+     */
+    private static List<Match> find(String text, Collection<String> terms) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        String lower = new String(chars);
+        List<Match> matches = new ArrayList<>();
+        int termIndex = 0;
+        for (String term : terms) {
+            int from = 0;
+            while (!term.isEmpty() && matches.size() < MAX_MATCHES) {
+                int index = lower.indexOf(term, from);
+                if (index < 0) {
+                    break;
+                }
+                matches.add(new Match(index, index + term.length(), termIndex));
+                from = index + 1;
+            }
+            termIndex++;
+        }
+        matches.sort(Comparator.comparingInt(Match::start));
+        return matches;
+    }
+
+    /**
+     * 合并重叠或相邻的命中（如中文二元组“数据”“据库”合并为“数据库”）
+     */
+    private static List<int[]> merge(List<Match> matches) {
+        List<int[]> ranges = new ArrayList<>();
+        for (Match match : matches) {
+            int[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && match.start <= last[1]) {
+                last[1] = Math.max(last[1], match.end);
+            } else {
+                ranges.add(new int[]{match.start, match.end});
+            }
+        }
+        return ranges;
+    }
+
+    private record Match(int start, int end, int term) {
+    }
+}
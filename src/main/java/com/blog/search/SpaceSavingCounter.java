@@ -0,0 +1,61 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 高频元素统计
+ *
+ * 最多保留 capacity 个计数器；新元素到来且计数器已满时替换当前计数最小的元素，
+ * 新计数 = 被替换者计数 + 1，并记录该值为误差上限。出现次数超过 总次数 / capacity 的元素一定会被保留。
+ */
+class SpaceSavingCounter {
+
+    /**
+     * 统计结果，真实次数位于 [count - error, count] 之间
+     */
+    record Counter(String item, long count, long error) {
+    }
+
+    private final int capacity;
+    // 元素 → [计数, 误差]
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    SpaceSavingCounter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void add(String item, long count) {
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[]{count, 0});
+            return;
+        }
+        String minItem = null;
+        long[] min = null;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min[0]) {
+                minItem = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minItem);
+        counters.put(item, new long[]{min[0] + count, min[0]});
+    }
+
+    List<Counter> counters() {
+        List<Counter> result = new ArrayList<>(counters.size());
+        counters.forEach((item, counter) -> result.add(new Counter(item, counter[0], counter[1])));
+        return result;
+    }
+
+    boolean isEmpty() {
+        return counters.isEmpty();
+    }
+}
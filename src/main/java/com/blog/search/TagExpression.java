@@ -0,0 +1,128 @@
+package com.blog.search;
+
+import java.util.function.LongFunction;
+
+/**
+ * 标签组合表达式
+ *
+ * 语法：标签ID 以 &（与）、|（或）、!（非）及括号组合，逗号等同于 &，
+ * 优先级 ! 高于 & 高于 |，例如 "1&(2|3)&!4"、"5,6"。
+ * 解析为语法树后在位图上求值，! 相对于调用方给定的全集取差集。
+ */
+final class TagExpression {
+
+    private static final int MAX_LENGTH = 256;
+
+    private final Node root;
+
+    private TagExpression(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * 解析表达式，语法错误时抛出 IllegalArgumentException
+     */
+    static TagExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("标签表达式为空");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("标签表达式过长");
+        }
+        Parser parser = new Parser(expression);
+        Node root = parser.or();
+        parser.skipSpaces();
+        if (parser.position < expression.length()) {
+            throw parser.error();
+        }
+        return new TagExpression(root);
+    }
+
+    /**
+     * 在全集 universe 内求值，tags 返回某个标签的位图（不存在时返回空位图）
+     */
+    IdBitmap evaluate(IdBitmap universe, LongFunction<IdBitmap> tags) {
+        return root.evaluate(universe, tags).and(universe);
+    }
+
+    private interface Node {
+        IdBitmap evaluate(IdBitmap universe, LongFunction<IdBitmap> tags);
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        Node or() {
+            Node left = and();
+            while (accept('|')) {
+                Node l = left;
+                Node r = and();
+                left = (universe, tags) -> l.evaluate(universe, tags).or(r.evaluate(universe, tags));
+            }
+            return left;
+        }
+
+        Node and() {
+            Node left = not();
+            while (accept('&') || accept(',')) {
+                Node l = left;
+                Node r = not();
+                left = (universe, tags) -> l.evaluate(universe, tags).and(r.evaluate(universe, tags));
+            }
+            return left;
+        }
+
+        Node not() {
+            if (accept('!')) {
+                Node operand = not();
+                return (universe, tags) -> universe.andNot(operand.evaluate(universe, tags));
+            }
+            if (accept('(')) {
+                Node inner = or();
+                if (!accept(')')) {
+                    throw error();
+                }
+                return inner;
+            }
+            return tag();
+        }
+
+        Node tag() {
+            skipSpaces();
+            int start = position;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (start == position || position - start > 18) {
+                throw error();
+            }
+            long tagId = Long.parseLong(text.substring(start, position));
+            return (universe, tags) -> tags.apply(tagId);
+        }
+
+        boolean accept(char c) {
+            skipSpaces();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException error() {
+            return new IllegalArgumentException("标签表达式语法错误，位置：" + position);
+        }
+    }
+}
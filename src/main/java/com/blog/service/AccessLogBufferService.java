@@ -3,6 +3,7 @@ package com.blog.service;
 import com.blog.config.AccessLogBufferProperties;
 import com.blog.entity.WebsiteAccessLog;
 import com.blog.mapper.WebsiteAccessLogMapper;
+import com.blog.utils.MpscRingBuffer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
@@ -12,11 +13,15 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * 访问日志缓冲服务：将单条写入聚合为批量写入
+ * 访问日志缓冲服务：将单条写入聚合为批量写入，写入前在刷盘线程上补全 User-Agent 解析结果
+ *
+ * 请求线程写入预分配的无锁环形缓冲区（多生产者），定时任务作为唯一消费者批量取出后写库；
+ * 缓冲区满时按配置的策略丢弃最旧/最新日志或短暂等待，丢弃条数计入计数器。
  */
 @Slf4j
 @Service
@@ -28,20 +33,28 @@ public class AccessLogBufferService implements DisposableBean {
     @Autowired
     private WebsiteAccessLogMapper websiteAccessLogMapper;
 
-    private LinkedBlockingQueue<WebsiteAccessLog> bufferQueue;
+    @Autowired
+    private AccessLogEnricher accessLogEnricher;
+
+    @Autowired
+    private VisitCounterService visitCounterService;
+
+    private MpscRingBuffer<WebsiteAccessLog> bufferQueue;
     private final AtomicLong droppedCount = new AtomicLong(0);
     private final AtomicLong failedBatchCount = new AtomicLong(0);
 
     @PostConstruct
     public void init() {
         int queueCapacity = Math.max(1000, properties.getQueueCapacity());
-        this.bufferQueue = new LinkedBlockingQueue<>(queueCapacity);
-        log.info("初始化访问日志缓冲队列成功，容量: {}, batchSize: {}, flushIntervalMs: {}",
-                queueCapacity, Math.max(1, properties.getBatchSize()), Math.max(100, properties.getFlushIntervalMs()));
+        this.bufferQueue = new MpscRingBuffer<>(queueCapacity);
+        log.info("初始化访问日志缓冲队列成功，容量: {}, 溢出策略: {}, batchSize: {}, flushIntervalMs: {}",
+                bufferQueue.capacity(), properties.getOverflowPolicy(), Math.max(1, properties.getBatchSize()),
+                Math.max(100, properties.getFlushIntervalMs()));
     }
 
     /**
-     * 非阻塞入队，队列满时丢弃最旧日志，优先保证主流程
+     * 入队，缓冲区满时按溢出策略处理：DROP_OLDEST 丢弃最旧日志后重试，DROP_NEWEST 直接丢弃，
+     * BLOCK 最多等待 blockTimeoutMs 后丢弃
      */
     public boolean offer(WebsiteAccessLog accessLog) {
         if (accessLog == null) {
@@ -52,20 +65,62 @@ public class AccessLogBufferService implements DisposableBean {
             return true;
         }
 
-        WebsiteAccessLog dropped = bufferQueue.poll();
-        if (dropped != null) {
-            droppedCount.incrementAndGet();
+        AccessLogBufferProperties.OverflowPolicy policy = properties.getOverflowPolicy() != null
+                ? properties.getOverflowPolicy() : AccessLogBufferProperties.OverflowPolicy.DROP_OLDEST;
+        boolean offered = switch (policy) {
+            case DROP_OLDEST -> offerDroppingOldest(accessLog);
+            case DROP_NEWEST -> false;
+            case BLOCK -> offerWaiting(accessLog);
+        };
+        if (!offered) {
+            recordDropped(1);
         }
+        return offered;
+    }
 
-        boolean offered = bufferQueue.offer(accessLog);
-        if (!offered) {
-            droppedCount.incrementAndGet();
+    private boolean offerDroppingOldest(WebsiteAccessLog accessLog) {
+        // 多个生产者同时腾位置时可能被其他生产者抢先，有限次重试后放弃
+        for (int attempt = 0; attempt < 3; attempt++) {
+            if (bufferQueue.poll() != null) {
+                recordDropped(1);
+            }
+            if (bufferQueue.offer(accessLog)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        if (droppedCount.get() % 100 == 0) {
-            log.warn("访问日志缓冲队列压力过大，累计丢弃日志条数: {}", droppedCount.get());
+    private boolean offerWaiting(WebsiteAccessLog accessLog) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getBlockTimeoutMs()));
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(50_000L);
+            if (bufferQueue.offer(accessLog)) {
+                return true;
+            }
         }
-        return offered;
+        return false;
+    }
+
+    private void recordDropped(int count) {
+        long total = droppedCount.addAndGet(count);
+        if (total % 100 == 0) {
+            log.warn("访问日志缓冲队列压力过大，累计丢弃日志条数: {}", total);
+        }
+    }
+
+    /**
+     * 累计丢弃的日志条数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 缓冲区中尚未写库的日志条数
+     */
+    public int pendingSize() {
+        return bufferQueue == null ? 0 : bufferQueue.size();
     }
 
     @Scheduled(fixedDelayString = "${access-log.buffer.flush-interval-ms:500}")
@@ -90,16 +145,24 @@ public class AccessLogBufferService implements DisposableBean {
             return false;
         }
 
+        boolean persisted;
         try {
+            accessLogEnricher.enrich(batch);
             websiteAccessLogMapper.insertBatch(batch);
             log.debug("批量写入访问日志成功，条数: {}, 队列剩余: {}", batch.size(), bufferQueue.size());
+            persisted = true;
         } catch (Exception e) {
             failedBatchCount.incrementAndGet();
             log.error("批量写入访问日志失败，本批条数: {}，将尝试重试/回灌", batch.size(), e);
-            if (!retryInsertBatch(batch)) {
+            persisted = retryInsertBatch(batch);
+            if (!persisted) {
                 requeueBatch(batch);
             }
         }
+        // 只累加已落库的日志，回灌的批次在下次写库成功时再计数
+        if (persisted) {
+            visitCounterService.record(batch);
+        }
         return true;
     }
 
@@ -140,7 +203,9 @@ public class AccessLogBufferService implements DisposableBean {
                 break;
             }
             try {
+                accessLogEnricher.enrich(batch);
                 websiteAccessLogMapper.insertBatch(batch);
+                visitCounterService.record(batch);
                 flushed += batch.size();
             } catch (Exception e) {
                 log.error("关闭时刷新访问日志失败，本批条数: {}", batch.size(), e);
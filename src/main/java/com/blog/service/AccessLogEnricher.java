@@ -0,0 +1,110 @@
+package com.blog.service;
+
+import com.blog.config.AccessLogBufferProperties;
+import com.blog.entity.WebsiteAccessLog;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ua_parser.Client;
+import ua_parser.Parser;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * 访问日志补全服务：在缓冲刷盘阶段解析 User-Agent，填充设备类型、浏览器、操作系统
+ * 拦截器只采集原始字段，正则解析不占用请求线程；同一 UA 字符串的解析结果按容量上限缓存
+ */
+@Slf4j
+@Service
+public class AccessLogEnricher {
+
+    private static final UserAgentInfo UNKNOWN = new UserAgentInfo(null, null, null);
+
+    @Autowired
+    private AccessLogBufferProperties properties;
+
+    private final Parser uaParser = new Parser();
+
+    private Cache<String, UserAgentInfo> userAgentCache;
+
+    /**
+     * User-Agent 解析结果，无法解析的字段为 null
+     */
+    record UserAgentInfo(String browser, String operatingSystem, String deviceType) {
+    }
+
+    @PostConstruct
+    public void init() {
+        userAgentCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getUserAgentCacheSize()))
+                .build();
+    }
+
+    /**
+     * 补全一批访问日志，已补全过的日志（如写库失败回灌的）保持不变
+     */
+    public void enrich(Collection<WebsiteAccessLog> accessLogs) {
+        for (WebsiteAccessLog accessLog : accessLogs) {
+            if (accessLog.getDeviceType() != null || accessLog.getUserAgent() == null
+                    || accessLog.getUserAgent().isEmpty()) {
+                continue;
+            }
+            UserAgentInfo info = userAgentCache.get(accessLog.getUserAgent(), this::parse);
+            accessLog.setBrowser(info.browser());
+            accessLog.setOperatingSystem(info.operatingSystem());
+            accessLog.setDeviceType(info.deviceType());
+        }
+    }
+
+    /**
+     * 使用 ua-parser 解析 User-Agent 字符串：浏览器、操作系统取 family，设备类型映射为 desktop / mobile / tablet / bot
+     */
+    UserAgentInfo parse(String uaString) {
+        try {
+            Client client = uaParser.parse(uaString);
+            String browser = client.userAgent != null ? client.userAgent.family : null;
+            String operatingSystem = client.os != null ? client.os.family : null;
+            return new UserAgentInfo(browser, operatingSystem, inferDeviceType(uaString, client));
+        } catch (Exception e) {
+            log.debug("UA 解析失败，跳过: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * 根据 UA 信息推断设备类型（desktop / mobile / tablet / bot）
+     */
+    private String inferDeviceType(String uaString, Client client) {
+        String ua = uaString.toLowerCase(Locale.ROOT);
+
+        // tablet 特征词优先判定
+        if (ua.contains("ipad") || ua.contains("tablet") || ua.contains("kindle")
+                || ua.contains("silk") || ua.contains("playbook")) {
+            return "tablet";
+        }
+
+        // mobile 特征词
+        if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone")
+                || ua.contains("ipod") || ua.contains("windows phone")
+                || ua.contains("blackberry") || ua.contains("opera mini")
+                || ua.contains("opera mobi")) {
+            // Android 平板通常不含 "Mobile"，但走到这里说明已含 mobile 关键词
+            return "mobile";
+        }
+
+        // 爬虫 / Bot
+        if (client.device != null && "Spider".equalsIgnoreCase(client.device.family)) {
+            return "bot";
+        }
+
+        return "desktop";
+    }
+
+    long cacheSize() {
+        return userAgentCache.estimatedSize();
+    }
+}
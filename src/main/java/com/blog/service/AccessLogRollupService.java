@@ -0,0 +1,93 @@
+package com.blog.service;
+
+import com.blog.common.ResultCode;
+import com.blog.config.VisitRollupProperties;
+import com.blog.exception.BusinessException;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 访问日志小时汇总服务
+ *
+ * 每个小时从 website_access_log 重新计算一次各维度的访问量并 upsert 到 access_log_hourly_rollup，
+ * 同一小时重复汇总结果不变，因此定时增量与手动回填可以随意重跑。
+ * 增量进度取汇总表中最新的 total 行，上一小时每轮都会重算，覆盖缓冲刷盘、失败回灌导致的跨小时落库。
+ */
+@Slf4j
+@Service
+public class AccessLogRollupService {
+
+    @Autowired
+    private VisitRollupProperties properties;
+
+    @Autowired
+    private AccessLogHourlyRollupMapper rollupMapper;
+
+    /**
+     * 增量汇总：从上次进度（至多回退到上一小时）汇总到当前小时
+     */
+    @Scheduled(fixedDelayString = "${visit.rollup.interval-ms:300000}",
+               initialDelayString = "${visit.rollup.interval-ms:300000}")
+    public void rollupRecent() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime latest = rollupMapper.selectLatestBucket();
+            LocalDateTime from;
+            if (latest == null) {
+                from = currentHour.minusHours(Math.max(0, properties.getInitialBackfillHours()));
+            } else {
+                LocalDateTime previousHour = currentHour.minusHours(1);
+                from = latest.isBefore(previousHour) ? latest : previousHour;
+            }
+            LocalDateTime limit = from.plusHours(Math.max(1, properties.getMaxHoursPerRun()) - 1L);
+            LocalDateTime to = limit.isBefore(currentHour) ? limit : currentHour;
+            int hours = rollupHours(from, to);
+            log.debug("访问日志小时汇总完成，{} ~ {}，共 {} 小时", from, to, hours);
+        } catch (Exception e) {
+            log.error("访问日志小时汇总失败：{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 回填闭区间 [startDate, endDate] 内的全部小时（不超过当前小时），返回处理的小时数
+     * 汇总以原始日志为准，只应回填原始日志仍保留的日期
+     */
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "回填日期范围无效");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > properties.getMaxBackfillDays()) {
+            throw new BusinessException(ResultCode.BAD_REQUEST,
+                    "回填范围不能超过 " + properties.getMaxBackfillDays() + " 天");
+        }
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime lastHour = endDate.plusDays(1).atStartOfDay().minusHours(1);
+        LocalDateTime to = lastHour.isBefore(currentHour) ? lastHour : currentHour;
+        log.info("开始回填访问日志小时汇总，{} ~ {}", startDate, endDate);
+        int hours = rollupHours(startDate.atStartOfDay(), to);
+        log.info("访问日志小时汇总回填完成，{} ~ {}，共 {} 小时", startDate, endDate, hours);
+        return hours;
+    }
+
+    /**
+     * 逐小时汇总闭区间 [fromHour, toHour]，某小时失败即停止，避免进度越过未汇总的小时
+     */
+    private int rollupHours(LocalDateTime fromHour, LocalDateTime toHour) {
+        int hours = 0;
+        for (LocalDateTime hour = fromHour.truncatedTo(ChronoUnit.HOURS); !hour.isAfter(toHour); hour = hour.plusHours(1)) {
+            rollupMapper.upsertHour(hour, hour.plusHours(1));
+            hours++;
+        }
+        return hours;
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 排行榜分数缓冲服务：在本实例内按 小时桶 → 文章 累加分数增量，定时以一次 Pipeline ZINCRBY 刷入 Redis
+ *
+ * 写入 Redis 的次数只与刷新周期内出现的不同文章数有关，与浏览/点赞等行为次数无关；
+ * 刷新时由 ArticleRankService 一并展开到文章所属分类的小时桶。
+ * 实例异常退出时最多丢失一个刷新周期内的增量，热度榜单可以接受这一误差。
+ */
+@Slf4j
+@Service
+public class ArticleRankScoreBuffer implements DisposableBean {
+
+    @Autowired
+    @Lazy
+    private ArticleRankService articleRankService;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, Double>> buffer = new ConcurrentHashMap<>();
+
+    /**
+     * 累加分数增量（只操作内存，不访问 Redis）
+     *
+     * @param bucketKey 小时桶 Key
+     * @param articleId 文章ID
+     * @param delta     分数增量（可为负数）
+     */
+    public void add(String bucketKey, Long articleId, double delta) {
+        if (bucketKey == null || articleId == null || delta == 0) {
+            return;
+        }
+        // 在外层 compute 内累加，保证与 flush 移除空桶互斥，增量不会写进已被移除的桶
+        buffer.compute(bucketKey, (k, deltas) -> {
+            if (deltas == null) {
+                deltas = new ConcurrentHashMap<>();
+            }
+            deltas.merge(articleId, delta, Double::sum);
+            return deltas;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${rank.buffer-flush-interval-ms:1000}")
+    public void flush() {
+        for (Map.Entry<String, ConcurrentHashMap<Long, Double>> entry : buffer.entrySet()) {
+            String bucketKey = entry.getKey();
+            Map<Long, Double> deltas = drain(entry.getValue());
+            if (deltas.isEmpty()) {
+                buffer.computeIfPresent(bucketKey, (k, pending) -> pending.isEmpty() ? null : pending);
+                continue;
+            }
+            if (articleRankService.writeBucketDeltas(bucketKey, deltas)) {
+                log.debug("排行榜分数缓冲刷新成功，Key：{}，文章数：{}", bucketKey, deltas.size());
+            } else {
+                // 刷新失败时回灌，下个周期重试
+                deltas.forEach((articleId, delta) -> add(bucketKey, articleId, delta));
+                log.warn("排行榜分数缓冲刷新失败，已回灌等待重试，Key：{}，文章数：{}", bucketKey, deltas.size());
+            }
+        }
+    }
+
+    /**
+     * 当前缓冲中尚未刷新的文章条目数
+     */
+    public int pendingSize() {
+        return buffer.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * 逐条原子取出每篇文章的累计增量，刷新期间并发写入的增量会留到下个周期
+     */
+    private Map<Long, Double> drain(ConcurrentHashMap<Long, Double> articleDeltas) {
+        Map<Long, Double> deltas = new HashMap<>();
+        for (Long articleId : articleDeltas.keySet()) {
+            Double delta = articleDeltas.remove(articleId);
+            if (delta != null && delta != 0) {
+                deltas.put(articleId, delta);
+            }
+        }
+        return deltas;
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        log.info("排行榜分数缓冲服务关闭完成，未刷新条目：{}", pendingSize());
+    }
+}
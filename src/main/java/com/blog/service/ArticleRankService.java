@@ -13,6 +13,11 @@ import java.util.Map;
  */
 public interface ArticleRankService {
 
+    /**
+     * 分类维度的热门榜单
+     */
+    String SCOPE_CATEGORY = "category";
+
     /**
      * 增加文章热度分数
      * @param articleId 文章ID
@@ -44,14 +49,52 @@ public interface ArticleRankService {
      */
     Result<PageResult<ArticleDTO>> getHotArticlesPage(Integer page, Integer size, String period);
 
+    /**
+     * 获取分类维度热门榜单中的文章ID（按热度降序，至多 rank.scope-board-size 篇）
+     * 榜单与全站榜单由同一批行为分数维护，可能包含已下线或已改分类的文章，由调用方按当前筛选条件过滤
+     * @param scope 维度：目前只支持 category
+     * @param scopeId 分类ID
+     * @param period 时间范围：day 或 week
+     * @return 文章ID列表，榜单不存在时返回空列表
+     */
+    List<Long> getScopedHotArticleIds(String scope, Long scopeId, String period);
+
+    /**
+     * 将一个小时桶的分数增量写入 Redis，并同时累加到文章所属分类的小时桶（分数缓冲刷新时调用）
+     * @param bucketKey 小时桶 Key
+     * @param deltas 文章ID → 分数增量
+     * @return true成功，false失败
+     */
+    boolean writeBucketDeltas(String bucketKey, Map<Long, Double> deltas);
+
+    /**
+     * 清除本实例缓存的文章所属分类（文章变更后调用，下次写入分数时重新查询）
+     * @param articleId 文章ID
+     */
+    void evictArticleScopes(Long articleId);
+
     /**
      * 重置指定时间范围的排行榜（定时任务调用）
+     * 滑动窗口模式下不做任何操作，旧数据随小时桶过期
      * @param period 时间范围：day 或 week
      */
     void resetRank(String period);
 
+    /**
+     * 将窗口内的小时桶合并为日榜/周榜物化 ZSet（定时任务调用，未启用滑动窗口时不做任何操作）
+     * 多实例部署时每个周期只有一个实例执行合并，其余实例只从物化榜单重建本地快照
+     */
+    void refreshWindowBoards();
+
+    /**
+     * 同步其他实例移除的文章（定时任务调用，未启用滑动窗口时不做任何操作）
+     * 共享的已移除集合出现新文章时，从物化榜单重建本地快照并清理本地热门文章结果缓存
+     */
+    void syncRemovedArticles();
+
     /**
      * 初始化文章到排行榜（文章发布时调用）
+     * 滑动窗口模式下重新发布的文章会移出已移除集合，小时桶中累积的分数在下次刷新后恢复
      * @param articleId 文章ID
      */
     void initializeArticle(Long articleId);
@@ -100,7 +143,8 @@ public interface ArticleRankService {
     void initializeAllArticles();
 
     /**
-     * 从排行榜中删除文章（文章被删除时调用）
+     * 从排行榜中删除文章（文章被删除、下线或驳回时调用）
+     * 滑动窗口模式下保留小时桶中的分数，只记入已移除集合，各实例同步后据此重建快照
      * @param articleId 文章ID
      */
     void removeFromRank(Long articleId);
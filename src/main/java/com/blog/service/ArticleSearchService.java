@@ -5,6 +5,7 @@ import com.blog.dto.SearchRequestDTO;
 import com.blog.dto.SearchResultDTO;
 import com.blog.dto.SearchStatisticsDTO;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -56,4 +57,9 @@ public interface ArticleSearchService {
      * 更新搜索索引中的文章
      */
     Result<Void> updateArticleInIndex(Long articleId);
+
+    /**
+     * 按数据库当前状态批量同步文章到搜索索引：已发布的写入，其余（含已删除）从索引移除
+     */
+    Result<Void> syncArticlesToIndex(Collection<Long> articleIds);
 }
\ No newline at end of file
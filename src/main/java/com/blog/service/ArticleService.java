@@ -58,8 +58,27 @@ public interface ArticleService {
      * @param sortBy 排序方式：popular-按热度，latest-按最新
      * @return 文章分页结果
      */
+    default Result<PageResult<ArticleDTO>> getArticleList(Integer page, Integer size, String keyword,
+                                           Long categoryId, Long tagId, Integer status, Long authorId, String sortBy) {
+        return getArticleList(page, size, keyword, categoryId, tagId, null, status, authorId, sortBy);
+    }
+
+    /**
+     * 获取文章列表（分页），支持标签组合筛选
+     * @param page 页码
+     * @param size 每页数量
+     * @param keyword 搜索关键词
+     * @param categoryId 分类ID
+     * @param tagId 标签ID
+     * @param tags 标签组合表达式，如 1&amp;(2|3)&amp;!4，逗号等同于 &amp;
+     * @param status 文章状态
+     * @param authorId 作者ID
+     * @param sortBy 排序方式：popular-按热度，latest-按最新
+     * @return 文章分页结果
+     */
     Result<PageResult<ArticleDTO>> getArticleList(Integer page, Integer size, String keyword,
-                                           Long categoryId, Long tagId, Integer status, Long authorId, String sortBy);
+                                           Long categoryId, Long tagId, String tags, Integer status, Long authorId,
+                                           String sortBy);
 
     /**
      * 获取文章详情
@@ -0,0 +1,218 @@
+package com.blog.service;
+
+import com.blog.config.VisitCounterProperties;
+import com.blog.entity.WebsiteAccessLog;
+import com.blog.utils.RedisUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 实时 PV/UV 计数服务
+ *
+ * 访问日志写库成功后调用 record：按天、按小时 INCRBY PV 计数器，并把访客 IP PFADD 到 UV HyperLogLog，
+ * 一批日志只产生一次 Pipeline。区间 UV 用多键 PFCOUNT 在服务端合并，不落临时键。
+ * 首次写入前记录计数起点，只有起点不晚于所查时段开始的日期/小时才由计数器回答，
+ * 其余情况（未启用、起点之前、已过期、Redis 不可用）返回 null，由调用方回退到数据库查询。
+ */
+@Slf4j
+@Service
+public class VisitCounterService {
+
+    static final String SINCE_KEY = "visit:counter:since";
+    private static final String PV_DAY_PREFIX = "visit:pv:d:";
+    private static final String PV_HOUR_PREFIX = "visit:pv:h:";
+    private static final String UV_DAY_PREFIX = "visit:uv:d:";
+    private static final String UV_HOUR_PREFIX = "visit:uv:h:";
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+
+    @Autowired
+    private VisitCounterProperties properties;
+
+    @Autowired
+    private RedisUtils redisUtils;
+
+    private volatile LocalDateTime since;
+
+    /**
+     * 累加一批已写库的访问日志，Redis 失败只记录日志，不影响写库流程
+     */
+    public void record(Collection<WebsiteAccessLog> accessLogs) {
+        if (!properties.isEnabled() || accessLogs == null || accessLogs.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> increments = new HashMap<>();
+            Map<String, Set<String>> visitors = new HashMap<>();
+            for (WebsiteAccessLog accessLog : accessLogs) {
+                LocalDateTime time = accessLog.getAccessTime() != null ? accessLog.getAccessTime() : LocalDateTime.now();
+                String day = time.toLocalDate().toString();
+                String hour = time.format(HOUR_FORMATTER);
+                increments.merge(PV_DAY_PREFIX + day, 1L, Long::sum);
+                increments.merge(PV_HOUR_PREFIX + hour, 1L, Long::sum);
+                if (accessLog.getIpAddress() != null) {
+                    visitors.computeIfAbsent(UV_DAY_PREFIX + day, k -> new HashSet<>()).add(accessLog.getIpAddress());
+                    visitors.computeIfAbsent(UV_HOUR_PREFIX + hour, k -> new HashSet<>()).add(accessLog.getIpAddress());
+                }
+            }
+
+            Map<String, Long> ttlSeconds = new HashMap<>();
+            long dayTtl = properties.getDayTtl().toSeconds();
+            long hourTtl = properties.getHourTtl().toSeconds();
+            increments.keySet().forEach(key -> ttlSeconds.put(key, key.startsWith(PV_DAY_PREFIX) ? dayTtl : hourTtl));
+            visitors.keySet().forEach(key -> ttlSeconds.put(key, key.startsWith(UV_DAY_PREFIX) ? dayTtl : hourTtl));
+
+            markSince();
+            if (!redisUtils.incrByAndPfAddBatch(increments, visitors, ttlSeconds)) {
+                log.warn("实时 PV/UV 计数写入失败，本批条数: {}", accessLogs.size());
+            }
+        } catch (Exception e) {
+            log.error("实时 PV/UV 计数异常，本批条数: {}", accessLogs.size(), e);
+        }
+    }
+
+    /**
+     * 某日 PV，计数器无法回答时返回 null
+     */
+    public Long pageViews(LocalDate date) {
+        return pageViews(date, date);
+    }
+
+    /**
+     * 某日 UV（HyperLogLog 估计值），计数器无法回答时返回 null
+     */
+    public Long uniqueVisitors(LocalDate date) {
+        return uniqueVisitors(date, date);
+    }
+
+    /**
+     * 闭区间 [start, end] 内的 PV 合计
+     */
+    public Long pageViews(LocalDate start, LocalDate end) {
+        List<String> keys = dayKeys(PV_DAY_PREFIX, start, end);
+        return keys == null ? null : sum(redisUtils.getLongs(keys));
+    }
+
+    /**
+     * 闭区间 [start, end] 内的去重 UV（多键 PFCOUNT 合并，跨天同一访客只计一次）
+     */
+    public Long uniqueVisitors(LocalDate start, LocalDate end) {
+        List<String> keys = dayKeys(UV_DAY_PREFIX, start, end);
+        return keys == null ? null : redisUtils.pfCount(keys);
+    }
+
+    /**
+     * 整点区间 [fromHour, toHour] 内的 PV 合计
+     */
+    public Long pageViewsBetweenHours(LocalDateTime fromHour, LocalDateTime toHour) {
+        List<String> keys = hourKeys(PV_HOUR_PREFIX, fromHour, toHour);
+        return keys == null ? null : sum(redisUtils.getLongs(keys));
+    }
+
+    /**
+     * 整点区间 [fromHour, toHour] 内的去重 UV
+     */
+    public Long uniqueVisitorsBetweenHours(LocalDateTime fromHour, LocalDateTime toHour) {
+        List<String> keys = hourKeys(UV_HOUR_PREFIX, fromHour, toHour);
+        return keys == null ? null : redisUtils.pfCount(keys);
+    }
+
+    private List<String> dayKeys(String prefix, LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return null;
+        }
+        // 最后一次写入后才开始计算过期，保守地少回看一天
+        LocalDate oldest = LocalDate.now().minusDays(Math.max(0, properties.getDayTtl().toDays() - 1));
+        if (start.isBefore(oldest) || !covers(start.atStartOfDay())) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            keys.add(prefix + date);
+        }
+        return keys;
+    }
+
+    private List<String> hourKeys(String prefix, LocalDateTime fromHour, LocalDateTime toHour) {
+        if (fromHour == null || toHour == null) {
+            return null;
+        }
+        LocalDateTime from = fromHour.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = toHour.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .minusHours(Math.max(0, properties.getHourTtl().toHours() - 1));
+        if (to.isBefore(from) || from.isBefore(oldest) || !covers(from)) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>();
+        for (LocalDateTime hour = from; !hour.isAfter(to); hour = hour.plusHours(1)) {
+            keys.add(prefix + hour.format(HOUR_FORMATTER));
+        }
+        return keys;
+    }
+
+    /**
+     * 计数起点不晚于 periodStart 时，该时段的访问都已被计数
+     */
+    private boolean covers(LocalDateTime periodStart) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        LocalDateTime start = since;
+        if (start == null) {
+            start = parseSince(redisUtils.getString(SINCE_KEY));
+            if (start == null) {
+                return false;
+            }
+            since = start;
+        }
+        return !start.isAfter(periodStart);
+    }
+
+    /**
+     * 首次计数前写入起点（SET NX），已存在时沿用最早的起点
+     */
+    private void markSince() {
+        if (since != null) {
+            return;
+        }
+        redisUtils.setStringIfAbsent(SINCE_KEY, LocalDateTime.now().toString());
+        since = parseSince(redisUtils.getString(SINCE_KEY));
+    }
+
+    private static LocalDateTime parseSince(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            log.warn("计数起点格式错误，忽略实时计数: {}", value);
+            return null;
+        }
+    }
+
+    private static Long sum(List<Long> values) {
+        if (values == null) {
+            return null;
+        }
+        long total = 0;
+        for (Long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -12,6 +12,7 @@ import com.blog.entity.Article;
 import com.blog.entity.Comment;
 import com.blog.entity.User;
 import com.blog.entity.VisitStatistics;
+import com.blog.event.ArticleChangedEvent;
 import com.blog.mapper.ArticleMapper;
 import com.blog.mapper.CommentMapper;
 import com.blog.mapper.UserFollowMapper;
@@ -22,6 +23,7 @@ import com.blog.service.AdminService;
 import com.blog.service.AuthSessionRevocationService;
 import com.blog.service.ArticleRankService;
 import com.blog.service.ArticleStatisticsService;
+import com.blog.service.VisitCounterService;
 import com.blog.utils.BusinessUtils;
 import com.blog.utils.DTOConverter;
 import com.blog.utils.HotArticleCacheEvictionService;
@@ -30,10 +32,12 @@ import com.blog.utils.RedisCacheUtils;
 import com.blog.utils.RedisUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -81,9 +85,15 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private WebsiteAccessLogMapper websiteAccessLogMapper;
 
+    @Autowired
+    private VisitCounterService visitCounterService;
+
     @Autowired
     private ArticleRankService articleRankService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private AuthSessionRevocationService authSessionRevocationService;
 
@@ -244,6 +254,7 @@ public class AdminServiceImpl implements AdminService {
             if (result <= 0) {
                 return BusinessUtils.error("修改文章状态失败");
             }
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, articleId, ArticleChangedEvent.ChangeType.UNPUBLISHED));
             // 文章下线或转为草稿时，从 Redis 热度榜单中移除，避免非发布文章继续出现在榜单
             // 使用 equals 比较 Integer，避免 status 为 null 时自动拆箱触发 NPE
             if (!Integer.valueOf(2).equals(status)) {
@@ -273,12 +284,10 @@ public class AdminServiceImpl implements AdminService {
             if (result <= 0) {
                 return BusinessUtils.error("删除文章失败");
             }
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, articleId, ArticleChangedEvent.ChangeType.DELETED));
 
             // 清除推荐文章缓存
-            Set<String> recommendedArticleKeys = redisUtils.scanKeys("recommended:articles:*");
-            if (recommendedArticleKeys != null && !recommendedArticleKeys.isEmpty()) {
-                redisUtils.delete(recommendedArticleKeys);
-            }
+            redisUtils.invalidateNamespace(RedisCacheUtils.RECOMMENDED_ARTICLES_NAMESPACE);
 
             return BusinessUtils.success();
         } catch (RuntimeException e) {
@@ -387,9 +396,20 @@ public class AdminServiceImpl implements AdminService {
         result.put("totalNewComments", totalNewComments);
         result.put("dailyList", dailyList);
 
-        // 今日实时数据
-        result.put("todayPageViews", websiteAccessLogMapper.countTodayPv());
-        result.put("todayUniqueVisitors", websiteAccessLogMapper.countTodayUv());
+        // 今日实时数据（Redis 计数器，未覆盖今日时回退到原始日志表）
+        LocalDate today = LocalDate.now();
+        Long todayPv = visitCounterService.pageViews(today);
+        Long todayUv = visitCounterService.uniqueVisitors(today);
+        if (todayPv != null) {
+            result.put("todayPageViews", todayPv);
+        } else {
+            result.put("todayPageViews", websiteAccessLogMapper.countTodayPv());
+        }
+        if (todayUv != null) {
+            result.put("todayUniqueVisitors", todayUv);
+        } else {
+            result.put("todayUniqueVisitors", websiteAccessLogMapper.countTodayUv());
+        }
 
         return BusinessUtils.success(result);
     }
@@ -430,7 +450,6 @@ public class AdminServiceImpl implements AdminService {
         try {
             // 清除热门文章缓存
             long hotArticlesDeleted = 0;
-            long recommendedArticlesDeleted = 0;
             long captchasDeleted = 0;
 
             // 清除热门文章缓存（排除 ZSet 排行榜数据）
@@ -438,8 +457,7 @@ public class AdminServiceImpl implements AdminService {
             if (hotArticlesKeys != null && !hotArticlesKeys.isEmpty()) {
                 // 过滤掉 ZSet 排行榜键，只删除查询结果缓存
                 Set<String> keysToDelete = hotArticlesKeys.stream()
-                        .filter(key -> !key.startsWith("hot:articles:zset:day:")
-                                && !key.startsWith("hot:articles:zset:week:"))
+                        .filter(key -> !key.startsWith("hot:articles:zset:"))
                         .collect(java.util.stream.Collectors.toSet());
 
                 if (!keysToDelete.isEmpty()) {
@@ -448,12 +466,9 @@ public class AdminServiceImpl implements AdminService {
                 }
             }
 
-            // 清除推荐文章缓存
-            Set<String> recommendedArticlesKeys = redisUtils.scanKeys("recommended:articles:*");
-            if (recommendedArticlesKeys != null && !recommendedArticlesKeys.isEmpty()) {
-                recommendedArticlesDeleted = redisUtils.delete(recommendedArticlesKeys);
-                log.info("成功清除推荐文章缓存，数量：{}", recommendedArticlesDeleted);
-            }
+            // 清除推荐文章缓存（递增命名空间代际）
+            long recommendedGeneration = redisUtils.invalidateNamespace(RedisCacheUtils.RECOMMENDED_ARTICLES_NAMESPACE);
+            log.info("成功清除推荐文章缓存，新代际：{}", recommendedGeneration);
 
             // 清除验证码缓存
             Set<String> captchaKeys = redisUtils.scanKeys("captcha:*");
@@ -466,8 +481,8 @@ public class AdminServiceImpl implements AdminService {
             hotArticleCacheEvictionService.evictAll();
             log.info("成功清除 Spring Cache 热门文章结果缓存");
 
-            log.info("Redis缓存清理完成，共清除热门文章缓存{}个，推荐文章缓存{}个，验证码缓存{}个",
-                    hotArticlesDeleted, recommendedArticlesDeleted, captchasDeleted);
+            log.info("Redis缓存清理完成，共清除热门文章缓存{}个，验证码缓存{}个",
+                    hotArticlesDeleted, captchasDeleted);
             return BusinessUtils.success();
         } catch (Exception e) {
             log.error("清理Redis缓存失败", e);
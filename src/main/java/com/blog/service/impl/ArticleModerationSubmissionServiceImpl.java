@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.blog.common.Result;
 import com.blog.entity.Article;
 import com.blog.entity.ArticleModerationSubmission;
+import com.blog.event.ArticleChangedEvent;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.ArticleMapper;
 import com.blog.mapper.ArticleModerationSubmissionMapper;
@@ -12,6 +13,7 @@ import com.blog.service.ArticleRankService;
 import com.blog.service.ContentModerationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +34,7 @@ public class ArticleModerationSubmissionServiceImpl implements ArticleModeration
     private final ArticleMapper articleMapper;
     private final ContentModerationService contentModerationService;
     private final ArticleRankService articleRankService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -111,12 +114,15 @@ public class ArticleModerationSubmissionServiceImpl implements ArticleModeration
         applySnapshot(article, submission);
         article.setStatus(Article.STATUS_PUBLISHED);
         article.setPublishTime(LocalDateTime.now());
+        // 显式推进 update_time，作为全文索引一致性检查的文档版本
+        article.setUpdateTime(LocalDateTime.now());
         if (articleMapper.updateById(article) != 1) throw new BusinessException("应用审核快照失败");
         int changed = manual
                 ? submissionMapper.completeManually(submission.getSubmissionToken(), ArticleModerationSubmission.Status.PASSED, adminId, reason)
                 : submissionMapper.completeAi(submission.getSubmissionToken(), ArticleModerationSubmission.Status.PASSED, reason);
         if (changed != 1) throw new BusinessException("审核任务已被处理");
         articleRankService.initializeArticle(article.getId());
+        eventPublisher.publishEvent(new ArticleChangedEvent(this, article.getId(), ArticleChangedEvent.ChangeType.PUBLISHED));
     }
 
     private void validateContentLength(ArticleModerationSubmission submission) {
@@ -138,9 +144,11 @@ public class ArticleModerationSubmissionServiceImpl implements ArticleModeration
 
     @Transactional
     protected void rejectInternal(ArticleModerationSubmission submission, Long adminId, String reason, boolean manual) {
+        boolean unpublished = false;
         if (submission.getSubmissionType() == ArticleModerationSubmission.SubmissionType.NEW) {
             Article article = articleMapper.selectById(submission.getArticleId());
             if (article != null) {
+                unpublished = Integer.valueOf(Article.STATUS_PUBLISHED).equals(article.getStatus());
                 article.setStatus(Article.STATUS_DRAFT);
                 articleMapper.updateById(article);
             }
@@ -149,6 +157,11 @@ public class ArticleModerationSubmissionServiceImpl implements ArticleModeration
                 ? submissionMapper.completeManually(submission.getSubmissionToken(), ArticleModerationSubmission.Status.REJECTED, adminId, reason)
                 : submissionMapper.completeAi(submission.getSubmissionToken(), ArticleModerationSubmission.Status.REJECTED, reason);
         if (changed != 1) throw new BusinessException("审核任务已被处理");
+        // 已发布文章被驳回转为草稿时，立即从热度榜单移除
+        if (unpublished) {
+            articleRankService.removeFromRank(submission.getArticleId());
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, submission.getArticleId(), ArticleChangedEvent.ChangeType.UNPUBLISHED));
+        }
     }
 
     @Override
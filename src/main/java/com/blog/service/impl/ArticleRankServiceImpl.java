@@ -4,14 +4,19 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.blog.common.PageResult;
 import com.blog.common.Result;
+import com.blog.config.ArticleRankProperties;
 import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.mapper.ArticleMapper;
+import com.blog.service.ArticleRankScoreBuffer;
 import com.blog.service.ArticleRankService;
 import com.blog.service.ArticleService;
 import com.blog.utils.BusinessUtils;
 import com.blog.utils.HotArticleCacheEvictionService;
 import com.blog.utils.RedisUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -21,15 +26,21 @@ import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -37,7 +48,21 @@ import java.util.stream.Collectors;
  * 文章热度排行服务实现类
  * 使用 Redis ZSet 实现实时热度计算
  *
- * 使用带日期的 Key 来隔离不同时间段的数据：
+ * 默认使用小时分桶滑动窗口（rank.window-enabled=true）：
+ * - 小时桶：hot:articles:zset:hour:2026012814，行为分数只写入当前小时桶，桶过期即裁剪旧数据
+ * - 日榜：hot:articles:zset:window:day（最近 24 小时的桶按衰减权重合并，半衰期默认 8 小时）
+ * - 周榜：hot:articles:zset:window:week（最近 7 天的桶按衰减权重合并，半衰期默认 2 天）
+ * 榜单分数即当前时刻的衰减热度：每次行为贡献 w·2^(-(now - t) / halfLife)，越新的行为权重越大。
+ * 同一次行为同时累加到文章所属分类的小时桶（hot:articles:zset:hour:2026012814:category:3），
+ * 按同样的窗口和权重合并为分类榜单（hot:articles:zset:window:week:category:3），每个榜单只保留前 N 篇；
+ * 文章所属分类缓存在本地，文章变更时失效，刷新分数缓冲时不再逐批查询数据库。
+ * 物化榜单由定时任务周期性 ZUNIONSTORE 生成（每个周期只由抢到租约的一个实例重建），各实例再预组装前 N 篇已发布文章的摘要快照，
+ * 读取热门文章时直接返回快照，不访问数据库也不做状态过滤。
+ * 文章下线/删除时从物化榜单中移除并记入共享的已移除集合（hot:articles:zset:window:removed），小时桶中的分数保留：
+ * 各实例定时同步该集合，出现新成员时从物化榜单重建本地快照，重建榜单后再次剔除；重新发布时移出集合，分数随下次刷新恢复。
+ * 读取路径只访问本地快照，不读取已移除集合。
+ *
+ * 关闭滑动窗口后回退到带日期的 Key 隔离不同时间段的数据：
  * - 日榜：hot:articles:zset:day:2026-01-28
  * - 周榜：hot:articles:zset:week:2026-W04
  */
@@ -58,12 +83,70 @@ public class ArticleRankServiceImpl implements ArticleRankService {
     @Autowired
     private HotArticleCacheEvictionService hotArticleCacheEvictionService;
 
+    @Autowired
+    private ArticleRankProperties rankProperties;
+
+    @Autowired
+    private ArticleRankScoreBuffer rankScoreBuffer;
+
+    // 物化榜单 Key → 已发布文章摘要快照，随榜单刷新整体替换
+    private final ConcurrentHashMap<String, HotSnapshot> hotSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 热门文章快照
+     *
+     * @param articles 按热度降序的已发布文章摘要（不含正文与用户私有状态）
+     * @param complete 是否覆盖了整个榜单；为 false 时超出快照范围的请求需回退到逐页查询
+     */
+    private record HotSnapshot(List<ArticleDTO> articles, boolean complete) {
+    }
+
+    // 文章ID → 所属分类维度（如 category:3），没有分类的文章缓存为空列表
+    private Cache<Long, List<String>> articleScopes;
+
+    @PostConstruct
+    public void init() {
+        articleScopes = Caffeine.newBuilder()
+                .maximumSize(rankProperties.getScopeCacheSize())
+                .expireAfterWrite(rankProperties.getScopeCacheTtl().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     // ZSet Key 前缀
     private static final String ZSET_KEY_DAY_PREFIX = "hot:articles:zset:day:";
     private static final String ZSET_KEY_WEEK_PREFIX = "hot:articles:zset:week:";
 
+    // 滑动窗口：小时桶前缀与物化榜单 Key
+    private static final String ZSET_KEY_HOUR_PREFIX = "hot:articles:zset:hour:";
+    private static final String ZSET_KEY_WINDOW_DAY = "hot:articles:zset:window:day";
+    private static final String ZSET_KEY_WINDOW_WEEK = "hot:articles:zset:window:week";
+
+    // 小时桶内出现过的分类集合（成员如 category:3），重建分类榜单时据此确定需要合并的维度
+    private static final String SCOPES_SUFFIX = ":scopes";
+
+    // 启动初始化完成标记，存在期间重启不再重复初始化
+    private static final String INIT_MARKER_KEY = "hot:articles:zset:init:marker";
+
+    // 物化榜单重建租约：每个刷新周期只有抢到租约的实例执行 ZUNIONSTORE
+    private static final String REFRESH_LEADER_KEY = "hot:articles:zset:window:leader";
+
+    // 本实例标识，写入重建租约便于排查由哪个实例重建
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 已移除文章集合：成员为下线/删除的文章ID，分数为移除时间（毫秒），超过小时桶过期时间后裁剪
+    private static final String REMOVED_KEY = "hot:articles:zset:window:removed";
+
+    // 本实例上次同步到的已移除文章，出现新成员时才重建快照并清理本地结果缓存
+    private volatile Set<Long> syncedRemovedIds = Set.of();
+
+    // 快照只需要列表展示字段，不读取正文
+    private static final String[] SNAPSHOT_COLUMNS = {"id", "title", "summary", "cover_image", "category_id",
+            "author_id", "status", "view_count", "like_count", "comment_count", "favorite_count",
+            "publish_time", "create_time", "update_time"};
+
     // 日期格式化器
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHH");
 
     // 分数权重（public 供其他服务访问）
     public static final double SCORE_VIEW = 1.0; // 浏览 +1 分
@@ -80,6 +163,10 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (articleId == null) {
             return;
         }
+        if (rankProperties.isWindowEnabled()) {
+            addToCurrentBucket(articleId, score);
+            return;
+        }
         // 只更新当前日期的日榜和当前周的周榜
         String dayKey = getDayKey(LocalDate.now());
         String weekKey = getWeekKey(LocalDate.now());
@@ -103,6 +190,10 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (articleId == null) {
             return;
         }
+        if (rankProperties.isWindowEnabled()) {
+            addToCurrentBucket(articleId, -score);
+            return;
+        }
         // 只更新当前日期的日榜和当前周的周榜
         String dayKey = getDayKey(LocalDate.now());
         String weekKey = getWeekKey(LocalDate.now());
@@ -128,10 +219,17 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (limit == null || limit <= 0) {
             limit = 10;
         }
-        log.info("从 ZSet 获取热门文章（缓存未命中），数量：{}，时间范围：{}", limit, period);
-
         String zsetKey = getZSetKey(period);
 
+        HotSnapshot snapshot = hotSnapshots.get(zsetKey);
+        if (snapshot != null) {
+            List<ArticleDTO> articles = snapshot.articles();
+            if (snapshot.complete() || limit <= articles.size()) {
+                return BusinessUtils.success(new ArrayList<>(articles.subList(0, Math.min(limit, articles.size()))));
+            }
+        }
+        log.info("从 ZSet 获取热门文章（缓存未命中），数量：{}，时间范围：{}", limit, period);
+
         try {
             int fetchLimit = (int) (limit * 1.5) + 10;
 
@@ -212,14 +310,11 @@ public class ArticleRankServiceImpl implements ArticleRankService {
 
             // 清理无效/非发布文章ID，同时清理日榜和周榜，避免只清单一维度导致残留
             if (!invalidArticleIds.isEmpty()) {
-                String dayKey = getDayKey(LocalDate.now());
-                String weekKey = getWeekKey(LocalDate.now());
+                String dayKey = getZSetKey("day");
+                String weekKey = getZSetKey("week");
                 log.warn("发现 {} 个无效/非发布文章ID将被清理：{}，日榜Key：{}，周榜Key：{}",
                         invalidArticleIds.size(), invalidArticleIds, dayKey, weekKey);
-                for (Long invalidId : invalidArticleIds) {
-                    redisUtils.zRemove(dayKey, invalidId);
-                    redisUtils.zRemove(weekKey, invalidId);
-                }
+                removeFromRanks(invalidArticleIds);
                 log.warn("已清理排行榜中的无效/非发布文章ID，数量：{}", invalidArticleIds.size());
             }
 
@@ -241,9 +336,45 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (size == null || size < 1)
             size = 10;
 
+        String zsetKey = getZSetKey(period);
+        HotSnapshot snapshot = hotSnapshots.get(zsetKey);
+        if (snapshot != null) {
+            List<ArticleDTO> articles = snapshot.articles();
+            int start = (page - 1) * size;
+            if (snapshot.complete() || start + size <= articles.size()) {
+                List<ArticleDTO> records = start >= articles.size() ? new ArrayList<>()
+                        : new ArrayList<>(articles.subList(start, Math.min(start + size, articles.size())));
+                long total = snapshot.complete() ? articles.size() : Math.max(articles.size(), redisUtils.zSize(zsetKey));
+                return BusinessUtils.success(PageResult.of(records, total, page, size));
+            }
+        }
+
         log.info("分页从 ZSet 获取热门文章（缓存未命中），页码：{}，页大小：{}，时间范围：{}", page, size, period);
 
-        String zsetKey = getZSetKey(period);
+        return readHotPage(zsetKey, page, size);
+    }
+
+    @Override
+    public List<Long> getScopedHotArticleIds(String scope, Long scopeId, String period) {
+        if (!rankProperties.isWindowEnabled() || scopeId == null || !SCOPE_CATEGORY.equals(scope)) {
+            return List.of();
+        }
+        String key = getScopeKey(period, scope, scopeId);
+        try {
+            return redisUtils.zReverseRangeWithScoresAsMap(key, 0, rankProperties.getScopeBoardSize() - 1L)
+                    .keySet().stream()
+                    .map(Long::parseLong)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("读取分类热门榜单失败，Key：{}，原因：{}", key, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 从指定 ZSet 分页读取热门文章，并批量查询文章详情
+     */
+    private Result<PageResult<ArticleDTO>> readHotPage(String zsetKey, int page, int size) {
         try {
             long total = redisUtils.zSize(zsetKey);
             if (total == 0) {
@@ -289,12 +420,7 @@ public class ArticleRankServiceImpl implements ArticleRankService {
                 orderedArticles.add(article);
             }
             if (!invalidPageArticleIds.isEmpty()) {
-                String dayKey = getDayKey(LocalDate.now());
-                String weekKey = getWeekKey(LocalDate.now());
-                for (Long invalidId : invalidPageArticleIds) {
-                    redisUtils.zRemove(dayKey, invalidId);
-                    redisUtils.zRemove(weekKey, invalidId);
-                }
+                removeFromRanks(invalidPageArticleIds);
                 log.warn("分页榜单已清理无效/非发布文章，数量：{}", invalidPageArticleIds.size());
             }
 
@@ -331,6 +457,11 @@ public class ArticleRankServiceImpl implements ArticleRankService {
     @Override
     @CacheEvict(value = {"hotArticles", "hotArticlesPage"}, allEntries = true)
     public void resetRank(String period) {
+        if (rankProperties.isWindowEnabled()) {
+            // 滑动窗口无需清榜，旧数据随小时桶过期，榜单由 refreshWindowBoards 周期性重建
+            log.debug("滑动窗口模式下跳过榜单重置，时间范围：{}", period);
+            return;
+        }
         LocalDate today = LocalDate.now();
 
         if ("day".equalsIgnoreCase(period)) {
@@ -351,9 +482,22 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (articleId == null) {
             return;
         }
+        if (rankProperties.isWindowEnabled()) {
+            // 重新发布的文章移出已移除集合，小时桶中保留的分数下次刷新后随榜单恢复
+            redisUtils.zRemove(REMOVED_KEY, articleId);
+            // 写入当前小时桶，下次刷新后出现在日榜和周榜
+            seedCurrentBucket(List.of(articleId));
+            // 编辑审核通过后标题/摘要可能变化，快照中已有该文章时立即重建
+            if (isInSnapshot(articleId)) {
+                refreshSnapshots();
+                hotArticleCacheEvictionService.evictAll();
+            }
+            log.info("新文章初始化到排行榜小时桶，文章ID：{}", articleId);
+            return;
+        }
         // 新文章初始化分数为 0（只初始化到当前日期的日榜和周榜）
-        String dayKey = getDayKey(LocalDate.now());
-        String weekKey = getWeekKey(LocalDate.now());
+        String dayKey = getZSetKey("day");
+        String weekKey = getZSetKey("week");
 
         redisUtils.zAdd(dayKey, articleId, 0);
         redisUtils.zAdd(weekKey, articleId, 0);
@@ -368,75 +512,82 @@ public class ArticleRankServiceImpl implements ArticleRankService {
 
     /**
      * 初始化所有已发布的文章到排行榜（首次启动时调用）
-     * 只初始化当前日期的日榜和周榜
+     * 只初始化当前日期的日榜和周榜（滑动窗口模式下写入当前小时桶）
+     *
+     * 按主键游标分批读取文章ID，每批以一次 Pipeline ZADD NX 写入，不覆盖已有分数；
+     * 榜单已有数据且距上次初始化未超过 rank.init-freshness 时直接跳过。
      */
     public void initializeAllArticles() {
-        log.info("开始初始化所有已发布文章到排行榜");
-
         try {
-            // 查询所有已发布的文章
-            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
-            queryWrapper.eq("status", 2); // 只查询已发布的文章
-            queryWrapper.select("id");
-            List<Article> articles = articleMapper.selectList(queryWrapper);
+            String boardKey = getZSetKey("week");
+            if (redisUtils.exists(INIT_MARKER_KEY) && redisUtils.zSize(boardKey) > 0) {
+                log.info("排行榜已初始化且数据新鲜，跳过本次初始化，Key：{}", boardKey);
+                return;
+            }
 
-            if (articles.isEmpty()) {
+            log.info("开始初始化所有已发布文章到排行榜");
+            long start = System.currentTimeMillis();
+            long[] progress = seedPublishedArticles();
+            if (progress[0] == 0) {
                 log.info("没有已发布的文章需要初始化");
                 return;
             }
-
-            String dayKey = getDayKey(LocalDate.now());
-            String weekKey = getWeekKey(LocalDate.now());
-
-            int dayCount = 0;
-            int weekCount = 0;
-
-            for (Article article : articles) {
-                Long articleId = article.getId();
-
-                // 检查日榜
-                Double dayScore = redisUtils.zScore(dayKey, articleId);
-                if (dayScore == null) {
-                    boolean added = redisUtils.zAdd(dayKey, articleId, 0);
-                    if (added) {
-                        Double verifyScore = redisUtils.zScore(dayKey, articleId);
-                        if (verifyScore != null && verifyScore == 0) {
-                            dayCount++;
-                            log.debug("日榜初始化成功，文章ID：{}，Key：{}", articleId, dayKey);
-                        }
-                    }
-                }
-
-                // 检查周榜
-                Double weekScore = redisUtils.zScore(weekKey, articleId);
-                if (weekScore == null) {
-                    boolean added = redisUtils.zAdd(weekKey, articleId, 0);
-                    if (added) {
-                        Double verifyScore = redisUtils.zScore(weekKey, articleId);
-                        if (verifyScore != null && verifyScore == 0) {
-                            weekCount++;
-                            log.debug("周榜初始化成功，文章ID：{}，Key：{}", articleId, weekKey);
-                        }
-                    }
-                }
+            if (rankProperties.isWindowEnabled()) {
+                refreshWindowBoards();
             }
+            redisUtils.set(INIT_MARKER_KEY, String.valueOf(System.currentTimeMillis()),
+                    rankProperties.getInitFreshness().toSeconds(), TimeUnit.SECONDS);
 
-            // 初始化完成后设置过期时间
-            setRankTtl(dayKey, "day");
-            setRankTtl(weekKey, "week");
+            log.info("初始化所有文章到排行榜完成，文章数：{}，新增：{}，耗时：{}ms，Key：{}",
+                    progress[0], progress[1], System.currentTimeMillis() - start, boardKey);
+        } catch (Exception e) {
+            log.error("初始化所有文章到排行榜失败", e);
+        }
+    }
 
-            log.info("初始化所有文章到排行榜完成，日榜新增：{}，周榜新增：{}，日榜Key：{}，周榜Key：{}",
-                    dayCount, weekCount, dayKey, weekKey);
+    /**
+     * 按主键游标分批读取已发布文章ID，以 0 分写入当前榜单（ZADD NX）
+     *
+     * @return [读取的文章数, 新增的成员数]
+     */
+    private long[] seedPublishedArticles() {
+        int batchSize = Math.max(1, rankProperties.getInitBatchSize());
+        String dayKey = getZSetKey("day");
+        String weekKey = getZSetKey("week");
+
+        long scanned = 0;
+        long added = 0;
+        long lastId = 0;
+        while (true) {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id");
+            queryWrapper.eq("status", 2); // 只查询已发布的文章
+            queryWrapper.gt("id", lastId);
+            queryWrapper.orderByAsc("id");
+            queryWrapper.last("LIMIT " + batchSize);
+            List<Long> ids = articleMapper.selectList(queryWrapper).stream()
+                    .map(Article::getId)
+                    .collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                break;
+            }
 
-            // 打印 ZSet 大小用于调试
-            long daySize = redisUtils.zSize(dayKey);
-            long weekSize = redisUtils.zSize(weekKey);
-            log.info("ZSet 大小统计，日榜：{}（Key：{}），周榜：{}（Key：{}）",
-                    daySize, dayKey, weekSize, weekKey);
+            if (rankProperties.isWindowEnabled()) {
+                added += seedCurrentBucket(ids);
+            } else {
+                added += redisUtils.zAddIfAbsentBatch(dayKey, ids, 0, TimeUnit.DAYS.toSeconds(TTL_DAY));
+                added += redisUtils.zAddIfAbsentBatch(weekKey, ids, 0, TimeUnit.DAYS.toSeconds(TTL_WEEK));
+            }
+            scanned += ids.size();
+            log.info("排行榜初始化进度：已处理 {} 篇，新增 {} 条，当前游标：{}", scanned, added, ids.get(ids.size() - 1));
 
-        } catch (Exception e) {
-            log.error("初始化所有文章到排行榜失败", e);
+            long nextId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize || nextId <= lastId) {
+                break;
+            }
+            lastId = nextId;
         }
+        return new long[]{scanned, added};
     }
 
     @Override
@@ -445,14 +596,8 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         if (articleId == null) {
             return;
         }
-        // 只从当前日期的日榜和周榜中删除
-        String dayKey = getDayKey(LocalDate.now());
-        String weekKey = getWeekKey(LocalDate.now());
-
-        redisUtils.zRemove(dayKey, articleId);
-        redisUtils.zRemove(weekKey, articleId);
-        log.info("已从排行榜删除文章，文章ID：{}，日榜Key：{}，周榜Key：{}",
-                articleId, dayKey, weekKey);
+        removeFromRanks(List.of(articleId));
+        log.info("已从排行榜删除文章，文章ID：{}", articleId);
     }
 
     // ==================== 私有辅助方法 ====================//
@@ -461,9 +606,12 @@ public class ArticleRankServiceImpl implements ArticleRankService {
      * 根据时间范围获取当前日期的 ZSet Key
      * 
      * @param period day 或 week
-     * @return 当前的 ZSet Key（如 hot:articles:zset:day:2026-01-28）
+     * @return 当前的 ZSet Key（如 hot:articles:zset:window:day 或 hot:articles:zset:day:2026-01-28）
      */
     private String getZSetKey(String period) {
+        if (rankProperties.isWindowEnabled()) {
+            return "week".equalsIgnoreCase(period) ? ZSET_KEY_WINDOW_WEEK : ZSET_KEY_WINDOW_DAY;
+        }
         LocalDate today = LocalDate.now();
         if ("week".equalsIgnoreCase(period)) {
             return getWeekKey(today);
@@ -581,6 +729,383 @@ public class ArticleRankServiceImpl implements ArticleRankService {
         }
     }
 
+    // ==================== 小时分桶滑动窗口 ====================//
+
+    @Override
+    public void refreshWindowBoards() {
+        if (!rankProperties.isWindowEnabled()) {
+            return;
+        }
+        if (acquireRefreshLease()) {
+            LocalDateTime now = LocalDateTime.now();
+            long daySize = refreshBoard(ZSET_KEY_WINDOW_DAY, rankProperties.getDay(), now);
+            long weekSize = refreshBoard(ZSET_KEY_WINDOW_WEEK, rankProperties.getWeek(), now);
+            List<String> boardKeys = new ArrayList<>(List.of(ZSET_KEY_WINDOW_DAY, ZSET_KEY_WINDOW_WEEK));
+            boardKeys.addAll(refreshScopeBoards(now));
+            pruneRemovedArticles(boardKeys);
+            log.debug("滑动窗口榜单重建完成，日榜：{}，周榜：{}", daySize, weekSize);
+        }
+        // 快照是实例内存，每个实例都从共享的物化榜单重建
+        refreshSnapshots();
+        hotArticleCacheEvictionService.evictAll();
+    }
+
+    /**
+     * 小时桶中保留着已移除文章的分数，重建后从物化榜单中剔除；移除时间早于小时桶过期时间的成员已无分数残留，一并裁剪
+     */
+    private void pruneRemovedArticles(List<String> boardKeys) {
+        long expiredBefore = System.currentTimeMillis() - rankProperties.bucketTtl().toMillis();
+        redisUtils.zRemoveRangeByScore(REMOVED_KEY, 0, expiredBefore);
+        Set<Long> removedIds = readRemovedIds();
+        if (!removedIds.isEmpty()) {
+            redisUtils.zRemoveBatch(boardKeys, removedIds);
+        }
+    }
+
+    @Override
+    public void syncRemovedArticles() {
+        if (!rankProperties.isWindowEnabled()) {
+            return;
+        }
+        Set<Long> removedIds = readRemovedIds();
+        Set<Long> previous = syncedRemovedIds;
+        syncedRemovedIds = removedIds;
+        List<Long> newlyRemoved = removedIds.stream()
+                .filter(articleId -> !previous.contains(articleId))
+                .toList();
+        if (!newlyRemoved.isEmpty()) {
+            // 移除实例已从物化榜单中删除这些文章，重建后快照按榜单顺序补足，不在读取时逐次过滤
+            refreshSnapshots();
+            hotArticleCacheEvictionService.evictAll();
+            log.debug("已同步其他实例移除的文章：{}", newlyRemoved);
+        }
+    }
+
+    /**
+     * 读取共享的已移除文章集合，读取失败时返回空集合
+     */
+    private Set<Long> readRemovedIds() {
+        return redisUtils.zReverseRangeWithScoresAsMap(REMOVED_KEY, 0, -1).keySet().stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 抢占本周期的重建租约（SET NX PX），租约略短于刷新间隔且不主动释放，
+     * 保证同一周期内只有一个实例重建榜单；持有实例下线后下个周期由其他实例接替
+     */
+    private boolean acquireRefreshLease() {
+        long leaseMs = Math.max(1000, rankProperties.getRefreshIntervalMs() - 1000);
+        return redisUtils.setStringIfAbsent(REFRESH_LEADER_KEY, instanceId, leaseMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 将窗口内的小时桶按衰减权重合并到物化榜单
+     */
+    private long refreshBoard(String boardKey, ArticleRankProperties.Board board, LocalDateTime now) {
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        List<Double> weights = windowWeights(board, now);
+        List<String> bucketKeys = new ArrayList<>(weights.size());
+        for (int i = 0; i < weights.size(); i++) {
+            bucketKeys.add(getHourKey(currentHour.minusHours(i)));
+        }
+        return redisUtils.zUnionStoreWeighted(boardKey, bucketKeys, weights,
+                rankProperties.getBoardTtl().toSeconds());
+    }
+
+    /**
+     * 窗口内第 i 个小时桶（0 为当前小时）的衰减权重 2^(-age / halfLife)
+     *
+     * age 取桶内行为距当前时刻的平均时长：当前小时为已过时长的一半，更早的桶为 i + 已过时长 - 0.5 小时。
+     * 合并结果即每篇文章当前时刻的衰减热度 Σ w·2^(-(now - t) / halfLife)，随刷新连续下降，整点前后不跳变；
+     * 榜单每次都由小时桶重新合并，分数不随时间增长，因此不需要以固定纪元为基准做对数存储。
+     * 关闭衰减时窗口内所有桶等权。
+     */
+    List<Double> windowWeights(ArticleRankProperties.Board board, LocalDateTime now) {
+        long hours = Math.max(1, board.getWindow().toHours());
+        double halfLifeHours = board.getHalfLife().toMillis() / (double) TimeUnit.HOURS.toMillis(1);
+        double elapsed = ChronoUnit.MILLIS.between(now.truncatedTo(ChronoUnit.HOURS), now)
+                / (double) TimeUnit.HOURS.toMillis(1);
+        List<Double> weights = new ArrayList<>((int) hours);
+        for (int i = 0; i < hours; i++) {
+            double age = i == 0 ? elapsed / 2 : i + elapsed - 0.5;
+            weights.add(rankProperties.isDecayEnabled() ? Math.pow(2, -age / halfLifeHours) : 1.0);
+        }
+        return weights;
+    }
+
+    /**
+     * 将窗口内各分类的小时桶按与全站榜单相同的衰减权重合并，每个榜单只保留前 scopeBoardSize 篇
+     * 维度取自 bucketTtl 内的活跃维度集合：窗口内已无行为的维度合并结果为空，对应榜单随之删除
+     *
+     * @return 本次重建的分类榜单 Key
+     */
+    private List<String> refreshScopeBoards(LocalDateTime now) {
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        long hours = rankProperties.bucketTtl().toHours();
+        List<String> scopeSetKeys = new ArrayList<>((int) hours);
+        for (int i = 0; i < hours; i++) {
+            scopeSetKeys.add(getHourKey(currentHour.minusHours(i)) + SCOPES_SUFFIX);
+        }
+        Set<String> scopes = redisUtils.sUnion(scopeSetKeys);
+        if (scopes.isEmpty()) {
+            return List.of();
+        }
+
+        int boardSize = Math.max(1, rankProperties.getScopeBoardSize());
+        long ttlSeconds = rankProperties.getBoardTtl().toSeconds();
+        List<String> scopeBoardKeys = new ArrayList<>(scopes.size() * 2);
+        for (String period : List.of("day", "week")) {
+            List<Double> weights = windowWeights(rankProperties.board(period), now);
+            for (String scope : scopes) {
+                List<String> bucketKeys = new ArrayList<>(weights.size());
+                for (int i = 0; i < weights.size(); i++) {
+                    bucketKeys.add(getHourKey(currentHour.minusHours(i)) + ":" + scope);
+                }
+                String scopeBoardKey = getZSetKey(period) + ":" + scope;
+                redisUtils.zUnionStoreWeighted(scopeBoardKey, bucketKeys, weights, boardSize, ttlSeconds);
+                scopeBoardKeys.add(scopeBoardKey);
+            }
+        }
+        log.debug("分类榜单刷新完成，维度数：{}", scopes.size());
+        return scopeBoardKeys;
+    }
+
+    /**
+     * 获取文章所属的分类维度（如 category:3），不区分文章状态，状态由读取端过滤
+     * 优先读取本地缓存，只为未命中的文章查询数据库；查询失败时不缓存，分数仍会写入全站小时桶
+     */
+    private Map<Long, List<String>> selectArticleScopes(Collection<Long> articleIds) {
+        Map<Long, List<String>> scopesOf = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long articleId : articleIds) {
+            List<String> cached = articleScopes == null ? null : articleScopes.getIfPresent(articleId);
+            if (cached == null) {
+                missing.add(articleId);
+            } else if (!cached.isEmpty()) {
+                scopesOf.put(articleId, cached);
+            }
+        }
+        if (missing.isEmpty()) {
+            return scopesOf;
+        }
+        try {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "category_id");
+            queryWrapper.in("id", missing);
+            Map<Long, List<String>> loaded = new HashMap<>();
+            for (Article article : articleMapper.selectList(queryWrapper)) {
+                loaded.put(article.getId(), article.getCategoryId() == null
+                        ? List.of() : List.of(SCOPE_CATEGORY + ":" + article.getCategoryId()));
+            }
+            for (Long articleId : missing) {
+                // 已删除的文章同样缓存为空，避免反复查询
+                List<String> scopes = loaded.getOrDefault(articleId, List.of());
+                if (articleScopes != null) {
+                    articleScopes.put(articleId, scopes);
+                }
+                if (!scopes.isEmpty()) {
+                    scopesOf.put(articleId, scopes);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("查询文章分类失败，跳过分类榜单：{}", e.getMessage());
+        }
+        return scopesOf;
+    }
+
+    @Override
+    public void evictArticleScopes(Long articleId) {
+        if (articleId != null && articleScopes != null) {
+            articleScopes.invalidate(articleId);
+        }
+    }
+
+    /**
+     * 获取分类榜单的 Key
+     *
+     * @return 如 hot:articles:zset:window:week:category:3
+     */
+    private String getScopeKey(String period, String scope, Long scopeId) {
+        return getZSetKey(period) + ":" + scope + ":" + scopeId;
+    }
+
+    /**
+     * 将分数增量写入当前小时桶，榜单在下次刷新时更新
+     * 开启缓冲时只在本地累加，由 ArticleRankScoreBuffer 定时批量刷入
+     */
+    private void addToCurrentBucket(Long articleId, double delta) {
+        String bucketKey = getHourKey(LocalDateTime.now());
+        if (rankProperties.isBufferEnabled()) {
+            rankScoreBuffer.add(bucketKey, articleId, delta);
+            return;
+        }
+        if (!writeBucketDeltas(bucketKey, Map.of(articleId, delta))) {
+            log.warn("文章热度写入小时桶失败，文章ID：{}，分数：{}，Key：{}", articleId, delta, bucketKey);
+        }
+    }
+
+    @Override
+    public boolean writeBucketDeltas(String bucketKey, Map<Long, Double> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        Map<String, Map<Long, Double>> increments = new HashMap<>();
+        increments.put(bucketKey, deltas);
+        Set<String> activeScopes = new HashSet<>();
+        selectArticleScopes(deltas.keySet()).forEach((articleId, scopes) -> {
+            for (String scope : scopes) {
+                increments.computeIfAbsent(bucketKey + ":" + scope, k -> new HashMap<>())
+                        .put(articleId, deltas.get(articleId));
+                activeScopes.add(scope);
+            }
+        });
+        return redisUtils.zIncrByBatch(increments, Map.of(bucketKey + SCOPES_SUFFIX, activeScopes),
+                rankProperties.bucketTtl().toSeconds());
+    }
+
+    /**
+     * 以 0 分将文章补入当前小时桶（ZADD NX，不覆盖本小时已累积的分数），返回新增数量
+     */
+    private long seedCurrentBucket(List<Long> articleIds) {
+        return redisUtils.zAddIfAbsentBatch(getHourKey(LocalDateTime.now()), articleIds, 0,
+                rankProperties.bucketTtl().toSeconds());
+    }
+
+    /**
+     * 为日榜/周榜重建已发布文章摘要快照，构建时发现的非发布文章会立即从榜单中移除
+     */
+    private void refreshSnapshots() {
+        int snapshotSize = Math.max(1, rankProperties.getSnapshotSize());
+        Set<Long> staleIds = new LinkedHashSet<>();
+        for (String boardKey : List.of(ZSET_KEY_WINDOW_DAY, ZSET_KEY_WINDOW_WEEK)) {
+            try {
+                LinkedHashMap<String, Double> idScoreMap =
+                        redisUtils.zReverseRangeWithScoresAsMap(boardKey, 0, snapshotSize - 1);
+                HotSnapshot snapshot = buildSnapshot(idScoreMap, snapshotSize, staleIds);
+                hotSnapshots.put(boardKey, snapshot);
+                log.debug("热门文章快照已重建，Key：{}，文章数：{}", boardKey, snapshot.articles().size());
+            } catch (Exception e) {
+                // 构建失败时丢弃快照，读取回退到逐页查询，避免长期返回过期数据
+                hotSnapshots.remove(boardKey);
+                log.error("热门文章快照重建失败，Key：{}", boardKey, e);
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            removeFromRanks(new ArrayList<>(staleIds));
+            log.warn("重建快照时发现 {} 篇非发布文章，已从排行榜移除：{}", staleIds.size(), staleIds);
+        }
+    }
+
+    /**
+     * 按榜单顺序组装已发布文章摘要，不存在或非发布的文章ID收集到 staleIds
+     */
+    private HotSnapshot buildSnapshot(LinkedHashMap<String, Double> idScoreMap, int snapshotSize, Set<Long> staleIds) {
+        if (idScoreMap.isEmpty()) {
+            return new HotSnapshot(List.of(), true);
+        }
+        List<Long> articleIds = idScoreMap.keySet().stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toList());
+
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(SNAPSHOT_COLUMNS);
+        queryWrapper.eq("status", Article.STATUS_PUBLISHED);
+        queryWrapper.in("id", articleIds);
+        Map<Long, Article> publishedMap = articleMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(Article::getId, a -> a, (a, b) -> a));
+
+        List<Article> orderedArticles = new ArrayList<>(publishedMap.size());
+        for (Long articleId : articleIds) {
+            Article article = publishedMap.get(articleId);
+            if (article == null) {
+                staleIds.add(articleId);
+            } else {
+                orderedArticles.add(article);
+            }
+        }
+
+        Map<Long, ArticleDTO> dtoMap = articleService.batchConvertToDTO(orderedArticles).stream()
+                .collect(Collectors.toMap(ArticleDTO::getId, d -> d, (a, b) -> a));
+        List<ArticleDTO> articles = new ArrayList<>(orderedArticles.size());
+        for (Article article : orderedArticles) {
+            ArticleDTO dto = dtoMap.get(article.getId());
+            if (dto == null) {
+                continue;
+            }
+            Double score = idScoreMap.get(String.valueOf(article.getId()));
+            dto.setHotScore(score != null ? score : 0.0);
+            // 快照被所有请求共享，不包含正文和任何用户私有状态
+            dto.setContent(null);
+            dto.setLiked(null);
+            dto.setFavorited(null);
+            articles.add(dto);
+        }
+        return new HotSnapshot(List.copyOf(articles), idScoreMap.size() < snapshotSize);
+    }
+
+    /**
+     * 从所有快照中移除指定文章（写时复制，读取方始终看到完整的列表）
+     */
+    private void removeFromSnapshots(List<Long> articleIds) {
+        Set<Long> removed = new HashSet<>(articleIds);
+        hotSnapshots.replaceAll((boardKey, snapshot) -> {
+            if (snapshot.articles().stream().noneMatch(dto -> removed.contains(dto.getId()))) {
+                return snapshot;
+            }
+            List<ArticleDTO> remaining = snapshot.articles().stream()
+                    .filter(dto -> !removed.contains(dto.getId()))
+                    .toList();
+            return new HotSnapshot(remaining, snapshot.complete());
+        });
+    }
+
+    private boolean isInSnapshot(Long articleId) {
+        return hotSnapshots.values().stream()
+                .anyMatch(snapshot -> snapshot.articles().stream().anyMatch(dto -> articleId.equals(dto.getId())));
+    }
+
+    /**
+     * 从当前榜单中移除文章
+     * 滑动窗口模式下保留小时桶中的分数（重新发布后随刷新恢复），记入共享的已移除集合并清理物化榜单和分类榜单，
+     * 其他实例同步该集合后重建本地快照，重建榜单后也据此剔除
+     */
+    private void removeFromRanks(List<Long> articleIds) {
+        removeFromSnapshots(articleIds);
+        if (!rankProperties.isWindowEnabled()) {
+            String dayKey = getZSetKey("day");
+            String weekKey = getZSetKey("week");
+            for (Long articleId : articleIds) {
+                redisUtils.zRemove(dayKey, articleId);
+                redisUtils.zRemove(weekKey, articleId);
+            }
+            return;
+        }
+        if (!redisUtils.zAddBatch(REMOVED_KEY, articleIds, System.currentTimeMillis(),
+                rankProperties.bucketTtl().toSeconds())) {
+            log.warn("记录已移除文章失败，其他实例的快照将在下次刷新后更新：{}", articleIds);
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(ZSET_KEY_WINDOW_DAY);
+        keys.add(ZSET_KEY_WINDOW_WEEK);
+        Set<String> scopes = new HashSet<>();
+        selectArticleScopes(articleIds).values().forEach(scopes::addAll);
+        for (String scope : scopes) {
+            keys.add(ZSET_KEY_WINDOW_DAY + ":" + scope);
+            keys.add(ZSET_KEY_WINDOW_WEEK + ":" + scope);
+        }
+        redisUtils.zRemoveBatch(keys, articleIds);
+    }
+
+    /**
+     * 获取小时桶的 Key
+     *
+     * @return 如 hot:articles:zset:hour:2026012814
+     */
+    private String getHourKey(LocalDateTime time) {
+        return ZSET_KEY_HOUR_PREFIX + time.format(HOUR_FORMATTER);
+    }
+
     // ==================== 便捷方法：按行为类型增加分数 ====================//
 
     /**
@@ -1,11 +1,25 @@
 package com.blog.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.blog.common.Result;
+import com.blog.config.SearchCacheProperties;
+import com.blog.config.SearchIndexProperties;
 import com.blog.dto.SearchRequestDTO;
 import com.blog.dto.SearchResultDTO;
 import com.blog.dto.SearchStatisticsDTO;
 import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.User;
 import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.UserMapper;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.ArticleTagLookup;
+import com.blog.search.HotSearchTracker;
+import com.blog.search.RelatedArticleIndex;
+import com.blog.search.SearchResultCache;
+import com.blog.search.SearchSuggester;
+import com.blog.search.SnippetExtractor;
 import com.blog.service.ArticleSearchService;
 import com.blog.utils.RedisCacheUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -14,11 +28,19 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 文章搜索服务实现类
+ *
+ * 全文索引（ArticleSearchIndex）构建完成后搜索与统计在进程内完成，不访问数据库；
+ * 索引未启用或尚未构建完成时回退到 MySQL 查询。
  */
 @Service
 @Slf4j
@@ -27,9 +49,44 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
     @Autowired
     private ArticleMapper articleMapper;
 
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
     @Autowired
     private RedisCacheUtils redisCacheUtils;
 
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private SearchIndexProperties searchIndexProperties;
+
+    @Autowired
+    private SearchSuggester searchSuggester;
+
+    @Autowired
+    private RelatedArticleIndex relatedArticleIndex;
+
+    @Autowired
+    private HotSearchTracker hotSearchTracker;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private SearchCacheProperties searchCacheProperties;
+
+    @Autowired
+    private ArticleTagLookup articleTagLookup;
+
+    // 索引需要的列表与全文字段
+    private static final String[] INDEX_COLUMNS = {"id", "title", "summary", "content", "cover_image", "author_id",
+            "category_id", "status", "view_count", "like_count", "comment_count", "favorite_count",
+            "publish_time", "create_time", "update_time"};
+
     @Override
     public Result<List<SearchResultDTO>> searchArticles(SearchRequestDTO searchRequestDTO) {
         log.info("搜索文章，关键词：{}", searchRequestDTO.getKeyword());
@@ -63,6 +120,11 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
             // Calculate offset for pagination
             int offset = (pageNum - 1) * pageSize;
 
+            // 热门搜索只统计首页请求，翻页不重复计数
+            if (offset == 0) {
+                hotSearchTracker.record(keyword);
+            }
+
             // Parse dates if provided
             LocalDateTime startDate = null;
             LocalDateTime endDate = null;
@@ -73,30 +135,38 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                 endDate = LocalDate.parse(endDateStr).atTime(23, 59, 59);
             }
 
+            if (useIndex()) {
+                ArticleSearchIndex.Filter filter = new ArticleSearchIndex.Filter(categoryId,
+                        tagIds != null ? Arrays.asList(tagIds) : null, authorId, startDate, endDate);
+                ArticleSearchIndex.Hits hits = searchIndexCached(keyword, searchScope, filter, sortBy, offset, pageSize);
+                log.info("全文索引搜索完成，命中 {} 篇，返回 {} 条", hits.total(), hits.hits().size());
+                // 只统计首页请求，翻页不重复计数
+                if (offset == 0 && hits.total() > 0 && keyword != null && !keyword.isBlank()) {
+                    searchSuggester.recordQuery(keyword);
+                }
+                return Result.success(hits.hits().stream()
+                        .map(hit -> convertToSearchResult(hit, keyword))
+                        .collect(Collectors.toList()));
+            }
+
             log.info("执行搜索 - 关键词: {}, 分类ID: {}, 作者ID: {}, 标签数量: {}, 搜索范围: {}, 排序方式: {}, 开始日期: {}, 结束日期: {}, 偏移: {}, 大小: {}", 
                     keyword, categoryId, authorId, tagIds != null ? tagIds.length : 0, searchScope, sortBy, startDateStr, endDateStr, offset, pageSize);
 
             // Perform advanced search using all parameters
-            List<Article> articles;
             Long tagId = (tagIds != null && tagIds.length > 0) ? tagIds[0] : null; // 使用第一个标签，后续可扩展为多标签
-            articles = articleMapper.advancedSearch(
-                keyword,
-                categoryId,
-                tagId,
-                authorId,
-                searchScope,
-                sortBy,
-                startDate,
-                endDate,
-                offset,
-                pageSize
-            );
+            LocalDateTime start = startDate;
+            LocalDateTime end = endDate;
+            List<Article> articles = searchResultCache.get("advancedSearch", SearchResultCache.parts(
+                    SearchResultCache.normalize(keyword), categoryId, tagId, authorId, searchScope, sortBy,
+                    startDate, endDate, offset, pageSize),
+                    () -> articleMapper.advancedSearch(keyword, categoryId, tagId, authorId, searchScope, sortBy,
+                            start, end, offset, pageSize));
             log.info("数据库查询完成，返回 {} 条记录", articles.size());
 
             // Convert articles to search results
             log.info("开始转换文章结果...");
             List<SearchResultDTO> searchResults = articles.stream()
-                    .map(this::convertToSearchResult)
+                    .map(article -> convertToSearchResult(article, keyword))
                     .collect(Collectors.toList());
             log.info("转换后的搜索结果数量: {}", searchResults.size());
 
@@ -120,6 +190,10 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                 limit = 10;
             }
 
+            if (searchSuggester.isReady()) {
+                return Result.success(searchSuggester.suggest(keyword.trim(), limit));
+            }
+
             List<String> suggestions = articleMapper.getSearchSuggestions(keyword.trim());
             return Result.success(suggestions);
         } catch (Exception e) {
@@ -136,6 +210,12 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                 limit = 10;
             }
 
+            List<String> tracked = hotSearchTracker.getHotKeywords(limit);
+            if (!tracked.isEmpty()) {
+                return Result.success(tracked);
+            }
+
+            // 尚无搜索统计时（新部署或 Redis 不可用）回退到浏览量最高的文章标题
             List<String> hotKeywords = articleMapper.getHotSearchKeywords(limit);
             return Result.success(hotKeywords);
         } catch (Exception e) {
@@ -148,19 +228,36 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
     public Result<SearchStatisticsDTO> getSearchStatistics(String keyword, Long categoryId, List<Long> tagIds) {
         log.info("获取搜索统计");
         try {
+            long start = System.currentTimeMillis();
             SearchStatisticsDTO stats = new SearchStatisticsDTO();
-            long total = articleMapper.countAdvancedSearch(
-                keyword,
-                categoryId,
-                tagIds != null && !tagIds.isEmpty() ? tagIds.get(0) : null,
-                null, // authorId
-                "all", // searchScope
-                null, // startDate
-                null // endDate
-            );
+            if (useIndex()) {
+                // 总数与各分面计数来自同一次索引检索，不再逐个分面值查询数据库
+                ArticleSearchIndex.Filter filter = new ArticleSearchIndex.Filter(categoryId, tagIds, null, null, null);
+                ArticleSearchIndex.Hits hits = searchResultCache.get("facets", SearchResultCache.parts(
+                        SearchResultCache.normalize(keyword), filter),
+                        () -> searchIndex.search(keyword, "all", filter, null, 0, 0, true));
+                stats.setTotalResults(hits.total());
+                stats.setKeyword(keyword);
+                fillFacets(stats, hits.facets());
+                stats.setSearchTime(System.currentTimeMillis() - start);
+                return Result.success(stats);
+            }
+            Long tagId = tagIds != null && !tagIds.isEmpty() ? tagIds.get(0) : null;
+            long total = searchResultCache.get("countAdvancedSearch", SearchResultCache.parts(
+                    SearchResultCache.normalize(keyword), categoryId, tagId),
+                    () -> articleMapper.countAdvancedSearch(
+                            keyword,
+                            categoryId,
+                            tagId,
+                            null, // authorId
+                            "all", // searchScope
+                            null, // startDate
+                            null // endDate
+                    ));
 
             stats.setTotalResults(total);
             stats.setKeyword(keyword);
+            stats.setSearchTime(System.currentTimeMillis() - start);
 
             return Result.success(stats);
         } catch (Exception e) {
@@ -188,7 +285,7 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
             List<Article> articles = articleMapper.selectByAuthorId(authorId, offset, pageSize);
 
             List<SearchResultDTO> searchResults = articles.stream()
-                    .map(this::convertToSearchResult)
+                    .map(article -> convertToSearchResult(article, null))
                     .collect(Collectors.toList());
 
             return Result.success(searchResults);
@@ -201,45 +298,236 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
     @Override
     public Result<Void> rebuildSearchIndex() {
         log.info("重建搜索索引");
-        // In a real implementation, this would rebuild the search index
-        // For now, we'll just log the action
-        return Result.success(null);
+        if (!searchIndexProperties.isEnabled()) {
+            return Result.success(null);
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int batchSize = Math.max(1, searchIndexProperties.getRebuildBatchSize());
+            List<ArticleSearchIndex.IndexedArticle> articles = new ArrayList<>();
+            long lastId = 0;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select(INDEX_COLUMNS);
+                queryWrapper.eq("status", Article.STATUS_PUBLISHED);
+                queryWrapper.gt("id", lastId);
+                queryWrapper.orderByAsc("id");
+                queryWrapper.last("LIMIT " + batchSize);
+                List<Article> chunk = articleMapper.selectList(queryWrapper);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<Long>> tagsOf = articleTagLookup.select(chunk.stream().map(Article::getId).toList());
+                for (Article article : chunk) {
+                    articles.add(ArticleSearchIndex.IndexedArticle.of(article, tagsOf.get(article.getId())));
+                }
+                long nextId = chunk.get(chunk.size() - 1).getId();
+                if (chunk.size() < batchSize || nextId <= lastId) {
+                    break;
+                }
+                lastId = nextId;
+            }
+            searchIndex.replaceAll(articles);
+            log.info("搜索索引重建完成，文章数：{}，耗时：{}ms", articles.size(), System.currentTimeMillis() - start);
+            searchSuggester.rebuild();
+            relatedArticleIndex.rebuild();
+            return Result.success(null);
+        } catch (Exception e) {
+            log.error("重建搜索索引失败", e);
+            return Result.error("重建搜索索引失败");
+        }
     }
 
     @Override
     public Result<Void> addArticleToIndex(Long articleId) {
         log.info("添加文章到搜索索引，文章ID：{}", articleId);
-        // In a real implementation, this would add an article to the search index
-        // For now, we'll just log the action
-        return Result.success(null);
+        return indexArticle(articleId);
     }
 
     @Override
     public Result<Void> removeArticleFromIndex(Long articleId) {
         log.info("从搜索索引中删除文章，文章ID：{}", articleId);
-        // In a real implementation, this would remove an article from the search index
-        // For now, we'll just log the action
+        if (articleId != null) {
+            searchIndex.remove(articleId);
+            searchSuggester.removeArticle(articleId);
+        }
         return Result.success(null);
     }
 
     @Override
     public Result<Void> updateArticleInIndex(Long articleId) {
         log.info("更新搜索索引中的文章，文章ID：{}", articleId);
-        // In a real implementation, this would update an article in the search index
-        // For now, we'll just log the action
-        return Result.success(null);
+        return indexArticle(articleId);
+    }
+
+    /**
+     * 按数据库当前状态同步单篇文章：已发布则写入索引，否则从索引移除
+     */
+    private Result<Void> indexArticle(Long articleId) {
+        if (articleId == null) {
+            return Result.error("文章ID不能为空");
+        }
+        return syncArticlesToIndex(List.of(articleId));
+    }
+
+    @Override
+    public Result<Void> syncArticlesToIndex(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty() || !searchIndexProperties.isEnabled()) {
+            return Result.success(null);
+        }
+        try {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select(INDEX_COLUMNS);
+            queryWrapper.in("id", articleIds);
+            Map<Long, Article> published = new HashMap<>();
+            for (Article article : articleMapper.selectList(queryWrapper)) {
+                if (Integer.valueOf(Article.STATUS_PUBLISHED).equals(article.getStatus())) {
+                    published.put(article.getId(), article);
+                }
+            }
+            Map<Long, List<Long>> tagsOf = articleTagLookup.select(published.keySet());
+            for (Long articleId : articleIds) {
+                Article article = published.get(articleId);
+                if (article != null) {
+                    ArticleSearchIndex.IndexedArticle indexed = ArticleSearchIndex.IndexedArticle.of(article, tagsOf.get(articleId));
+                    searchIndex.upsert(indexed);
+                    searchSuggester.upsertArticle(articleId, article.getTitle(), article.getViewCount());
+                    relatedArticleIndex.upsertArticle(indexed);
+                } else {
+                    searchIndex.remove(articleId);
+                    searchSuggester.removeArticle(articleId);
+                    relatedArticleIndex.removeArticle(articleId);
+                }
+            }
+            log.debug("同步文章到搜索索引完成，文章数：{}，已发布：{}", articleIds.size(), published.size());
+            return Result.success(null);
+        } catch (Exception e) {
+            log.error("同步文章到搜索索引失败，文章数：{}", articleIds.size(), e);
+            return Result.error("同步搜索索引失败");
+        }
+    }
+
+    private boolean useIndex() {
+        return searchIndexProperties.isEnabled() && searchIndex.isReady();
+    }
+
+    /**
+     * 分面计数按数量降序（月份按时间倒序）截取前 facetSize 项，并批量补充分类名称与作者昵称
+     */
+    private void fillFacets(SearchStatisticsDTO stats, ArticleSearchIndex.Facets facets) {
+        int facetSize = Math.max(1, searchIndexProperties.getFacetSize());
+
+        List<Map.Entry<Long, Long>> categories = topCounts(facets.categories(), facetSize);
+        Map<Long, String> categoryNames = new HashMap<>();
+        if (!categories.isEmpty()) {
+            for (Category category : categoryMapper.selectBatchIds(categories.stream().map(Map.Entry::getKey).toList())) {
+                categoryNames.put(category.getId(), category.getName());
+            }
+        }
+        stats.setCategoryCounts(categories.stream().map(entry -> {
+            SearchStatisticsDTO.CategoryCountDTO dto = new SearchStatisticsDTO.CategoryCountDTO();
+            dto.setCategoryId(entry.getKey());
+            dto.setCategoryName(categoryNames.get(entry.getKey()));
+            dto.setCount(entry.getValue());
+            return dto;
+        }).toArray(SearchStatisticsDTO.CategoryCountDTO[]::new));
+
+        stats.setTagCounts(topCounts(facets.tags(), facetSize).stream().map(entry -> {
+            SearchStatisticsDTO.TagCountDTO dto = new SearchStatisticsDTO.TagCountDTO();
+            dto.setTagId(entry.getKey());
+            dto.setCount(entry.getValue());
+            return dto;
+        }).toArray(SearchStatisticsDTO.TagCountDTO[]::new));
+
+        List<Map.Entry<Long, Long>> authors = topCounts(facets.authors(), facetSize);
+        Map<Long, String> authorNames = new HashMap<>();
+        if (!authors.isEmpty()) {
+            for (User user : userMapper.selectBatchIds(authors.stream().map(Map.Entry::getKey).toList())) {
+                authorNames.put(user.getId(), user.getNickname());
+            }
+        }
+        stats.setAuthorCounts(authors.stream().map(entry -> {
+            SearchStatisticsDTO.AuthorCountDTO dto = new SearchStatisticsDTO.AuthorCountDTO();
+            dto.setAuthorId(entry.getKey());
+            dto.setAuthorName(authorNames.get(entry.getKey()));
+            dto.setCount(entry.getValue());
+            return dto;
+        }).toArray(SearchStatisticsDTO.AuthorCountDTO[]::new));
+
+        stats.setTimeCounts(facets.months().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByKey().reversed())
+                .limit(facetSize)
+                .map(entry -> {
+                    SearchStatisticsDTO.TimeCountDTO dto = new SearchStatisticsDTO.TimeCountDTO();
+                    dto.setTimeRange(entry.getKey());
+                    dto.setCount(entry.getValue());
+                    return dto;
+                }).toArray(SearchStatisticsDTO.TimeCountDTO[]::new));
+    }
+
+    private static List<Map.Entry<Long, Long>> topCounts(Map<Long, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 经结果缓存查询全文索引：一次缓存前 windowSize 条命中，窗口内的翻页直接切片，超出窗口时直接查询索引
+     */
+    private ArticleSearchIndex.Hits searchIndexCached(String keyword, String scope, ArticleSearchIndex.Filter filter,
+                                                      String sortBy, int offset, int limit) {
+        int windowSize = searchCacheProperties.getWindowSize();
+        if ((long) offset + limit > windowSize) {
+            return searchIndex.search(keyword, scope, filter, sortBy, offset, limit);
+        }
+        ArticleSearchIndex.Hits window = searchResultCache.get("index", SearchResultCache.parts(
+                SearchResultCache.normalize(keyword), scope, filter, sortBy),
+                () -> searchIndex.search(keyword, scope, filter, sortBy, 0, windowSize));
+        List<ArticleSearchIndex.Hit> hits = window.hits();
+        int from = Math.min(offset, hits.size());
+        return new ArticleSearchIndex.Hits(window.total(), hits.subList(from, Math.min(from + limit, hits.size())));
+    }
+
+    /**
+     * 将索引命中转换为搜索结果
+     */
+    private SearchResultDTO convertToSearchResult(ArticleSearchIndex.Hit hit, String keyword) {
+        ArticleSearchIndex.IndexedArticle article = hit.article();
+        SearchResultDTO result = new SearchResultDTO();
+        result.setArticleId(article.id());
+        result.setTitle(article.title());
+        result.setSummary(article.summary());
+        applySnippet(result, article.title(), article.content(), keyword);
+        result.setCoverImage(article.coverImage());
+        result.setAuthorId(article.authorId());
+        result.setCategoryId(article.categoryId());
+        // 合并Redis浏览量
+        int dbViewCount = article.viewCount() != null ? article.viewCount() : 0;
+        result.setViewCount(dbViewCount + redisCacheUtils.getArticleRedisViewCount(article.id()));
+        result.setLikeCount(article.likeCount());
+        result.setCommentCount(article.commentCount());
+        result.setFavoriteCount(article.favoriteCount());
+        if (article.publishTime() != null) {
+            result.setPublishTime(article.publishTime().toString());
+        } else if (article.createTime() != null) {
+            result.setPublishTime(article.createTime().toString());
+        }
+        result.setRelevanceScore(hit.score());
+        result.setMatchedField(hit.matchedField());
+        return result;
     }
 
     /**
      * Convert Article entity to SearchResultDTO
      */
-    private SearchResultDTO convertToSearchResult(Article article) {
+    private SearchResultDTO convertToSearchResult(Article article, String keyword) {
         SearchResultDTO result = new SearchResultDTO();
         // Manually map the properties since some fields might not match exactly
         result.setArticleId(article.getId());
         result.setTitle(article.getTitle());
         result.setSummary(article.getSummary());
-        result.setContent(article.getContent());
+        applySnippet(result, article.getTitle(), article.getContent(), keyword);
         result.setCoverImage(article.getCoverImage());
         result.setAuthorId(article.getAuthorId());
         result.setCategoryId(article.getCategoryId());
@@ -264,4 +552,15 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
         return result;
     }
 
+    /**
+     * 正文只返回与关键词最相关的片段，并附带正文片段与标题的高亮区间
+     */
+    private void applySnippet(SearchResultDTO result, String title, String content, String keyword) {
+        SnippetExtractor.Snippet snippet = SnippetExtractor.extract(content, keyword,
+                searchIndexProperties.getSnippetLength());
+        result.setContent(snippet.text());
+        result.setHighlights(snippet.highlights());
+        result.setTitleHighlights(SnippetExtractor.highlights(title, keyword));
+    }
+
 }
\ No newline at end of file
@@ -7,11 +7,16 @@ import com.blog.common.PageResult;
 import com.blog.common.Result;
 import com.blog.dto.ArticleCreateDTO;
 import com.blog.dto.ArticleDTO;
+import com.blog.dto.ArticleSummaryDTO;
 import com.blog.dto.CategoryDTO;
 import com.blog.entity.*;
 import com.blog.exception.BusinessException;
 
 import com.blog.mapper.*;
+import com.blog.search.ArticleFilterIndex;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.RelatedArticleIndex;
+import com.blog.service.ArticleRankService;
 import com.blog.service.ArticleService;
 import com.blog.service.FileUploadService;
 import com.blog.service.UserService;
@@ -40,6 +45,7 @@ import com.blog.service.ArticleStatisticsService;
 import com.blog.service.ContentModerationService;
 import com.blog.service.NotificationService;
 import com.blog.service.SensitiveWordService;
+import com.blog.event.ArticleChangedEvent;
 import com.blog.event.ModerationEvent;
 
 /**
@@ -103,9 +109,15 @@ public class ArticleServiceImpl implements ArticleService {
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
+    @Autowired
+    private ArticleFilterIndex articleFilterIndex;
+
+    @Autowired
+    private RelatedArticleIndex relatedArticleIndex;
+
     @Override
     public Result<PageResult<ArticleDTO>> getArticleList(Integer page, Integer size, String keyword,
-            Long categoryId, Long tagId, Integer status, Long authorId, String sortBy) {
+            Long categoryId, Long tagId, String tags, Integer status, Long authorId, String sortBy) {
         // 公共列表始终仅展示已发布文章；草稿和下线文章由管理员接口查询。
         Integer effectiveStatus = Article.STATUS_PUBLISHED;
         log.info("获取文章列表，页码：{}，页大小：{}，关键词：{}，分类ID：{}，状态：{}，作者ID：{}，排序方式：{}", page, size, keyword, categoryId,
@@ -122,42 +134,77 @@ public class ArticleServiceImpl implements ArticleService {
             size = 100;
         }
 
-        Page<Article> pageObj = PageUtils.createPage(page, size);
-        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
+        List<Article> articles;
+        long total;
+        boolean filtered = categoryId != null || tagId != null || authorId != null || StringUtils.hasText(tags);
+        if (!StringUtils.hasText(keyword) && filtered && articleFilterIndex.isReady()) {
+            // 无关键词且带筛选条件时由筛选位图求出当前页的文章ID，再按ID批量查询，不再执行标签子查询
+            // 不带筛选条件的默认列表直接由数据库分页，避免每次请求在读锁内对全部文章做堆排序
+            // 分类页按热度排序时，分类热门榜单中的文章按热度排在最前，其余文章按浏览量接在后面
+            List<Long> hotIds = List.of();
+            if ("popular".equals(sortBy) && categoryId != null && tagId == null && authorId == null
+                    && !StringUtils.hasText(tags)) {
+                hotIds = articleRankService.getScopedHotArticleIds(ArticleRankService.SCOPE_CATEGORY, categoryId, "week");
+            }
+            ArticleFilterIndex.Filter filter = new ArticleFilterIndex.Filter(effectiveStatus, categoryId, authorId, tagId, tags);
+            ArticleFilterIndex.Matches matches;
+            try {
+                matches = queryFilterIndex(filter, sortBy, hotIds, (page - 1) * size, size);
+            } catch (IllegalArgumentException e) {
+                return BusinessUtils.error(e.getMessage());
+            }
+            articles = selectArticlesInOrder(matches.ids(), effectiveStatus);
+            if (articles.size() < matches.ids().size()) {
+                // 位图尚未同步的删除/下线文章被跳过时，按数据库刷新这些文章后重新分页，使页大小与总数一致
+                Set<Long> foundIds = articles.stream().map(Article::getId).collect(Collectors.toSet());
+                articleFilterIndex.refresh(matches.ids().stream().filter(id -> !foundIds.contains(id)).toList());
+                matches = queryFilterIndex(filter, sortBy, hotIds, (page - 1) * size, size);
+                articles = selectArticlesInOrder(matches.ids(), effectiveStatus);
+            }
+            total = matches.total();
+        } else if (StringUtils.hasText(tags)) {
+            // 数据库查询只支持单个标签，组合筛选依赖位图
+            return BusinessUtils.error(StringUtils.hasText(keyword)
+                    ? "关键词搜索暂不支持标签组合筛选" : "标签组合筛选暂不可用，请稍后重试");
+        } else {
+            Page<Article> pageObj = PageUtils.createPage(page, size);
+            LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
 
-        if (categoryId != null) {
-            queryWrapper.eq(Article::getCategoryId, categoryId);
-        }
+            if (categoryId != null) {
+                queryWrapper.eq(Article::getCategoryId, categoryId);
+            }
 
-        if (tagId != null) {
-            queryWrapper.apply("id IN (SELECT article_id FROM article_tags WHERE tag_id = {0})", tagId);
-        }
+            if (tagId != null) {
+                queryWrapper.apply("id IN (SELECT article_id FROM article_tags WHERE tag_id = {0})", tagId);
+            }
 
-        queryWrapper.eq(Article::getStatus, effectiveStatus);
+            queryWrapper.eq(Article::getStatus, effectiveStatus);
 
-        if (authorId != null) {
-            queryWrapper.eq(Article::getAuthorId, authorId);
-        }
+            if (authorId != null) {
+                queryWrapper.eq(Article::getAuthorId, authorId);
+            }
 
-        queryWrapper.orderByDesc(Article::getIsTop);
+            queryWrapper.orderByDesc(Article::getIsTop);
 
-        if ("popular".equals(sortBy)) {
-            queryWrapper.orderByDesc(Article::getViewCount);
-        } else {
-            queryWrapper.orderByDesc(Article::getPublishTime);
-        }
+            if ("popular".equals(sortBy)) {
+                queryWrapper.orderByDesc(Article::getViewCount);
+            } else {
+                queryWrapper.orderByDesc(Article::getPublishTime);
+            }
 
-        IPage<Article> articlePage;
-        if (StringUtils.hasText(keyword)) {
-            articlePage = articleMapper.selectPublishedByFulltext(pageObj, effectiveStatus, keyword, categoryId, authorId, tagId);
-        } else {
-            articlePage = articleMapper.selectPage(pageObj, queryWrapper);
+            IPage<Article> articlePage;
+            if (StringUtils.hasText(keyword)) {
+                articlePage = articleMapper.selectPublishedByFulltext(pageObj, effectiveStatus, keyword, categoryId, authorId, tagId);
+            } else {
+                articlePage = articleMapper.selectPage(pageObj, queryWrapper);
+            }
+            articles = articlePage.getRecords();
+            total = articlePage.getTotal();
         }
-        List<Article> articles = articlePage.getRecords();
         Map<Long, Double> popularScoreMap = Collections.emptyMap();
 
-        if ("popular".equals(sortBy) && categoryId == null && tagId == null && !StringUtils.hasText(keyword)
-                && authorId == null) {
+        if ("popular".equals(sortBy) && categoryId == null && tagId == null && !StringUtils.hasText(tags)
+                && !StringUtils.hasText(keyword) && authorId == null) {
             List<Long> articleIds = articles.stream()
                     .map(Article::getId)
                     .collect(Collectors.toList());
@@ -187,8 +234,8 @@ public class ArticleServiceImpl implements ArticleService {
 
         List<ArticleDTO> articleDTOs = this.batchConvertToDTO(articles);
 
-        if ("popular".equals(sortBy) && categoryId == null && tagId == null && !StringUtils.hasText(keyword)
-                && authorId == null) {
+        if ("popular".equals(sortBy) && categoryId == null && tagId == null && !StringUtils.hasText(tags)
+                && !StringUtils.hasText(keyword) && authorId == null) {
             for (ArticleDTO dto : articleDTOs) {
                 Double score = popularScoreMap.get(dto.getId());
                 if (score != null) {
@@ -199,7 +246,7 @@ public class ArticleServiceImpl implements ArticleService {
 
         PageResult<ArticleDTO> pageResult = PageResult.of(
                 articleDTOs,
-                articlePage.getTotal(),
+                total,
                 page,
                 size);
 
@@ -245,6 +292,13 @@ public class ArticleServiceImpl implements ArticleService {
             int redisViewCount = redisCacheUtils.getArticleRedisViewCount(articleId);
             dto.setViewCount(dbViewCount + redisViewCount);
 
+            // 相关文章离线计算，这里只按文章ID读取一次，摘要信息直接取自全文索引
+            if (article.getStatus() == Article.STATUS_PUBLISHED) {
+                dto.setRelatedArticles(relatedArticleIndex.related(articleId).stream()
+                        .map(this::toRelatedSummary)
+                        .toList());
+            }
+
             return BusinessUtils.success(dto);
         } catch (RuntimeException e) {
             log.error("获取文章详情失败", e);
@@ -297,6 +351,7 @@ public class ArticleServiceImpl implements ArticleService {
                 return BusinessUtils.error("创建文章失败");
             }
 
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, article.getId(), ArticleChangedEvent.ChangeType.CREATED));
             String submissionToken = moderationSubmissionService.submitNew(article);
             eventPublisher.publishEvent(new ModerationEvent(this, submissionToken));
             log.info("文章已保存为草稿，发布异步审核事件: articleId={}", article.getId());
@@ -347,13 +402,10 @@ public class ArticleServiceImpl implements ArticleService {
             BusinessUtils.setUpdateTime(article);
             int result = articleMapper.updateById(article);
             if (result <= 0) return BusinessUtils.error("更新文章失败");
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, articleId, ArticleChangedEvent.ChangeType.UPDATED));
 
             // 清除推荐文章缓存，确保数据一致性
-            Set<String> recommendedArticleKeys = redisUtils.scanKeys("recommended:articles:*");
-            if (recommendedArticleKeys != null && !recommendedArticleKeys.isEmpty()) {
-                redisUtils.delete(recommendedArticleKeys);
-                log.info("成功清除推荐文章缓存，数量：{}", recommendedArticleKeys.size());
-            }
+            redisUtils.invalidateNamespace(RedisCacheUtils.RECOMMENDED_ARTICLES_NAMESPACE);
 
             if (article.getStatus() == Article.STATUS_DRAFT) {
                 String submissionToken = moderationSubmissionService.submitNew(article);
@@ -386,6 +438,7 @@ public class ArticleServiceImpl implements ArticleService {
             if (result <= 0) {
                 return BusinessUtils.error("删除文章失败");
             }
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, articleId, ArticleChangedEvent.ChangeType.DELETED));
 
             try {
                 int likeCleaned = userLikeMapper.deleteByArticleId(articleId);
@@ -404,11 +457,7 @@ public class ArticleServiceImpl implements ArticleService {
             }
 
             // 清除推荐文章缓存，确保数据一致性
-            Set<String> recommendedArticleKeys = redisUtils.scanKeys("recommended:articles:*");
-            if (recommendedArticleKeys != null && !recommendedArticleKeys.isEmpty()) {
-                redisUtils.delete(recommendedArticleKeys);
-                log.info("成功清除推荐文章缓存，数量：{}", recommendedArticleKeys.size());
-            }
+            redisUtils.invalidateNamespace(RedisCacheUtils.RECOMMENDED_ARTICLES_NAMESPACE);
 
             return BusinessUtils.success();
         } catch (RuntimeException e) {
@@ -524,6 +573,35 @@ public class ArticleServiceImpl implements ArticleService {
         }
     }
 
+    /**
+     * 查询筛选位图，有分类/标签热门榜单时榜单中的文章按热度排在最前
+     */
+    private ArticleFilterIndex.Matches queryFilterIndex(ArticleFilterIndex.Filter filter, String sortBy,
+                                                        List<Long> hotIds, int offset, int limit) {
+        return hotIds.isEmpty()
+                ? articleFilterIndex.query(filter, "popular".equals(sortBy), offset, limit)
+                : articleFilterIndex.query(filter, true, hotIds, offset, limit);
+    }
+
+    /**
+     * 按ID批量查询文章并保持给定顺序，位图刷新前已被删除或状态已变化的文章直接跳过
+     */
+    private List<Article> selectArticlesInOrder(List<Long> articleIds, Integer status) {
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Article> articleMap = articleMapper.selectBatchIds(articleIds).stream()
+                .collect(Collectors.toMap(Article::getId, a -> a));
+        List<Article> articles = new ArrayList<>(articleIds.size());
+        for (Long articleId : articleIds) {
+            Article article = articleMap.get(articleId);
+            if (article != null && Objects.equals(article.getStatus(), status)) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
+
     @Override
     public Result<String> uploadCoverImage(MultipartFile file) {
         log.info("上传封面图片");
@@ -613,12 +691,12 @@ public class ArticleServiceImpl implements ArticleService {
         log.info("获取推荐文章，数量限制：{}", limit);
 
         // 尝试从Redis缓存获取
-        String cacheKey = "recommended:articles:" + limit;
+        String cacheKey = redisUtils.namespacedKey(RedisCacheUtils.RECOMMENDED_ARTICLES_NAMESPACE, limit);
         log.info("尝试从Redis缓存获取推荐文章，缓存键：{}", cacheKey);
         List<ArticleDTO> recommendedArticles = null;
 
         try {
-            recommendedArticles = redisUtils.get(cacheKey);
+            recommendedArticles = cacheKey != null ? redisUtils.get(cacheKey) : null;
             if (recommendedArticles != null) {
                 log.info("从Redis缓存获取推荐文章成功，数量：{}", recommendedArticles.size());
                 return BusinessUtils.success(recommendedArticles);
@@ -640,7 +718,7 @@ public class ArticleServiceImpl implements ArticleService {
         recommendedArticles = this.batchConvertToDTO(articles);
 
         // 写入Redis缓存，设置1小时过期时间（仅缓存非空列表，避免空数组反序列化问题）
-        if (!recommendedArticles.isEmpty()) {
+        if (cacheKey != null && !recommendedArticles.isEmpty()) {
             try {
                 boolean setResult = redisUtils.set(cacheKey, recommendedArticles, 1, TimeUnit.HOURS);
                 if (setResult) {
@@ -663,6 +741,25 @@ public class ArticleServiceImpl implements ArticleService {
         return list.isEmpty() ? new ArticleDTO() : list.get(0);
     }
 
+    private ArticleSummaryDTO toRelatedSummary(ArticleSearchIndex.IndexedArticle article) {
+        ArticleSummaryDTO summary = new ArticleSummaryDTO();
+        summary.setId(article.id());
+        summary.setTitle(article.title());
+        summary.setSummary(article.summary());
+        summary.setCoverImage(article.coverImage());
+        summary.setStatus(Article.STATUS_PUBLISHED);
+        summary.setViewCount(article.viewCount());
+        summary.setLikeCount(article.likeCount());
+        summary.setCommentCount(article.commentCount());
+        summary.setFavoriteCount(article.favoriteCount());
+        summary.setAuthorId(article.authorId());
+        summary.setCategoryId(article.categoryId());
+        summary.setPublishTime(article.publishTime());
+        summary.setCreateTime(article.createTime());
+        summary.setUpdateTime(article.updateTime());
+        return summary;
+    }
+
     /**
      * 批量转换文章为DTO（优化N+1查询）
      * 
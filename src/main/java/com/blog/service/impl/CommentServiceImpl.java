@@ -46,7 +46,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -197,9 +196,11 @@ public class CommentServiceImpl implements CommentService {
             }
 
             // 尝试从缓存获取
-            String cacheKey = RedisCacheUtils.generateCommentListKey(articleId, page, size, sortBy);
             // 带用户ID的缓存不使用全局缓存，避免不同用户看到相同的点赞状态
-            Object cachedData = userId == null ? redisCacheUtils.getCache(cacheKey) : null;
+            String cacheKey = userId == null
+                    ? redisUtils.namespacedKey(RedisCacheUtils.commentListNamespace(articleId), page, size, sortBy)
+                    : null;
+            Object cachedData = cacheKey != null ? redisCacheUtils.getCache(cacheKey) : null;
             if (cachedData != null) {
                 try {
                     @SuppressWarnings("unchecked")
@@ -286,7 +287,7 @@ public class CommentServiceImpl implements CommentService {
             }
 
             // 缓存结果，有效期1小时（仅当没有用户ID时缓存）
-            if (userId == null) {
+            if (cacheKey != null) {
                 redisCacheUtils.setCache(cacheKey, rootComments, 1, TimeUnit.HOURS);
             }
 
@@ -968,12 +969,8 @@ public class CommentServiceImpl implements CommentService {
         String hotCacheKey = RedisCacheUtils.generateHotCommentsKey(articleId);
         redisCacheUtils.deleteCache(hotCacheKey);
 
-        // 清除评论列表缓存（使用 SCAN 命令安全删除）
-        String listPattern = RedisCacheUtils.COMMENT_LIST_KEY_PREFIX + articleId + ":*";
-        Set<String> listKeys = redisUtils.scanKeys(listPattern);
-        if (listKeys != null && !listKeys.isEmpty()) {
-            redisUtils.delete(listKeys);
-            log.debug("清除评论列表缓存，文章ID: {}, 清除数量: {}", articleId, listKeys.size());
-        }
+        // 清除评论列表缓存（递增命名空间代际，旧分页缓存随 TTL 自然过期）
+        long generation = redisUtils.invalidateNamespace(RedisCacheUtils.commentListNamespace(articleId));
+        log.debug("清除评论列表缓存，文章ID: {}, 新代际: {}", articleId, generation);
     }
 }
@@ -4,6 +4,9 @@ import com.blog.common.Result;
 import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.mapper.ArticleMapper;
+import com.blog.search.HotSearchTracker;
+import com.blog.search.SearchResultCache;
+import com.blog.search.SearchSuggester;
 import com.blog.service.SearchService;
 import com.blog.utils.BusinessUtils;
 import com.blog.utils.PageUtils;
@@ -28,6 +31,15 @@ public class SearchServiceImpl implements SearchService {
     @Autowired
     private ArticleMapper articleMapper;
 
+    @Autowired
+    private SearchSuggester searchSuggester;
+
+    @Autowired
+    private HotSearchTracker hotSearchTracker;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     @Override
     public Result<List<ArticleDTO>> searchArticles(String keyword, Integer page, Integer size) {
         try {
@@ -120,9 +132,15 @@ public class SearchServiceImpl implements SearchService {
                 end = LocalDate.parse(endDate, formatter).atTime(23, 59, 59);
             }
 
-            List<Article> articles = articleMapper.advancedSearch(keyword, categoryId, tagId, authorId, 
-                                                                 "all", "time", start, end, 
-                                                                 (page - 1) * size, size);
+            LocalDateTime startTime = start;
+            LocalDateTime endTime = end;
+            int offset = (page - 1) * size;
+            // 与文章搜索服务共用同一键空间，相同条件的查询可以互相命中
+            List<Article> articles = searchResultCache.get("advancedSearch", SearchResultCache.parts(
+                    SearchResultCache.normalize(keyword), categoryId, tagId, authorId, "all", "time",
+                    startTime, endTime, offset, size),
+                    () -> articleMapper.advancedSearch(keyword, categoryId, tagId, authorId,
+                            "all", "time", startTime, endTime, offset, size));
             List<ArticleDTO> articleDTOList = articles.stream()
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
@@ -141,6 +159,10 @@ public class SearchServiceImpl implements SearchService {
                 return Result.success(List.of());
             }
 
+            if (searchSuggester.isReady()) {
+                return Result.success(searchSuggester.suggest(keyword.trim(), 10));
+            }
+
             List<String> suggestions = articleMapper.getSearchSuggestions(keyword.trim());
             return Result.success(suggestions);
         } catch (Exception e) {
@@ -156,6 +178,11 @@ public class SearchServiceImpl implements SearchService {
                 limit = 10;
             }
 
+            List<String> tracked = hotSearchTracker.getHotKeywords(limit);
+            if (!tracked.isEmpty()) {
+                return Result.success(tracked);
+            }
+
             List<String> hotKeywords = articleMapper.getHotSearchKeywords(limit);
             return Result.success(hotKeywords);
         } catch (Exception e) {
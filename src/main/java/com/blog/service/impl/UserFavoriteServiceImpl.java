@@ -59,7 +59,7 @@ public class UserFavoriteServiceImpl implements UserFavoriteService {
     @Transactional(rollbackFor = Exception.class)
     public Result<Long> favoriteArticle(Long articleId) {
         Long userId = AuthUtils.getCurrentUserId();
-        String lockKey = "article:favorite:" + articleId + ":" + userId;
+        String lockKey = RedisDistributedLock.generateArticleFavoriteLockKey(articleId, userId);
         String lockValue = null;
 
         try {
@@ -131,7 +131,7 @@ public class UserFavoriteServiceImpl implements UserFavoriteService {
     @Transactional(rollbackFor = Exception.class)
     public Result<Void> unfavoriteArticle(Long articleId) {
         Long userId = AuthUtils.getCurrentUserId();
-        String lockKey = "article:favorite:" + articleId + ":" + userId;
+        String lockKey = RedisDistributedLock.generateArticleFavoriteLockKey(articleId, userId);
         String lockValue = null;
 
         try {
@@ -68,7 +68,7 @@ public class UserLikeServiceImpl implements UserLikeService {
     @Transactional(rollbackFor = Exception.class)
     public Result<Long> likeArticle(Long articleId) {
         Long userId = AuthUtils.getCurrentUserId();
-        String lockKey = "article:like:" + articleId + ":" + userId;
+        String lockKey = RedisDistributedLock.generateArticleLikeLockKey(articleId, userId);
         String lockValue = null;
 
         try {
@@ -162,7 +162,7 @@ public class UserLikeServiceImpl implements UserLikeService {
     @Transactional(rollbackFor = Exception.class)
     public Result<Void> unlikeArticle(Long articleId) {
         Long userId = AuthUtils.getCurrentUserId();
-        String lockKey = "article:like:" + articleId + ":" + userId;
+        String lockKey = RedisDistributedLock.generateArticleLikeLockKey(articleId, userId);
         String lockValue = null;
 
         try {
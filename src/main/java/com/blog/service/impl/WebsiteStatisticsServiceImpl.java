@@ -5,8 +5,10 @@ import com.blog.dto.PageDTO;
 import com.blog.dto.VisitTrendDTO;
 import com.blog.dto.WebsiteStatisticsDTO;
 import com.blog.entity.VisitStatistics;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
 import com.blog.mapper.VisitStatisticsMapper;
 import com.blog.mapper.WebsiteAccessLogMapper;
+import com.blog.service.VisitCounterService;
 import com.blog.service.WebsiteStatisticsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +18,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * 网站访问统计服务实现类
- * 读取聚合数据来自 visit_statistics，实时数据来自 website_access_log
+ * 读取聚合数据来自 visit_statistics，页面/来源分析来自 access_log_hourly_rollup，
+ * 实时数据优先取 Redis 计数器，未覆盖时回退到 website_access_log
  */
 @Service
 @Slf4j
@@ -32,6 +36,12 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
     @Autowired
     private WebsiteAccessLogMapper websiteAccessLogMapper;
 
+    @Autowired
+    private AccessLogHourlyRollupMapper accessLogHourlyRollupMapper;
+
+    @Autowired
+    private VisitCounterService visitCounterService;
+
     @Override
     public Result<Void> recordPageView(String pageUrl, String userAgent, String ipAddress) {
         // 实际记录由 AccessLogInterceptor 异步完成，此方法保留供手动触发场景调用
@@ -48,17 +58,15 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
         dto.setTotalPageViews(visitStatisticsMapper.sumTotalPageViews());
         dto.setTotalUniqueVisitors(visitStatisticsMapper.sumTotalUniqueVisitors());
 
-        // 今日实时 PV / UV（来自 website_access_log 原始表）
-        Integer todayPv = websiteAccessLogMapper.countTodayPv();
-        Integer todayUv = websiteAccessLogMapper.countTodayUv();
-        dto.setTodayPageViews(todayPv != null ? todayPv.longValue() : 0L);
-        dto.setTodayUniqueVisitors(todayUv != null ? todayUv.longValue() : 0L);
-
-        // 昨日 PV / UV（来自 website_access_log 原始表）
-        Integer yPv = websiteAccessLogMapper.countYesterdayPv();
-        Integer yUv = websiteAccessLogMapper.countYesterdayUv();
-        dto.setYesterdayPageViews(yPv != null ? yPv.longValue() : 0L);
-        dto.setYesterdayUniqueVisitors(yUv != null ? yUv.longValue() : 0L);
+        // 今日 / 昨日 PV、UV（Redis 计数器，未覆盖时回退到 website_access_log 原始表）
+        LocalDate today = LocalDate.now();
+        dto.setTodayPageViews(counted(visitCounterService.pageViews(today), websiteAccessLogMapper::countTodayPv));
+        dto.setTodayUniqueVisitors(counted(visitCounterService.uniqueVisitors(today), websiteAccessLogMapper::countTodayUv));
+        LocalDate yesterday = today.minusDays(1);
+        dto.setYesterdayPageViews(counted(visitCounterService.pageViews(yesterday),
+                websiteAccessLogMapper::countYesterdayPv));
+        dto.setYesterdayUniqueVisitors(counted(visitCounterService.uniqueVisitors(yesterday),
+                websiteAccessLogMapper::countYesterdayUv));
 
         dto.setStatisticsDate(LocalDateTime.now());
         return Result.success(dto);
@@ -90,10 +98,9 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
         log.info("获取今日实时访问统计");
         WebsiteStatisticsDTO dto = new WebsiteStatisticsDTO();
 
-        Integer pv = websiteAccessLogMapper.countTodayPv();
-        Integer uv = websiteAccessLogMapper.countTodayUv();
-        dto.setTodayPageViews(pv != null ? pv.longValue() : 0L);
-        dto.setTodayUniqueVisitors(uv != null ? uv.longValue() : 0L);
+        LocalDate today = LocalDate.now();
+        dto.setTodayPageViews(counted(visitCounterService.pageViews(today), websiteAccessLogMapper::countTodayPv));
+        dto.setTodayUniqueVisitors(counted(visitCounterService.uniqueVisitors(today), websiteAccessLogMapper::countTodayUv));
         dto.setStatisticsDate(LocalDateTime.now());
         return Result.success(dto);
     }
@@ -122,12 +129,12 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
     public Result<PageDTO<Map<String, Object>>> getTopPages(Integer page, Integer size) {
         log.info("获取热门页面排行，page={}，size={}", page, size);
         int offset = (page - 1) * size;
-        String startDate = LocalDate.now().minusDays(30).toString();
-        String endDate = LocalDate.now().toString();
+        LocalDateTime startTime = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime endTime = LocalDate.now().plusDays(1).atStartOfDay();
 
-        List<Map<String, Object>> records = websiteAccessLogMapper.selectTopPagesByDateRange(
-                startDate, endDate, offset, size);
-        Integer total = websiteAccessLogMapper.countDistinctPageUrls(startDate, endDate);
+        List<Map<String, Object>> records = accessLogHourlyRollupMapper.selectTopPages(
+                startTime, endTime, offset, size);
+        Integer total = accessLogHourlyRollupMapper.countDistinctPages(startTime, endTime);
 
         long totalCount = total != null ? total.longValue() : 0L;
         PageDTO<Map<String, Object>> pageResult = new PageDTO<>(page, size, totalCount, records);
@@ -137,10 +144,10 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
     @Override
     public Result<List<Map<String, Object>>> getTrafficSources() {
         log.info("获取访问来源统计");
-        String startDate = LocalDate.now().minusDays(30).toString();
-        String endDate = LocalDate.now().toString();
-        List<Map<String, Object>> sources = websiteAccessLogMapper.selectTrafficSourcesByDateRange(
-                startDate, endDate, 10);
+        LocalDateTime startTime = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime endTime = LocalDate.now().plusDays(1).atStartOfDay();
+        List<Map<String, Object>> sources = accessLogHourlyRollupMapper.selectTrafficSources(
+                startTime, endTime, 10);
         return Result.success(sources);
     }
 
@@ -152,4 +159,15 @@ public class WebsiteStatisticsServiceImpl implements WebsiteStatisticsService {
         log.info("已删除 {} 条过期访问日志", deleted);
         return Result.success(null);
     }
+
+    /**
+     * 计数器有值时直接使用，否则执行数据库查询
+     */
+    private static long counted(Long counterValue, Supplier<Integer> fallback) {
+        if (counterValue != null) {
+            return counterValue;
+        }
+        Integer value = fallback.get();
+        return value != null ? value.longValue() : 0L;
+    }
 }
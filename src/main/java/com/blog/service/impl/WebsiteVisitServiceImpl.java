@@ -6,9 +6,12 @@ import com.blog.dto.PageVisitDTO;
 import com.blog.dto.VisitorSourceDTO;
 import com.blog.dto.WebsiteVisitDTO;
 import com.blog.entity.VisitStatistics;
+import com.blog.entity.AccessLogHourlyRollup;
 import com.blog.entity.WebsiteAccessLog;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
 import com.blog.mapper.VisitStatisticsMapper;
 import com.blog.mapper.WebsiteAccessLogMapper;
+import com.blog.service.VisitCounterService;
 import com.blog.service.WebsiteVisitService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +26,7 @@ import java.util.stream.Collectors;
 /**
  * 网站访问统计服务实现类
  * 写入由 AccessLogInterceptor 异步负责，此 Service 专注查询功能
+ * 页面、来源、设备分析读取 access_log_hourly_rollup 小时汇总，不扫描原始日志
  */
 @Slf4j
 @Service
@@ -34,6 +38,12 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
     @Autowired
     private VisitStatisticsMapper visitStatisticsMapper;
 
+    @Autowired
+    private AccessLogHourlyRollupMapper accessLogHourlyRollupMapper;
+
+    @Autowired
+    private VisitCounterService visitCounterService;
+
     @Override
     public Result<Void> recordPageVisit(String pageUrl, Long userId, String ipAddress, String userAgent) {
         // 手动触发记录（供前端 SPA 路由切换时调用）
@@ -46,6 +56,7 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
         accessLog.setUserId(userId);
         accessLog.setRequestMethod("GET");
         websiteAccessLogMapper.insert(accessLog);
+        visitCounterService.record(List.of(accessLog));
         log.debug("手动记录页面访问，URL：{}", pageUrl);
         return Result.success();
     }
@@ -73,18 +84,28 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
         WebsiteVisitDTO dto = new WebsiteVisitDTO();
         dto.setDate(LocalDate.now().toString());
 
-        Integer pv = websiteAccessLogMapper.countTodayPv();
-        Integer uv = websiteAccessLogMapper.countTodayUv();
-        dto.setPageView(pv != null ? pv.longValue() : 0L);
-        dto.setUniqueVisitor(uv != null ? uv.longValue() : 0L);
-        dto.setVisitCount(pv != null ? pv.longValue() : 0L);
+        // 优先读取 Redis 计数器，未覆盖今日时回退到原始日志表
+        LocalDate today = LocalDate.now();
+        Long pv = visitCounterService.pageViews(today);
+        if (pv == null) {
+            Integer dbPv = websiteAccessLogMapper.countTodayPv();
+            pv = dbPv != null ? dbPv.longValue() : 0L;
+        }
+        Long uv = visitCounterService.uniqueVisitors(today);
+        if (uv == null) {
+            Integer dbUv = websiteAccessLogMapper.countTodayUv();
+            uv = dbUv != null ? dbUv.longValue() : 0L;
+        }
+        dto.setPageView(pv);
+        dto.setUniqueVisitor(uv);
+        dto.setVisitCount(pv);
         return Result.success(dto);
     }
 
     @Override
     public Result<List<PageVisitDTO>> getHotPageStatistics(Integer limit) {
         log.info("获取热门页面统计，limit={}", limit);
-        List<Map<String, Object>> raw = websiteAccessLogMapper.selectTopPages(limit);
+        List<Map<String, Object>> raw = accessLogHourlyRollupMapper.selectTopPages(null, null, 0, limit);
 
         List<PageVisitDTO> result = raw.stream().map(row -> {
             PageVisitDTO dto = new PageVisitDTO();
@@ -102,10 +123,10 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
     @Override
     public Result<List<VisitorSourceDTO>> getVisitorSourceStatistics(Integer limit) {
         log.info("获取访客来源统计，limit={}", limit);
-        String startDate = LocalDate.now().minusDays(30).toString();
-        String endDate = LocalDate.now().toString();
-        List<Map<String, Object>> raw = websiteAccessLogMapper.selectTrafficSourcesByDateRange(
-                startDate, endDate, limit);
+        LocalDateTime startTime = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime endTime = LocalDate.now().plusDays(1).atStartOfDay();
+        List<Map<String, Object>> raw = accessLogHourlyRollupMapper.selectTrafficSources(
+                startTime, endTime, limit);
 
         // 计算总访问量用于占比
         long totalVisits = raw.stream()
@@ -134,16 +155,22 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
         log.info("获取访问设备统计（今日）");
         DeviceStatisticsDTO dto = new DeviceStatisticsDTO();
 
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        LocalDateTime todayEnd = todayStart.plusDays(1);
+
         // 设备类型统计
-        List<Map<String, Object>> deviceRaw = websiteAccessLogMapper.countByDeviceType();
+        List<Map<String, Object>> deviceRaw = accessLogHourlyRollupMapper.selectDimensionCounts(
+                AccessLogHourlyRollup.DIMENSION_DEVICE, todayStart, todayEnd);
         dto.setDeviceType(buildDeviceTypeStat(deviceRaw));
 
         // 浏览器统计
-        List<Map<String, Object>> browserRaw = websiteAccessLogMapper.countByBrowser();
+        List<Map<String, Object>> browserRaw = accessLogHourlyRollupMapper.selectDimensionCounts(
+                AccessLogHourlyRollup.DIMENSION_BROWSER, todayStart, todayEnd);
         dto.setBrowser(buildBrowserStat(browserRaw));
 
         // 操作系统统计
-        List<Map<String, Object>> osRaw = websiteAccessLogMapper.countByOperatingSystem();
+        List<Map<String, Object>> osRaw = accessLogHourlyRollupMapper.selectDimensionCounts(
+                AccessLogHourlyRollup.DIMENSION_OS, todayStart, todayEnd);
         dto.setOperatingSystem(buildOsStat(osRaw));
 
         return Result.success(dto);
@@ -154,7 +181,7 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
     // -------------------------------------------------------------------------
 
     private DeviceStatisticsDTO.DeviceTypeStat buildDeviceTypeStat(List<Map<String, Object>> raw) {
-        Map<String, Long> countMap = toCountMap(raw, "device_type");
+        Map<String, Long> countMap = toCountMap(raw);
         long total = countMap.values().stream().mapToLong(Long::longValue).sum();
         DeviceStatisticsDTO.DeviceTypeStat stat = new DeviceStatisticsDTO.DeviceTypeStat();
         stat.setDesktop(percent(countMap.getOrDefault("desktop", 0L), total));
@@ -164,7 +191,7 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
     }
 
     private DeviceStatisticsDTO.BrowserStat buildBrowserStat(List<Map<String, Object>> raw) {
-        Map<String, Long> countMap = toCountMap(raw, "browser");
+        Map<String, Long> countMap = toCountMap(raw);
         long total = countMap.values().stream().mapToLong(Long::longValue).sum();
         DeviceStatisticsDTO.BrowserStat stat = new DeviceStatisticsDTO.BrowserStat();
         stat.setChrome(percent(sumContains(countMap, "Chrome"), total));
@@ -180,7 +207,7 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
     }
 
     private DeviceStatisticsDTO.OperatingSystemStat buildOsStat(List<Map<String, Object>> raw) {
-        Map<String, Long> countMap = toCountMap(raw, "operating_system");
+        Map<String, Long> countMap = toCountMap(raw);
         long total = countMap.values().stream().mapToLong(Long::longValue).sum();
         DeviceStatisticsDTO.OperatingSystemStat stat = new DeviceStatisticsDTO.OperatingSystemStat();
         stat.setWindows(percent(sumContains(countMap, "Windows"), total));
@@ -197,9 +224,9 @@ public class WebsiteVisitServiceImpl implements WebsiteVisitService {
         return stat;
     }
 
-    private Map<String, Long> toCountMap(List<Map<String, Object>> raw, String keyField) {
+    private Map<String, Long> toCountMap(List<Map<String, Object>> raw) {
         return raw.stream().collect(Collectors.toMap(
-                r -> String.valueOf(r.getOrDefault(keyField, "other")),
+                r -> String.valueOf(r.getOrDefault("dim_value", "other")),
                 r -> {
                     Object vc = r.get("visit_count");
                     return vc != null ? Long.parseLong(vc.toString()) : 0L;
@@ -0,0 +1,118 @@
+package com.blog.utils;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ *
+ * 容量取不小于指定值的 2 的幂，槽位与序号数组在构造时一次性分配，入队不加锁也不分配节点对象。
+ * 每个槽位带一个序号（Vyukov 有界队列算法）：生产者以 CAS 推进尾序号认领槽位，写入元素后发布槽位序号；
+ * 消费者按头序号顺序取出已发布的元素。出队同样以 CAS 推进头序号，
+ * 因此“丢弃最旧”策略下生产者腾出槽位时与消费者并发出队也是安全的。
+ */
+public final class MpscRingBuffer<E> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    // 槽位序号：等于尾序号时可写入，等于头序号 + 1 时可读取
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("容量必须大于 0：" + requestedCapacity);
+        }
+        int size = requestedCapacity >= MAX_CAPACITY ? MAX_CAPACITY
+                : Math.max(2, Integer.highestOneBit(requestedCapacity - 1) << 1);
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 非阻塞入队，缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // 其他生产者已认领该槽位，重新读取尾序号
+        }
+    }
+
+    /**
+     * 出队最旧的元素，缓冲区为空（或最旧的槽位尚未发布）时返回 null
+     */
+    public E poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.lazySet(index, position + capacity);
+                    return element;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 批量出队到 target，最多 maxElements 条，返回实际条数
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 当前元素数（并发修改时为近似值）
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
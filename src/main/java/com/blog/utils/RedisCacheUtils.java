@@ -23,6 +23,12 @@ public class RedisCacheUtils {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 客户端缓存（cache.client-tracking.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private RedisClientSideCache clientSideCache;
+
     /**
      * 设置缓存
      * @param key 缓存键
@@ -33,6 +39,7 @@ public class RedisCacheUtils {
     public void setCache(String key, Object value, long timeout, TimeUnit timeUnit) {
         ValueOperations<String, Object> operations = redisTemplate.opsForValue();
         operations.set(key, value, timeout, timeUnit);
+        invalidateLocal(key);
     }
 
     /**
@@ -41,6 +48,9 @@ public class RedisCacheUtils {
      * @return 缓存值
      */
     public Object getCache(String key) {
+        if (clientSideCache != null && clientSideCache.isTracked(key)) {
+            return clientSideCache.get(key);
+        }
         ValueOperations<String, Object> operations = redisTemplate.opsForValue();
         return operations.get(key);
     }
@@ -51,6 +61,27 @@ public class RedisCacheUtils {
      */
     public void deleteCache(String key) {
         redisTemplate.delete(key);
+        invalidateLocal(key);
+    }
+
+    /**
+     * 批量删除缓存（单条 DEL 命令）
+     * @param keys 缓存键集合
+     * @return 实际删除的数量
+     */
+    public long deleteCaches(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = redisTemplate.delete(keys);
+        keys.forEach(this::invalidateLocal);
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void invalidateLocal(String key) {
+        if (clientSideCache != null && clientSideCache.isTracked(key)) {
+            clientSideCache.invalidateLocal(key);
+        }
     }
 
     /**
@@ -101,6 +132,9 @@ public class RedisCacheUtils {
         return redisTemplate.getExpire(key, TimeUnit.SECONDS);
     }
 
+    // 推荐文章缓存命名空间（配合 RedisUtils#namespacedKey 使用）
+    public static final String RECOMMENDED_ARTICLES_NAMESPACE = "recommended:articles";
+
     // 评论相关缓存键前缀
     public static final String COMMENT_LIST_KEY_PREFIX = "comment:list:";
     public static final String COMMENT_TREE_KEY_PREFIX = "comment:tree:";
@@ -119,15 +153,12 @@ public class RedisCacheUtils {
     public static final String ARTICLE_FAVORITE_KEY_PREFIX = "article:favorite:";
 
     /**
-     * 生成评论列表缓存键
+     * 生成文章评论列表的缓存命名空间（配合 RedisUtils#namespacedKey 使用）
      * @param articleId 文章ID
-     * @param page 页码
-     * @param size 每页数量
-     * @param sortBy 排序方式
-     * @return 缓存键
+     * @return 命名空间
      */
-    public static String generateCommentListKey(Long articleId, Integer page, Integer size, String sortBy) {
-        return COMMENT_LIST_KEY_PREFIX + articleId + ":" + page + ":" + size + ":" + sortBy;
+    public static String commentListNamespace(Long articleId) {
+        return COMMENT_LIST_KEY_PREFIX + articleId;
     }
 
     /**
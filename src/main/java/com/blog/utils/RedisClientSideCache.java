@@ -0,0 +1,182 @@
+package com.blog.utils;
+
+import com.blog.config.ClientSideCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 服务端辅助客户端缓存
+ *
+ * 使用独立的 Lettuce RESP3 连接开启 CLIENT TRACKING 广播模式，对配置的键前缀在本地保留值副本。
+ * 任意客户端修改这些键时，Redis 通过推送消息通知本连接删除本地副本，读操作因此可以直接命中内存。
+ *
+ * 本地副本保存原始字节，读取时使用 RedisTemplate 的值序列化器解码，与直接读 Redis 的结果一致。
+ * 断线期间可能丢失失效消息，因此断开和重连时都会清空本地副本并重新开启跟踪。
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "cache.client-tracking", name = "enabled", havingValue = "true")
+@Slf4j
+public class RedisClientSideCache {
+
+    @Value("${spring.redis.host}")
+    private String host;
+
+    @Value("${spring.redis.port}")
+    private int port;
+
+    @Value("${spring.redis.password:}")
+    private String password;
+
+    @Autowired
+    private ClientSideCacheProperties properties;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, byte[]> connection;
+    private Cache<String, byte[]> localCache;
+    private CacheFrontend<String, byte[]> frontend;
+    private volatile boolean tracking;
+
+    @PostConstruct
+    public void init() {
+        RedisURI.Builder uriBuilder = RedisURI.builder().withHost(host).withPort(port);
+        if (password != null && !password.isEmpty()) {
+            uriBuilder.withPassword(password.toCharArray());
+        }
+        redisClient = RedisClient.create(uriBuilder.build());
+        redisClient.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .build());
+        redisClient.addListener(new TrackingStateListener());
+
+        localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getLocalTtl().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+
+        connection = redisClient.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        frontend = ClientSideCaching.enable(CacheAccessor.forMap(localCache.asMap()), connection, trackingArgs());
+        tracking = true;
+
+        log.info("Redis 客户端缓存已启用: prefixes={}, maxSize={}, localTtl={}",
+                properties.getPrefixes(), properties.getMaxSize(), properties.getLocalTtl());
+    }
+
+    /**
+     * 判断键是否处于跟踪范围内
+     */
+    public boolean isTracked(String key) {
+        if (!tracking || key == null) {
+            return false;
+        }
+        for (String prefix : properties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取键值，优先命中本地副本，未命中时从 Redis 读取并登记跟踪
+     */
+    public Object get(String key) {
+        byte[] bytes = frontend.get(key);
+        return bytes == null ? null : redisTemplate.getValueSerializer().deserialize(bytes);
+    }
+
+    /**
+     * 删除本地副本
+     *
+     * 本实例写入后立即调用，避免在服务端失效消息到达前读到自己刚覆盖的旧值。
+     */
+    public void invalidateLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    /**
+     * 本地副本条目数（用于监控）
+     */
+    public long localSize() {
+        return localCache.estimatedSize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        tracking = false;
+        try {
+            if (frontend != null) {
+                frontend.close();
+            }
+        } finally {
+            if (redisClient != null) {
+                redisClient.shutdown();
+            }
+        }
+    }
+
+    private TrackingArgs trackingArgs() {
+        List<String> prefixes = properties.getPrefixes();
+        return TrackingArgs.Builder.enabled()
+                .bcast()
+                .prefixes(prefixes.toArray(new String[0]));
+    }
+
+    /**
+     * 连接状态监听：断线后清空本地副本，重连后重新开启跟踪
+     */
+    private class TrackingStateListener implements RedisConnectionStateListener {
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+            if (localCache != null) {
+                localCache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+            if (!tracking || connection == null) {
+                return;
+            }
+            localCache.invalidateAll();
+            connection.async().clientTracking(trackingArgs()).whenComplete((result, error) -> {
+                if (error != null) {
+                    log.debug("重连后重新开启 CLIENT TRACKING 失败: {}", error.getMessage());
+                } else {
+                    log.info("Redis 客户端缓存连接已恢复，已重新开启跟踪");
+                }
+            });
+        }
+    }
+}
@@ -222,12 +222,33 @@ public class RedisDistributedLock implements DisposableBean {
 
     /**
      * 生成评论点赞锁的 key
+     * 锁 key 不与 comment:like: 状态缓存共用前缀，避免加锁/解锁触发客户端缓存的广播失效
      * @param commentId 评论 ID
      * @param userId 用户 ID
      * @return 锁 key
      */
     public static String generateCommentLikeLockKey(Long commentId, Long userId) {
-        return "comment:like:" + commentId + ":" + userId;
+        return "comment:lock:like:" + commentId + ":" + userId;
+    }
+
+    /**
+     * 生成文章点赞锁的 key（不与 article:like: 状态缓存共用前缀）
+     * @param articleId 文章 ID
+     * @param userId 用户 ID
+     * @return 锁 key
+     */
+    public static String generateArticleLikeLockKey(Long articleId, Long userId) {
+        return "article:lock:like:" + articleId + ":" + userId;
+    }
+
+    /**
+     * 生成文章收藏锁的 key（不与 article:favorite: 状态缓存共用前缀）
+     * @param articleId 文章 ID
+     * @param userId 用户 ID
+     * @return 锁 key
+     */
+    public static String generateArticleFavoriteLockKey(Long articleId, Long userId) {
+        return "article:lock:favorite:" + articleId + ":" + userId;
     }
 
     /**
@@ -2,6 +2,9 @@ package com.blog.utils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.RedisCallback;
@@ -36,6 +39,12 @@ public class RedisUtils {
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
+    /**
+     * 客户端缓存（cache.client-tracking.enabled=true 时存在）
+     */
+    @Autowired(required = false)
+    private RedisClientSideCache clientSideCache;
+
     // ============================ 基本操作 ============================//
 
     /**
@@ -47,6 +56,7 @@ public class RedisUtils {
     public boolean set(String key, Object value) {
         try {
             redisTemplate.opsForValue().set(key, value);
+            invalidateLocal(key);
             return true;
         } catch (Exception e) {
             log.error("Redis set操作失败，key: {}", key, e);
@@ -71,6 +81,7 @@ public class RedisUtils {
             }
             
             redisTemplate.opsForValue().set(key, value, time, unit);
+            invalidateLocal(key);
             log.debug("Redis set操作成功，key: {}, time: {}, valueType: {}", 
                     key, time, value.getClass().getName());
             return true;
@@ -248,7 +259,7 @@ public class RedisUtils {
     @SuppressWarnings("unchecked")
     public <T> T get(String key) {
         try {
-            Object value = redisTemplate.opsForValue().get(key);
+            Object value = readValue(key);
             log.debug("Redis get操作成功，key: {}, value: {}, valueType: {}", key, value, value != null ? value.getClass().getName() : "null");
             try {
                 return (T) value;
@@ -264,7 +275,7 @@ public class RedisUtils {
 
     public Object getObject(String key) {
         try {
-            Object value = redisTemplate.opsForValue().get(key);
+            Object value = readValue(key);
             log.debug("Redis getObject操作成功，key: {}, valueType: {}", key, value != null ? value.getClass().getName() : "null");
             return value;
         } catch (Exception e) {
@@ -280,6 +291,7 @@ public class RedisUtils {
      */
     public boolean delete(String key) {
         try {
+            invalidateLocal(key);
             return redisTemplate.delete(key);
         } catch (Exception e) {
             log.error("Redis delete操作失败，key: {}", key, e);
@@ -294,6 +306,9 @@ public class RedisUtils {
      */
     public long delete(Collection<String> keys) {
         try {
+            if (clientSideCache != null && keys != null) {
+                keys.forEach(this::invalidateLocal);
+            }
             return redisTemplate.delete(keys);
         } catch (Exception e) {
             log.error("Redis delete批量操作失败", e);
@@ -315,6 +330,22 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * 读取值：跟踪范围内的键走客户端缓存，其余直接读 Redis
+     */
+    private Object readValue(String key) {
+        if (clientSideCache != null && clientSideCache.isTracked(key)) {
+            return clientSideCache.get(key);
+        }
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    private void invalidateLocal(String key) {
+        if (clientSideCache != null && clientSideCache.isTracked(key)) {
+            clientSideCache.invalidateLocal(key);
+        }
+    }
+
     // ============================ 高级操作 ============================//
 
     /**
@@ -390,6 +421,76 @@ public class RedisUtils {
         }
     }
 
+    // ============================ 命名空间代际 ============================//
+
+    private static final String NAMESPACE_GENERATION_PREFIX = "ns:gen:";
+    private static final long NAMESPACE_GENERATION_TTL_SECONDS = TimeUnit.DAYS.toSeconds(7);
+
+    /**
+     * 代际递增脚本：代际键不存在时先以当前毫秒时间戳为种子，保证代际键过期重建后
+     * 新代际仍大于历史代际，不会与尚未过期的旧键重名
+     */
+    private static final String NAMESPACE_BUMP_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1]) end; "
+            + "local g = redis.call('INCR', KEYS[1]); "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[2]); "
+            + "return g";
+
+    /**
+     * 生成带代际的命名空间键：{namespace}:g{generation}:{part1}:{part2}...
+     *
+     * 同一逻辑分组的缓存键共享一个代际计数器，整体失效时只需递增代际，旧键不再被读取并随 TTL 自然过期，
+     * 无需 SCAN 整个键空间。
+     *
+     * @param namespace 命名空间，如 recommended:articles、comment:list:{articleId}
+     * @param parts 键的其余部分
+     * @return 命名空间键，读取代际失败时返回 null（调用方应跳过缓存）
+     */
+    public String namespacedKey(String namespace, Object... parts) {
+        Long generation = getNamespaceGeneration(namespace);
+        if (generation == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(namespace).append(":g").append(generation);
+        for (Object part : parts) {
+            key.append(':').append(part);
+        }
+        return key.toString();
+    }
+
+    /**
+     * 获取命名空间当前代际，未失效过的命名空间为 0
+     * @return 代际，读取失败时返回 null
+     */
+    public Long getNamespaceGeneration(String namespace) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(NAMESPACE_GENERATION_PREFIX + namespace);
+            return value == null ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            log.error("读取命名空间代际失败，namespace: {}", namespace, e);
+            return null;
+        }
+    }
+
+    /**
+     * 使整个命名空间失效（单次原子递增代际）
+     * @return 新代际，失败时返回 -1
+     */
+    public long invalidateNamespace(String namespace) {
+        try {
+            Long generation = stringRedisTemplate.execute(
+                    new DefaultRedisScript<>(NAMESPACE_BUMP_SCRIPT, Long.class),
+                    Collections.singletonList(NAMESPACE_GENERATION_PREFIX + namespace),
+                    Long.toString(System.currentTimeMillis()),
+                    Long.toString(NAMESPACE_GENERATION_TTL_SECONDS));
+            log.debug("命名空间已失效，namespace: {}, generation: {}", namespace, generation);
+            return generation == null ? -1 : generation;
+        } catch (Exception e) {
+            log.error("命名空间失效失败，namespace: {}", namespace, e);
+            return -1;
+        }
+    }
+
     // ============================ 列表操作 ============================//
 
     /**
@@ -539,6 +640,264 @@ public class RedisUtils {
         }
     }
 
+    /**
+     * 批量增加同一个 ZSet 中多个元素的分数并续期（使用 Pipeline，一次网络往返）
+     * @param key ZSet 键
+     * @param deltas 元素（文章ID、搜索词等，按字符串写入）→ 分数增量
+     * @param ttlSeconds 过期时间（秒）
+     * @return true成功，false失败
+     */
+    public boolean zIncrByBatch(String key, Map<?, Double> deltas, long ttlSeconds) {
+        if (deltas == null || deltas.isEmpty()) {
+            return true;
+        }
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deltas.forEach((member, delta) -> connection.zSetCommands().zIncrBy(
+                        keyBytes, delta, String.valueOf(member).getBytes(StandardCharsets.UTF_8)));
+                connection.keyCommands().expire(keyBytes, ttlSeconds);
+                return null;
+            });
+            log.debug("Redis zIncrByBatch操作，key: {}, 数量: {}", key, deltas.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Redis zIncrByBatch操作失败，key: {}, 数量: {}", key, deltas.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量增加多个 ZSet 的元素分数，并向 Set 中添加成员，所有键统一续期（使用 Pipeline，一次网络往返）
+     * @param deltas ZSet 键 → (元素 → 分数增量)
+     * @param setMembers Set 键 → 成员
+     * @param ttlSeconds 过期时间（秒）
+     * @return true成功，false失败
+     */
+    public boolean zIncrByBatch(Map<String, ? extends Map<?, Double>> deltas,
+                                Map<String, ? extends Collection<String>> setMembers, long ttlSeconds) {
+        if (deltas.isEmpty() && setMembers.isEmpty()) {
+            return true;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                deltas.forEach((key, members) -> {
+                    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                    members.forEach((member, delta) -> connection.zSetCommands().zIncrBy(
+                            keyBytes, delta, String.valueOf(member).getBytes(StandardCharsets.UTF_8)));
+                    connection.keyCommands().expire(keyBytes, ttlSeconds);
+                });
+                setMembers.forEach((key, members) -> {
+                    if (members.isEmpty()) {
+                        return;
+                    }
+                    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                    connection.setCommands().sAdd(keyBytes, members.stream()
+                            .map(member -> member.getBytes(StandardCharsets.UTF_8))
+                            .toArray(byte[][]::new));
+                    connection.keyCommands().expire(keyBytes, ttlSeconds);
+                });
+                return null;
+            });
+            log.debug("Redis zIncrByBatch操作，ZSet数量: {}, Set数量: {}", deltas.size(), setMembers.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Redis zIncrByBatch操作失败，ZSet数量: {}, Set数量: {}", deltas.size(), setMembers.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 读取多个 Set 的并集（SUNION），失败返回空集合
+     */
+    public Set<String> sUnion(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().union(keys);
+            return members == null ? Collections.emptySet() : members;
+        } catch (Exception e) {
+            log.error("Redis sUnion操作失败，key数量: {}", keys.size(), e);
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * 按权重合并多个 ZSet 并原子替换目标 Key（ZUNIONSTORE + EXPIRE，Lua 脚本）
+     * 不存在的源 Key 视为空集；所有源都为空时目标 Key 会被删除
+     * @param destKey 目标键
+     * @param sourceKeys 源键列表
+     * @param weights 与 sourceKeys 一一对应的权重
+     * @param ttlSeconds 目标键过期时间（秒）
+     * @return 目标 ZSet 的元素个数，失败返回 -1
+     */
+    public long zUnionStoreWeighted(String destKey, List<String> sourceKeys, List<Double> weights, long ttlSeconds) {
+        return zUnionStoreWeighted(destKey, sourceKeys, weights, 0, ttlSeconds);
+    }
+
+    /**
+     * 按权重合并多个 ZSet 并原子替换目标 Key，合并后只保留分数最高的 keepTop 个元素（Lua 脚本）
+     * @param keepTop 保留的元素个数，小于等于 0 时不裁剪
+     * @return 合并后（裁剪前）目标 ZSet 的元素个数，失败返回 -1
+     */
+    public long zUnionStoreWeighted(String destKey, List<String> sourceKeys, List<Double> weights,
+                                    int keepTop, long ttlSeconds) {
+        String lua =
+                "local n = #KEYS - 1\n" +
+                "local args = {'ZUNIONSTORE', KEYS[1], n}\n" +
+                "for i = 2, #KEYS do table.insert(args, KEYS[i]) end\n" +
+                "table.insert(args, 'WEIGHTS')\n" +
+                "for i = 3, #ARGV do table.insert(args, ARGV[i]) end\n" +
+                "local size = redis.call(unpack(args))\n" +
+                "local keep = tonumber(ARGV[2])\n" +
+                "if keep > 0 and size > keep then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -keep - 1) end\n" +
+                "if size > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end\n" +
+                "return size";
+        try {
+            List<String> keys = new ArrayList<>(sourceKeys.size() + 1);
+            keys.add(destKey);
+            keys.addAll(sourceKeys);
+            Object[] args = new Object[weights.size() + 2];
+            args[0] = String.valueOf(ttlSeconds);
+            args[1] = String.valueOf(keepTop);
+            for (int i = 0; i < weights.size(); i++) {
+                args[i + 2] = String.valueOf(weights.get(i));
+            }
+            Long size = stringRedisTemplate.execute(new DefaultRedisScript<>(lua, Long.class), keys, args);
+            log.debug("Redis zUnionStoreWeighted操作，destKey: {}, 源数量: {}, size: {}", destKey, sourceKeys.size(), size);
+            return size != null ? size : 0;
+        } catch (Exception e) {
+            log.error("Redis zUnionStoreWeighted操作失败，destKey: {}, 源数量: {}", destKey, sourceKeys.size(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * 从多个 ZSet 中批量移除元素（使用 Pipeline，一次网络往返）
+     * @param keys ZSet 键集合
+     * @param values 元素集合（会被转换为字符串）
+     */
+    public void zRemoveBatch(Collection<String> keys, Collection<?> values) {
+        if (keys == null || keys.isEmpty() || values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            byte[][] members = values.stream()
+                    .map(v -> String.valueOf(v).getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.zSetCommands().zRem(key.getBytes(StandardCharsets.UTF_8), members);
+                }
+                return null;
+            });
+            log.debug("Redis zRemoveBatch操作，key数量: {}, 元素数量: {}", keys.size(), values.size());
+        } catch (Exception e) {
+            log.error("Redis zRemoveBatch操作失败，key数量: {}, 元素数量: {}", keys.size(), values.size(), e);
+        }
+    }
+
+    /**
+     * 仅当元素不存在时向 ZSet 中添加（ZADD NX），不会覆盖已有分数
+     * @param key 键
+     * @param value 值（会被转换为字符串）
+     * @param score 分数
+     * @return true 新增成功，false 已存在或失败
+     */
+    public boolean zAddIfAbsent(String key, Object value, double score) {
+        try {
+            String strValue = String.valueOf(value);
+            Boolean result = stringRedisTemplate.opsForZSet().addIfAbsent(key, strValue, score);
+            log.debug("Redis zAddIfAbsent操作，key: {}, value: {}, score: {}, result: {}", key, strValue, score, result);
+            return Boolean.TRUE.equals(result);
+        } catch (Exception e) {
+            log.error("Redis zAddIfAbsent操作失败，key: {}, value: {}, score: {}", key, value, score, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量添加 ZSet 元素（ZADD NX，已存在的元素保留原分数）并续期（使用 Pipeline，一次网络往返）
+     * @param key 键
+     * @param members 元素集合（文章ID）
+     * @param score 新增元素的分数
+     * @param ttlSeconds 过期时间（秒）
+     * @return 实际新增的元素个数，失败返回 0
+     */
+    public long zAddIfAbsentBatch(String key, Collection<Long> members, double score, long ttlSeconds) {
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            Set<Tuple> tuples = new LinkedHashSet<>(members.size());
+            for (Long member : members) {
+                tuples.add(new DefaultTuple(String.valueOf(member).getBytes(StandardCharsets.UTF_8), score));
+            }
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.zSetCommands().zAdd(keyBytes, tuples, RedisZSetCommands.ZAddArgs.ifNotExists());
+                connection.keyCommands().expire(keyBytes, ttlSeconds);
+                return null;
+            });
+            long added = !results.isEmpty() && results.get(0) instanceof Number n ? n.longValue() : 0;
+            log.debug("Redis zAddIfAbsentBatch操作，key: {}, 数量: {}, 新增: {}", key, members.size(), added);
+            return added;
+        } catch (Exception e) {
+            log.error("Redis zAddIfAbsentBatch操作失败，key: {}, 数量: {}", key, members.size(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * 批量添加 ZSet 元素（已存在的元素覆盖分数）并续期（使用 Pipeline，一次网络往返）
+     * @param key 键
+     * @param members 元素集合（文章ID）
+     * @param score 分数
+     * @param ttlSeconds 过期时间（秒）
+     * @return true成功，false失败
+     */
+    public boolean zAddBatch(String key, Collection<Long> members, double score, long ttlSeconds) {
+        if (members == null || members.isEmpty()) {
+            return true;
+        }
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            Set<Tuple> tuples = new LinkedHashSet<>(members.size());
+            for (Long member : members) {
+                tuples.add(new DefaultTuple(String.valueOf(member).getBytes(StandardCharsets.UTF_8), score));
+            }
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.zSetCommands().zAdd(keyBytes, tuples, RedisZSetCommands.ZAddArgs.empty());
+                connection.keyCommands().expire(keyBytes, ttlSeconds);
+                return null;
+            });
+            log.debug("Redis zAddBatch操作，key: {}, 数量: {}", key, members.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Redis zAddBatch操作失败，key: {}, 数量: {}", key, members.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 移除 ZSet 中分数在 [min, max] 内的元素
+     * @param key 键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 移除的数量
+     */
+    public long zRemoveRangeByScore(String key, double min, double max) {
+        try {
+            Long count = stringRedisTemplate.opsForZSet().removeRangeByScore(key, min, max);
+            log.debug("Redis zRemoveRangeByScore操作，key: {}, min: {}, max: {}, count: {}", key, min, max, count);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            log.error("Redis zRemoveRangeByScore操作失败，key: {}, min: {}, max: {}", key, min, max, e);
+            return 0;
+        }
+    }
+
     /**
      * 获取 ZSet 中指定范围的元素（按分数降序）
      * @param key 键
@@ -738,4 +1097,108 @@ public class RedisUtils {
         }
         return result;
     }
+
+    // ============================ 计数器 / HyperLogLog ============================//
+
+    /**
+     * 读取字符串值，不存在或失败返回 null
+     */
+    public String getString(String key) {
+        try {
+            return stringRedisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.error("Redis string get failed, key: {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 键不存在时写入字符串值（SET NX，不过期），写入成功返回 true
+     */
+    public boolean setStringIfAbsent(String key, String value) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, value));
+        } catch (Exception e) {
+            log.error("Redis string setIfAbsent failed, key: {}", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * 键不存在时写入字符串值并设置过期时间（SET NX PX），写入成功返回 true
+     */
+    public boolean setStringIfAbsent(String key, String value, long time, TimeUnit unit) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, value, time, unit));
+        } catch (Exception e) {
+            log.error("Redis string setIfAbsent failed, key: {}", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量累加计数器并写入 HyperLogLog，一次 Pipeline 完成 INCRBY / PFADD / EXPIRE
+     * @param increments 计数器键 → 增量
+     * @param hyperLogLogs HyperLogLog 键 → 元素
+     * @param ttlSeconds 键 → 过期时间（秒），未列出的键不设置过期时间
+     * @return true成功，false失败
+     */
+    public boolean incrByAndPfAddBatch(Map<String, Long> increments, Map<String, ? extends Collection<String>> hyperLogLogs,
+                                       Map<String, Long> ttlSeconds) {
+        if (increments.isEmpty() && hyperLogLogs.isEmpty()) {
+            return true;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                increments.forEach((key, delta) -> connection.stringCommands().incrBy(
+                        key.getBytes(StandardCharsets.UTF_8), delta));
+                hyperLogLogs.forEach((key, members) -> {
+                    if (!members.isEmpty()) {
+                        connection.hyperLogLogCommands().pfAdd(key.getBytes(StandardCharsets.UTF_8),
+                                members.stream().map(m -> m.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new));
+                    }
+                });
+                ttlSeconds.forEach((key, ttl) -> connection.keyCommands().expire(key.getBytes(StandardCharsets.UTF_8), ttl));
+                return null;
+            });
+            log.debug("Redis incrByAndPfAddBatch操作，计数器数量: {}, HyperLogLog数量: {}", increments.size(), hyperLogLogs.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Redis incrByAndPfAddBatch操作失败，计数器数量: {}, HyperLogLog数量: {}",
+                    increments.size(), hyperLogLogs.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 批量读取整数计数器（MGET），不存在的键按 0 计，失败返回 null
+     */
+    public List<Long> getLongs(List<String> keys) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return null;
+            }
+            List<Long> result = new ArrayList<>(values.size());
+            for (String value : values) {
+                result.add(value == null ? 0L : Long.parseLong(value));
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Redis getLongs操作失败，数量: {}", keys.size(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 多个 HyperLogLog 并集的基数估计（PFCOUNT 多键，在服务端临时合并），失败返回 null
+     */
+    public Long pfCount(Collection<String> keys) {
+        try {
+            return stringRedisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+        } catch (Exception e) {
+            log.error("Redis pfCount操作失败，数量: {}", keys.size(), e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,3 @@
+-- 文章筛选位图按 (update_time, id) 游标轮询其他实例的变更，为 articles 表添加对应索引，使每次轮询只扫描新变更的行
+-- 浏览/点赞/评论/收藏计数更新不再修改 update_time，该索引只随内容/状态变更而更新
+ALTER TABLE articles ADD KEY idx_update_time_id (update_time, id);
@@ -0,0 +1,141 @@
+package com.blog.config;
+
+import com.blog.common.Result;
+import com.blog.service.ArticleRankService;
+import com.blog.service.ArticleService;
+import com.blog.service.CategoryService;
+import com.blog.service.SystemConfigService;
+import com.blog.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CacheWarmupRunnerTest {
+
+    private CacheWarmupProperties properties;
+    private ArticleRankService articleRankService;
+    private ArticleService articleService;
+    private CategoryService categoryService;
+    private UserService userService;
+    private SystemConfigService systemConfigService;
+    private ArticleRankInitializer articleRankInitializer;
+    private CacheWarmupRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmupProperties();
+        articleRankService = mock(ArticleRankService.class);
+        articleService = mock(ArticleService.class);
+        categoryService = mock(CategoryService.class);
+        userService = mock(UserService.class);
+        systemConfigService = mock(SystemConfigService.class);
+        articleRankInitializer = mock(ArticleRankInitializer.class);
+        when(articleRankInitializer.awaitInitialized(any())).thenReturn(true);
+        when(articleRankService.getHotArticles(any(), any())).thenReturn(Result.success());
+        when(articleService.getRecommendedArticles(any())).thenReturn(Result.success());
+        when(categoryService.getCategoryList()).thenReturn(Result.success());
+        when(userService.getTopAuthors(any())).thenReturn(Result.success());
+        when(systemConfigService.getWebsiteConfig()).thenReturn(Result.success());
+        when(articleService.getArticleList(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Result.success());
+
+        runner = new CacheWarmupRunner();
+        ReflectionTestUtils.setField(runner, "properties", properties);
+        ReflectionTestUtils.setField(runner, "articleRankService", articleRankService);
+        ReflectionTestUtils.setField(runner, "articleService", articleService);
+        ReflectionTestUtils.setField(runner, "categoryService", categoryService);
+        ReflectionTestUtils.setField(runner, "userService", userService);
+        ReflectionTestUtils.setField(runner, "systemConfigService", systemConfigService);
+        ReflectionTestUtils.setField(runner, "articleRankInitializer", articleRankInitializer);
+    }
+
+    @Test
+    void warmUp_shouldPreloadAllConfiguredEntries() {
+        ReflectionTestUtils.setField(runner, "cacheTaskExecutor", (Executor) Runnable::run);
+
+        int succeeded = runner.warmUp();
+
+        assertThat(succeeded).isEqualTo(7);
+        verify(articleRankService).getHotArticles(10, "day");
+        verify(articleRankService).getHotArticles(10, "week");
+        verify(articleService).getRecommendedArticles(10);
+        verify(categoryService).getCategoryList();
+        verify(userService).getTopAuthors(10);
+        verify(systemConfigService).getWebsiteConfig();
+        verify(articleService).getArticleList(1, 10, null, null, null, null, null, "latest");
+    }
+
+    @Test
+    void warmUp_failingTask_shouldNotBlockOthers() {
+        ReflectionTestUtils.setField(runner, "cacheTaskExecutor", (Executor) Runnable::run);
+        when(categoryService.getCategoryList()).thenThrow(new RuntimeException("db down"));
+
+        int succeeded = runner.warmUp();
+
+        assertThat(succeeded).isEqualTo(6);
+        verify(systemConfigService).getWebsiteConfig();
+    }
+
+    @Test
+    void warmUp_errorResult_shouldNotCountAsSuccess() {
+        ReflectionTestUtils.setField(runner, "cacheTaskExecutor", (Executor) Runnable::run);
+        when(userService.getTopAuthors(any())).thenReturn(Result.error("db down"));
+
+        int succeeded = runner.warmUp();
+
+        assertThat(succeeded).isEqualTo(6);
+    }
+
+    @Test
+    void warmUp_rankNotInitialized_shouldSkipHotArticles() {
+        ReflectionTestUtils.setField(runner, "cacheTaskExecutor", (Executor) Runnable::run);
+        when(articleRankInitializer.awaitInitialized(any())).thenReturn(false);
+
+        int succeeded = runner.warmUp();
+
+        assertThat(succeeded).isEqualTo(5);
+        verify(articleRankService, never()).getHotArticles(any(), any());
+    }
+
+    @Test
+    void warmUp_slowTask_shouldReturnAfterTimeout() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            ReflectionTestUtils.setField(runner, "cacheTaskExecutor", executor);
+            properties.setTimeout(Duration.ofMillis(200));
+            when(categoryService.getCategoryList()).thenAnswer(invocation -> {
+                release.await();
+                return null;
+            });
+
+            long start = System.currentTimeMillis();
+            runner.warmUp();
+
+            assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_disabled_shouldSkip() {
+        properties.setEnabled(false);
+
+        runner.run(null);
+
+        verifyNoInteractions(articleRankService, articleService, categoryService, userService, systemConfigService);
+        verify(articleRankService, never()).getHotArticles(any(), any());
+    }
+}
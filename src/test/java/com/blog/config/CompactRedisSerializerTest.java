@@ -0,0 +1,129 @@
+package com.blog.config;
+
+import com.blog.dto.ArticleDTO;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactRedisSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private CacheCodecProperties properties;
+    private CompactRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(mapper);
+        properties = new CacheCodecProperties();
+        serializer = new CompactRedisSerializer(mapper, jsonSerializer, properties);
+    }
+
+    @Test
+    void serialize_shouldWriteVersionedHeaderAndRoundTrip() {
+        ArticleDTO article = article(1L, "标题");
+
+        byte[] bytes = serializer.serialize(article);
+
+        assertThat(bytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(CompactRedisSerializer.VERSION_1);
+        ArticleDTO restored = (ArticleDTO) serializer.deserialize(bytes);
+        assertThat(restored.getId()).isEqualTo(1L);
+        assertThat(restored.getTitle()).isEqualTo("标题");
+        assertThat(restored.getCreateTime()).isEqualTo(article.getCreateTime());
+    }
+
+    @Test
+    void serialize_largeList_shouldCompressAndBeSmallerThanJson() {
+        List<ArticleDTO> articles = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            articles.add(article(i, "热门文章标题 " + i));
+        }
+
+        byte[] compact = serializer.serialize(articles);
+        byte[] json = jsonSerializer.serialize(articles);
+
+        assertThat(compact[2] & CompactRedisSerializer.FLAG_DEFLATE).isNotZero();
+        assertThat(compact.length).isLessThan(json.length);
+        @SuppressWarnings("unchecked")
+        List<ArticleDTO> restored = (List<ArticleDTO>) serializer.deserialize(compact);
+        assertThat(restored).hasSize(50);
+        assertThat(restored.get(49).getTitle()).isEqualTo("热门文章标题 49");
+    }
+
+    @Test
+    void serialize_belowThreshold_shouldNotCompress() {
+        byte[] bytes = serializer.serialize("short");
+
+        assertThat(bytes[2] & CompactRedisSerializer.FLAG_DEFLATE).isZero();
+        assertThat(serializer.deserialize(bytes)).isEqualTo("short");
+    }
+
+    @Test
+    void deserialize_legacyJsonPayload_shouldFallBackToJsonSerializer() {
+        byte[] legacy = jsonSerializer.serialize(article(7L, "旧数据"));
+
+        ArticleDTO restored = (ArticleDTO) serializer.deserialize(legacy);
+
+        assertThat(restored.getId()).isEqualTo(7L);
+        assertThat(restored.getTitle()).isEqualTo("旧数据");
+    }
+
+    @Test
+    void serialize_disabled_shouldWriteLegacyJson() {
+        properties.setEnabled(false);
+
+        byte[] bytes = serializer.serialize(article(3L, "json"));
+
+        assertThat(bytes[0]).isNotEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(((ArticleDTO) serializer.deserialize(bytes)).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void deserialize_unknownVersion_shouldThrow() {
+        byte[] bytes = serializer.serialize("value");
+        bytes[1] = 99;
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void nullAndEmpty_shouldBeHandled() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    private ArticleDTO article(Long id, String title) {
+        ArticleDTO article = new ArticleDTO();
+        article.setId(id);
+        article.setTitle(title);
+        article.setSummary("这是一段用于测试缓存编码体积的文章摘要内容，包含一些重复的文字内容。");
+        article.setCreateTime(LocalDateTime.of(2024, 5, 1, 12, 30));
+        return article;
+    }
+}
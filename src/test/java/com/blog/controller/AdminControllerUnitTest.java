@@ -1,6 +1,7 @@
 package com.blog.controller;
 
 import com.blog.common.Result;
+import com.blog.service.AccessLogRollupService;
 import com.blog.service.AdminService;
 import com.blog.service.ArticleModerationSubmissionService;
 import com.blog.utils.AuthUtils;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.lang.reflect.Field;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +33,7 @@ class AdminControllerUnitTest {
     private MockMvc mockMvc;
     private AdminService adminService;
     private ArticleModerationSubmissionService moderationSubmissionService;
+    private AccessLogRollupService accessLogRollupService;
     private AdminController controller;
 
     @BeforeEach
@@ -47,6 +50,11 @@ class AdminControllerUnitTest {
         Field moderationServiceField = AdminController.class.getDeclaredField("moderationSubmissionService");
         moderationServiceField.setAccessible(true);
         moderationServiceField.set(controller, moderationSubmissionService);
+
+        accessLogRollupService = mock(AccessLogRollupService.class);
+        Field rollupServiceField = AdminController.class.getDeclaredField("accessLogRollupService");
+        rollupServiceField.setAccessible(true);
+        rollupServiceField.set(controller, accessLogRollupService);
         
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new com.blog.exception.GlobalExceptionHandler())
@@ -207,4 +215,17 @@ class AdminControllerUnitTest {
             verify(moderationSubmissionService).reject(eq("token123"), eq(1L), eq("拒绝原因"));
         }
     }
+
+    @Test
+    @DisplayName("backfillVisitRollup - 应按日期范围回填并返回小时数")
+    void backfillVisitRollup_shouldDelegateToRollupService() throws Exception {
+        when(accessLogRollupService.backfill(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2))).thenReturn(48);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/admin/visit-statistics/rollup")
+                        .param("startDate", "2026-10-01")
+                        .param("endDate", "2026-10-02"))
+                .andExpect(status().isOk());
+
+        verify(accessLogRollupService).backfill(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2));
+    }
 }
@@ -0,0 +1,46 @@
+package com.blog.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class HealthControllerTest {
+
+    private MockMvc mockMvc;
+    private ApplicationAvailability availability;
+
+    @BeforeEach
+    void setUp() {
+        availability = mock(ApplicationAvailability.class);
+        HealthController controller = new HealthController();
+        ReflectionTestUtils.setField(controller, "applicationAvailability", availability);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void ready_acceptingTraffic_shouldReturn200() throws Exception {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value("ACCEPTING_TRAFFIC"));
+    }
+
+    @Test
+    void ready_warmingUp_shouldReturn503() throws Exception {
+        when(availability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.event;
+
+import com.blog.config.CacheConsistencyConfig;
+import com.blog.utils.RedisCacheUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PersistentCacheInvalidationSchedulerTest {
+
+    private CacheInvalidationQueueManager queueManager;
+    private RedisCacheUtils redisCacheUtils;
+    private CacheConsistencyConfig cacheConfig;
+    private PersistentCacheInvalidationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        queueManager = mock(CacheInvalidationQueueManager.class);
+        redisCacheUtils = mock(RedisCacheUtils.class);
+        cacheConfig = new CacheConsistencyConfig();
+        cacheConfig.setInvalidationBatchSize(2);
+
+        scheduler = new PersistentCacheInvalidationScheduler();
+        setField(scheduler, "queueManager", queueManager);
+        setField(scheduler, "redisCacheUtils", redisCacheUtils);
+        setField(scheduler, "cacheConfig", cacheConfig);
+    }
+
+    @Test
+    void processPendingInvalidations_shouldBatchDeletesAndAcknowledge() {
+        List<CacheInvalidationQueueManager.ClaimedEvent> claimed = List.of(
+                claimed("article:1", CacheOperation.DOUBLE_DELETE, null),
+                claimed("article:2", CacheOperation.DELETE, null));
+        when(queueManager.claimReadyEvents(anyLong(), eq(2), anyLong()))
+                .thenReturn(claimed)
+                .thenReturn(Collections.emptyList());
+
+        scheduler.processPendingInvalidations();
+
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(redisCacheUtils, times(1)).deleteCaches(keys.capture());
+        assertThat(keys.getValue()).containsExactly("article:1", "article:2");
+        verify(redisCacheUtils, never()).deleteCache(anyString());
+        verify(queueManager).acknowledge(argThat(list -> list.size() == 2));
+        // 批次已满，继续领取下一批
+        verify(queueManager, times(2)).claimReadyEvents(anyLong(), eq(2), anyLong());
+    }
+
+    @Test
+    void processBatch_deleteFailure_shouldLeaveEventsForLeaseRetry() {
+        when(redisCacheUtils.deleteCaches(anyCollection())).thenThrow(new RuntimeException("redis down"));
+
+        scheduler.processBatch(List.of(
+                claimed("article:1", CacheOperation.DELETE, null),
+                claimed("article:2", CacheOperation.UPDATE, "v")));
+
+        verify(redisCacheUtils).setCache("article:2", "v", 7, TimeUnit.DAYS);
+        verify(queueManager).acknowledge(argThat(list -> list.size() == 1
+                && list.get(0).event().getCacheKey().equals("article:2")));
+    }
+
+    @Test
+    void processBatch_undecodableEvent_shouldBeAcknowledged() {
+        scheduler.processBatch(List.of(new CacheInvalidationQueueManager.ClaimedEvent(new byte[]{1}, null)));
+
+        verifyNoInteractions(redisCacheUtils);
+        verify(queueManager).acknowledge(argThat(list -> list.size() == 1));
+    }
+
+    @Test
+    void processPendingInvalidations_emptyQueue_shouldBackOff() {
+        when(queueManager.claimReadyEvents(anyLong(), anyInt(), anyLong())).thenReturn(Collections.emptyList());
+
+        scheduler.processPendingInvalidations();
+        scheduler.processPendingInvalidations();
+
+        verify(queueManager, times(1)).claimReadyEvents(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void processPendingInvalidations_localEnqueue_shouldResetBackoff() {
+        when(queueManager.claimReadyEvents(anyLong(), anyInt(), anyLong())).thenReturn(Collections.emptyList());
+
+        scheduler.processPendingInvalidations();
+        when(queueManager.getLastEnqueueTime()).thenReturn(System.currentTimeMillis());
+        scheduler.processPendingInvalidations();
+
+        verify(queueManager, times(2)).claimReadyEvents(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void processPendingInvalidations_disabled_shouldSkip() {
+        cacheConfig.setEnabled(false);
+
+        scheduler.processPendingInvalidations();
+
+        verifyNoInteractions(queueManager, redisCacheUtils);
+    }
+
+    private static CacheInvalidationQueueManager.ClaimedEvent claimed(String key, CacheOperation operation, Object value) {
+        CacheInvalidationEventDTO dto = new CacheInvalidationEventDTO(key, operation, value, System.currentTimeMillis());
+        return new CacheInvalidationQueueManager.ClaimedEvent(key.getBytes(), dto);
+    }
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -64,4 +64,42 @@ class RankResetScheduleTest {
 
         verify(rankService, times(1)).resetRank("day");
     }
+
+    @Test
+    void refreshWindowRank_exception_shouldNotPropagate() {
+        ArticleRankService rankService = mock(ArticleRankService.class);
+        doThrow(new RuntimeException("redis down")).when(rankService).refreshWindowBoards();
+
+        RankResetSchedule schedule = new RankResetSchedule();
+        try {
+            java.lang.reflect.Field field = RankResetSchedule.class.getDeclaredField("articleRankService");
+            field.setAccessible(true);
+            field.set(schedule, rankService);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        schedule.refreshWindowRank();
+
+        verify(rankService, times(1)).refreshWindowBoards();
+    }
+
+    @Test
+    void syncRemovedArticles_exception_shouldNotPropagate() {
+        ArticleRankService rankService = mock(ArticleRankService.class);
+        doThrow(new RuntimeException("redis down")).when(rankService).syncRemovedArticles();
+
+        RankResetSchedule schedule = new RankResetSchedule();
+        try {
+            java.lang.reflect.Field field = RankResetSchedule.class.getDeclaredField("articleRankService");
+            field.setAccessible(true);
+            field.set(schedule, rankService);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        schedule.syncRemovedArticles();
+
+        verify(rankService, times(1)).syncRemovedArticles();
+    }
 }
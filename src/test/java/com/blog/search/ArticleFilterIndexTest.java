@@ -0,0 +1,212 @@
+package com.blog.search;
+
+import com.blog.config.SearchFilterProperties;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ArticleFilterIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final SearchFilterProperties properties = new SearchFilterProperties();
+    private final ArticleMapper articleMapper = mock(ArticleMapper.class);
+    private final ArticleFilterIndex filterIndex = new ArticleFilterIndex();
+    private final ArticleTagLookup tagLookup = new ArticleTagLookup();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filterIndex, "properties", properties);
+        ReflectionTestUtils.setField(filterIndex, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(tagLookup, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(filterIndex, "articleTagLookup", tagLookup);
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                article(1L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 1),
+                article(2L, Article.STATUS_PUBLISHED, 10L, 200L, 0, 2),
+                article(3L, Article.STATUS_PUBLISHED, 20L, 100L, 1, 3),
+                article(4L, Article.STATUS_DRAFT, 10L, 100L, 0, 4)));
+        when(articleMapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(
+                tag(1L, 5L), tag(2L, 5L), tag(2L, 6L), tag(3L, 6L), tag(4L, 5L)));
+    }
+
+    @Test
+    void query_notReady_shouldReportNotReady() {
+        assertThat(filterIndex.isReady()).isFalse();
+    }
+
+    @Test
+    void query_shouldFilterByStatusCategoryAuthorAndTags() {
+        filterIndex.rebuild();
+
+        assertThat(filterIndex.isReady()).isTrue();
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null)))
+                .containsExactly(3L, 1L, 2L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, 10L, null, 5L, null)))
+                .containsExactly(1L, 2L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, 100L, null, "5|6")))
+                .containsExactly(3L, 1L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, "5&!6")))
+                .containsExactly(1L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, 99L, null, null, null))).isEmpty();
+    }
+
+    @Test
+    void query_shouldPageAndSortByTopThenPublishTime() {
+        filterIndex.rebuild();
+        ArticleFilterIndex.Filter filter = new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null);
+
+        ArticleFilterIndex.Matches matches = filterIndex.query(filter, false, 1, 1);
+
+        assertThat(matches.total()).isEqualTo(3);
+        assertThat(matches.ids()).containsExactly(1L);
+        assertThat(filterIndex.query(filter, false, 3, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void query_popular_shouldSortByTopThenViewCount() {
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                viewed(article(1L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 1), 50),
+                viewed(article(2L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 2), 10),
+                viewed(article(3L, Article.STATUS_PUBLISHED, 10L, 100L, 1, 3), 0)));
+        filterIndex.rebuild();
+
+        assertThat(filterIndex.query(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null),
+                true, 0, 10).ids()).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void query_leadingIds_shouldComeFirstAndKeepRestPageable() {
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                viewed(article(1L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 1), 50),
+                viewed(article(2L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 2), 10),
+                viewed(article(3L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 3), 30),
+                viewed(article(4L, Article.STATUS_DRAFT, 10L, 100L, 0, 4), 90)));
+        filterIndex.rebuild();
+        ArticleFilterIndex.Filter filter = new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, 10L, null, null, null);
+        // 4 为草稿、99 不存在，不计入结果
+        List<Long> leading = List.of(2L, 4L, 99L);
+
+        ArticleFilterIndex.Matches first = filterIndex.query(filter, true, leading, 0, 2);
+        ArticleFilterIndex.Matches second = filterIndex.query(filter, true, leading, 2, 2);
+
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.ids()).containsExactly(2L, 1L);
+        assertThat(second.ids()).containsExactly(3L);
+    }
+
+    @Test
+    void refresh_shouldMoveArticleBetweenBitmaps() {
+        filterIndex.rebuild();
+        when(articleMapper.selectList(any())).thenReturn(List.of(article(1L, Article.STATUS_DRAFT, 20L, 100L, 0, 1)));
+        when(articleMapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(tag(1L, 6L)));
+
+        filterIndex.refresh(List.of(1L, 2L));
+
+        // 文章 1 下线，文章 2 在数据库中已不存在
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null)))
+                .containsExactly(3L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_DRAFT, 20L, null, 6L, null)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    void refresh_notReady_shouldSkipDatabase() {
+        filterIndex.refresh(List.of(1L));
+
+        verifyNoInteractions(articleMapper);
+    }
+
+    @Test
+    void pollChanges_shouldApplyArticlesUpdatedOnOtherInstances() {
+        filterIndex.rebuild();
+        Article published = article(5L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 0);
+        published.setUpdateTime(LocalDateTime.now());
+        Article unpublished = viewed(article(2L, Article.STATUS_DRAFT, 10L, 200L, 0, 2), 80);
+        unpublished.setUpdateTime(LocalDateTime.now());
+        when(articleMapper.selectList(any())).thenReturn(List.of(unpublished, published));
+        when(articleMapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(tag(5L, 5L)));
+
+        filterIndex.pollChanges();
+
+        // 文章 5 由其他实例发布，文章 2 由其他实例下线
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null)))
+                .containsExactly(3L, 5L, 1L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, 5L, null)))
+                .containsExactly(5L, 1L);
+    }
+
+    @Test
+    void rebuild_shouldRefreshViewCountForPopularOrder() {
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                viewed(article(1L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 1), 50),
+                viewed(article(2L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 2), 10)));
+        filterIndex.rebuild();
+        when(articleMapper.selectList(any())).thenReturn(List.of(
+                viewed(article(1L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 1), 50),
+                viewed(article(2L, Article.STATUS_PUBLISHED, 10L, 100L, 0, 2), 60)));
+
+        filterIndex.rebuild();
+
+        assertThat(filterIndex.query(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, null),
+                true, 0, 10).ids()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void rebuild_tagLookupFails_shouldIndexWithoutTags() {
+        when(articleMapper.selectTagIdsByArticleIds(any()))
+                .thenThrow(new RuntimeException("Table 'article_tags' doesn't exist"));
+
+        filterIndex.rebuild();
+
+        assertThat(filterIndex.isReady()).isTrue();
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, 10L, null, null, null)))
+                .containsExactly(1L, 2L);
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, 5L, null))).isEmpty();
+        assertThat(ids(new ArticleFilterIndex.Filter(Article.STATUS_PUBLISHED, null, null, null, "5|6"))).isEmpty();
+
+        filterIndex.pollChanges();
+        filterIndex.refresh(List.of(1L));
+        verify(articleMapper, times(1)).selectTagIdsByArticleIds(any());
+    }
+
+    @Test
+    void pollChanges_notReady_shouldSkipDatabase() {
+        filterIndex.pollChanges();
+
+        verifyNoInteractions(articleMapper);
+    }
+
+    private List<Long> ids(ArticleFilterIndex.Filter filter) {
+        return filterIndex.query(filter, false, 0, 10).ids();
+    }
+
+    private static Article article(Long id, int status, Long categoryId, Long authorId, int isTop, int hoursAgo) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setCategoryId(categoryId);
+        article.setAuthorId(authorId);
+        article.setIsTop(isTop);
+        article.setPublishTime(NOW.minusHours(hoursAgo));
+        return article;
+    }
+
+    private static Article viewed(Article article, int viewCount) {
+        article.setViewCount(viewCount);
+        return article;
+    }
+
+    private static Map<String, Object> tag(Long articleId, Long tagId) {
+        return Map.of("article_id", articleId, "tag_id", tagId);
+    }
+}
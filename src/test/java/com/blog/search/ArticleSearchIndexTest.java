@@ -0,0 +1,154 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(index, "properties", new SearchIndexProperties());
+        index.replaceAll(List.of(
+                doc(1L, "MySQL 索引优化实践", "联合索引与最左前缀", 10L, 100L, List.of(7L), 1, 50),
+                doc(2L, "Redis 缓存设计", "缓存击穿与索引无关", 10L, 200L, List.of(7L, 8L), 2, 500),
+                doc(3L, "前端性能", "打包体积优化", 20L, 100L, List.of(8L), 3, 5)));
+    }
+
+    @Test
+    void search_shouldRequireAllTermsAndRankTitleHitsFirst() {
+        ArticleSearchIndex.Hits hits = index.search("索引", "all", null, ArticleSearchIndex.SORT_RELEVANCE, 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.hits()).extracting(hit -> hit.article().id()).containsExactly(1L, 2L);
+        assertThat(hits.hits().get(0).matchedField()).isEqualTo("title");
+        assertThat(hits.hits().get(1).matchedField()).isEqualTo("content");
+
+        assertThat(index.search("索引 缓存", "all", null, null, 0, 10).hits())
+                .extracting(hit -> hit.article().id()).containsExactly(2L);
+    }
+
+    @Test
+    void search_titleScope_shouldIgnoreContentHits() {
+        ArticleSearchIndex.Hits hits = index.search("索引", ArticleSearchIndex.SCOPE_TITLE, null, null, 0, 10);
+
+        assertThat(hits.hits()).extracting(hit -> hit.article().id()).containsExactly(1L);
+    }
+
+    @Test
+    void search_filters_shouldApplyCategoryTagsAuthorAndDate() {
+        assertThat(ids(index.search(null, "all", new ArticleSearchIndex.Filter(10L, null, null, null, null), null, 0, 10)))
+                .containsExactly(2L, 1L);
+        assertThat(ids(index.search(null, "all", new ArticleSearchIndex.Filter(null, List.of(7L, 8L), null, null, null), null, 0, 10)))
+                .containsExactly(2L);
+        assertThat(ids(index.search(null, "all", new ArticleSearchIndex.Filter(null, null, 100L, null, null), null, 0, 10)))
+                .containsExactly(3L, 1L);
+        assertThat(ids(index.search(null, "all",
+                new ArticleSearchIndex.Filter(null, null, null, BASE.plusDays(2), BASE.plusDays(2)), null, 0, 10)))
+                .containsExactly(2L);
+    }
+
+    @Test
+    void search_sortAndPaging_shouldFollowRequest() {
+        ArticleSearchIndex.Hits hits = index.search("", "all", null, ArticleSearchIndex.SORT_VIEW, 1, 1);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(ids(hits)).containsExactly(1L);
+        assertThat(index.search("", "all", null, null, 0, 0).hits()).isEmpty();
+    }
+
+    @Test
+    void search_facets_shouldCountAllMatchesNotJustCurrentPage() {
+        ArticleSearchIndex.Hits hits = index.search("", "all", null, null, 0, 1, true);
+
+        assertThat(hits.hits()).hasSize(1);
+        assertThat(hits.facets().categories()).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 2L, 20L, 1L));
+        assertThat(hits.facets().tags()).containsExactlyInAnyOrderEntriesOf(Map.of(7L, 2L, 8L, 2L));
+        assertThat(hits.facets().authors()).containsExactlyInAnyOrderEntriesOf(Map.of(100L, 2L, 200L, 1L));
+        assertThat(hits.facets().months()).containsExactlyInAnyOrderEntriesOf(Map.of("2026-01", 3L));
+
+        assertThat(index.search("索引", "all", null, null, 0, 10, true).facets().authors())
+                .containsExactlyInAnyOrderEntriesOf(Map.of(100L, 1L, 200L, 1L));
+        assertThat(index.search("索引", "all", null, null, 0, 10).facets().categories()).isEmpty();
+    }
+
+    @Test
+    void search_unknownTerm_shouldReturnEmpty() {
+        assertThat(index.search("kubernetes", "all", null, null, 0, 10).total()).isZero();
+        assertThat(index.search("，。", "all", null, null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void upsertAndRemove_shouldUpdatePostings() {
+        index.upsert(doc(3L, "前端索引", "", 20L, 100L, List.of(), 3, 5));
+        assertThat(ids(index.search("索引", ArticleSearchIndex.SCOPE_TITLE, null, null, 0, 10))).containsExactly(3L, 1L);
+        assertThat(index.search("打包", "all", null, null, 0, 10).total()).isZero();
+
+        assertThat(index.remove(1L)).isTrue();
+        assertThat(index.remove(1L)).isFalse();
+        assertThat(ids(index.search("索引", ArticleSearchIndex.SCOPE_TITLE, null, null, 0, 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void exportSegment_shouldOnlyContainChangesSinceLastExport() {
+        assertThat(index.exportSegment(false).full()).isTrue();
+        assertThat(index.exportSegment(false)).isNull();
+
+        index.upsert(doc(4L, "索引下推", "", 20L, 100L, List.of(), 4, 1));
+        index.remove(2L);
+        ArticleSearchIndex.Segment segment = index.exportSegment(false);
+
+        assertThat(segment.full()).isFalse();
+        assertThat(segment.docs()).extracting(ArticleSearchIndex.IndexedArticle::id).containsExactly(4L);
+        assertThat(segment.deletedIds()).containsExactly(2L);
+        assertThat(segment.postings().get("索引")).containsOnlyKeys(4L);
+
+        index.restoreDirty(segment);
+        assertThat(index.exportSegment(false).docs()).hasSize(1);
+    }
+
+    @Test
+    void load_shouldMatchIndexBuiltFromTokens() {
+        ArticleSearchIndex loaded = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(loaded, "properties", new SearchIndexProperties());
+        index.upsert(doc(4L, "索引下推", "", 20L, 100L, List.of(), 4, 1));
+
+        loaded.load(List.of(index.exportSegment(true)));
+
+        assertThat(loaded.isReady()).isTrue();
+        assertThat(ids(loaded.search("索引", "all", null, ArticleSearchIndex.SORT_RELEVANCE, 0, 10)))
+                .isEqualTo(ids(index.search("索引", "all", null, ArticleSearchIndex.SORT_RELEVANCE, 0, 10)));
+        assertThat(loaded.exportSegment(false)).isNull();
+    }
+
+    private static List<Long> ids(ArticleSearchIndex.Hits hits) {
+        return hits.hits().stream().map(hit -> hit.article().id()).toList();
+    }
+
+    private static ArticleSearchIndex.IndexedArticle doc(Long id, String title, String content, Long categoryId,
+                                                         Long authorId, List<Long> tagIds, int day, int views) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setCategoryId(categoryId);
+        article.setAuthorId(authorId);
+        article.setViewCount(views);
+        article.setCreateTime(BASE.plusDays(day));
+        return ArticleSearchIndex.IndexedArticle.of(article, tagIds);
+    }
+}
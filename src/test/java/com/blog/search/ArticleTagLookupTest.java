@@ -0,0 +1,73 @@
+package com.blog.search;
+
+import com.blog.mapper.ArticleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleTagLookupTest {
+
+    private final ArticleMapper mapper = mock(ArticleMapper.class);
+    private final ArticleTagLookup lookup = new ArticleTagLookup();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lookup, "articleMapper", mapper);
+    }
+
+    @Test
+    void select_shouldGroupTagsByArticle() {
+        when(mapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(
+                Map.of("article_id", 1L, "tag_id", 5L),
+                Map.of("article_id", 1L, "tag_id", 6),
+                Map.of("article_id", 2L, "tag_id", 5L)));
+
+        Map<Long, List<Long>> tags = lookup.select(List.of(1L, 2L, 3L));
+
+        assertThat(tags).containsOnlyKeys(1L, 2L);
+        assertThat(tags.get(1L)).containsExactly(5L, 6L);
+        assertThat(lookup.isAvailable()).isTrue();
+    }
+
+    @Test
+    void select_emptyIds_shouldNotQuery() {
+        assertThat(lookup.select(List.of())).isEmpty();
+        verify(mapper, never()).selectTagIdsByArticleIds(any());
+    }
+
+    @Test
+    void select_queryFails_shouldReturnEmptyAndBackOff() {
+        when(mapper.selectTagIdsByArticleIds(any())).thenThrow(new RuntimeException("Table 'article_tags' doesn't exist"));
+
+        assertThat(lookup.select(List.of(1L))).isEmpty();
+        assertThat(lookup.select(List.of(2L))).isEmpty();
+
+        verify(mapper, times(1)).selectTagIdsByArticleIds(any());
+        assertThat(lookup.isAvailable()).isFalse();
+    }
+
+    @Test
+    void select_afterRetryInterval_shouldQueryAgainAndRecover() {
+        when(mapper.selectTagIdsByArticleIds(any()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(List.of(Map.of("article_id", 1L, "tag_id", 5L)));
+        lookup.select(List.of(1L));
+
+        ReflectionTestUtils.setField(lookup, "retryAt", System.currentTimeMillis() - 1);
+
+        assertThat(lookup.select(List.of(1L))).containsEntry(1L, List.of(5L));
+        assertThat(lookup.isAvailable()).isTrue();
+        verify(mapper, times(2)).selectTagIdsByArticleIds(any());
+    }
+}
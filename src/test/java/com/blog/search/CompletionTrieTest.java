@@ -0,0 +1,64 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    private CompletionTrie trie() {
+        return CompletionTrie.build(3, 32, List.of(
+                new CompletionTrie.Contribution("Redis 缓存设计", "article:1", 50),
+                new CompletionTrie.Contribution("Redis 集群", "article:2", 80),
+                new CompletionTrie.Contribution("React Hooks", "article:3", 10),
+                new CompletionTrie.Contribution("缓存击穿", "article:4", 30)));
+    }
+
+    @Test
+    void complete_shouldReturnPrefixMatchesByWeight() {
+        CompletionTrie trie = trie();
+
+        assertThat(trie.complete("re", 10)).containsExactly("Redis 集群", "Redis 缓存设计", "React Hooks");
+        assertThat(trie.complete("Redis缓", 10)).containsExactly("Redis 缓存设计");
+        assertThat(trie.complete("re", 1)).containsExactly("Redis 集群");
+        assertThat(trie.complete("vue", 10)).isEmpty();
+        assertThat(trie.complete(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void complete_pinyinInitials_shouldMatchChineseTitles() {
+        CompletionTrie trie = trie();
+
+        assertThat(trie.complete("hc", 10)).containsExactly("缓存击穿");
+        assertThat(trie.complete("redishc", 10)).containsExactly("Redis 缓存设计");
+    }
+
+    @Test
+    void put_shouldUpdateWeightsIncrementally() {
+        CompletionTrie trie = trie();
+
+        trie.put("React Hooks", "article:3", 100);
+        assertThat(trie.complete("re", 10)).containsExactly("React Hooks", "Redis 集群", "Redis 缓存设计");
+
+        trie.put("React Hooks", "query", 5);
+        trie.put("React Hooks", "article:3", 0);
+        assertThat(trie.complete("re", 10)).containsExactly("Redis 集群", "Redis 缓存设计", "React Hooks");
+
+        trie.put("Redis 集群", "article:2", 0);
+        assertThat(trie.complete("redis", 10)).containsExactly("Redis 缓存设计");
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_beyondTopK_shouldRefillFromSubtree() {
+        CompletionTrie trie = trie();
+        trie.put("Rust 入门", "article:5", 5);
+        assertThat(trie.complete("r", 10)).containsExactly("Redis 集群", "Redis 缓存设计", "React Hooks");
+
+        trie.put("Redis 集群", "article:2", 0);
+
+        assertThat(trie.complete("r", 10)).containsExactly("Redis 缓存设计", "React Hooks", "Rust 入门");
+    }
+}
@@ -0,0 +1,23 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_shouldNeverUnderestimate() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("query-" + (i % 100), 1);
+        }
+        sketch.add("redis", 42);
+
+        assertThat(sketch.estimate("redis")).isBetween(42L, 142L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(sketch.estimate("query-" + i)).isGreaterThanOrEqualTo(5);
+        }
+        assertThat(new CountMinSketch(64, 4).estimate("redis")).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package com.blog.search;
+
+import com.blog.config.HotSearchProperties;
+import com.blog.utils.RedisUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotSearchTrackerTest {
+
+    private final HotSearchProperties properties = new HotSearchProperties();
+    private final RedisUtils redisUtils = mock(RedisUtils.class);
+    private final HotSearchTracker tracker = new HotSearchTracker();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tracker, "properties", properties);
+        ReflectionTestUtils.setField(tracker, "redisUtils", redisUtils);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldWriteNormalizedCountsToCurrentHourBucketOnce() {
+        when(redisUtils.zIncrByBatch(anyString(), anyMap(), anyLong())).thenReturn(true);
+        tracker.record("  Spring   Boot ");
+        tracker.record("spring boot");
+        tracker.record("Redis");
+        tracker.record("   ");
+
+        tracker.flush();
+        tracker.flush();
+
+        ArgumentCaptor<Map<String, Double>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(redisUtils, times(1)).zIncrByBatch(startsWith(HotSearchTracker.BUCKET_KEY_PREFIX), deltas.capture(),
+                eq(Duration.ofHours(25).toSeconds()));
+        assertThat(deltas.getValue()).isEqualTo(Map.of("spring boot", 2.0, "redis", 1.0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_redisFailure_shouldRequeueForNextFlush() {
+        when(redisUtils.zIncrByBatch(anyString(), anyMap(), anyLong())).thenReturn(false, true);
+        tracker.record("redis");
+        tracker.flush();
+        tracker.record("redis");
+
+        tracker.flush();
+
+        ArgumentCaptor<Map<String, Double>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(redisUtils, times(2)).zIncrByBatch(anyString(), deltas.capture(), anyLong());
+        assertThat(deltas.getAllValues().get(1)).isEqualTo(Map.of("redis", 2.0));
+    }
+
+    @Test
+    void refresh_shouldUnionWindowBucketsAndCacheTopKeywords() {
+        properties.setWindow(Duration.ofHours(3));
+        when(redisUtils.zUnionStoreWeighted(eq(HotSearchTracker.WINDOW_KEY), anyList(), anyList(), anyLong())).thenReturn(2L);
+        LinkedHashMap<String, Double> top = new LinkedHashMap<>();
+        top.put("redis", 9.0);
+        top.put("spring boot", 4.0);
+        when(redisUtils.zReverseRangeWithScoresAsMap(HotSearchTracker.WINDOW_KEY, 0, 49)).thenReturn(top);
+
+        tracker.refresh();
+
+        verify(redisUtils).zUnionStoreWeighted(eq(HotSearchTracker.WINDOW_KEY),
+                argThat(keys -> keys.size() == 3), eq(List.of(1.0, 1.0, 1.0)), eq(10800L));
+        assertThat(tracker.getHotKeywords(10)).containsExactly("redis", "spring boot");
+        assertThat(tracker.getHotKeywords(1)).containsExactly("redis");
+    }
+
+    @Test
+    void refresh_redisUnavailable_shouldKeepPreviousKeywords() {
+        when(redisUtils.zUnionStoreWeighted(anyString(), anyList(), anyList(), anyLong())).thenReturn(1L, -1L);
+        when(redisUtils.zReverseRangeWithScoresAsMap(anyString(), anyLong(), anyLong()))
+                .thenReturn(new LinkedHashMap<>(Map.of("redis", 1.0)));
+        tracker.refresh();
+
+        tracker.refresh();
+
+        assertThat(tracker.getHotKeywords(10)).containsExactly("redis");
+    }
+
+    @Test
+    void record_disabled_shouldNotCount() {
+        properties.setEnabled(false);
+        tracker.record("redis");
+
+        tracker.flush();
+
+        verifyNoInteractions(redisUtils);
+    }
+}
@@ -0,0 +1,115 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdBitmapTest {
+
+    @Test
+    void addRemoveContains_shouldTrackMembership() {
+        IdBitmap bitmap = IdBitmap.of(3, 70000, 5);
+
+        assertThat(bitmap.add(5)).isFalse();
+        assertThat(bitmap.contains(70000)).isTrue();
+        assertThat(bitmap.remove(70000)).isTrue();
+        assertThat(bitmap.remove(70000)).isFalse();
+        assertThat(bitmap.toArray()).containsExactly(3, 5);
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+    }
+
+    @Test
+    void denseChunk_shouldConvertBetweenContainers() {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id = 0; id < 10000; id++) {
+            bitmap.add(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(10000);
+        for (long id = 0; id < 10000; id += 2) {
+            bitmap.remove(id);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(5000);
+        assertThat(bitmap.contains(9999)).isTrue();
+        assertThat(bitmap.contains(9998)).isFalse();
+        assertThat(bitmap.toArray()).startsWith(1, 3, 5);
+    }
+
+    @Test
+    void setOperations_shouldMatchBitSet() {
+        Random random = new Random(42);
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        IdBitmap a = new IdBitmap();
+        IdBitmap b = new IdBitmap();
+        // 同时覆盖稀疏（数组容器）与密集（位图容器）分块
+        for (int i = 0; i < 20000; i++) {
+            int idA = random.nextInt(1 << 16);
+            int idB = random.nextInt(1 << 16);
+            int sparse = (1 << 17) + random.nextInt(1 << 16);
+            expectedA.set(idA);
+            expectedB.set(idB);
+            a.add(idA);
+            b.add(idB);
+            if (i % 10 == 0) {
+                expectedA.set(sparse);
+                a.add(sparse);
+            }
+        }
+
+        assertBitmap(a.and(b), and(expectedA, expectedB));
+        assertBitmap(a.or(b), or(expectedA, expectedB));
+        assertBitmap(a.andNot(b), andNot(expectedA, expectedB));
+        assertBitmap(b.andNot(a), andNot(expectedB, expectedA));
+    }
+
+    @Test
+    void setOperations_shouldNotModifyOperands() {
+        IdBitmap a = IdBitmap.of(1, 2, 3);
+        IdBitmap b = IdBitmap.of(3, 4);
+
+        IdBitmap union = a.or(b);
+        union.add(100);
+
+        assertThat(a.toArray()).containsExactly(1, 2, 3);
+        assertThat(b.toArray()).containsExactly(3, 4);
+        assertThat(a.and(b).toArray()).containsExactly(3);
+        assertThat(a.andNot(b).toArray()).containsExactly(1, 2);
+    }
+
+    @Test
+    void add_outOfRange_shouldThrow() {
+        IdBitmap bitmap = new IdBitmap();
+
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bitmap.add(1L << 31)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bitmap.contains(-1)).isFalse();
+    }
+
+    private static void assertBitmap(IdBitmap actual, BitSet expected) {
+        assertThat(actual.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(actual.toArray()).containsExactly(expected.stream().asLongStream().toArray());
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static BitSet or(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    private static BitSet andNot(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.andNot(b);
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinyinInitialsTest {
+
+    @Test
+    void of_chineseText_shouldReturnInitials() {
+        assertThat(PinyinInitials.of("数据库索引优化")).isEqualTo("sjksyyh");
+    }
+
+    @Test
+    void of_mixedText_shouldKeepLettersAndDropPunctuation() {
+        assertThat(PinyinInitials.of("Redis 缓存，设计")).isEqualTo("redishcsj");
+    }
+
+    @Test
+    void of_nonHan_shouldReturnZero() {
+        assertThat(PinyinInitials.of('a')).isEqualTo((char) 0);
+        assertThat(PinyinInitials.of((String) null)).isEmpty();
+    }
+}
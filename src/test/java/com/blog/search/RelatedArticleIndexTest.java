@@ -0,0 +1,101 @@
+package com.blog.search;
+
+import com.blog.config.RelatedArticleProperties;
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelatedArticleIndexTest {
+
+    private ArticleSearchIndex searchIndex;
+    private RelatedArticleProperties properties;
+    private RelatedArticleIndex relatedIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "properties", new SearchIndexProperties());
+        properties = new RelatedArticleProperties();
+        relatedIndex = new RelatedArticleIndex();
+        ReflectionTestUtils.setField(relatedIndex, "properties", properties);
+        ReflectionTestUtils.setField(relatedIndex, "searchIndex", searchIndex);
+        searchIndex.replaceAll(List.of(
+                doc(1L, "Redis 缓存穿透", "布隆过滤器拦截不存在的键", 10L, List.of(7L)),
+                doc(2L, "Redis 缓存雪崩", "过期时间加随机值，布隆过滤器", 10L, List.of(7L)),
+                doc(3L, "缓存击穿与互斥锁", "热点键过期时加锁重建", 20L, List.of(7L)),
+                doc(4L, "前端打包优化", "代码分割与按需加载", 30L, List.of(9L))));
+        relatedIndex.rebuild();
+    }
+
+    @Test
+    void related_shouldRankByTermsTagsAndCategory() {
+        assertThat(relatedIndex.isReady()).isTrue();
+        assertThat(ids(relatedIndex.related(1L))).containsExactly(2L, 3L);
+        assertThat(relatedIndex.related(4L)).isEmpty();
+        assertThat(relatedIndex.related(99L)).isEmpty();
+    }
+
+    @Test
+    void related_shouldKeepTopK() {
+        properties.setTopK(1);
+        relatedIndex.rebuild();
+
+        assertThat(ids(relatedIndex.related(1L))).containsExactly(2L);
+    }
+
+    @Test
+    void upsertArticle_shouldRecomputeOwnListAndJoinCandidates() {
+        ArticleSearchIndex.IndexedArticle changed = doc(4L, "Redis 缓存穿透实战", "布隆过滤器拦截不存在的键", 10L, List.of(7L));
+        searchIndex.upsert(changed);
+
+        relatedIndex.upsertArticle(changed);
+
+        assertThat(ids(relatedIndex.related(4L))).startsWith(1L);
+        assertThat(ids(relatedIndex.related(1L))).startsWith(4L);
+    }
+
+    @Test
+    void removeArticle_shouldDropFromOtherLists() {
+        searchIndex.remove(2L);
+
+        relatedIndex.removeArticle(2L);
+
+        assertThat(relatedIndex.related(2L)).isEmpty();
+        assertThat(ids(relatedIndex.related(1L))).containsExactly(3L);
+    }
+
+    @Test
+    void rebuild_indexNotReady_shouldSkip() {
+        RelatedArticleIndex fresh = new RelatedArticleIndex();
+        ArticleSearchIndex emptyIndex = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(fresh, "properties", properties);
+        ReflectionTestUtils.setField(fresh, "searchIndex", emptyIndex);
+
+        fresh.rebuild();
+
+        assertThat(fresh.isReady()).isFalse();
+        assertThat(fresh.related(1L)).isEmpty();
+    }
+
+    private static List<Long> ids(List<ArticleSearchIndex.IndexedArticle> articles) {
+        return articles.stream().map(ArticleSearchIndex.IndexedArticle::id).toList();
+    }
+
+    private static ArticleSearchIndex.IndexedArticle doc(Long id, String title, String content, Long categoryId,
+                                                         List<Long> tagIds) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setCategoryId(categoryId);
+        article.setCreateTime(LocalDateTime.of(2026, 1, 1, 0, 0).plusDays(id));
+        return ArticleSearchIndex.IndexedArticle.of(article, tagIds);
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import com.blog.mapper.ArticleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SearchIndexConsistencyCheckerTest {
+
+    private static final LocalDateTime V1 = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime V2 = V1.plusMinutes(5);
+
+    private final SearchIndexProperties properties = new SearchIndexProperties();
+    private final ArticleSearchIndex searchIndex = mock(ArticleSearchIndex.class);
+    private final SearchIndexUpdateQueue updateQueue = mock(SearchIndexUpdateQueue.class);
+    private final ArticleMapper articleMapper = mock(ArticleMapper.class);
+    private final SearchIndexConsistencyChecker checker = new SearchIndexConsistencyChecker();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(checker, "properties", properties);
+        ReflectionTestUtils.setField(checker, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(checker, "updateQueue", updateQueue);
+        ReflectionTestUtils.setField(checker, "articleMapper", articleMapper);
+        when(searchIndex.isReady()).thenReturn(true);
+    }
+
+    @Test
+    void check_shouldEnqueueStaleMissingAndUnpublishedArticles() {
+        properties.setRebuildBatchSize(2);
+        Map<Long, LocalDateTime> versions = new HashMap<>();
+        versions.put(1L, V1);
+        versions.put(2L, V1);
+        versions.put(9L, V1);
+        when(searchIndex.versions()).thenReturn(versions);
+        when(articleMapper.selectList(any()))
+                .thenReturn(List.of(row(1L, V1), row(2L, V2)))
+                .thenReturn(List.of(row(3L, V1)));
+
+        int stale = checker.check();
+
+        assertThat(stale).isEqualTo(3);
+        verify(updateQueue).enqueue(2L);
+        verify(updateQueue).enqueue(3L);
+        verify(updateQueue).enqueue(9L);
+        verify(updateQueue, never()).enqueue(1L);
+        verify(articleMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    void check_consistentIndex_shouldEnqueueNothing() {
+        when(searchIndex.versions()).thenReturn(new HashMap<>(Map.of(1L, V1)));
+        when(articleMapper.selectList(any())).thenReturn(List.of(row(1L, V1)));
+
+        assertThat(checker.check()).isZero();
+        verifyNoInteractions(updateQueue);
+    }
+
+    @Test
+    void check_indexNotReady_shouldSkip() {
+        when(searchIndex.isReady()).thenReturn(false);
+
+        assertThat(checker.check()).isZero();
+        verifyNoInteractions(articleMapper, updateQueue);
+    }
+
+    private static Article row(Long id, LocalDateTime updateTime) {
+        Article article = new Article();
+        article.setId(id);
+        article.setUpdateTime(updateTime);
+        return article;
+    }
+}
@@ -0,0 +1,126 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SearchIndexPersistenceTest {
+
+    @TempDir
+    Path dir;
+
+    private final SearchIndexProperties properties = new SearchIndexProperties();
+    private final SearchIndexConsistencyChecker consistencyChecker = mock(SearchIndexConsistencyChecker.class);
+
+    private ArticleSearchIndex index;
+    private SearchIndexPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDataDir(dir.toString());
+        index = newIndex();
+        persistence = newPersistence(index);
+    }
+
+    @Test
+    void restore_shouldApplyFullAndIncrementalSegmentsThenReplayChanges() {
+        index.replaceAll(List.of(doc(1L, "Redis 缓存"), doc(2L, "MySQL 索引")));
+        persistence.checkpoint();
+        index.upsert(doc(3L, "JVM 调优"));
+        index.remove(1L);
+        persistence.checkpoint();
+
+        ArticleSearchIndex restored = newIndex();
+        boolean ok = newPersistence(restored).restore();
+
+        assertThat(ok).isTrue();
+        assertThat(restored.isReady()).isTrue();
+        assertThat(restored.versions().keySet()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(restored.search("调优", "all", null, null, 0, 10).total()).isEqualTo(1);
+        assertThat(restored.search("缓存", "all", null, null, 0, 10).total()).isZero();
+        verify(consistencyChecker).check();
+    }
+
+    @Test
+    void checkpoint_withoutChanges_shouldNotWriteNewSegment() throws IOException {
+        index.replaceAll(List.of(doc(1L, "Redis 缓存")));
+        persistence.checkpoint();
+        persistence.checkpoint();
+
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder(SegmentFiles.COMMIT_FILE, SegmentFiles.segmentName(1));
+        }
+    }
+
+    @Test
+    void checkpoint_reachingMaxSegments_shouldMergeAndDeleteOldSegments() throws IOException {
+        properties.setMaxSegments(2);
+        index.replaceAll(List.of(doc(1L, "Redis 缓存")));
+        persistence.checkpoint();
+        index.upsert(doc(2L, "MySQL 索引"));
+        persistence.checkpoint();
+        index.upsert(doc(3L, "JVM 调优"));
+        persistence.checkpoint();
+
+        assertThat(SegmentFiles.readCommit(dir).segments()).containsExactly(SegmentFiles.segmentName(3));
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(path -> path.toString().endsWith(".seg")).count()).isEqualTo(1);
+        }
+        ArticleSearchIndex restored = newIndex();
+        newPersistence(restored).restore();
+        assertThat(restored.size()).isEqualTo(3);
+    }
+
+    @Test
+    void restore_withoutCommit_shouldRequestFullRebuild() {
+        assertThat(persistence.restore()).isFalse();
+        assertThat(index.isReady()).isFalse();
+        verifyNoInteractions(consistencyChecker);
+    }
+
+    @Test
+    void restore_corruptedSegment_shouldRequestFullRebuild() throws IOException {
+        index.replaceAll(List.of(doc(1L, "Redis 缓存")));
+        persistence.checkpoint();
+        Files.write(dir.resolve(SegmentFiles.segmentName(1)), new byte[]{1, 2, 3});
+
+        assertThat(newPersistence(newIndex()).restore()).isFalse();
+    }
+
+    private ArticleSearchIndex newIndex() {
+        ArticleSearchIndex searchIndex = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "properties", properties);
+        return searchIndex;
+    }
+
+    private SearchIndexPersistence newPersistence(ArticleSearchIndex searchIndex) {
+        SearchIndexPersistence target = new SearchIndexPersistence();
+        ReflectionTestUtils.setField(target, "properties", properties);
+        ReflectionTestUtils.setField(target, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(target, "consistencyChecker", consistencyChecker);
+        return target;
+    }
+
+    private static ArticleSearchIndex.IndexedArticle doc(Long id, String title) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(title + " 实践");
+        article.setCreateTime(LocalDateTime.of(2026, 1, 1, 0, 0));
+        article.setUpdateTime(LocalDateTime.of(2026, 1, 2, 0, 0));
+        return ArticleSearchIndex.IndexedArticle.of(article, List.of());
+    }
+}
@@ -0,0 +1,100 @@
+package com.blog.search;
+
+import com.blog.common.Result;
+import com.blog.config.SearchIndexProperties;
+import com.blog.service.ArticleSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SearchIndexUpdateQueueTest {
+
+    private final SearchIndexProperties properties = new SearchIndexProperties();
+    private final ArticleSearchIndex searchIndex = mock(ArticleSearchIndex.class);
+    private final ArticleSearchService articleSearchService = mock(ArticleSearchService.class);
+    private final SearchIndexUpdateQueue queue = new SearchIndexUpdateQueue();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queue, "properties", properties);
+        ReflectionTestUtils.setField(queue, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(queue, "articleSearchService", articleSearchService);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(articleSearchService.syncArticlesToIndex(any())).thenReturn(Result.success(null));
+    }
+
+    @Test
+    void flush_settledChanges_shouldSyncOnceInSingleBatch() {
+        properties.setDebounce(Duration.ZERO);
+        queue.enqueue(1L);
+        queue.enqueue(1L);
+        queue.enqueue(2L);
+
+        queue.flush();
+
+        verify(articleSearchService, times(1)).syncArticlesToIndex(argThat(ids -> ids.containsAll(List.of(1L, 2L)) && ids.size() == 2));
+        assertThat(queue.pendingSize()).isZero();
+    }
+
+    @Test
+    void flush_withinDebounceAndMaxLag_shouldWait() {
+        properties.setDebounce(Duration.ofHours(1));
+        properties.setMaxLag(Duration.ofHours(1));
+        queue.enqueue(1L);
+
+        queue.flush();
+
+        verify(articleSearchService, never()).syncArticlesToIndex(any());
+        assertThat(queue.pendingSize()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_overdue_shouldSyncEvenIfStillChanging() {
+        properties.setDebounce(Duration.ofHours(1));
+        properties.setMaxLag(Duration.ZERO);
+        queue.enqueue(1L);
+
+        queue.flush();
+
+        verify(articleSearchService).syncArticlesToIndex(List.of(1L));
+    }
+
+    @Test
+    void flush_syncFailed_shouldRequeue() {
+        properties.setDebounce(Duration.ZERO);
+        when(articleSearchService.syncArticlesToIndex(any())).thenReturn(Result.error("同步搜索索引失败"));
+        queue.enqueue(1L);
+
+        queue.flush();
+
+        assertThat(queue.pendingSize()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_indexNotReady_shouldKeepPending() {
+        properties.setDebounce(Duration.ZERO);
+        when(searchIndex.isReady()).thenReturn(false);
+        queue.enqueue(1L);
+
+        queue.flush();
+
+        verifyNoInteractions(articleSearchService);
+        assertThat(queue.pendingSize()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_disabled_shouldIgnore() {
+        properties.setEnabled(false);
+
+        queue.enqueue(1L);
+
+        assertThat(queue.pendingSize()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.blog.search;
+
+import com.blog.config.SearchCacheProperties;
+import com.blog.config.SearchIndexProperties;
+import com.blog.entity.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private final SearchCacheProperties properties = new SearchCacheProperties();
+    private final ArticleSearchIndex searchIndex = new ArticleSearchIndex();
+    private final SearchResultCache cache = new SearchResultCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "properties", new SearchIndexProperties());
+        ReflectionTestUtils.setField(cache, "properties", properties);
+        ReflectionTestUtils.setField(cache, "searchIndex", searchIndex);
+        cache.init();
+    }
+
+    @Test
+    void get_sameNormalizedQuery_shouldLoadOnce() {
+        assertThat(load("Spring  Boot ")).isEqualTo(1);
+        assertThat(load("spring boot")).isEqualTo(1);
+        assertThat(load("spring")).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_nullParts_shouldBeAllowed() {
+        Integer first = cache.get("count", SearchResultCache.parts(null, 1L, null), loads::incrementAndGet);
+        Integer second = cache.get("count", SearchResultCache.parts(null, 1L, null), loads::incrementAndGet);
+
+        assertThat(first).isEqualTo(second).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_shouldMissOldEntries() {
+        load("redis");
+
+        cache.invalidate();
+
+        assertThat(load("redis")).isEqualTo(2);
+    }
+
+    @Test
+    void indexUpdate_shouldMissOldEntries() {
+        load("redis");
+        Article article = new Article();
+        article.setId(1L);
+        article.setTitle("Redis");
+
+        searchIndex.upsert(ArticleSearchIndex.IndexedArticle.of(article, List.of()));
+
+        assertThat(load("redis")).isEqualTo(2);
+    }
+
+    @Test
+    void get_disabled_shouldAlwaysLoad() {
+        properties.setEnabled(false);
+
+        load("redis");
+        load("redis");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_nullResult_shouldNotBeCached() {
+        assertThat(cache.<Integer>get("page", SearchResultCache.parts("redis"), () -> null)).isNull();
+        assertThat(load("redis")).isEqualTo(1);
+    }
+
+    private int load(String query) {
+        return cache.get("page", SearchResultCache.parts(SearchResultCache.normalize(query)), loads::incrementAndGet);
+    }
+}
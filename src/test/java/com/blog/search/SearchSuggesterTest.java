@@ -0,0 +1,91 @@
+package com.blog.search;
+
+import com.blog.config.SearchIndexProperties;
+import com.blog.config.SearchSuggestProperties;
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.mapper.CategoryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SearchSuggesterTest {
+
+    private final SearchSuggestProperties properties = new SearchSuggestProperties();
+    private final ArticleSearchIndex searchIndex = new ArticleSearchIndex();
+    private final CategoryMapper categoryMapper = mock(CategoryMapper.class);
+    private final SearchSuggester suggester = new SearchSuggester();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "properties", new SearchIndexProperties());
+        ReflectionTestUtils.setField(suggester, "properties", properties);
+        ReflectionTestUtils.setField(suggester, "searchIndex", searchIndex);
+        ReflectionTestUtils.setField(suggester, "categoryMapper", categoryMapper);
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("后端开发");
+        category.setArticleCount(3);
+        when(categoryMapper.selectAllActiveCategories()).thenReturn(List.of(category));
+        searchIndex.replaceAll(List.of(doc(1L, "Spring Boot 入门", 100), doc(2L, "后端性能优化", 5)));
+    }
+
+    @Test
+    void rebuild_shouldIndexTitlesAndCategories() {
+        assertThat(suggester.isReady()).isFalse();
+
+        suggester.rebuild();
+
+        assertThat(suggester.isReady()).isTrue();
+        assertThat(suggester.suggest("spring", 10)).containsExactly("Spring Boot 入门");
+        assertThat(suggester.suggest("后端", 10)).containsExactly("后端开发", "后端性能优化");
+        assertThat(suggester.suggest("hd", 10)).containsExactly("后端开发", "后端性能优化");
+    }
+
+    @Test
+    void rebuild_indexNotReady_shouldSkip() {
+        ArticleSearchIndex empty = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(suggester, "searchIndex", empty);
+
+        suggester.rebuild();
+
+        assertThat(suggester.isReady()).isFalse();
+        verifyNoInteractions(categoryMapper);
+    }
+
+    @Test
+    void upsertAndRemoveArticle_shouldReplaceOldTitle() {
+        suggester.rebuild();
+
+        suggester.upsertArticle(1L, "Spring Cloud 实战", 100);
+        assertThat(suggester.suggest("spring", 10)).containsExactly("Spring Cloud 实战");
+
+        suggester.removeArticle(1L);
+        assertThat(suggester.suggest("spring", 10)).isEmpty();
+    }
+
+    @Test
+    void recordQuery_shouldSurviveRebuildAndRespectLimit() {
+        properties.setMaxQueries(1);
+        suggester.rebuild();
+
+        suggester.recordQuery(" spring   security ");
+        suggester.recordQuery("spring data");
+        suggester.rebuild();
+
+        assertThat(suggester.suggest("spring", 10)).containsExactly("Spring Boot 入门", "spring security");
+    }
+
+    private static ArticleSearchIndex.IndexedArticle doc(Long id, String title, int views) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setViewCount(views);
+        return ArticleSearchIndex.IndexedArticle.of(article, List.of());
+    }
+}
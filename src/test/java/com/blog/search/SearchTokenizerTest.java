@@ -0,0 +1,35 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTokenizerTest {
+
+    @Test
+    void tokenize_chinese_shouldProduceOverlappingBigrams() {
+        assertThat(SearchTokenizer.tokenize("数据库索引")).containsExactly("数据", "据库", "库索", "索引");
+    }
+
+    @Test
+    void tokenize_singleChineseCharacter_shouldKeepUnigram() {
+        assertThat(SearchTokenizer.tokenize("写 代码")).containsExactly("写", "代码");
+    }
+
+    @Test
+    void tokenize_mixedText_shouldSplitScriptsAndLowercase() {
+        assertThat(SearchTokenizer.tokenize("Spring Boot3教程"))
+                .containsExactly("spring", "boot3", "教程");
+    }
+
+    @Test
+    void tokenize_shouldDropPunctuationAndStopWords() {
+        assertThat(SearchTokenizer.tokenize("The art of, Java!")).containsExactly("art", "java");
+    }
+
+    @Test
+    void tokenize_blank_shouldReturnEmpty() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize("  ，。")).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog.search;
+
+import com.blog.entity.Article;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void segment_shouldRoundTripDocsDeletesAndPostings() throws IOException {
+        Article article = new Article();
+        article.setId(1L);
+        article.setTitle("Redis 缓存");
+        article.setContent("缓存穿透");
+        article.setAuthorId(100L);
+        article.setViewCount(42);
+        article.setCreateTime(LocalDateTime.of(2026, 1, 1, 8, 30, 15, 123_000_000));
+        ArticleSearchIndex.IndexedArticle doc = ArticleSearchIndex.IndexedArticle.of(article, List.of(7L, 8L));
+        ArticleSearchIndex.Segment segment = new ArticleSearchIndex.Segment(false, List.of(doc),
+                Map.of(1L, new int[]{2, 2}), Map.of("缓存", Map.of(1L, new int[]{1, 1})), Set.of(9L));
+        Path file = dir.resolve(SegmentFiles.segmentName(1));
+
+        SegmentFiles.writeSegment(file, segment);
+        ArticleSearchIndex.Segment read = SegmentFiles.readSegment(file);
+
+        assertThat(read.full()).isFalse();
+        assertThat(read.docs()).containsExactly(doc);
+        assertThat(read.lengths().get(1L)).containsExactly(2, 2);
+        assertThat(read.postings().get("缓存").get(1L)).containsExactly(1, 1);
+        assertThat(read.deletedIds()).containsExactly(9L);
+    }
+
+    @Test
+    void segment_corrupted_shouldFailChecksum() throws IOException {
+        Path file = dir.resolve(SegmentFiles.segmentName(1));
+        SegmentFiles.writeSegment(file, new ArticleSearchIndex.Segment(true, List.of(), Map.of(), Map.of(), Set.of()));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[5] ^= 1;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> SegmentFiles.readSegment(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void commit_shouldReplaceAtomicallyAndRoundTrip() throws IOException {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        SegmentFiles.writeCommit(dir, new SegmentFiles.CommitPoint(1, now, List.of("a.seg")));
+        SegmentFiles.writeCommit(dir, new SegmentFiles.CommitPoint(2, now, List.of("a.seg", "b.seg")));
+
+        SegmentFiles.CommitPoint commit = SegmentFiles.readCommit(dir);
+
+        assertThat(commit).isEqualTo(new SegmentFiles.CommitPoint(2, now, List.of("a.seg", "b.seg")));
+        assertThat(Files.exists(dir.resolve(SegmentFiles.COMMIT_FILE + ".tmp"))).isFalse();
+        assertThat(SegmentFiles.readCommit(dir.resolve("missing"))).isNull();
+    }
+}
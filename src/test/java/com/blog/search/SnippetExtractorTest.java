@@ -0,0 +1,56 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnippetExtractorTest {
+
+    @Test
+    void extract_shouldPickWindowCoveringMostTerms() {
+        String text = "redis 入门。" + "x".repeat(200) + " redis 缓存穿透的解决办法。" + "y".repeat(200);
+
+        SnippetExtractor.Snippet snippet = SnippetExtractor.extract(text, "redis 缓存", 40);
+
+        assertThat(snippet.text()).startsWith("…").endsWith("…").contains("redis 缓存穿透");
+        assertThat(snippet.highlights()).isNotEmpty();
+        for (int[] range : snippet.highlights()) {
+            assertThat(snippet.text().substring(range[0], range[1])).isIn("redis", "缓存");
+        }
+    }
+
+    @Test
+    void extract_chineseBigrams_shouldMergeHighlights() {
+        SnippetExtractor.Snippet snippet = SnippetExtractor.extract("MySQL 数据库索引优化", "数据库", 50);
+
+        assertThat(snippet.text()).isEqualTo("MySQL 数据库索引优化");
+        assertThat(snippet.highlights()).hasSize(1);
+        int[] range = snippet.highlights().get(0);
+        assertThat(snippet.text().substring(range[0], range[1])).isEqualTo("数据库");
+    }
+
+    @Test
+    void extract_noMatch_shouldReturnLeadingText() {
+        SnippetExtractor.Snippet snippet = SnippetExtractor.extract("第一段\n\n  第二段内容较长", "redis", 8);
+
+        assertThat(snippet.text()).isEqualTo("第一段 第二段内…");
+        assertThat(snippet.highlights()).isEmpty();
+    }
+
+    @Test
+    void extract_emptyText_shouldReturnEmptySnippet() {
+        assertThat(SnippetExtractor.extract(null, "redis", 100).text()).isEmpty();
+        assertThat(SnippetExtractor.extract("", "redis", 100).highlights()).isEmpty();
+    }
+
+    @Test
+    void highlights_shouldIgnoreCaseAndKeepOffsets() {
+        List<int[]> ranges = SnippetExtractor.highlights("Spring Boot 与 spring cloud", "SPRING");
+
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)).containsExactly(0, 6);
+        assertThat(ranges.get(1)).containsExactly(14, 20);
+    }
+}
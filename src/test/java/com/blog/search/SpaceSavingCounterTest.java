@@ -0,0 +1,23 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingCounterTest {
+
+    @Test
+    void add_beyondCapacity_shouldKeepHeavyHittersWithErrorBound() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(2);
+        for (int i = 0; i < 10; i++) {
+            counter.add("redis", 1);
+        }
+        counter.add("java", 1);
+        counter.add("vue", 1);
+
+        assertThat(counter.counters()).extracting(SpaceSavingCounter.Counter::item)
+                .containsExactlyInAnyOrder("redis", "vue");
+        assertThat(counter.counters()).contains(new SpaceSavingCounter.Counter("redis", 10, 0),
+                new SpaceSavingCounter.Counter("vue", 2, 1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TagExpressionTest {
+
+    private final IdBitmap universe = IdBitmap.of(1, 2, 3, 4, 5, 6);
+    private final Map<Long, IdBitmap> tags = Map.of(
+            1L, IdBitmap.of(1, 2, 3, 4),
+            2L, IdBitmap.of(2, 5),
+            3L, IdBitmap.of(3, 6),
+            4L, IdBitmap.of(3));
+
+    @Test
+    void evaluate_shouldRespectPrecedenceAndParentheses() {
+        assertThat(evaluate("1&(2|3)&!4")).containsExactly(2);
+        assertThat(evaluate("1&2|3")).containsExactly(2, 3, 6);
+        assertThat(evaluate("1 , 3")).containsExactly(3);
+        assertThat(evaluate("!!2")).containsExactly(2, 5);
+    }
+
+    @Test
+    void evaluate_unknownTag_shouldMatchNothing() {
+        assertThat(evaluate("99")).isEmpty();
+        assertThat(evaluate("!99")).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void parse_invalid_shouldThrow() {
+        assertThatThrownBy(() -> TagExpression.parse("1&")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TagExpression.parse("(1|2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TagExpression.parse("1 2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TagExpression.parse("java")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TagExpression.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long[] evaluate(String expression) {
+        return TagExpression.parse(expression)
+                .evaluate(universe, tagId -> tags.getOrDefault(tagId, new IdBitmap()))
+                .toArray();
+    }
+}
@@ -8,9 +8,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyCollection;
@@ -22,6 +24,8 @@ class AccessLogBufferServiceTest {
 
     private AccessLogBufferProperties properties;
     private WebsiteAccessLogMapper websiteAccessLogMapper;
+    private AccessLogEnricher accessLogEnricher;
+    private VisitCounterService visitCounterService;
     private AccessLogBufferService service;
 
     private WebsiteAccessLog sampleLog() {
@@ -47,6 +51,16 @@ class AccessLogBufferServiceTest {
         mapperField.setAccessible(true);
         mapperField.set(service, websiteAccessLogMapper);
 
+        accessLogEnricher = mock(AccessLogEnricher.class, withSettings().lenient());
+        Field enricherField = AccessLogBufferService.class.getDeclaredField("accessLogEnricher");
+        enricherField.setAccessible(true);
+        enricherField.set(service, accessLogEnricher);
+
+        visitCounterService = mock(VisitCounterService.class, withSettings().lenient());
+        Field counterField = AccessLogBufferService.class.getDeclaredField("visitCounterService");
+        counterField.setAccessible(true);
+        counterField.set(service, visitCounterService);
+
         when(properties.getQueueCapacity()).thenReturn(1000);
         when(properties.getBatchSize()).thenReturn(200);
         when(properties.getFlushIntervalMs()).thenReturn(500L);
@@ -111,6 +125,59 @@ class AccessLogBufferServiceTest {
             // 队列容量=1，再入队应丢弃旧的
             assertThat(service.offer(sampleLog())).isTrue();
         }
+
+        @Test
+        @DisplayName("缓冲区满时 DROP_OLDEST 应丢弃最旧日志并计数")
+        void testOffer_full_dropOldest_shouldCountDropped() {
+            when(properties.getOverflowPolicy()).thenReturn(AccessLogBufferProperties.OverflowPolicy.DROP_OLDEST);
+            WebsiteAccessLog first = sampleLog();
+            first.setRequestUrl("/first");
+            service.offer(first);
+            fill(service.pendingSize());
+
+            WebsiteAccessLog latest = sampleLog();
+            latest.setRequestUrl("/latest");
+            assertThat(service.offer(latest)).isTrue();
+            assertThat(service.getDroppedCount()).isEqualTo(1);
+
+            // 单次调度最多 5 批 × 200 条，1024 条需要两次刷新
+            service.flush();
+            service.flush();
+            ArgumentCaptor<java.util.Collection<WebsiteAccessLog>> captor = ArgumentCaptor.forClass(java.util.Collection.class);
+            verify(websiteAccessLogMapper, atLeastOnce()).insertBatch(captor.capture());
+            List<String> urls = captor.getAllValues().stream().flatMap(java.util.Collection::stream)
+                    .map(WebsiteAccessLog::getRequestUrl).toList();
+            assertThat(urls).doesNotContain("/first").contains("/latest");
+        }
+
+        @Test
+        @DisplayName("缓冲区满时 DROP_NEWEST 应拒绝新日志并计数")
+        void testOffer_full_dropNewest_shouldRejectAndCount() {
+            when(properties.getOverflowPolicy()).thenReturn(AccessLogBufferProperties.OverflowPolicy.DROP_NEWEST);
+            fill(0);
+
+            assertThat(service.offer(sampleLog())).isFalse();
+            assertThat(service.getDroppedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("缓冲区满时 BLOCK 应在超时后丢弃")
+        void testOffer_full_block_shouldGiveUpAfterTimeout() {
+            when(properties.getOverflowPolicy()).thenReturn(AccessLogBufferProperties.OverflowPolicy.BLOCK);
+            when(properties.getBlockTimeoutMs()).thenReturn(1L);
+            fill(0);
+
+            assertThat(service.offer(sampleLog())).isFalse();
+            assertThat(service.getDroppedCount()).isEqualTo(1);
+        }
+
+        private void fill(int alreadyQueued) {
+            // 容量 1000 按 2 的幂分配为 1024
+            for (int i = alreadyQueued; i < 1024; i++) {
+                assertThat(service.offer(sampleLog())).isTrue();
+            }
+            assertThat(service.pendingSize()).isEqualTo(1024);
+        }
     }
 
     // ==================== flush ====================
@@ -135,6 +202,16 @@ class AccessLogBufferServiceTest {
             verify(websiteAccessLogMapper, atLeastOnce()).insertBatch(anyCollection());
         }
 
+        @Test
+        @DisplayName("flush 应先在刷盘线程上补全再写入")
+        void testFlush_shouldEnrichBeforeInsert() {
+            service.offer(sampleLog());
+            service.flush();
+            var inOrder = inOrder(accessLogEnricher, websiteAccessLogMapper);
+            inOrder.verify(accessLogEnricher).enrich(anyCollection());
+            inOrder.verify(websiteAccessLogMapper).insertBatch(anyCollection());
+        }
+
         @Test
         @DisplayName("insertBatch 失败时应在内部重试一次")
         void testFlush_insertFails_shouldRetryOnce() {
@@ -146,6 +223,17 @@ class AccessLogBufferServiceTest {
             service.flush();
 
             verify(websiteAccessLogMapper, times(2)).insertBatch(anyCollection());
+            verify(visitCounterService).record(anyCollection());
+        }
+
+        @Test
+        @DisplayName("写库成功后才累加实时计数")
+        void testFlush_shouldRecordCountersAfterInsert() {
+            service.offer(sampleLog());
+            service.flush();
+            var inOrder = inOrder(websiteAccessLogMapper, visitCounterService);
+            inOrder.verify(websiteAccessLogMapper).insertBatch(anyCollection());
+            inOrder.verify(visitCounterService).record(anyCollection());
         }
 
         @Test
@@ -160,6 +248,7 @@ class AccessLogBufferServiceTest {
             // maxBatchesPerFlush=5：每轮 flushBatch 调用 insertBatch 失败后重试，
             // 因此第一次 flush 至少调用 2 次 insertBatch，并发生回灌
             verify(websiteAccessLogMapper, atLeast(2)).insertBatch(anyCollection());
+            verify(visitCounterService, never()).record(anyCollection());
 
             // flush 再次运行应仍能取出日志（回灌成功）
             clearInvocations(websiteAccessLogMapper);
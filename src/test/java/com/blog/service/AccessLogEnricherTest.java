@@ -0,0 +1,78 @@
+package com.blog.service;
+
+import com.blog.config.AccessLogBufferProperties;
+import com.blog.entity.WebsiteAccessLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("访问日志补全测试")
+class AccessLogEnricherTest {
+
+    private static final String CHROME_WINDOWS = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String SAFARI_IPHONE = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) "
+            + "AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.0 Mobile/15E148 Safari/604.1";
+    private static final String SAFARI_IPAD = "Mozilla/5.0 (iPad; CPU OS 17_0 like Mac OS X) "
+            + "AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.0 Mobile/15E148 Safari/604.1";
+
+    private AccessLogEnricher enricher;
+
+    @BeforeEach
+    void setUp() {
+        enricher = new AccessLogEnricher();
+        ReflectionTestUtils.setField(enricher, "properties", new AccessLogBufferProperties());
+        enricher.init();
+    }
+
+    @Test
+    @DisplayName("应解析浏览器、操作系统与设备类型")
+    void enrich_shouldFillUserAgentFields() {
+        WebsiteAccessLog desktop = accessLog(CHROME_WINDOWS);
+        WebsiteAccessLog mobile = accessLog(SAFARI_IPHONE);
+        WebsiteAccessLog tablet = accessLog(SAFARI_IPAD);
+
+        enricher.enrich(List.of(desktop, mobile, tablet));
+
+        assertThat(desktop.getBrowser()).isEqualTo("Chrome");
+        assertThat(desktop.getOperatingSystem()).isEqualTo("Windows");
+        assertThat(desktop.getDeviceType()).isEqualTo("desktop");
+        assertThat(mobile.getOperatingSystem()).isEqualTo("iOS");
+        assertThat(mobile.getDeviceType()).isEqualTo("mobile");
+        assertThat(tablet.getDeviceType()).isEqualTo("tablet");
+    }
+
+    @Test
+    @DisplayName("相同 UA 只解析一次")
+    void enrich_repeatedUserAgent_shouldHitCache() {
+        enricher.enrich(List.of(accessLog(CHROME_WINDOWS), accessLog(CHROME_WINDOWS), accessLog(SAFARI_IPHONE)));
+
+        assertThat(enricher.cacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("缺少 UA 或已补全的日志保持不变")
+    void enrich_missingOrEnriched_shouldSkip() {
+        WebsiteAccessLog missing = accessLog(null);
+        WebsiteAccessLog enriched = accessLog(CHROME_WINDOWS);
+        enriched.setDeviceType("mobile");
+
+        enricher.enrich(List.of(missing, enriched));
+
+        assertThat(missing.getDeviceType()).isNull();
+        assertThat(enriched.getDeviceType()).isEqualTo("mobile");
+        assertThat(enriched.getBrowser()).isNull();
+        assertThat(enricher.cacheSize()).isZero();
+    }
+
+    private static WebsiteAccessLog accessLog(String userAgent) {
+        WebsiteAccessLog accessLog = new WebsiteAccessLog();
+        accessLog.setUserAgent(userAgent);
+        return accessLog;
+    }
+}
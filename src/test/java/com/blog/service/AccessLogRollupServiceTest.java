@@ -0,0 +1,108 @@
+package com.blog.service;
+
+import com.blog.config.VisitRollupProperties;
+import com.blog.exception.BusinessException;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("访问日志小时汇总服务测试")
+class AccessLogRollupServiceTest {
+
+    private VisitRollupProperties properties;
+    private AccessLogHourlyRollupMapper rollupMapper;
+    private AccessLogRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new VisitRollupProperties();
+        rollupMapper = mock(AccessLogHourlyRollupMapper.class);
+        service = new AccessLogRollupService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "rollupMapper", rollupMapper);
+    }
+
+    @Test
+    @DisplayName("增量汇总应重算上一小时和当前小时")
+    void rollupRecent_upToDate_shouldRecomputePreviousAndCurrentHour() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        when(rollupMapper.selectLatestBucket()).thenReturn(currentHour);
+
+        service.rollupRecent();
+
+        verify(rollupMapper).upsertHour(currentHour.minusHours(1), currentHour);
+        verify(rollupMapper).upsertHour(currentHour, currentHour.plusHours(1));
+        verify(rollupMapper, times(2)).upsertHour(any(), any());
+    }
+
+    @Test
+    @DisplayName("积压时从上次进度开始，单轮不超过上限")
+    void rollupRecent_behind_shouldResumeFromLatestWithinLimit() {
+        properties.setMaxHoursPerRun(3);
+        LocalDateTime latest = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(10);
+        when(rollupMapper.selectLatestBucket()).thenReturn(latest);
+
+        service.rollupRecent();
+
+        ArgumentCaptor<LocalDateTime> hours = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(rollupMapper, times(3)).upsertHour(hours.capture(), any());
+        assertThat(hours.getAllValues()).containsExactly(latest, latest.plusHours(1), latest.plusHours(2));
+    }
+
+    @Test
+    @DisplayName("汇总表为空时按初始回看小时数开始")
+    void rollupRecent_empty_shouldStartFromInitialBackfill() {
+        properties.setInitialBackfillHours(2);
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        service.rollupRecent();
+
+        verify(rollupMapper).upsertHour(currentHour.minusHours(2), currentHour.minusHours(1));
+        verify(rollupMapper, times(3)).upsertHour(any(), any());
+    }
+
+    @Test
+    @DisplayName("未启用时不执行增量汇总")
+    void rollupRecent_disabled_shouldSkip() {
+        properties.setEnabled(false);
+
+        service.rollupRecent();
+
+        verifyNoInteractions(rollupMapper);
+    }
+
+    @Test
+    @DisplayName("回填应覆盖区间内每个小时")
+    void backfill_shouldRollupEveryHourOfRange() {
+        LocalDate date = LocalDate.now().minusDays(3);
+
+        int hours = service.backfill(date, date.plusDays(1));
+
+        assertThat(hours).isEqualTo(48);
+        verify(rollupMapper).upsertHour(date.atStartOfDay(), date.atStartOfDay().plusHours(1));
+        verify(rollupMapper).upsertHour(date.plusDays(2).atStartOfDay().minusHours(1), date.plusDays(2).atStartOfDay());
+    }
+
+    @Test
+    @DisplayName("回填范围无效或超限时抛出业务异常")
+    void backfill_invalidRange_shouldThrow() {
+        LocalDate today = LocalDate.now();
+        properties.setMaxBackfillDays(7);
+
+        assertThatThrownBy(() -> service.backfill(today, today.minusDays(1))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.backfill(today.minusDays(7), today)).isInstanceOf(BusinessException.class);
+        verifyNoInteractions(rollupMapper);
+    }
+}
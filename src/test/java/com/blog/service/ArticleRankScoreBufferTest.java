@@ -0,0 +1,131 @@
+package com.blog.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("排行榜分数缓冲服务测试")
+class ArticleRankScoreBufferTest {
+
+    private static final String BUCKET = "hot:articles:zset:hour:2026101914";
+
+    private ArticleRankService rankService;
+    private ArticleRankScoreBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        rankService = mock(ArticleRankService.class);
+        when(rankService.writeBucketDeltas(anyString(), anyMap())).thenReturn(true);
+        buffer = new ArticleRankScoreBuffer();
+        ReflectionTestUtils.setField(buffer, "articleRankService", rankService);
+    }
+
+    @Test
+    @DisplayName("同一文章的多次增量合并为一次写入")
+    void flush_shouldMergeDeltasPerArticle() {
+        buffer.add(BUCKET, 1L, 1.0);
+        buffer.add(BUCKET, 1L, 5.0);
+        buffer.add(BUCKET, 1L, -5.0);
+        buffer.add(BUCKET, 2L, 10.0);
+
+        buffer.flush();
+
+        verify(rankService, times(1)).writeBucketDeltas(BUCKET, Map.of(1L, 1.0, 2L, 10.0));
+        assertThat(buffer.pendingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("增量相互抵消或缓冲为空时不访问 Redis")
+    void flush_zeroNetDelta_shouldSkipRedis() {
+        buffer.add(BUCKET, 1L, 5.0);
+        buffer.add(BUCKET, 1L, -5.0);
+
+        buffer.flush();
+        buffer.flush();
+
+        verifyNoInteractions(rankService);
+    }
+
+    @Test
+    @DisplayName("不同小时桶分别刷新")
+    void flush_multipleBuckets_shouldWriteEachBucket() {
+        String nextBucket = "hot:articles:zset:hour:2026101915";
+        buffer.add(BUCKET, 1L, 1.0);
+        buffer.add(nextBucket, 1L, 5.0);
+
+        buffer.flush();
+
+        verify(rankService).writeBucketDeltas(BUCKET, Map.of(1L, 1.0));
+        verify(rankService).writeBucketDeltas(nextBucket, Map.of(1L, 5.0));
+    }
+
+    @Test
+    @DisplayName("刷新失败时回灌，下个周期重试")
+    void flush_failure_shouldRequeue() {
+        when(rankService.writeBucketDeltas(anyString(), anyMap())).thenReturn(false, true);
+        buffer.add(BUCKET, 1L, 5.0);
+
+        buffer.flush();
+        assertThat(buffer.pendingSize()).isEqualTo(1);
+        buffer.add(BUCKET, 1L, 1.0);
+        buffer.flush();
+
+        verify(rankService).writeBucketDeltas(BUCKET, Map.of(1L, 6.0));
+        assertThat(buffer.pendingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("并发写入与刷新交错时增量不丢失")
+    void add_concurrentWithFlush_shouldNotLoseDeltas() throws Exception {
+        DoubleAdder flushed = new DoubleAdder();
+        when(rankService.writeBucketDeltas(anyString(), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Double> deltas = invocation.getArgument(1);
+            deltas.values().forEach(flushed::add);
+            return true;
+        });
+        int threads = 4;
+        int perThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        buffer.add(BUCKET, (long) (i % 10), 1.0);
+                    }
+                    done.countDown();
+                });
+            }
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                buffer.flush();
+            }
+            buffer.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(flushed.sum()).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("关闭时刷新剩余增量")
+    void destroy_shouldFlushPending() {
+        buffer.add(BUCKET, 1L, 8.0);
+
+        buffer.destroy();
+
+        verify(rankService).writeBucketDeltas(BUCKET, Map.of(1L, 8.0));
+    }
+}
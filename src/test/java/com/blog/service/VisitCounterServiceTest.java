@@ -0,0 +1,132 @@
+package com.blog.service;
+
+import com.blog.config.VisitCounterProperties;
+import com.blog.entity.WebsiteAccessLog;
+import com.blog.utils.RedisUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("实时 PV/UV 计数服务测试")
+class VisitCounterServiceTest {
+
+    private VisitCounterProperties properties;
+    private RedisUtils redisUtils;
+    private VisitCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new VisitCounterProperties();
+        redisUtils = mock(RedisUtils.class);
+        service = new VisitCounterService();
+        ReflectionTestUtils.setField(service, "properties", properties);
+        ReflectionTestUtils.setField(service, "redisUtils", redisUtils);
+        when(redisUtils.incrByAndPfAddBatch(anyMap(), anyMap(), anyMap())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("record 应按天/小时聚合为一次批量写入")
+    @SuppressWarnings("unchecked")
+    void record_shouldAggregateIntoSingleBatch() {
+        when(redisUtils.getString(VisitCounterService.SINCE_KEY)).thenReturn("2026-01-01T00:00");
+        LocalDateTime time = LocalDateTime.of(2026, 3, 5, 9, 15);
+
+        service.record(List.of(log(time, "1.1.1.1"), log(time.plusMinutes(5), "1.1.1.1"),
+                log(time.plusHours(1), "2.2.2.2")));
+
+        ArgumentCaptor<Map<String, Long>> increments = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<String, Collection<String>>> visitors = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<String, Long>> ttl = ArgumentCaptor.forClass(Map.class);
+        verify(redisUtils).setStringIfAbsent(eq(VisitCounterService.SINCE_KEY), anyString());
+        verify(redisUtils).incrByAndPfAddBatch(increments.capture(), visitors.capture(), ttl.capture());
+        assertThat(increments.getValue()).containsEntry("visit:pv:d:2026-03-05", 3L)
+                .containsEntry("visit:pv:h:2026-03-05T09", 2L)
+                .containsEntry("visit:pv:h:2026-03-05T10", 1L);
+        assertThat(visitors.getValue().get("visit:uv:d:2026-03-05")).containsExactlyInAnyOrder("1.1.1.1", "2.2.2.2");
+        assertThat(visitors.getValue().get("visit:uv:h:2026-03-05T09")).containsExactly("1.1.1.1");
+        assertThat(ttl.getValue()).containsEntry("visit:pv:d:2026-03-05", properties.getDayTtl().toSeconds())
+                .containsEntry("visit:uv:h:2026-03-05T10", properties.getHourTtl().toSeconds());
+    }
+
+    @Test
+    @DisplayName("未启用时 record 不写 Redis，读取返回 null")
+    void disabled_shouldSkipWritesAndReads() {
+        properties.setEnabled(false);
+
+        service.record(List.of(log(LocalDateTime.now(), "1.1.1.1")));
+
+        assertThat(service.pageViews(LocalDate.now())).isNull();
+        verifyNoInteractions(redisUtils);
+    }
+
+    @Test
+    @DisplayName("计数起点覆盖当天时读取计数器，区间 UV 走多键 PFCOUNT")
+    void reads_coveredPeriod_shouldUseCounters() {
+        LocalDate today = LocalDate.now();
+        when(redisUtils.getString(VisitCounterService.SINCE_KEY))
+                .thenReturn(today.minusDays(10).atStartOfDay().toString());
+        when(redisUtils.getLongs(List.of("visit:pv:d:" + today.minusDays(1), "visit:pv:d:" + today)))
+                .thenReturn(List.of(30L, 12L));
+        when(redisUtils.pfCount(List.of("visit:uv:d:" + today.minusDays(1), "visit:uv:d:" + today)))
+                .thenReturn(9L);
+
+        assertThat(service.pageViews(today.minusDays(1), today)).isEqualTo(42L);
+        assertThat(service.uniqueVisitors(today.minusDays(1), today)).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("计数起点晚于所查日期开始时返回 null，交由数据库回答")
+    void reads_partiallyCoveredDay_shouldReturnNull() {
+        LocalDate today = LocalDate.now();
+        when(redisUtils.getString(VisitCounterService.SINCE_KEY))
+                .thenReturn(today.atStartOfDay().plusMinutes(1).toString());
+
+        assertThat(service.pageViews(today)).isNull();
+        assertThat(service.uniqueVisitors(today)).isNull();
+        verify(redisUtils, never()).getLongs(anyList());
+        verify(redisUtils, never()).pfCount(any());
+    }
+
+    @Test
+    @DisplayName("超出过期时间的日期返回 null")
+    void reads_beyondTtl_shouldReturnNull() {
+        when(redisUtils.getString(VisitCounterService.SINCE_KEY)).thenReturn("2020-01-01T00:00");
+
+        assertThat(service.pageViews(LocalDate.now().minusDays(properties.getDayTtl().toDays()))).isNull();
+        assertThat(service.uniqueVisitorsBetweenHours(LocalDateTime.now().minusDays(10), LocalDateTime.now()))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Redis 读取失败时返回 null")
+    void reads_redisFailure_shouldReturnNull() {
+        when(redisUtils.getString(VisitCounterService.SINCE_KEY)).thenReturn("2020-01-01T00:00");
+        when(redisUtils.getLongs(anyList())).thenReturn(null);
+
+        assertThat(service.pageViewsBetweenHours(LocalDateTime.now().minusHours(2), LocalDateTime.now())).isNull();
+    }
+
+    private static WebsiteAccessLog log(LocalDateTime time, String ip) {
+        WebsiteAccessLog accessLog = new WebsiteAccessLog();
+        accessLog.setAccessTime(time);
+        accessLog.setAccessDate(time.toLocalDate().toString());
+        accessLog.setIpAddress(ip);
+        return accessLog;
+    }
+}
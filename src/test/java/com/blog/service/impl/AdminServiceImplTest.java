@@ -6,6 +6,7 @@ import com.blog.dto.ArticleDTO;
 import com.blog.dto.CommentDTO;
 import com.blog.dto.UserDTO;
 import com.blog.entity.Article;
+import com.blog.event.ArticleChangedEvent;
 import com.blog.entity.Comment;
 import com.blog.entity.User;
 import com.blog.exception.BusinessException;
@@ -19,6 +20,7 @@ import com.blog.service.AdminService;
 import com.blog.service.ArticleRankService;
 import com.blog.service.ArticleStatisticsService;
 import com.blog.service.AuthSessionRevocationService;
+import com.blog.service.VisitCounterService;
 import com.blog.service.ArticleService;
 import com.blog.utils.BusinessUtils;
 import com.blog.utils.DTOConverter;
@@ -36,12 +38,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -88,12 +92,18 @@ class AdminServiceImplTest {
     @Mock
     private WebsiteAccessLogMapper websiteAccessLogMapper;
 
+    @Mock
+    private VisitCounterService visitCounterService;
+
     @Mock
     private ArticleRankService articleRankService;
 
     @Mock
     private AuthSessionRevocationService authSessionRevocationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -316,6 +326,8 @@ class AdminServiceImplTest {
 
         assertThat(result.isSuccess()).isTrue();
         verify(articleRankService).removeFromRank(1L);
+        verify(eventPublisher).publishEvent(argThat((ArticleChangedEvent event) -> event.getArticleId().equals(1L)
+                && event.getChangeType() == ArticleChangedEvent.ChangeType.UNPUBLISHED));
     }
 
     // ==================== deleteArticle ====================
@@ -352,12 +364,14 @@ class AdminServiceImplTest {
         article.setId(1L);
         when(articleMapper.selectById(1L)).thenReturn(article);
         when(articleMapper.deleteById(1L)).thenReturn(1);
-        when(redisUtils.scanKeys(any())).thenReturn(Collections.emptySet());
 
         var result = adminService.deleteArticle(1L);
 
         assertThat(result.isSuccess()).isTrue();
-        verify(redisUtils).scanKeys("recommended:articles:*");
+        verify(redisUtils).invalidateNamespace("recommended:articles");
+        verify(redisUtils, never()).scanKeys("recommended:articles:*");
+        verify(eventPublisher).publishEvent(argThat((ArticleChangedEvent event) -> event.getArticleId().equals(1L)
+                && event.getChangeType() == ArticleChangedEvent.ChangeType.DELETED));
     }
 
     // ==================== getCommentList ====================
@@ -406,6 +420,8 @@ class AdminServiceImplTest {
     @DisplayName("获取访问统计 - 应返回统计信息")
     void getVisitStatistics_shouldReturnVisitStats() {
         when(visitStatisticsMapper.selectByDateRange(any(), any())).thenReturn(Collections.emptyList());
+        when(visitCounterService.pageViews(any(LocalDate.class))).thenReturn(null);
+        when(visitCounterService.uniqueVisitors(any(LocalDate.class))).thenReturn(null);
         when(websiteAccessLogMapper.countTodayPv()).thenReturn(100);
         when(websiteAccessLogMapper.countTodayUv()).thenReturn(50);
 
@@ -413,6 +429,22 @@ class AdminServiceImplTest {
 
         assertThat(result.isSuccess()).isTrue();
         assertThat(result.getData()).containsKeys("totalPageViews", "todayPageViews");
+        assertThat(result.getData().get("todayPageViews")).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("获取访问统计 - 计数器覆盖今日时不查原始日志表")
+    void getVisitStatistics_counterCovered_shouldSkipAccessLogCount() {
+        when(visitStatisticsMapper.selectByDateRange(any(), any())).thenReturn(Collections.emptyList());
+        when(visitCounterService.pageViews(any(LocalDate.class))).thenReturn(120L);
+        when(visitCounterService.uniqueVisitors(any(LocalDate.class))).thenReturn(40L);
+
+        var result = adminService.getVisitStatistics("2026-01-01", "2026-01-31");
+
+        assertThat(result.getData().get("todayPageViews")).isEqualTo(120L);
+        assertThat(result.getData().get("todayUniqueVisitors")).isEqualTo(40L);
+        verify(websiteAccessLogMapper, never()).countTodayPv();
+        verify(websiteAccessLogMapper, never()).countTodayUv();
     }
 
     // ==================== clearCache ====================
@@ -421,13 +453,13 @@ class AdminServiceImplTest {
     @DisplayName("清理缓存 - 应清除多种缓存")
     void clearCache_shouldClearMultipleCaches() {
         when(redisUtils.scanKeys("hot:articles:*")).thenReturn(Collections.singleton("hot:articles:1"));
-        when(redisUtils.scanKeys("recommended:articles:*")).thenReturn(Collections.emptySet());
         when(redisUtils.scanKeys("captcha:*")).thenReturn(Collections.emptySet());
         when(redisUtils.delete(any(Set.class))).thenReturn(1L);
 
         var result = adminService.clearCache();
 
         assertThat(result.isSuccess()).isTrue();
+        verify(redisUtils).invalidateNamespace("recommended:articles");
         verify(hotArticleCacheEvictionService).evictAll();
     }
 
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +30,7 @@ class ArticleModerationSubmissionTest {
     @Mock private ArticleMapper articleMapper;
     @Mock private ContentModerationService contentModerationService;
     @Mock private ArticleRankService articleRankService;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private ArticleModerationSubmissionServiceImpl service;
 
     @Test
@@ -203,6 +205,26 @@ class ArticleModerationSubmissionTest {
 
         assertThat(draft.getStatus()).isEqualTo(Article.STATUS_DRAFT);
         verify(submissionMapper).completeManually("new-reject", ArticleModerationSubmission.Status.REJECTED, 99L, "policy reason");
+        verifyNoInteractions(articleRankService);
+    }
+
+    @Test
+    void rejectingPublishedArticleRemovesItFromHotRanking() {
+        Article published = new Article();
+        published.setId(9L);
+        published.setStatus(Article.STATUS_PUBLISHED);
+        ArticleModerationSubmission submission = ArticleModerationSubmission.newSubmission(published);
+        submission.setSubmissionToken("published-reject");
+        when(submissionMapper.claimForManualDecision("published-reject")).thenReturn(1);
+        when(submissionMapper.selectBySubmissionToken("published-reject")).thenReturn(submission);
+        when(articleMapper.selectById(9L)).thenReturn(published);
+        when(articleMapper.updateById(published)).thenReturn(1);
+        when(submissionMapper.completeManually("published-reject", ArticleModerationSubmission.Status.REJECTED, 99L, "policy reason")).thenReturn(1);
+
+        service.reject("published-reject", 99L, "policy reason");
+
+        assertThat(published.getStatus()).isEqualTo(Article.STATUS_DRAFT);
+        verify(articleRankService).removeFromRank(9L);
     }
 
     @Test
@@ -1,10 +1,13 @@
 package com.blog.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.blog.common.PageResult;
 import com.blog.common.Result;
+import com.blog.config.ArticleRankProperties;
 import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.mapper.ArticleMapper;
+import com.blog.service.ArticleRankScoreBuffer;
 import com.blog.service.ArticleRankService;
 import com.blog.service.ArticleService;
 import com.blog.utils.HotArticleCacheEvictionService;
@@ -15,8 +18,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -26,14 +31,21 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -54,11 +66,20 @@ public class ArticleRankServiceImplTest {
     @Mock
     private HotArticleCacheEvictionService hotArticleCacheEvictionService;
 
+    @Mock
+    private ArticleRankScoreBuffer rankScoreBuffer;
+
+    @Spy
+    private ArticleRankProperties rankProperties = new ArticleRankProperties();
+
     @InjectMocks
     private ArticleRankServiceImpl articleRankService;
 
     @BeforeEach
     void setUp() {
+        // 默认按自然日/自然周分桶模式测试，滑动窗口模式见 WindowRankTests
+        rankProperties.setWindowEnabled(false);
+        articleRankService.init();
         RequestContextHolder.resetRequestAttributes();
         SecurityContextHolder.clearContext();
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -200,25 +221,30 @@ public class ArticleRankServiceImplTest {
     @DisplayName("F-008: 异步初始化测试")
     class AsyncInitializationTests {
 
-        @Test
-        @DisplayName("测试异步初始化不阻塞主线程")
-        void testAsyncInitialization_DoesNotBlockMainThread() {
+        private List<Article> publishedArticles(long fromId, long toId) {
             List<Article> articles = new ArrayList<>();
-            for (long i = 1; i <= 100; i++) {
+            for (long i = fromId; i <= toId; i++) {
                 Article article = new Article();
                 article.setId(i);
                 article.setStatus(2);
                 articles.add(article);
             }
+            return articles;
+        }
 
-            when(articleMapper.selectList(any())).thenReturn(articles);
-            when(redisUtils.zScore(anyString(), anyLong())).thenReturn(null);
-            when(redisUtils.zAdd(anyString(), anyLong(), eq(0.0))).thenReturn(true);
+        @Test
+        @DisplayName("测试异步初始化不阻塞主线程")
+        void testAsyncInitialization_DoesNotBlockMainThread() {
+            when(articleMapper.selectList(any())).thenReturn(publishedArticles(1, 100));
+            when(redisUtils.zAddIfAbsentBatch(anyString(), anyCollection(), eq(0.0), anyLong())).thenReturn(100L);
 
             articleRankService.initializeAllArticles();
 
             verify(articleMapper, times(1)).selectList(any());
-            verify(redisUtils, atLeast(100)).zAdd(anyString(), anyLong(), eq(0.0));
+            verify(redisUtils).zAddIfAbsentBatch(startsWith("hot:articles:zset:day:"), argThat(ids -> ids.size() == 100), eq(0.0), eq(2L * 24 * 3600));
+            verify(redisUtils).zAddIfAbsentBatch(startsWith("hot:articles:zset:week:"), argThat(ids -> ids.size() == 100), eq(0.0), eq(14L * 24 * 3600));
+            verify(redisUtils, never()).zAdd(anyString(), anyLong(), anyDouble());
+            verify(redisUtils, never()).zScore(anyString(), anyLong());
         }
 
         @Test
@@ -229,25 +255,53 @@ public class ArticleRankServiceImplTest {
             articleRankService.initializeAllArticles();
 
             verify(articleMapper, times(1)).selectList(any());
-            verify(redisUtils, never()).zAdd(anyString(), anyLong(), anyDouble());
+            verify(redisUtils, never()).zAddIfAbsentBatch(anyString(), anyCollection(), anyDouble(), anyLong());
+            verify(redisUtils, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
         }
 
         @Test
-        @DisplayName("测试初始化已存在的文章不重复添加")
-        void testInitializeAllArticles_SkipExistingArticles() {
-            List<Article> articles = new ArrayList<>();
-            Article article = new Article();
-            article.setId(1L);
-            article.setStatus(2);
-            articles.add(article);
+        @DisplayName("测试初始化按主键游标分批读取，直到不足一批")
+        @SuppressWarnings("unchecked")
+        void testInitializeAllArticles_StreamsInChunks() {
+            rankProperties.setInitBatchSize(2);
+            when(articleMapper.selectList(any()))
+                    .thenReturn(publishedArticles(1, 2))
+                    .thenReturn(publishedArticles(3, 4))
+                    .thenReturn(publishedArticles(5, 5));
 
-            when(articleMapper.selectList(any())).thenReturn(articles);
-            when(redisUtils.zScore(anyString(), eq(1L))).thenReturn(10.0);
+            articleRankService.initializeAllArticles();
+
+            ArgumentCaptor<QueryWrapper<Article>> captor = ArgumentCaptor.forClass(QueryWrapper.class);
+            verify(articleMapper, times(3)).selectList(captor.capture());
+            QueryWrapper<Article> lastChunk = captor.getAllValues().get(2);
+            assertThat(lastChunk.getCustomSqlSegment()).contains("LIMIT 2");
+            assertThat(lastChunk.getParamNameValuePairs().values()).contains(4L);
+            verify(redisUtils, times(3)).zAddIfAbsentBatch(startsWith("hot:articles:zset:day:"), anyCollection(), eq(0.0), anyLong());
+            verify(redisUtils).set(eq("hot:articles:zset:init:marker"), any(), eq(6L * 3600), eq(TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("测试榜单已初始化且数据新鲜时跳过初始化")
+        void testInitializeAllArticles_SkipWhenFresh() {
+            when(redisUtils.exists("hot:articles:zset:init:marker")).thenReturn(true);
+            when(redisUtils.zSize(startsWith("hot:articles:zset:week:"))).thenReturn(100L);
 
             articleRankService.initializeAllArticles();
 
-            verify(redisUtils, never()).zAdd(anyString(), eq(1L), eq(0.0));
-            verify(articleMapper, times(1)).selectList(any());
+            verify(articleMapper, never()).selectList(any());
+            verify(redisUtils, never()).zAddIfAbsentBatch(anyString(), anyCollection(), anyDouble(), anyLong());
+        }
+
+        @Test
+        @DisplayName("测试标记存在但榜单为空时仍重新初始化")
+        void testInitializeAllArticles_RebuildWhenBoardEmpty() {
+            when(redisUtils.exists("hot:articles:zset:init:marker")).thenReturn(true);
+            when(redisUtils.zSize(anyString())).thenReturn(0L);
+            when(articleMapper.selectList(any())).thenReturn(publishedArticles(1, 1));
+
+            articleRankService.initializeAllArticles();
+
+            verify(redisUtils, times(2)).zAddIfAbsentBatch(anyString(), anyCollection(), eq(0.0), anyLong());
         }
     }
 
@@ -901,4 +955,433 @@ public class ArticleRankServiceImplTest {
             assertThat(result.getMessage()).contains("获取热门文章失败");
         }
     }
+
+    // ==================== 滑动窗口榜单测试 ====================
+
+    @Nested
+    @DisplayName("滑动窗口榜单测试")
+    class WindowRankTests {
+
+        @BeforeEach
+        void enableWindow() {
+            rankProperties.setWindowEnabled(true);
+            when(redisUtils.setStringIfAbsent(eq("hot:articles:zset:window:leader"), anyString(), anyLong(), any()))
+                    .thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("开启缓冲时增加分数只在本地累加，不访问 Redis")
+        void testIncrementScore_bufferEnabled_shouldOnlyBufferLocally() {
+            articleRankService.incrementScore(1L, 5.0);
+            articleRankService.decrementScore(1L, 1.0);
+
+            verify(rankScoreBuffer).add(matches("hot:articles:zset:hour:\\d{10}"), eq(1L), eq(5.0));
+            verify(rankScoreBuffer).add(anyString(), eq(1L), eq(-1.0));
+            verifyNoInteractions(redisUtils);
+        }
+
+        @Test
+        @DisplayName("关闭缓冲时增加分数直接写入当前小时桶及所属分类的小时桶")
+        @SuppressWarnings("unchecked")
+        void testIncrementScore_shouldWriteCurrentHourBucket() {
+            rankProperties.setBufferEnabled(false);
+            when(redisUtils.zIncrByBatch(anyMap(), anyMap(), anyLong())).thenReturn(true);
+            Article article = new Article();
+            article.setId(1L);
+            article.setCategoryId(7L);
+            when(articleMapper.selectList(any())).thenReturn(List.of(article));
+
+            articleRankService.incrementScore(1L, 5.0);
+
+            ArgumentCaptor<Map<String, Map<Long, Double>>> deltas = ArgumentCaptor.forClass(Map.class);
+            ArgumentCaptor<Map<String, Collection<String>>> scopes = ArgumentCaptor.forClass(Map.class);
+            verify(redisUtils).zIncrByBatch(deltas.capture(), scopes.capture(),
+                    eq(Duration.ofDays(7).plusHours(1).toSeconds()));
+            String bucket = deltas.getValue().keySet().stream()
+                    .filter(key -> key.matches("hot:articles:zset:hour:\\d{10}")).findFirst().orElseThrow();
+            assertThat(deltas.getValue()).containsOnlyKeys(bucket, bucket + ":category:7");
+            assertThat(deltas.getValue().get(bucket + ":category:7")).containsEntry(1L, 5.0);
+            assertThat(scopes.getValue().get(bucket + ":scopes")).containsExactly("category:7");
+            verify(redisUtils, never()).zIncrByAtomic(anyString(), anyString(), any(), anyDouble(), anyLong(), anyLong());
+            verify(articleMapper, never()).selectTagIdsByArticleIds(any());
+        }
+
+        @Test
+        @DisplayName("文章所属分类缓存在本地，文章变更失效后才重新查询")
+        @SuppressWarnings("unchecked")
+        void testWriteBucketDeltas_shouldCacheArticleScopes() {
+            when(redisUtils.zIncrByBatch(anyMap(), anyMap(), anyLong())).thenReturn(true);
+            Article article = new Article();
+            article.setId(1L);
+            article.setCategoryId(7L);
+            when(articleMapper.selectList(any())).thenReturn(List.of(article));
+            String bucket = "hot:articles:zset:hour:2026101914";
+
+            articleRankService.writeBucketDeltas(bucket, Map.of(1L, 1.0, 2L, 1.0));
+            articleRankService.writeBucketDeltas(bucket, Map.of(1L, 2.0, 2L, 2.0));
+
+            verify(articleMapper, times(1)).selectList(any());
+            ArgumentCaptor<Map<String, Map<Long, Double>>> deltas = ArgumentCaptor.forClass(Map.class);
+            verify(redisUtils, times(2)).zIncrByBatch(deltas.capture(), anyMap(), anyLong());
+            assertThat(deltas.getValue().get(bucket + ":category:7")).isEqualTo(Map.of(1L, 2.0));
+
+            article.setCategoryId(8L);
+            articleRankService.evictArticleScopes(1L);
+            articleRankService.writeBucketDeltas(bucket, Map.of(1L, 3.0));
+
+            verify(articleMapper, times(2)).selectList(any());
+            verify(redisUtils, times(3)).zIncrByBatch(deltas.capture(), anyMap(), anyLong());
+            assertThat(deltas.getValue()).containsOnlyKeys(bucket, bucket + ":category:8");
+        }
+
+        @Test
+        @DisplayName("减少分数写入负增量，分类查询失败时仍写入全站小时桶")
+        @SuppressWarnings("unchecked")
+        void testDecrementScore_shouldWriteNegativeDelta() {
+            rankProperties.setBufferEnabled(false);
+            when(redisUtils.zIncrByBatch(anyMap(), anyMap(), anyLong())).thenReturn(true);
+            when(articleMapper.selectList(any())).thenThrow(new RuntimeException("db down"));
+
+            articleRankService.decrementScore(1L, 10.0);
+
+            ArgumentCaptor<Map<String, Map<Long, Double>>> deltas = ArgumentCaptor.forClass(Map.class);
+            verify(redisUtils).zIncrByBatch(deltas.capture(), anyMap(), anyLong());
+            assertThat(deltas.getValue()).hasSize(1);
+            assertThat(deltas.getValue().values().iterator().next()).isEqualTo(Map.of(1L, -10.0));
+        }
+
+        @Test
+        @DisplayName("刷新榜单应按衰减权重合并窗口内的小时桶")
+        @SuppressWarnings("unchecked")
+        void testRefreshWindowBoards_shouldUnionHourBucketsWithDecayWeights() {
+            articleRankService.refreshWindowBoards();
+
+            ArgumentCaptor<List<String>> dayKeys = ArgumentCaptor.forClass(List.class);
+            ArgumentCaptor<List<Double>> dayWeights = ArgumentCaptor.forClass(List.class);
+            verify(redisUtils).zUnionStoreWeighted(eq("hot:articles:zset:window:day"),
+                    dayKeys.capture(), dayWeights.capture(), eq(3600L));
+            assertThat(dayKeys.getValue()).hasSize(24).doesNotHaveDuplicates();
+            assertThat(dayWeights.getValue().get(0)).isLessThanOrEqualTo(1.0);
+            assertThat(dayWeights.getValue()).isSortedAccordingTo(Comparator.reverseOrder());
+            // 默认日榜半衰期 8 小时
+            assertThat(dayWeights.getValue().get(9) / dayWeights.getValue().get(1)).isCloseTo(0.5, within(1e-9));
+
+            ArgumentCaptor<List<String>> weekKeys = ArgumentCaptor.forClass(List.class);
+            verify(redisUtils).zUnionStoreWeighted(eq("hot:articles:zset:window:week"),
+                    weekKeys.capture(), anyList(), eq(3600L));
+            assertThat(weekKeys.getValue()).hasSize(168);
+            assertThat(weekKeys.getValue().get(0)).isEqualTo(dayKeys.getValue().get(0));
+            verify(hotArticleCacheEvictionService).evictAll();
+        }
+
+        @Test
+        @DisplayName("刷新时按活跃维度合并分类/标签小时桶，每个榜单只保留前 N 名")
+        @SuppressWarnings("unchecked")
+        void testRefreshWindowBoards_shouldMergeScopedBuckets() {
+            rankProperties.setScopeBoardSize(5);
+            when(redisUtils.sUnion(anyCollection())).thenReturn(Set.of("category:7"));
+
+            articleRankService.refreshWindowBoards();
+
+            ArgumentCaptor<Collection<String>> scopeSets = ArgumentCaptor.forClass(Collection.class);
+            verify(redisUtils).sUnion(scopeSets.capture());
+            assertThat(scopeSets.getValue()).hasSize(169).allMatch(key -> key.endsWith(":scopes"));
+            ArgumentCaptor<List<String>> dayKeys = ArgumentCaptor.forClass(List.class);
+            verify(redisUtils).zUnionStoreWeighted(eq("hot:articles:zset:window:day:category:7"),
+                    dayKeys.capture(), anyList(), eq(5), eq(3600L));
+            assertThat(dayKeys.getValue()).hasSize(24).allMatch(key -> key.endsWith(":category:7"));
+            verify(redisUtils).zUnionStoreWeighted(eq("hot:articles:zset:window:week:category:7"),
+                    argThat(keys -> keys.size() == 168), anyList(), eq(5), eq(3600L));
+        }
+
+        @Test
+        @DisplayName("没有活跃维度时不合并分类/标签榜单")
+        void testRefreshWindowBoards_noActiveScope_shouldSkipScopedBoards() {
+            when(redisUtils.sUnion(anyCollection())).thenReturn(Set.of());
+
+            articleRankService.refreshWindowBoards();
+
+            verify(redisUtils, never()).zUnionStoreWeighted(anyString(), anyList(), anyList(), anyInt(), anyLong());
+        }
+
+        @Test
+        @DisplayName("分类热门文章ID读取分类榜单前 N 名")
+        void testGetScopedHotArticleIds_shouldReadScopedBoard() {
+            LinkedHashMap<String, Double> board = new LinkedHashMap<>();
+            board.put("3", 9.0);
+            board.put("1", 4.0);
+            when(redisUtils.zReverseRangeWithScoresAsMap("hot:articles:zset:window:week:category:7", 0, 99))
+                    .thenReturn(board);
+
+            List<Long> ids = articleRankService.getScopedHotArticleIds(ArticleRankService.SCOPE_CATEGORY, 7L, "week");
+
+            assertThat(ids).containsExactly(3L, 1L);
+        }
+
+        @Test
+        @DisplayName("未知维度返回空列表且不访问 Redis")
+        void testGetScopedHotArticleIds_unknownScope_shouldReturnEmpty() {
+            assertThat(articleRankService.getScopedHotArticleIds("author", 7L, "week")).isEmpty();
+            verifyNoInteractions(redisUtils);
+        }
+
+        @Test
+        @DisplayName("衰减权重按距当前时刻的时长连续计算，整点前后不跳变")
+        void testWindowWeights_shouldBeContinuousAcrossHourBoundary() {
+            ArticleRankProperties.Board day = rankProperties.getDay();
+            LocalDateTime hour = LocalDateTime.of(2026, 1, 28, 14, 0);
+
+            List<Double> beforeHour = articleRankService.windowWeights(day, hour.minusNanos(1_000_000));
+            List<Double> onHour = articleRankService.windowWeights(day, hour);
+            List<Double> halfPast = articleRankService.windowWeights(day, hour.plusMinutes(30));
+
+            assertThat(onHour.get(0)).isEqualTo(1.0);
+            // 上一小时结束前的当前桶与整点后的上一桶是同一个桶，权重连续
+            assertThat(onHour.get(1)).isCloseTo(beforeHour.get(0), within(1e-6));
+            assertThat(halfPast.get(0)).isCloseTo(Math.pow(2, -0.25 / 8), within(1e-9));
+            assertThat(halfPast.get(8)).isCloseTo(Math.pow(2, -8.0 / 8), within(1e-9));
+        }
+
+        @Test
+        @DisplayName("关闭衰减后窗口内的小时桶等权合并")
+        @SuppressWarnings("unchecked")
+        void testRefreshWindowBoards_decayDisabled_shouldUseEqualWeights() {
+            rankProperties.setDecayEnabled(false);
+
+            articleRankService.refreshWindowBoards();
+
+            ArgumentCaptor<List<Double>> weights = ArgumentCaptor.forClass(List.class);
+            verify(redisUtils).zUnionStoreWeighted(eq("hot:articles:zset:window:day"),
+                    anyList(), weights.capture(), anyLong());
+            assertThat(weights.getValue()).containsOnly(1.0);
+        }
+
+        @Test
+        @DisplayName("读取热门文章只访问物化榜单")
+        void testGetHotArticles_shouldReadMaterializedBoard() {
+            when(redisUtils.zReverseRangeWithScoresAsMap(anyString(), anyLong(), anyLong()))
+                    .thenReturn(new LinkedHashMap<>());
+
+            articleRankService.getHotArticles(10, "week");
+
+            verify(redisUtils).zReverseRangeWithScoresAsMap(eq("hot:articles:zset:window:week"), eq(0L), anyLong());
+            verify(redisUtils, never()).zUnionStoreWeighted(anyString(), anyList(), anyList(), anyLong());
+        }
+
+        @Test
+        @DisplayName("重置任务在滑动窗口模式下不写入 Redis")
+        void testResetRank_shouldNotTouchBuckets() {
+            articleRankService.resetRank("day");
+            articleRankService.resetRank("week");
+
+            verifyNoInteractions(redisUtils, articleMapper);
+        }
+
+        @Test
+        @DisplayName("未抢到重建租约的实例不合并小时桶，只从物化榜单重建本地快照")
+        void testRefreshWindowBoards_withoutLease_shouldOnlyRefreshSnapshots() {
+            when(redisUtils.setStringIfAbsent(eq("hot:articles:zset:window:leader"), anyString(), anyLong(), any()))
+                    .thenReturn(false);
+            when(redisUtils.zReverseRangeWithScoresAsMap(anyString(), anyLong(), anyLong()))
+                    .thenReturn(new LinkedHashMap<>());
+
+            articleRankService.refreshWindowBoards();
+
+            verify(redisUtils, never()).zUnionStoreWeighted(anyString(), anyList(), anyList(), anyLong());
+            verify(redisUtils).zReverseRangeWithScoresAsMap(eq("hot:articles:zset:window:week"), eq(0L), anyLong());
+            verify(hotArticleCacheEvictionService).evictAll();
+        }
+
+        @Test
+        @DisplayName("重建租约略短于刷新间隔")
+        void testRefreshWindowBoards_leaseShouldExpireBeforeNextRun() {
+            articleRankService.refreshWindowBoards();
+
+            verify(redisUtils).setStringIfAbsent(eq("hot:articles:zset:window:leader"), anyString(),
+                    eq(59000L), eq(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("删除文章应清理物化榜单并记入已移除集合，保留小时桶中的分数")
+        @SuppressWarnings("unchecked")
+        void testRemoveFromRank_shouldRemoveFromBoardsAndKeepBuckets() {
+            when(redisUtils.zAddBatch(anyString(), anyCollection(), anyDouble(), anyLong())).thenReturn(true);
+
+            articleRankService.removeFromRank(1L);
+
+            ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+            verify(redisUtils).zRemoveBatch(keys.capture(), eq(List.of(1L)));
+            assertThat(keys.getValue())
+                    .containsExactly("hot:articles:zset:window:day", "hot:articles:zset:window:week");
+            verify(redisUtils).zAddBatch(eq("hot:articles:zset:window:removed"), eq(List.of(1L)), anyDouble(),
+                    eq(Duration.ofDays(7).plusHours(1).toSeconds()));
+        }
+
+        @Test
+        @DisplayName("重新发布的文章移出已移除集合，不清理小时桶")
+        void testInitializeArticle_republished_shouldLeaveRemovedSet() {
+            articleRankService.initializeArticle(1L);
+
+            verify(redisUtils).zRemove("hot:articles:zset:window:removed", 1L);
+            verify(redisUtils).zAddIfAbsentBatch(matches("hot:articles:zset:hour:\\d{10}"), eq(List.of(1L)),
+                    eq(0.0), anyLong());
+            verify(redisUtils, never()).zRemoveBatch(anyCollection(), anyCollection());
+        }
+
+        @Test
+        @DisplayName("重建榜单后从物化榜单中剔除已移除文章，并裁剪过期的移除记录")
+        @SuppressWarnings("unchecked")
+        void testRefreshWindowBoards_shouldPruneRemovedArticles() {
+            when(redisUtils.zReverseRangeWithScoresAsMap(anyString(), anyLong(), anyLong()))
+                    .thenReturn(new LinkedHashMap<>());
+            when(redisUtils.zReverseRangeWithScoresAsMap("hot:articles:zset:window:removed", 0, -1))
+                    .thenReturn(new LinkedHashMap<>(Map.of("3", 1.0)));
+            when(redisUtils.sUnion(anyCollection())).thenReturn(Set.of("category:7"));
+
+            articleRankService.refreshWindowBoards();
+
+            verify(redisUtils).zRemoveRangeByScore(eq("hot:articles:zset:window:removed"), eq(0.0), anyDouble());
+            ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+            verify(redisUtils).zRemoveBatch(keys.capture(), eq(Set.of(3L)));
+            assertThat(keys.getValue()).containsExactlyInAnyOrder("hot:articles:zset:window:day",
+                    "hot:articles:zset:window:week", "hot:articles:zset:window:day:category:7",
+                    "hot:articles:zset:window:week:category:7");
+        }
+
+        private void refreshWithWeekBoard(LinkedHashMap<String, Double> week, Article... published) {
+            when(redisUtils.zReverseRangeWithScoresAsMap(anyString(), anyLong(), anyLong()))
+                    .thenReturn(new LinkedHashMap<>());
+            when(redisUtils.zReverseRangeWithScoresAsMap(eq("hot:articles:zset:window:week"), eq(0L), anyLong()))
+                    .thenReturn(week);
+            when(articleMapper.selectList(any())).thenReturn(List.of(published));
+            articleRankService.refreshWindowBoards();
+        }
+
+        private Article publishedArticle(Long id, String title) {
+            Article article = new Article();
+            article.setId(id);
+            article.setTitle(title);
+            article.setStatus(2);
+            return article;
+        }
+
+        @Test
+        @DisplayName("刷新榜单后热门文章直接读取快照，不访问数据库")
+        void testGetHotArticles_shouldServeSnapshotWithoutDb() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"));
+            clearInvocations(articleMapper, articleService);
+
+            Result<List<ArticleDTO>> result = articleRankService.getHotArticles(10, "week");
+
+            assertThat(result.getData()).extracting(ArticleDTO::getId).containsExactly(1L, 2L);
+            assertThat(result.getData().get(0).getHotScore()).isEqualTo(30.0);
+            verifyNoInteractions(articleMapper, articleService);
+        }
+
+        @Test
+        @DisplayName("构建快照时发现的非发布文章立即从榜单移除")
+        void testRefreshSnapshots_unpublishedArticle_shouldBeRemovedEagerly() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("3", 10.0);
+            // 文章 3 已下线，不在已发布查询结果中
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"));
+
+            verify(redisUtils).zRemoveBatch(anyCollection(), eq(List.of(3L)));
+            assertThat(articleRankService.getHotArticles(10, "week").getData())
+                    .extracting(ArticleDTO::getId).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("分页读取完整快照时返回准确总数且不访问数据库")
+        void testGetHotArticlesPage_shouldServeSnapshot() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            week.put("3", 10.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"), publishedArticle(3L, "C"));
+            clearInvocations(articleMapper);
+
+            Result<PageResult<ArticleDTO>> result = articleRankService.getHotArticlesPage(2, 2, "week");
+
+            assertThat(result.getData().getTotal()).isEqualTo(3L);
+            assertThat(result.getData().getItems()).extracting(ArticleDTO::getId).containsExactly(3L);
+            verifyNoInteractions(articleMapper);
+        }
+
+        @Test
+        @DisplayName("文章下线后立即从快照中移除")
+        void testRemoveFromRank_shouldDropFromSnapshot() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"));
+
+            articleRankService.removeFromRank(1L);
+
+            assertThat(articleRankService.getHotArticles(10, "week").getData())
+                    .extracting(ArticleDTO::getId).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("读取快照不访问共享的已移除集合")
+        void testGetHotArticles_shouldNotReadRemovedSet() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"));
+            clearInvocations(articleMapper, redisUtils);
+
+            assertThat(articleRankService.getHotArticles(10, "week").getData())
+                    .extracting(ArticleDTO::getId).containsExactly(1L, 2L);
+            Result<PageResult<ArticleDTO>> page = articleRankService.getHotArticlesPage(1, 10, "week");
+            assertThat(page.getData().getItems()).extracting(ArticleDTO::getId).containsExactly(1L, 2L);
+            assertThat(page.getData().getTotal()).isEqualTo(2L);
+            verifyNoInteractions(articleMapper, redisUtils);
+        }
+
+        @Test
+        @DisplayName("同步到其他实例移除的文章时从物化榜单重建快照并清理本地结果缓存")
+        void testSyncRemovedArticles_shouldRebuildSnapshotAndEvict() {
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            week.put("3", 10.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"), publishedArticle(3L, "C"));
+            articleRankService.syncRemovedArticles();
+            clearInvocations(hotArticleCacheEvictionService);
+
+            // 移除实例已从物化榜单中删除文章 1
+            week.remove("1");
+            when(redisUtils.zReverseRangeWithScoresAsMap("hot:articles:zset:window:removed", 0, -1))
+                    .thenReturn(new LinkedHashMap<>(Map.of("1", 1.0)));
+            articleRankService.syncRemovedArticles();
+            articleRankService.syncRemovedArticles();
+
+            verify(hotArticleCacheEvictionService, times(1)).evictAll();
+            clearInvocations(articleMapper, redisUtils);
+            assertThat(articleRankService.getHotArticles(10, "week").getData())
+                    .extracting(ArticleDTO::getId).containsExactly(2L, 3L);
+            verifyNoInteractions(articleMapper, redisUtils);
+        }
+
+        @Test
+        @DisplayName("请求数量超出未覆盖整个榜单的快照时回退到逐页查询")
+        void testGetHotArticles_beyondPartialSnapshot_shouldFallBack() {
+            rankProperties.setSnapshotSize(2);
+            LinkedHashMap<String, Double> week = new LinkedHashMap<>();
+            week.put("1", 30.0);
+            week.put("2", 20.0);
+            refreshWithWeekBoard(week, publishedArticle(1L, "A"), publishedArticle(2L, "B"));
+
+            articleRankService.getHotArticles(2, "week");
+            verify(articleMapper, never()).selectBatchIds(anyList());
+
+            articleRankService.getHotArticles(5, "week");
+            verify(articleMapper).selectBatchIds(anyList());
+        }
+    }
 }
@@ -1,15 +1,32 @@
 package com.blog.service.impl;
 
+import com.blog.config.SearchCacheProperties;
+import com.blog.config.SearchIndexProperties;
+import com.blog.dto.SearchRequestDTO;
 import com.blog.dto.SearchResultDTO;
 import com.blog.dto.SearchStatisticsDTO;
 import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.User;
 import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.UserMapper;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.ArticleTagLookup;
+import com.blog.search.HotSearchTracker;
+import com.blog.search.RelatedArticleIndex;
+import com.blog.search.SearchResultCache;
+import com.blog.search.SearchSuggester;
+import com.blog.utils.RedisCacheUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -18,6 +35,31 @@ import static org.mockito.Mockito.*;
 class ArticleSearchServiceImplTest {
 
     private final ArticleSearchServiceImpl service = new ArticleSearchServiceImpl();
+    private final SearchIndexProperties indexProperties = new SearchIndexProperties();
+    private final ArticleSearchIndex searchIndex = new ArticleSearchIndex();
+    private final SearchSuggester searchSuggester = mock(SearchSuggester.class);
+    private final HotSearchTracker hotSearchTracker = mock(HotSearchTracker.class);
+    private final RelatedArticleIndex relatedArticleIndex = mock(RelatedArticleIndex.class);
+    private final SearchCacheProperties cacheProperties = new SearchCacheProperties();
+    private final SearchResultCache searchResultCache = new SearchResultCache();
+    private final ArticleTagLookup articleTagLookup = new ArticleTagLookup();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "properties", indexProperties);
+        setField(service, "searchIndex", searchIndex);
+        setField(service, "searchIndexProperties", indexProperties);
+        setField(service, "searchSuggester", searchSuggester);
+        setField(service, "hotSearchTracker", hotSearchTracker);
+        setField(service, "relatedArticleIndex", relatedArticleIndex);
+        ReflectionTestUtils.setField(searchResultCache, "properties", cacheProperties);
+        ReflectionTestUtils.setField(searchResultCache, "searchIndex", searchIndex);
+        searchResultCache.init();
+        setField(service, "searchResultCache", searchResultCache);
+        setField(service, "searchCacheProperties", cacheProperties);
+        ReflectionTestUtils.setField(articleTagLookup, "articleMapper", mock(ArticleMapper.class));
+        setField(service, "articleTagLookup", articleTagLookup);
+    }
 
     @Test
     void getSearchSuggestions_blankKeyword_shouldReturnEmpty() {
@@ -66,6 +108,52 @@ class ArticleSearchServiceImplTest {
         assertThat(result.getData().getKeyword()).isEqualTo("spring");
     }
 
+    @Test
+    void getSearchStatistics_indexReady_shouldReturnFacetsWithNames() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        CategoryMapper categoryMapper = mock(CategoryMapper.class);
+        UserMapper userMapper = mock(UserMapper.class);
+        Category category = new Category();
+        category.setId(10L);
+        category.setName("数据库");
+        User user = new User();
+        user.setId(100L);
+        user.setNickname("张三");
+        when(categoryMapper.selectBatchIds(any())).thenReturn(List.of(category));
+        when(userMapper.selectBatchIds(any())).thenReturn(List.of(user));
+        setField(service, "articleMapper", mapper);
+        setField(service, "categoryMapper", categoryMapper);
+        setField(service, "userMapper", userMapper);
+        Article first = article(1L, "MySQL 索引", "最左前缀");
+        first.setCategoryId(10L);
+        first.setAuthorId(100L);
+        first.setPublishTime(LocalDateTime.of(2026, 3, 5, 10, 0));
+        Article second = article(2L, "Redis 索引", "跳表");
+        second.setCategoryId(10L);
+        second.setAuthorId(100L);
+        second.setPublishTime(LocalDateTime.of(2026, 4, 1, 10, 0));
+        searchIndex.replaceAll(List.of(
+                ArticleSearchIndex.IndexedArticle.of(first, List.of(5L)),
+                ArticleSearchIndex.IndexedArticle.of(second, List.of(5L, 6L))));
+
+        var result = service.getSearchStatistics("索引", null, null);
+
+        SearchStatisticsDTO stats = result.getData();
+        assertThat(stats.getTotalResults()).isEqualTo(2L);
+        assertThat(stats.getCategoryCounts()).singleElement().satisfies(c -> {
+            assertThat(c.getCategoryName()).isEqualTo("数据库");
+            assertThat(c.getCount()).isEqualTo(2L);
+        });
+        assertThat(stats.getAuthorCounts()).singleElement().satisfies(a -> {
+            assertThat(a.getAuthorName()).isEqualTo("张三");
+            assertThat(a.getCount()).isEqualTo(2L);
+        });
+        assertThat(stats.getTagCounts()).extracting(SearchStatisticsDTO.TagCountDTO::getTagId).containsExactly(5L, 6L);
+        assertThat(stats.getTimeCounts()).extracting(SearchStatisticsDTO.TimeCountDTO::getTimeRange)
+                .containsExactly("2026-04", "2026-03");
+        verifyNoInteractions(mapper);
+    }
+
     @Test
     void searchByAuthor_nullAuthorId_shouldReturnError() {
         var result = service.searchByAuthor(null, 1, 10, "newest");
@@ -86,31 +174,236 @@ class ArticleSearchServiceImplTest {
     }
 
     @Test
-    void rebuildSearchIndex_shouldReturnSuccess() {
+    void rebuildSearchIndex_shouldLoadPublishedArticlesIntoIndex() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.selectList(any())).thenReturn(List.of(article(1L, "Spring Boot 入门", "自动配置原理")));
+        when(mapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(Map.of("article_id", 1L, "tag_id", 5L)));
+        setField(service, "articleMapper", mapper);
+        ReflectionTestUtils.setField(articleTagLookup, "articleMapper", mapper);
+
         var result = service.rebuildSearchIndex();
 
         assertThat(result.isSuccess()).isTrue();
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.size()).isEqualTo(1);
+        verify(mapper, times(1)).selectList(any());
     }
 
     @Test
-    void addArticleToIndex_shouldReturnSuccess() {
-        var result = service.addArticleToIndex(1L);
+    void rebuildSearchIndex_disabled_shouldSkip() {
+        indexProperties.setEnabled(false);
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        setField(service, "articleMapper", mapper);
+
+        var result = service.rebuildSearchIndex();
 
         assertThat(result.isSuccess()).isTrue();
+        verifyNoInteractions(mapper);
     }
 
     @Test
-    void removeArticleFromIndex_shouldReturnSuccess() {
-        var result = service.removeArticleFromIndex(1L);
+    void searchArticles_indexReady_shouldNotQueryDatabase() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        RedisCacheUtils redisCacheUtils = mock(RedisCacheUtils.class);
+        setField(service, "articleMapper", mapper);
+        setField(service, "redisCacheUtils", redisCacheUtils);
+        searchIndex.replaceAll(List.of(
+                ArticleSearchIndex.IndexedArticle.of(article(1L, "数据库索引优化", "B+树"), List.of()),
+                ArticleSearchIndex.IndexedArticle.of(article(2L, "前端工程化", "构建工具"), List.of())));
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("索引");
+
+        var result = service.searchArticles(request);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData()).extracting(SearchResultDTO::getArticleId).containsExactly(1L);
+        assertThat(result.getData().get(0).getMatchedField()).isEqualTo("title");
+        verify(mapper, never()).advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(searchSuggester).recordQuery("索引");
+        verify(hotSearchTracker).record("索引");
+    }
+
+    @Test
+    void searchArticles_longContent_shouldReturnHighlightedSnippet() {
+        setField(service, "redisCacheUtils", mock(RedisCacheUtils.class));
+        indexProperties.setSnippetLength(20);
+        searchIndex.replaceAll(List.of(ArticleSearchIndex.IndexedArticle.of(
+                article(1L, "缓存设计", "前言".repeat(50) + "Redis 缓存穿透" + "结尾".repeat(50)), List.of())));
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("缓存");
+
+        var result = service.searchArticles(request);
+
+        SearchResultDTO hit = result.getData().get(0);
+        assertThat(hit.getContent()).startsWith("…").endsWith("…").contains("缓存穿透");
+        assertThat(hit.getHighlights()).hasSize(1);
+        int[] range = hit.getHighlights().get(0);
+        assertThat(hit.getContent().substring(range[0], range[1])).isEqualTo("缓存");
+        assertThat(hit.getTitleHighlights()).singleElement().satisfies(r -> assertThat(r).containsExactly(0, 2));
+    }
+
+    @Test
+    void getHotKeywords_tracked_shouldNotQueryDatabase() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        setField(service, "articleMapper", mapper);
+        when(hotSearchTracker.getHotKeywords(3)).thenReturn(List.of("redis", "spring boot"));
+
+        var result = service.getHotKeywords(3);
+
+        assertThat(result.getData()).containsExactly("redis", "spring boot");
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void searchArticles_indexNotReady_shouldFallBackToDatabase() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        setField(service, "articleMapper", mapper);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("spring");
+
+        service.searchArticles(request);
+
+        verify(mapper).advancedSearch(eq("spring"), any(), any(), any(), any(), any(), any(), any(), eq(0), eq(10));
+    }
+
+    @Test
+    void searchArticles_repeatedDatabaseQuery_shouldUseCache() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(article(1L, "Spring", "内容")));
+        setField(service, "articleMapper", mapper);
+        setField(service, "redisCacheUtils", mock(RedisCacheUtils.class));
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("Spring");
+        SearchRequestDTO sameQuery = new SearchRequestDTO();
+        sameQuery.setKeyword(" spring ");
+
+        service.searchArticles(request);
+        var result = service.searchArticles(sameQuery);
+
+        assertThat(result.getData()).extracting(SearchResultDTO::getArticleId).containsExactly(1L);
+        verify(mapper, times(1)).advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+        searchResultCache.invalidate();
+        service.searchArticles(request);
+
+        verify(mapper, times(2)).advancedSearch(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchArticles_pagedIndexQuery_shouldSliceCachedWindow() {
+        setField(service, "redisCacheUtils", mock(RedisCacheUtils.class));
+        cacheProperties.setWindowSize(3);
+        searchIndex.replaceAll(List.of(
+                ArticleSearchIndex.IndexedArticle.of(article(1L, "缓存 一", "内容"), List.of()),
+                ArticleSearchIndex.IndexedArticle.of(article(2L, "缓存 二", "内容"), List.of()),
+                ArticleSearchIndex.IndexedArticle.of(article(3L, "缓存 三", "内容"), List.of()),
+                ArticleSearchIndex.IndexedArticle.of(article(4L, "缓存 四", "内容"), List.of())));
+        SearchRequestDTO first = new SearchRequestDTO();
+        first.setKeyword("缓存");
+        first.setSortBy("time");
+        first.setPageSize(2);
+        SearchRequestDTO second = new SearchRequestDTO();
+        second.setKeyword("缓存");
+        second.setSortBy("time");
+        second.setPageSize(2);
+        second.setPageNum(2);
+
+        var page1 = service.searchArticles(first).getData();
+        var page2 = service.searchArticles(second).getData();
+
+        assertThat(page1).hasSize(2);
+        assertThat(page2).hasSize(2);
+        assertThat(page1).extracting(SearchResultDTO::getArticleId)
+                .doesNotContainAnyElementsOf(page2.stream().map(SearchResultDTO::getArticleId).toList());
+        assertThat(searchResultCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addArticleToIndex_published_shouldIndex() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.selectList(any())).thenReturn(List.of(article(1L, "Redis 缓存", "缓存穿透")));
+        setField(service, "articleMapper", mapper);
+
+        var result = service.addArticleToIndex(1L);
 
         assertThat(result.isSuccess()).isTrue();
+        assertThat(searchIndex.size()).isEqualTo(1);
     }
 
     @Test
-    void updateArticleInIndex_shouldReturnSuccess() {
+    void updateArticleInIndex_unpublished_shouldRemove() {
+        searchIndex.upsert(ArticleSearchIndex.IndexedArticle.of(article(1L, "Redis 缓存", "缓存穿透"), List.of()));
+        Article draft = article(1L, "Redis 缓存", "缓存穿透");
+        draft.setStatus(Article.STATUS_DRAFT);
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.selectList(any())).thenReturn(List.of(draft));
+        setField(service, "articleMapper", mapper);
+
         var result = service.updateArticleInIndex(1L);
 
         assertThat(result.isSuccess()).isTrue();
+        assertThat(searchIndex.size()).isZero();
+    }
+
+    @Test
+    void syncArticlesToIndex_shouldUpsertPublishedAndRemoveMissing() {
+        searchIndex.upsert(ArticleSearchIndex.IndexedArticle.of(article(1L, "Redis 缓存", "缓存穿透"), List.of()));
+        searchIndex.upsert(ArticleSearchIndex.IndexedArticle.of(article(2L, "MySQL 索引", "最左前缀"), List.of()));
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        when(mapper.selectList(any())).thenReturn(List.of(article(1L, "Redis 集群", "槽位迁移"), article(3L, "JVM 调优", "GC 日志")));
+        when(mapper.selectTagIdsByArticleIds(any())).thenReturn(List.of(Map.of("article_id", 3L, "tag_id", 9L)));
+        setField(service, "articleMapper", mapper);
+        ReflectionTestUtils.setField(articleTagLookup, "articleMapper", mapper);
+
+        var result = service.syncArticlesToIndex(List.of(1L, 2L, 3L));
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(searchIndex.versions().keySet()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(searchIndex.search("集群", "all", null, null, 0, 10).total()).isEqualTo(1);
+        assertThat(searchIndex.search("缓存", "all", null, null, 0, 10).total()).isZero();
+        assertThat(searchIndex.search(null, "all",
+                new ArticleSearchIndex.Filter(null, List.of(9L), null, null, null), null, 0, 10).total()).isEqualTo(1);
+        verify(mapper, times(1)).selectList(any());
+        verify(searchSuggester).upsertArticle(1L, "Redis 集群", null);
+        verify(searchSuggester).removeArticle(2L);
+        verify(relatedArticleIndex).upsertArticle(argThat(article -> article.id().equals(3L)));
+        verify(relatedArticleIndex).removeArticle(2L);
+    }
+
+    @Test
+    void getSearchSuggestions_suggesterReady_shouldNotQueryDatabase() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        setField(service, "articleMapper", mapper);
+        when(searchSuggester.isReady()).thenReturn(true);
+        when(searchSuggester.suggest("hc", 5)).thenReturn(List.of("缓存设计"));
+
+        var result = service.getSearchSuggestions(" hc ", 5);
+
+        assertThat(result.getData()).containsExactly("缓存设计");
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void removeArticleFromIndex_shouldReturnSuccess() {
+        searchIndex.upsert(ArticleSearchIndex.IndexedArticle.of(article(1L, "Redis 缓存", "缓存穿透"), List.of()));
+
+        var result = service.removeArticleFromIndex(1L);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(searchIndex.size()).isZero();
+    }
+
+    private static Article article(Long id, String title, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setStatus(Article.STATUS_PUBLISHED);
+        article.setCreateTime(LocalDateTime.now());
+        return article;
     }
 
     private static void setField(ArticleSearchServiceImpl target, String fieldName, Object value) {
@@ -7,6 +7,8 @@ import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.entity.Category;
 import com.blog.entity.User;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.event.ModerationEvent;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.ArticleMapper;
 import com.blog.mapper.CategoryMapper;
@@ -14,6 +16,9 @@ import com.blog.mapper.UserFavoriteMapper;
 import com.blog.mapper.UserFollowMapper;
 import com.blog.mapper.UserLikeMapper;
 import com.blog.mapper.UserMapper;
+import com.blog.search.ArticleFilterIndex;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.RelatedArticleIndex;
 import com.blog.service.ArticleRankService;
 import com.blog.service.FileUploadService;
 import com.blog.service.NotificationService;
@@ -50,6 +55,8 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -91,6 +98,10 @@ class ArticleServiceImplCoverageTest {
     private NotificationService notificationService;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ArticleFilterIndex articleFilterIndex;
+    @Mock
+    private RelatedArticleIndex relatedArticleIndex;
 
     @InjectMocks
     private ArticleServiceImpl articleService;
@@ -115,6 +126,22 @@ class ArticleServiceImplCoverageTest {
         assertThat(result.isSuccess()).isTrue();
     }
 
+    @Test
+    @DisplayName("获取文章列表 - 无筛选条件时即使位图就绪也由数据库分页")
+    void getArticleList_noFilter_shouldPageFromDatabase() {
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        com.baomidou.mybatisplus.extension.plugins.pagination.Page<Article> page = mock(com.baomidou.mybatisplus.extension.plugins.pagination.Page.class);
+        when(articleMapper.selectPage(any(), any())).thenReturn(page);
+        when(page.getRecords()).thenReturn(Collections.emptyList());
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 10, null, null, null, null, null, "popular");
+
+        assertThat(result.isSuccess()).isTrue();
+        verify(articleMapper).selectPage(any(), any());
+        verify(articleFilterIndex, never()).query(any(), anyBoolean(), anyInt(), anyInt());
+        verify(articleFilterIndex, never()).query(any(), anyBoolean(), anyList(), anyInt(), anyInt());
+    }
+
     @Test
     @DisplayName("获取文章列表 - null页码应修正为1")
     void getArticleList_nullPage_shouldUseDefault1() {
@@ -229,6 +256,39 @@ class ArticleServiceImplCoverageTest {
         assertThat(result.getData().getItems().get(1).getHotScore()).isEqualTo(10.5);
     }
 
+    @Test
+    @DisplayName("获取文章列表 - 分类页按热度排序时热门榜单文章排在最前，其余文章仍可翻页")
+    void getArticleList_popularByCategory_shouldLeadWithScopedBoard() {
+        Article article1 = createArticle(1L, "文章1", Article.STATUS_PUBLISHED, 2L);
+        Article article2 = createArticle(2L, "文章2", Article.STATUS_PUBLISHED, 2L);
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        when(articleRankService.getScopedHotArticleIds(ArticleRankService.SCOPE_CATEGORY, 3L, "week"))
+                .thenReturn(List.of(2L, 9L));
+        when(articleFilterIndex.query(any(), eq(true), eq(List.of(2L, 9L)), eq(0), eq(10)))
+                .thenReturn(new ArticleFilterIndex.Matches(250L, List.of(2L, 1L)));
+        when(articleMapper.selectBatchIds(List.of(2L, 1L))).thenReturn(List.of(article1, article2));
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 10, null, 3L, null, null, null, "popular");
+
+        assertThat(result.getData().getItems()).extracting(ArticleDTO::getId).containsExactly(2L, 1L);
+        assertThat(result.getData().getTotal()).isEqualTo(250L);
+        verify(articleMapper, never()).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("获取文章列表 - 标签页按热度排序时不读取热门榜单，按浏览量排序")
+    void getArticleList_popularByTag_shouldSortByViewCount() {
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        when(articleFilterIndex.query(any(), eq(true), eq(0), eq(10)))
+                .thenReturn(new ArticleFilterIndex.Matches(0L, List.of()));
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 10, null, null, 5L, null, null, "popular");
+
+        assertThat(result.isSuccess()).isTrue();
+        verify(articleFilterIndex).query(any(), eq(true), eq(0), eq(10));
+        verify(articleRankService, never()).getScopedHotArticleIds(any(), any(), any());
+    }
+
     @Test
     @DisplayName("获取文章列表 - 关键词全文搜索")
     void getArticleList_keywordSearch() {
@@ -261,6 +321,69 @@ class ArticleServiceImplCoverageTest {
         assertThat(result.getData().getTotal()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("获取文章列表 - 筛选位图就绪时按位图结果批量查询并保持顺序")
+    void getArticleList_filterIndexReady_shouldFetchByIds() {
+        Article article1 = createArticle(1L, "文章1", Article.STATUS_PUBLISHED, 2L);
+        Article article2 = createArticle(2L, "文章2", Article.STATUS_PUBLISHED, 2L);
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        when(articleFilterIndex.query(any(), eq(false), eq(10), eq(10)))
+                .thenReturn(new ArticleFilterIndex.Matches(12L, List.of(2L, 1L)));
+        when(articleMapper.selectBatchIds(List.of(2L, 1L))).thenReturn(List.of(article1, article2));
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(2, 10, null, null, null, "1&(2|3)", null, null, null);
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getData().getItems()).extracting(ArticleDTO::getId).containsExactly(2L, 1L);
+        assertThat(result.getData().getTotal()).isEqualTo(12L);
+        ArgumentCaptor<ArticleFilterIndex.Filter> captor = ArgumentCaptor.forClass(ArticleFilterIndex.Filter.class);
+        verify(articleFilterIndex).query(captor.capture(), eq(false), eq(10), eq(10));
+        assertThat(captor.getValue().status()).isEqualTo(Article.STATUS_PUBLISHED);
+        assertThat(captor.getValue().tagExpression()).isEqualTo("1&(2|3)");
+        verify(articleMapper, never()).selectPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("获取文章列表 - 位图中的文章已被删除时刷新位图并重新分页")
+    void getArticleList_staleFilterIndex_shouldRefreshAndRequery() {
+        Article article1 = createArticle(1L, "文章1", Article.STATUS_PUBLISHED, 2L);
+        Article article3 = createArticle(3L, "文章3", Article.STATUS_PUBLISHED, 2L);
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        when(articleFilterIndex.query(any(), eq(false), eq(0), eq(2)))
+                .thenReturn(new ArticleFilterIndex.Matches(3L, List.of(2L, 1L)))
+                .thenReturn(new ArticleFilterIndex.Matches(2L, List.of(1L, 3L)));
+        when(articleMapper.selectBatchIds(List.of(2L, 1L))).thenReturn(List.of(article1));
+        when(articleMapper.selectBatchIds(List.of(1L, 3L))).thenReturn(List.of(article1, article3));
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 2, null, 3L, null, null, null, null);
+
+        verify(articleFilterIndex).refresh(List.of(2L));
+        assertThat(result.getData().getItems()).extracting(ArticleDTO::getId).containsExactly(1L, 3L);
+        assertThat(result.getData().getTotal()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("获取文章列表 - 标签表达式语法错误")
+    void getArticleList_invalidTagExpression_shouldReturnError() {
+        when(articleFilterIndex.isReady()).thenReturn(true);
+        when(articleFilterIndex.query(any(), anyBoolean(), anyInt(), anyInt()))
+                .thenThrow(new IllegalArgumentException("标签表达式语法错误，位置：2"));
+
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 10, null, null, null, "1&", null, null, null);
+
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("标签表达式");
+    }
+
+    @Test
+    @DisplayName("获取文章列表 - 筛选位图未就绪时不支持标签组合")
+    void getArticleList_tagExpressionWithoutIndex_shouldReturnError() {
+        Result<PageResult<ArticleDTO>> result = articleService.getArticleList(1, 10, null, null, null, "1|2", null, null, null);
+
+        assertThat(result.isSuccess()).isFalse();
+        verify(articleMapper, never()).selectPage(any(), any());
+    }
+
     // ==================== 获取文章详情 ====================
 
     @Nested
@@ -334,6 +457,36 @@ class ArticleServiceImplCoverageTest {
             assertThat(result.isSuccess()).isTrue();
             assertThat(result.getData().getViewCount()).isEqualTo(15);
         }
+
+        @Test
+        @DisplayName("已发布文章 - 返回离线计算的相关文章")
+        void publishedArticle_returnsRelatedArticles() {
+            Article article = createArticle(1L, "已发布", Article.STATUS_PUBLISHED, 2L);
+            Article related = createArticle(5L, "相关文章", Article.STATUS_PUBLISHED, 3L);
+            when(articleMapper.selectById(1L)).thenReturn(article);
+            when(relatedArticleIndex.related(1L))
+                    .thenReturn(List.of(ArticleSearchIndex.IndexedArticle.of(related, List.of())));
+
+            Result<ArticleDTO> result = articleService.getArticleDetail(1L);
+
+            assertThat(result.getData().getRelatedArticles()).singleElement().satisfies(summary -> {
+                assertThat(summary.getId()).isEqualTo(5L);
+                assertThat(summary.getTitle()).isEqualTo("相关文章");
+            });
+        }
+
+        @Test
+        @DisplayName("草稿文章 - 不返回相关文章")
+        void draftArticle_noRelatedArticles() {
+            Article article = createArticle(1L, "草稿", Article.STATUS_DRAFT, 2L);
+            when(articleMapper.selectById(1L)).thenReturn(article);
+            setUserId(2L);
+
+            Result<ArticleDTO> result = articleService.getArticleDetail(1L);
+
+            assertThat(result.getData().getRelatedArticles()).isNull();
+            verifyNoInteractions(relatedArticleIndex);
+        }
     }
 
     // ==================== 发布文章 ====================
@@ -429,7 +582,8 @@ class ArticleServiceImplCoverageTest {
 
             Result<Long> result = articleService.publishArticle(dto, 1L);
             assertThat(result.isSuccess()).isTrue();
-            verify(eventPublisher).publishEvent(any());
+            verify(eventPublisher).publishEvent(any(ModerationEvent.class));
+            verify(eventPublisher).publishEvent(any(ArticleChangedEvent.class));
         }
     }
 
@@ -537,13 +691,12 @@ class ArticleServiceImplCoverageTest {
             when(categoryMapper.selectById(anyLong())).thenReturn(createCategory(11L, "技术分享"));
             when(sensitiveWordService.validateContent(anyString())).thenReturn(Result.success());
             when(articleMapper.updateById(any())).thenReturn(1);
-            Set<String> keys = new HashSet<>(Arrays.asList("recommended:articles:1", "recommended:articles:2"));
-            when(redisUtils.scanKeys(anyString())).thenReturn(keys);
             when(moderationSubmissionService.submitNew(any())).thenReturn("token");
 
             Result<Void> result = articleService.editArticle(1L, dto, 2L);
             assertThat(result.isSuccess()).isTrue();
-            verify(redisUtils).delete(eq(keys));
+            verify(redisUtils).invalidateNamespace("recommended:articles");
+            verify(redisUtils, never()).scanKeys(anyString());
         }
     }
 
@@ -712,7 +865,8 @@ class ArticleServiceImplCoverageTest {
             ArticleDTO cached = new ArticleDTO();
             cached.setId(1L);
             cached.setTitle("缓存推荐");
-            when(redisUtils.get("recommended:articles:5")).thenReturn(Collections.singletonList(cached));
+            when(redisUtils.namespacedKey("recommended:articles", 5)).thenReturn("recommended:articles:g0:5");
+            when(redisUtils.get("recommended:articles:g0:5")).thenReturn(Collections.singletonList(cached));
 
             Result<List<ArticleDTO>> result = articleService.getRecommendedArticles(5);
             assertThat(result.isSuccess()).isTrue();
@@ -724,7 +878,8 @@ class ArticleServiceImplCoverageTest {
         @Test
         @DisplayName("获取推荐文章 - 缓存未命中且结果为空")
         void getRecommendedArticles_cacheMiss_emptyResult() {
-            when(redisUtils.get("recommended:articles:5")).thenReturn(null);
+            when(redisUtils.namespacedKey("recommended:articles", 5)).thenReturn("recommended:articles:g0:5");
+            when(redisUtils.get("recommended:articles:g0:5")).thenReturn(null);
             when(articleMapper.selectList(any())).thenReturn(Collections.emptyList());
 
             Result<List<ArticleDTO>> result = articleService.getRecommendedArticles(5);
@@ -738,14 +893,15 @@ class ArticleServiceImplCoverageTest {
         void getRecommendedArticles_cacheMiss_writeBack() {
             Article article = createArticle(1L, "推荐", Article.STATUS_PUBLISHED, 2L);
             article.setIsRecommended(2);
-            when(redisUtils.get("recommended:articles:5")).thenReturn(null);
+            when(redisUtils.namespacedKey("recommended:articles", 5)).thenReturn("recommended:articles:g3:5");
+            when(redisUtils.get("recommended:articles:g3:5")).thenReturn(null);
             when(articleMapper.selectList(any())).thenReturn(Collections.singletonList(article));
-            when(redisUtils.set(eq("recommended:articles:5"), any(), eq(1L), any())).thenReturn(true);
+            when(redisUtils.set(eq("recommended:articles:g3:5"), any(), eq(1L), any())).thenReturn(true);
 
             Result<List<ArticleDTO>> result = articleService.getRecommendedArticles(5);
             assertThat(result.isSuccess()).isTrue();
             assertThat(result.getData()).hasSize(1);
-            verify(redisUtils).set(eq("recommended:articles:5"), any(), eq(1L), any());
+            verify(redisUtils).set(eq("recommended:articles:g3:5"), any(), eq(1L), any());
         }
 
         @Test
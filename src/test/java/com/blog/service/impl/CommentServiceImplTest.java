@@ -251,7 +251,8 @@ class CommentServiceImplTest {
     @Test
     @DisplayName("获取评论列表 - 缓存命中应直接返回")
     void getCommentList_cacheHit_shouldReturnCachedList() {
-        when(redisCacheUtils.getCache(anyString())).thenReturn(Collections.emptyList());
+        when(redisUtils.namespacedKey("comment:list:1", 1, 10, "time")).thenReturn("comment:list:1:g0:1:10:time");
+        when(redisCacheUtils.getCache("comment:list:1:g0:1:10:time")).thenReturn(Collections.emptyList());
 
         Result<List<CommentDTO>> result = commentService.getCommentList(1L, 1, 10, 2, "time", null);
 
@@ -263,6 +264,7 @@ class CommentServiceImplTest {
     @Test
     @DisplayName("获取评论列表 - 缓存类型异常应降级查询数据库")
     void getCommentList_cacheClassCast_shouldFallback() {
+        when(redisUtils.namespacedKey(anyString(), any(Object[].class))).thenReturn("comment:list:1:g0:1:10:time");
         when(redisCacheUtils.getCache(anyString())).thenReturn("bad-type");
 
         Result<List<CommentDTO>> result = commentService.getCommentList(1L, 1, 10, 2, "time", null);
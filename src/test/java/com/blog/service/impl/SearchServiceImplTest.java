@@ -3,11 +3,15 @@ package com.blog.service.impl;
 import com.blog.dto.ArticleDTO;
 import com.blog.entity.Article;
 import com.blog.mapper.ArticleMapper;
+import com.blog.search.HotSearchTracker;
+import com.blog.search.SearchResultCache;
+import com.blog.search.SearchSuggester;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -97,6 +101,7 @@ class SearchServiceImplTest {
         ArticleMapper mapper = mock(ArticleMapper.class);
         when(mapper.getSearchSuggestions("spring")).thenReturn(List.of("spring boot", "spring mvc"));
         setField(service, "articleMapper", mapper);
+        setField(service, "searchSuggester", mock(SearchSuggester.class));
 
         var result = service.getSearchSuggestions("spring");
 
@@ -104,11 +109,27 @@ class SearchServiceImplTest {
         assertThat(result.getData()).containsExactly("spring boot", "spring mvc");
     }
 
+    @Test
+    void getSearchSuggestions_suggesterReady_shouldNotQueryDatabase() {
+        ArticleMapper mapper = mock(ArticleMapper.class);
+        SearchSuggester suggester = mock(SearchSuggester.class);
+        when(suggester.isReady()).thenReturn(true);
+        when(suggester.suggest("spring", 10)).thenReturn(List.of("Spring Boot 入门"));
+        setField(service, "articleMapper", mapper);
+        setField(service, "searchSuggester", suggester);
+
+        var result = service.getSearchSuggestions("spring");
+
+        assertThat(result.getData()).containsExactly("Spring Boot 入门");
+        verifyNoInteractions(mapper);
+    }
+
     @Test
     void getHotSearchKeywords_nullLimit_shouldDefaultTo10() {
         ArticleMapper mapper = mock(ArticleMapper.class);
         when(mapper.getHotSearchKeywords(10)).thenReturn(List.of("java", "python"));
         setField(service, "articleMapper", mapper);
+        setField(service, "hotSearchTracker", mock(HotSearchTracker.class));
 
         var result = service.getHotSearchKeywords(null);
 
@@ -116,12 +137,26 @@ class SearchServiceImplTest {
         assertThat(result.getData()).containsExactly("java", "python");
     }
 
+    @Test
+    void getHotSearchKeywords_tracked_shouldReturnTrackedQueries() {
+        HotSearchTracker tracker = mock(HotSearchTracker.class);
+        when(tracker.getHotKeywords(10)).thenReturn(List.of("redis"));
+        setField(service, "hotSearchTracker", tracker);
+
+        var result = service.getHotSearchKeywords(null);
+
+        assertThat(result.getData()).containsExactly("redis");
+    }
+
     @Test
     void advancedSearch_shouldPassParameters() {
         ArticleMapper mapper = mock(ArticleMapper.class);
         when(mapper.advancedSearch(anyString(), any(), any(), any(), anyString(), anyString(), any(), any(), any(), any()))
                 .thenReturn(List.of());
         setField(service, "articleMapper", mapper);
+        SearchResultCache cache = mock(SearchResultCache.class);
+        when(cache.get(any(), any(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
+        setField(service, "searchResultCache", cache);
 
         var result = service.advancedSearch("keyword", 1L, 2L, 3L, "2025-01-01", "2025-12-31", 1, 10);
 
@@ -4,8 +4,11 @@ import com.blog.dto.PageDTO;
 import com.blog.dto.VisitTrendDTO;
 import com.blog.dto.WebsiteStatisticsDTO;
 import com.blog.entity.VisitStatistics;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
 import com.blog.mapper.VisitStatisticsMapper;
 import com.blog.mapper.WebsiteAccessLogMapper;
+import com.blog.service.VisitCounterService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -21,6 +24,13 @@ import static org.mockito.Mockito.*;
 class WebsiteStatisticsServiceImplTest {
 
     private final WebsiteStatisticsServiceImpl service = new WebsiteStatisticsServiceImpl();
+    // 计数器默认未覆盖（返回 null），各用例走数据库回退路径
+    private final VisitCounterService visitCounterService = mock(VisitCounterService.class, invocation -> null);
+
+    @BeforeEach
+    void setUp() {
+        setField(service, "visitCounterService", visitCounterService);
+    }
 
     @Test
     void getWebsiteStatistics_nullValues_shouldDefaultToZero() {
@@ -61,6 +71,20 @@ class WebsiteStatisticsServiceImplTest {
         assertThat(result.getData().getTodayUniqueVisitors()).isEqualTo(0L);
     }
 
+    @Test
+    void getTodayStatistics_counterCovered_shouldNotQueryAccessLog() {
+        WebsiteAccessLogMapper logMapper = mock(WebsiteAccessLogMapper.class);
+        when(visitCounterService.pageViews(LocalDate.now())).thenReturn(320L);
+        when(visitCounterService.uniqueVisitors(LocalDate.now())).thenReturn(75L);
+        setField(service, "websiteAccessLogMapper", logMapper);
+
+        var result = service.getTodayStatistics();
+
+        assertThat(result.getData().getTodayPageViews()).isEqualTo(320L);
+        assertThat(result.getData().getTodayUniqueVisitors()).isEqualTo(75L);
+        verifyNoInteractions(logMapper);
+    }
+
     @Test
     void getWeekStatistics_shouldReturnLast7Days() {
         VisitStatisticsMapper visitMapper = mock(VisitStatisticsMapper.class);
@@ -113,12 +137,13 @@ class WebsiteStatisticsServiceImplTest {
 
     @Test
     void getTopPages_shouldReturnPagedResult() {
-        WebsiteAccessLogMapper logMapper = mock(WebsiteAccessLogMapper.class);
+        AccessLogHourlyRollupMapper rollupMapper = mock(AccessLogHourlyRollupMapper.class);
         Map<String, Object> row = Map.of("page_url", "/home", "visit_count", 500);
-        when(logMapper.selectTopPagesByDateRange(anyString(), anyString(), anyInt(), anyInt()))
-                .thenReturn(List.of(row));
-        when(logMapper.countDistinctPageUrls(anyString(), anyString())).thenReturn(1);
-        setField(service, "websiteAccessLogMapper", logMapper);
+        LocalDateTime start = LocalDate.now().minusDays(30).atStartOfDay();
+        LocalDateTime end = LocalDate.now().plusDays(1).atStartOfDay();
+        when(rollupMapper.selectTopPages(start, end, 0, 10)).thenReturn(List.of(row));
+        when(rollupMapper.countDistinctPages(start, end)).thenReturn(1);
+        setField(service, "accessLogHourlyRollupMapper", rollupMapper);
 
         var result = service.getTopPages(1, 10);
 
@@ -131,11 +156,11 @@ class WebsiteStatisticsServiceImplTest {
 
     @Test
     void getTrafficSources_shouldReturnList() {
-        WebsiteAccessLogMapper logMapper = mock(WebsiteAccessLogMapper.class);
+        AccessLogHourlyRollupMapper rollupMapper = mock(AccessLogHourlyRollupMapper.class);
         Map<String, Object> source = Map.of("source", "google", "count", 200);
-        when(logMapper.selectTrafficSourcesByDateRange(anyString(), anyString(), eq(10)))
+        when(rollupMapper.selectTrafficSources(any(LocalDateTime.class), any(LocalDateTime.class), eq(10)))
                 .thenReturn(List.of(source));
-        setField(service, "websiteAccessLogMapper", logMapper);
+        setField(service, "accessLogHourlyRollupMapper", rollupMapper);
 
         var result = service.getTrafficSources();
 
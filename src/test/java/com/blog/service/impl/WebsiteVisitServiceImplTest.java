@@ -4,10 +4,14 @@ import com.blog.dto.DeviceStatisticsDTO;
 import com.blog.dto.PageVisitDTO;
 import com.blog.dto.VisitorSourceDTO;
 import com.blog.dto.WebsiteVisitDTO;
+import com.blog.entity.AccessLogHourlyRollup;
 import com.blog.entity.VisitStatistics;
 import com.blog.entity.WebsiteAccessLog;
+import com.blog.mapper.AccessLogHourlyRollupMapper;
 import com.blog.mapper.VisitStatisticsMapper;
 import com.blog.mapper.WebsiteAccessLogMapper;
+import com.blog.service.VisitCounterService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -24,6 +28,13 @@ import org.mockito.ArgumentCaptor;
 class WebsiteVisitServiceImplTest {
 
     private final WebsiteVisitServiceImpl service = new WebsiteVisitServiceImpl();
+    // 计数器默认未覆盖（返回 null），各用例走数据库回退路径
+    private final VisitCounterService visitCounterService = mock(VisitCounterService.class, invocation -> null);
+
+    @BeforeEach
+    void setUp() {
+        setField(service, "visitCounterService", visitCounterService);
+    }
 
     @Test
     void recordPageVisit_nullIp_shouldSetUnknown() {
@@ -37,6 +48,7 @@ class WebsiteVisitServiceImplTest {
         assertThat(log.getIpAddress()).isEqualTo("unknown");
         assertThat(log.getPageUrl()).isEqualTo("/home");
         assertThat(log.getUserId()).isEqualTo(1L);
+        verify(visitCounterService).record(List.of(log));
     }
 
     @Test
@@ -69,14 +81,14 @@ class WebsiteVisitServiceImplTest {
 
     @Test
     void getHotPageStatistics_shouldParseVisitCounts() {
-        WebsiteAccessLogMapper mapper = mock(WebsiteAccessLogMapper.class);
+        AccessLogHourlyRollupMapper mapper = mock(AccessLogHourlyRollupMapper.class);
         Map<String, Object> row = Map.of(
                 "page_url", "/home",
                 "visit_count", 500,
                 "unique_visitor", 200
         );
-        when(mapper.selectTopPages(anyInt())).thenReturn(List.of(row));
-        setField(service, "websiteAccessLogMapper", mapper);
+        when(mapper.selectTopPages(isNull(), isNull(), eq(0), eq(10))).thenReturn(List.of(row));
+        setField(service, "accessLogHourlyRollupMapper", mapper);
 
         var result = service.getHotPageStatistics(10);
 
@@ -89,15 +101,15 @@ class WebsiteVisitServiceImplTest {
 
     @Test
     void getVisitorSourceStatistics_shouldCalculatePercentage() {
-        WebsiteAccessLogMapper mapper = mock(WebsiteAccessLogMapper.class);
+        AccessLogHourlyRollupMapper mapper = mock(AccessLogHourlyRollupMapper.class);
         Map<String, Object> row = Map.of(
                 "source_type", "search",
                 "source_name", "Google",
                 "visit_count", 300
         );
-        when(mapper.selectTrafficSourcesByDateRange(anyString(), anyString(), anyInt()))
+        when(mapper.selectTrafficSources(any(LocalDateTime.class), any(LocalDateTime.class), anyInt()))
                 .thenReturn(List.of(row));
-        setField(service, "websiteAccessLogMapper", mapper);
+        setField(service, "accessLogHourlyRollupMapper", mapper);
 
         var result = service.getVisitorSourceStatistics(10);
 
@@ -110,13 +122,13 @@ class WebsiteVisitServiceImplTest {
 
     @Test
     void getVisitorSourceStatistics_multipleSources_shouldCalculateCorrectly() {
-        WebsiteAccessLogMapper mapper = mock(WebsiteAccessLogMapper.class);
+        AccessLogHourlyRollupMapper mapper = mock(AccessLogHourlyRollupMapper.class);
         Map<String, Object> row1 = Map.of("source_type", "search", "source_name", "Google", "visit_count", 300);
         Map<String, Object> row2 = Map.of("source_type", "direct", "source_name", "Direct", "visit_count", 200);
         Map<String, Object> row3 = Map.of("source_type", "social", "source_name", "Twitter", "visit_count", 100);
-        when(mapper.selectTrafficSourcesByDateRange(anyString(), anyString(), anyInt()))
+        when(mapper.selectTrafficSources(any(LocalDateTime.class), any(LocalDateTime.class), anyInt()))
                 .thenReturn(List.of(row1, row2, row3));
-        setField(service, "websiteAccessLogMapper", mapper);
+        setField(service, "accessLogHourlyRollupMapper", mapper);
 
         var result = service.getVisitorSourceStatistics(10);
 
@@ -129,15 +141,19 @@ class WebsiteVisitServiceImplTest {
 
     @Test
     void getDeviceStatistics_shouldAggregateDeviceTypes() {
-        WebsiteAccessLogMapper mapper = mock(WebsiteAccessLogMapper.class);
-        when(mapper.countByDeviceType()).thenReturn(List.of(
-                Map.of("device_type", "desktop", "visit_count", 600),
-                Map.of("device_type", "mobile", "visit_count", 300),
-                Map.of("device_type", "tablet", "visit_count", 100)
-        ));
-        when(mapper.countByBrowser()).thenReturn(List.of());
-        when(mapper.countByOperatingSystem()).thenReturn(List.of());
-        setField(service, "websiteAccessLogMapper", mapper);
+        AccessLogHourlyRollupMapper mapper = mock(AccessLogHourlyRollupMapper.class);
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        when(mapper.selectDimensionCounts(AccessLogHourlyRollup.DIMENSION_DEVICE, todayStart, todayStart.plusDays(1)))
+                .thenReturn(List.of(
+                        Map.of("dim_value", "desktop", "visit_count", 600),
+                        Map.of("dim_value", "mobile", "visit_count", 300),
+                        Map.of("dim_value", "tablet", "visit_count", 100)
+                ));
+        when(mapper.selectDimensionCounts(eq(AccessLogHourlyRollup.DIMENSION_BROWSER), any(), any()))
+                .thenReturn(List.of(Map.of("dim_value", "Chrome Mobile", "visit_count", 3),
+                        Map.of("dim_value", "Firefox", "visit_count", 1)));
+        when(mapper.selectDimensionCounts(eq(AccessLogHourlyRollup.DIMENSION_OS), any(), any())).thenReturn(List.of());
+        setField(service, "accessLogHourlyRollupMapper", mapper);
 
         var result = service.getDeviceStatistics();
 
@@ -146,15 +162,15 @@ class WebsiteVisitServiceImplTest {
         assertThat(dto.getDeviceType().getDesktop()).isEqualTo(60.0);
         assertThat(dto.getDeviceType().getMobile()).isEqualTo(30.0);
         assertThat(dto.getDeviceType().getTablet()).isEqualTo(10.0);
+        assertThat(dto.getBrowser().getChrome()).isEqualTo(75.0);
+        assertThat(dto.getBrowser().getFirefox()).isEqualTo(25.0);
     }
 
     @Test
     void getDeviceStatistics_emptyData_shouldReturnZeros() {
-        WebsiteAccessLogMapper mapper = mock(WebsiteAccessLogMapper.class);
-        when(mapper.countByDeviceType()).thenReturn(List.of());
-        when(mapper.countByBrowser()).thenReturn(List.of());
-        when(mapper.countByOperatingSystem()).thenReturn(List.of());
-        setField(service, "websiteAccessLogMapper", mapper);
+        AccessLogHourlyRollupMapper mapper = mock(AccessLogHourlyRollupMapper.class);
+        when(mapper.selectDimensionCounts(anyString(), any(), any())).thenReturn(List.of());
+        setField(service, "accessLogHourlyRollupMapper", mapper);
 
         var result = service.getDeviceStatistics();
 
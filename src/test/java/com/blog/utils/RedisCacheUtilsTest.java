@@ -109,6 +109,57 @@ class RedisCacheUtilsTest {
         assertThat(ttl).isEqualTo(42L);
     }
 
+    @Test
+    void getCache_trackedKey_shouldReadFromClientSideCache() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        RedisClientSideCache clientSideCache = mock(RedisClientSideCache.class);
+        when(clientSideCache.isTracked("article:like:1:2")).thenReturn(true);
+        when(clientSideCache.get("article:like:1:2")).thenReturn(Boolean.TRUE);
+
+        RedisCacheUtils utils = new RedisCacheUtils();
+        setField(utils, "redisTemplate", redisTemplate);
+        setField(utils, "clientSideCache", clientSideCache);
+
+        Object result = utils.getCache("article:like:1:2");
+
+        assertThat(result).isEqualTo(Boolean.TRUE);
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    void setAndDeleteCache_trackedKey_shouldInvalidateLocalCopy() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        RedisClientSideCache clientSideCache = mock(RedisClientSideCache.class);
+        when(clientSideCache.isTracked("article:like:1:2")).thenReturn(true);
+
+        RedisCacheUtils utils = new RedisCacheUtils();
+        setField(utils, "redisTemplate", redisTemplate);
+        setField(utils, "clientSideCache", clientSideCache);
+
+        utils.setCache("article:like:1:2", true, 60, TimeUnit.SECONDS);
+        utils.deleteCache("article:like:1:2");
+
+        verify(clientSideCache, times(2)).invalidateLocal("article:like:1:2");
+    }
+
+    @Test
+    void getCache_untrackedKey_shouldReadFromRedis() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get("article:view:count:1")).thenReturn(5);
+        RedisClientSideCache clientSideCache = mock(RedisClientSideCache.class);
+
+        RedisCacheUtils utils = new RedisCacheUtils();
+        setField(utils, "redisTemplate", redisTemplate);
+        setField(utils, "clientSideCache", clientSideCache);
+
+        assertThat(utils.getCache("article:view:count:1")).isEqualTo(5);
+        verify(clientSideCache, never()).get(anyString());
+    }
+
     private static void setField(RedisCacheUtils target, String fieldName, Object value) {
         try {
             java.lang.reflect.Field field = RedisCacheUtils.class.getDeclaredField(fieldName);
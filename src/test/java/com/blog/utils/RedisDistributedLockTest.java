@@ -1,5 +1,6 @@
 package com.blog.utils;
 
+import com.blog.config.ClientSideCacheProperties;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -252,6 +253,19 @@ class RedisDistributedLockTest {
         verify(redisDistributedLock, times(1)).unlock("comment:delete:99", "token-4");
     }
 
+    @Test
+    @DisplayName("点赞/收藏锁 key 不落在客户端缓存默认跟踪的前缀内")
+    void lockKeys_shouldNotMatchTrackedCachePrefixes() {
+        List<String> lockKeys = List.of(
+                RedisDistributedLock.generateArticleLikeLockKey(1L, 2L),
+                RedisDistributedLock.generateArticleFavoriteLockKey(1L, 2L),
+                RedisDistributedLock.generateCommentLikeLockKey(1L, 2L));
+
+        for (String prefix : new ClientSideCacheProperties().getPrefixes()) {
+            lockKeys.forEach(key -> assertFalse(key.startsWith(prefix), key + " 匹配跟踪前缀 " + prefix));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Map<String, ?> getWatchdogFutures() {
         return (Map<String, ?>) ReflectionTestUtils.getField(redisDistributedLock, "watchdogFutures");
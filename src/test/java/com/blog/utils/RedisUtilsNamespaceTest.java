@@ -0,0 +1,72 @@
+package com.blog.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisUtilsNamespaceTest {
+
+    private StringRedisTemplate stringRedisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private RedisUtils redisUtils;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOps);
+        redisUtils = new RedisUtils();
+        setField(redisUtils, "stringRedisTemplate", stringRedisTemplate);
+    }
+
+    @Test
+    void namespacedKey_withoutGeneration_shouldUseZero() {
+        when(valueOps.get("ns:gen:recommended:articles")).thenReturn(null);
+
+        assertThat(redisUtils.namespacedKey("recommended:articles", 5)).isEqualTo("recommended:articles:g0:5");
+    }
+
+    @Test
+    void namespacedKey_shouldEmbedCurrentGeneration() {
+        when(valueOps.get("ns:gen:comment:list:9")).thenReturn("1700000000001");
+
+        assertThat(redisUtils.namespacedKey("comment:list:9", 1, 10, "time"))
+                .isEqualTo("comment:list:9:g1700000000001:1:10:time");
+    }
+
+    @Test
+    void namespacedKey_generationReadFailure_shouldReturnNull() {
+        when(valueOps.get(anyString())).thenThrow(new RuntimeException("redis down"));
+
+        assertThat(redisUtils.namespacedKey("recommended:articles", 5)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidateNamespace_shouldBumpGenerationWithSingleScript() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(42L);
+
+        long generation = redisUtils.invalidateNamespace("recommended:articles");
+
+        assertThat(generation).isEqualTo(42L);
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(java.util.Collections.singletonList("ns:gen:recommended:articles")), any(), any());
+    }
+
+    private static void setField(Object target, String fieldName, Object value) {
+        try {
+            java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
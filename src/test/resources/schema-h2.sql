@@ -125,7 +125,8 @@ CREATE TABLE `articles` (
   KEY `articles_idx_is_top_recommend` (`is_top`,`is_recommend`),
   KEY `articles_idx_category_status_publish` (`category_id`, `status`, `publish_time` DESC),
   KEY `articles_idx_author_status_publish` (`author_id`, `status`, `publish_time` DESC),
-  KEY `articles_idx_status_top_recommend_publish` (`status`, `is_top`, `is_recommend`, `publish_time` DESC)
+  KEY `articles_idx_status_top_recommend_publish` (`status`, `is_top`, `is_recommend`, `publish_time` DESC),
+  KEY `articles_idx_update_time_id` (`update_time`, `id`)
 ) COMMENT='文章表';
 
 CREATE TABLE `article_views` (
@@ -363,6 +364,20 @@ CREATE TABLE `website_access_log` (
   KEY `website_access_log_idx_session_access_time` (`session_id`, `access_time`)
 ) COMMENT='网站访问日志表';
 
+CREATE TABLE `access_log_hourly_rollup` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '汇总ID',
+  `bucket_hour` datetime NOT NULL COMMENT '统计小时（整点）',
+  `dimension` varchar(20) NOT NULL COMMENT '维度',
+  `dim_value` varchar(500) NOT NULL DEFAULT '' COMMENT '维度取值',
+  `page_views` int NOT NULL DEFAULT '0' COMMENT '访问量',
+  `unique_visitors` int NOT NULL DEFAULT '0' COMMENT '小时内独立访客数（IP去重）',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `access_log_hourly_rollup_uk_bucket_dimension_value` (`bucket_hour`, `dimension`, `dim_value`),
+  KEY `access_log_hourly_rollup_idx_dimension_bucket` (`dimension`, `bucket_hour`)
+) COMMENT='访问日志小时汇总表';
+
 -- auto-generated definition
 create table sensitive_words
 (